@@ -90,6 +90,12 @@ dependencies {
     testImplementation("com.google.android.material:material:1.12.0")
     implementation("org.osmdroid:osmdroid-android:6.1.10")
     
+    // Background jobs (notification retention)
+    implementation("androidx.work:work-runtime:2.9.1")
+
+    // App foreground/background callbacks (read-receipt flush)
+    implementation("androidx.lifecycle:lifecycle-process:2.8.7")
+
     // Encrypted SharedPreferences for "Remember Me" functionality
     implementation("androidx.security:security-crypto:1.1.0-alpha06")
 
@@ -113,5 +113,21 @@ public final class Constants {
     
     /** Default user banned state */
     public static final boolean DEFAULT_USER_BANNED = false;
+    
+    // ==================== Notification Retention ====================
+    
+    /** Read notifications older than this are moved to monthly archives */
+    public static final int NOTIFICATION_RETENTION_DAYS = 30;
+    
+    /** General/reminder announcements older than this are deleted, read or not */
+    public static final int BROADCAST_TTL_DAYS = 90;
+    
+    // ==================== Notification Digests ====================
+    
+    /** Fold low-priority (general) notifications into one rolling digest per user */
+    public static final boolean NOTIFICATION_DIGEST_ENABLED = true;
+    
+    /** Length of a digest window; a new digest doc starts each window */
+    public static final int NOTIFICATION_DIGEST_WINDOW_MINUTES = 6 * 60;
 }
 
@@ -34,6 +34,9 @@ public final class FirestoreFields {
     /** Event description field */
     public static final String DESCRIPTION = "description";
     
+    /** Distinct lowercased words of the full description, kept on the event doc for search */
+    public static final String DESCRIPTION_TOKENS = "descriptionTokens";
+    
     /** Event location field */
     public static final String LOCATION = "location";
     
@@ -145,6 +148,21 @@ public final class FirestoreFields {
     /** User active field */
     public static final String ACTIVE = "active";
     
+    /** Embedded ProfileSummary map (waiting_list, chosen_list, registrations) */
+    public static final String PROFILE_SUMMARY = "profileSummary";
+    
+    /** Normalized lowercase name, the admin directory sort key (profiles) */
+    public static final String NAME_LOWER = "nameLower";
+    
+    /** Normalized lowercase email (profiles) */
+    public static final String EMAIL_LOWER = "emailLower";
+    
+    /** Word prefixes of name and email for directory search (profiles) */
+    public static final String SEARCH_TOKENS = "searchTokens";
+    
+    /** Set while a cascade delete of the profile is queued (profiles) */
+    public static final String DELETION_PENDING = "deletionPending";
+    
     // ==================== Location Fields ====================
     
     /** Latitude field */
@@ -153,6 +171,9 @@ public final class FirestoreFields {
     /** Longitude field */
     public static final String LONGITUDE = "longitude";
     
+    /** GeoHash of latitude/longitude (events) */
+    public static final String GEOHASH = "geohash";
+    
     // ==================== Invitation Fields ====================
     
     /** Invitation status field */
@@ -181,6 +202,40 @@ public final class FirestoreFields {
     /** Notification read status field */
     public static final String IS_READ = "isRead";
     
+    /** Unread notification count field (notification_counters docs) */
+    public static final String UNREAD_COUNT = "unreadCount";
+    
+    /** Archive month key field, "yyyy-MM" (notification_archives docs) */
+    public static final String ARCHIVE_MONTH = "month";
+    
+    /** Archived notification entries array (notification_archives docs) */
+    public static final String ARCHIVE_ENTRIES = "entries";
+    
+    /** Entries folded into a digest notification, newest first */
+    public static final String DIGEST_ITEMS = "digestItems";
+    
+    /** Total number of entries folded into a digest notification */
+    public static final String DIGEST_COUNT = "digestCount";
+    
+    // ==================== Event Catalog Fields ====================
+    
+    /** Event id -> summary map (event_catalog shard docs) */
+    public static final String CATALOG_EVENTS = "events";
+    
+    /** Number of shard docs the catalog is spread over (migrations/eventCatalog) */
+    public static final String CATALOG_SHARD_COUNT = "shardCount";
+    
+    /** Last compaction of the catalog shards (migrations/eventCatalog) */
+    public static final String CATALOG_COMPACTED_AT = "compactedAt";
+    
+    // ==================== Identity Alias Fields ====================
+    
+    /** Canonical profile doc ID an alias points at (identityAliases docs) */
+    public static final String CANONICAL_ID = "canonicalId";
+    
+    /** Completed migration version (identityAliases/_migration) */
+    public static final String MIGRATION_VERSION = "version";
+    
     // ==================== Organizer Application Fields ====================
     
     /** Application ID field */
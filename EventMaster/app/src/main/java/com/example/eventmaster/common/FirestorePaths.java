@@ -36,6 +36,24 @@ public final class FirestorePaths {
     /** Organizer applications collection */
     public static final String ORGANIZER_APPLICATIONS = "organizerApplications";
     
+    /** Per-user unread notification counters (doc ID = recipient id) */
+    public static final String NOTIFICATION_COUNTERS = "notification_counters";
+    
+    /** Compacted read notifications (doc ID = "{userId}_{yyyy-MM}") */
+    public static final String NOTIFICATION_ARCHIVES = "notification_archives";
+    
+    /** Any known profile identifier -> canonical profile doc ID (doc ID = the identifier) */
+    public static final String IDENTITY_ALIASES = "identityAliases";
+    
+    /** Large event fields split off the event doc (doc ID = event ID) */
+    public static final String EVENT_DETAILS = "event_details";
+    
+    /** Browsable event summaries packed into a few shard docs (doc ID = "shard-{n}") */
+    public static final String EVENT_CATALOG = "event_catalog";
+    
+    /** One-off data migration markers (doc ID = migration name) */
+    public static final String MIGRATIONS = "migrations";
+    
     // ==================== Event Sub-Collections ====================
     
     /** Waiting list sub-collection under events */
@@ -44,6 +62,9 @@ public final class FirestorePaths {
     /** Chosen list sub-collection under events */
     public static final String CHOSEN_LIST = "chosen_list";
     
+    /** Not-selected (lottery losers) sub-collection under events */
+    public static final String NOT_SELECTED = "not_selected";
+    
     /** Invitations sub-collection under events */
     public static final String INVITATIONS = "invitations";
     
@@ -112,6 +133,27 @@ public final class FirestorePaths {
         return PROFILES + "/" + userId;
     }
     
+    /**
+     * Builds path to a user's unread notification counter.
+     * 
+     * @param userId the recipient id
+     * @return path string: "notification_counters/{userId}"
+     */
+    public static String notificationCounterPath(String userId) {
+        return NOTIFICATION_COUNTERS + "/" + userId;
+    }
+    
+    /**
+     * Builds path to a user's notification archive for one month.
+     * 
+     * @param userId the recipient id
+     * @param month the month key, formatted "yyyy-MM"
+     * @return path string: "notification_archives/{userId}_{month}"
+     */
+    public static String notificationArchivePath(String userId, String month) {
+        return NOTIFICATION_ARCHIVES + "/" + userId + "_" + month;
+    }
+    
     /**
      * Builds path to a specific waiting list entry.
      * 
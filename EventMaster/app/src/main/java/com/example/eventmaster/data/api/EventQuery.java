@@ -0,0 +1,91 @@
+package com.example.eventmaster.data.api;
+
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Predicates for {@link EventRepository#queryEvents}, all evaluated by
+ * Firestore so only matching events are read.
+ *
+ * Empty lists and null bounds mean "no restriction". Date windows are
+ * half-open: {@code from <= value < to}. Results are ordered by
+ * registrationOpen, newest first unless {@link #setNewestFirst(boolean)}.
+ *
+ * Setters return this so a query reads as one expression:
+ * <pre>
+ *   new EventQuery().setStatuses(EventQuery.BROWSABLE_STATUSES).setMaxPrice(50.0)
+ * </pre>
+ */
+public class EventQuery {
+
+    /** Statuses entrants may browse (drafts are excluded). */
+    public static final List<String> BROWSABLE_STATUSES =
+            Collections.unmodifiableList(Arrays.asList("PUBLISHED", "CLOSED", "DONE", "COMPLETED"));
+
+    private List<String> statuses = new ArrayList<>();
+    private List<String> eventTypes = new ArrayList<>();
+    @Nullable private Double minPrice;
+    @Nullable private Double maxPrice;
+    @Nullable private Date eventDateFrom;
+    @Nullable private Date eventDateTo;
+    @Nullable private Date registrationCloseFrom;
+    @Nullable private Date registrationCloseTo;
+    private boolean newestFirst = true;
+
+    public List<String> getStatuses() { return statuses; }
+    public EventQuery setStatuses(@Nullable List<String> statuses) {
+        this.statuses = statuses != null ? new ArrayList<>(statuses) : new ArrayList<>();
+        return this;
+    }
+
+    public List<String> getEventTypes() { return eventTypes; }
+    public EventQuery setEventTypes(@Nullable List<String> eventTypes) {
+        this.eventTypes = eventTypes != null ? new ArrayList<>(eventTypes) : new ArrayList<>();
+        return this;
+    }
+
+    @Nullable public Double getMinPrice() { return minPrice; }
+    public EventQuery setMinPrice(@Nullable Double minPrice) { this.minPrice = minPrice; return this; }
+
+    @Nullable public Double getMaxPrice() { return maxPrice; }
+    public EventQuery setMaxPrice(@Nullable Double maxPrice) { this.maxPrice = maxPrice; return this; }
+
+    @Nullable public Date getEventDateFrom() { return eventDateFrom; }
+    @Nullable public Date getEventDateTo() { return eventDateTo; }
+    /** Events happening in [from, to); either bound may be null. */
+    public EventQuery setEventDateWindow(@Nullable Date from, @Nullable Date to) {
+        this.eventDateFrom = from;
+        this.eventDateTo = to;
+        return this;
+    }
+
+    @Nullable public Date getRegistrationCloseFrom() { return registrationCloseFrom; }
+    @Nullable public Date getRegistrationCloseTo() { return registrationCloseTo; }
+    /** Events whose registration closes in [from, to); either bound may be null. */
+    public EventQuery setRegistrationCloseWindow(@Nullable Date from, @Nullable Date to) {
+        this.registrationCloseFrom = from;
+        this.registrationCloseTo = to;
+        return this;
+    }
+
+    public boolean isNewestFirst() { return newestFirst; }
+    public EventQuery setNewestFirst(boolean newestFirst) { this.newestFirst = newestFirst; return this; }
+
+    /** Copy, so a screen can derive per-tab queries from shared filters. */
+    public EventQuery copy() {
+        EventQuery q = new EventQuery()
+                .setStatuses(statuses)
+                .setEventTypes(eventTypes)
+                .setMinPrice(minPrice)
+                .setMaxPrice(maxPrice)
+                .setEventDateWindow(eventDateFrom, eventDateTo)
+                .setRegistrationCloseWindow(registrationCloseFrom, registrationCloseTo);
+        q.newestFirst = newestFirst;
+        return q;
+    }
+}
@@ -1,7 +1,12 @@
 package com.example.eventmaster.data.api;
 
+import androidx.annotation.Nullable;
+
 import com.example.eventmaster.model.Event;
 import com.google.android.gms.tasks.Task;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.ListenerRegistration;
 
 import java.util.List;
 import java.util.Map;
@@ -32,9 +37,68 @@ public interface EventRepository {
     /** Retrieves all events as a Task. */
     Task<List<Event>> getAllEvents();
 
-    /** Retrieves a single event by ID as a Task. */
+    /**
+     * Retrieves a single event by ID as a Task. Large fields (the full
+     * description) aren't part of it; see {@link #getEventDetails}.
+     */
     Task<Event> getEventById(String eventId);
 
+    /**
+     * The event's detail doc, for detail screens. Fields are null for
+     * events that predate the split, which still carry them on the event.
+     */
+    Task<EventDetails> getEventDetails(String eventId);
+
+    /**
+     * One page of events matching {@code query}, filtered and ordered by the server.
+     *
+     * @param cursor   {@link EventPage#next} of the previous page, or null for the first page
+     * @param pageSize maximum events to read for this page
+     */
+    Task<EventPage> queryEvents(EventQuery query, @Nullable DocumentSnapshot cursor, int pageSize);
+
+    /** Number of events matching {@code query}, as a server-side aggregation. */
+    Task<Long> countEvents(EventQuery query);
+
+    /**
+     * Browsable events within {@code radiusMeters} of a point, nearest first.
+     * Reads only the geohash cells covering the circle (a few range
+     * queries), then drops cell corners outside it by exact distance.
+     * Events without coordinates never match.
+     */
+    Task<List<NearbyEvent>> getEventsNear(double latitude, double longitude, double radiusMeters);
+
+    /**
+     * Summaries of every published event that hasn't happened yet, from
+     * the catalog shards, in a handful of reads. Only the fields a list row needs are set; fetch the
+     * event by id for the rest.
+     */
+    Task<EventDelta> getCatalog();
+
+    /**
+     * Events whose updatedAt is after {@code since}, oldest change first, for
+     * syncing a local mirror. Deletions are not reported; a full read (null
+     * {@code since}) is the only way to notice them.
+     *
+     * @param since watermark from the previous sync, or null to read every event
+     */
+    Task<EventDelta> getEventsUpdatedSince(@Nullable Timestamp since);
+
+    /**
+     * Live version of {@link #queryEvents} over a range of the same ordering.
+     * The first callback lists every match; after that only documents that
+     * were added, changed or left the range are delivered.
+     *
+     * @param after   exclusive start cursor, or null to start at the first match
+     * @param through inclusive end cursor; null leaves the range open-ended,
+     *                capped at {@code limit} documents
+     */
+    ListenerRegistration listenEvents(EventQuery query,
+                                      @Nullable DocumentSnapshot after,
+                                      @Nullable DocumentSnapshot through,
+                                      int limit,
+                                      OnEventChangesListener listener);
+
     // ---------- Read operations (Callback-based) ----------
     /**
      * Retrieves all events using a callback listener.
@@ -47,6 +111,54 @@ public interface EventRepository {
      */
     void getEventById(String eventId, OnEventListener listener);
 
+    /** A page of {@link #queryEvents} results. */
+    final class EventPage {
+        public final List<Event> events;
+        /** Cursor for the next page; null when this was the last one. */
+        @Nullable public final DocumentSnapshot next;
+
+        public EventPage(List<Event> events, @Nullable DocumentSnapshot next) {
+            this.events = events;
+            this.next = next;
+        }
+
+        public boolean hasMore() { return next != null; }
+    }
+
+    /** Result row of {@link #getEventsNear}. */
+    final class NearbyEvent {
+        public final Event event;
+        public final double distanceMeters;
+
+        public NearbyEvent(Event event, double distanceMeters) {
+            this.event = event;
+            this.distanceMeters = distanceMeters;
+        }
+    }
+
+    /** Large fields kept out of the event doc; see {@link #getEventDetails}. */
+    final class EventDetails {
+        @Nullable public final String description;
+        @Nullable public final Timestamp publishedAt;
+
+        public EventDetails(@Nullable String description, @Nullable Timestamp publishedAt) {
+            this.description = description;
+            this.publishedAt = publishedAt;
+        }
+    }
+
+    /** Result of {@link #getEventsUpdatedSince} and {@link #getCatalog}. */
+    final class EventDelta {
+        public final List<Event> events;
+        /** Newest updatedAt among {@link #events}; null if none carried one. */
+        @Nullable public final Timestamp newest;
+
+        public EventDelta(List<Event> events, @Nullable Timestamp newest) {
+            this.events = events;
+            this.newest = newest;
+        }
+    }
+
     // ---------- Listener types (for callback-based usage) ----------
     interface OnEventListListener {
         void onSuccess(List<Event> events);
@@ -57,4 +169,26 @@ public interface EventRepository {
         void onSuccess(Event event);
         void onFailure(Exception e);
     }
+
+    interface OnEventChangesListener {
+        /**
+         * @param changes documents that changed since the previous callback
+         * @param size    documents now in the range (before any client-side filtering)
+         * @param last    last document now in the range, or null if it is empty
+         */
+        void onChanges(List<EventChange> changes, int size, @Nullable DocumentSnapshot last);
+        void onFailure(Exception e);
+    }
+
+    /** One entry of {@link OnEventChangesListener#onChanges}. */
+    final class EventChange {
+        public final Event event;
+        /** True if the event left the range (deleted, or no longer matching). */
+        public final boolean removed;
+
+        public EventChange(Event event, boolean removed) {
+            this.event = event;
+            this.removed = removed;
+        }
+    }
 }
@@ -2,6 +2,8 @@ package com.example.eventmaster.data.api;
 
 import com.example.eventmaster.model.Notification;
 import com.example.eventmaster.model.Profile;
+import com.google.android.gms.tasks.CancellationToken;
+import com.google.firebase.Timestamp;
 
 import java.util.List;
 
@@ -91,6 +93,31 @@ public interface NotificationService {
             OnFailureListener onFailure
     );
 
+    /**
+     * Sends a notification to everyone matched by an audience query, streaming
+     * the audience in pages instead of taking a prebuilt list of profiles.
+     * Opted-out recipients are skipped (except for CANCELLATION notices).
+     * 
+     * @param eventId The event ID
+     * @param audience Which of the event's lists to notify
+     * @param type Notification type (decides priority, opt-out and digest handling)
+     * @param title Notification title
+     * @param message Notification message body
+     * @param onProgress Optional callback with running sent/skipped counts
+     * @param onComplete Callback with the final sent/skipped counts
+     * @param onFailure Callback for failure with error message
+     */
+    void sendNotificationToAudience(
+            String eventId,
+            Audience audience,
+            Notification.NotificationType type,
+            String title,
+            String message,
+            OnFanOutProgressListener onProgress,
+            OnFanOutProgressListener onComplete,
+            OnFailureListener onFailure
+    );
+
     /**
      * Retrieves notification history for a specific event (for admin).
      * 
@@ -117,6 +144,23 @@ public interface NotificationService {
             OnFailureListener onFailure
     );
 
+    /**
+     * Retrieves notifications sent to any of the given ids after {@code since}.
+     * Used for delta sync of the local inbox; matches on recipientUserId only,
+     * which every current writer sets.
+     * 
+     * @param userIds Recipient ids (at most 10, Firestore's whereIn limit)
+     * @param since Exclusive lower bound on sentAt
+     * @param onSuccess Callback with new notifications and the newest sentAt seen
+     * @param onFailure Callback for failure with error message
+     */
+    void getNotificationsSince(
+            List<String> userIds,
+            Timestamp since,
+            OnNotificationDeltaListener onSuccess,
+            OnFailureListener onFailure
+    );
+
     /**
      * Marks a notification as read.
      * 
@@ -150,6 +194,35 @@ public interface NotificationService {
             OnFailureListener onFailure
     );
 
+    /**
+     * Deletes all notifications addressed to any of the given ids (e.g. a user's
+     * Firebase UID and device ID) in one pass, so overlapping documents are only
+     * deleted once.
+     * 
+     * @param userIds Every id the user's notifications may be stored under
+     * @param onProgress Optional callback with running deleted/found counts
+     * @param cancellationToken Optional token; cancelling stops after in-flight batches
+     * @param onSuccess Callback when deletion finishes (or stops after cancellation)
+     * @param onFailure Callback for failure with error message
+     */
+    void deleteAllNotificationsForUsers(
+            List<String> userIds,
+            OnDeleteProgressListener onProgress,
+            CancellationToken cancellationToken,
+            OnSuccessListener onSuccess,
+            OnFailureListener onFailure
+    );
+
+    /** Audiences for {@link #sendNotificationToAudience}. */
+    enum Audience {
+        /** events/{eventId}/waiting_list */
+        WAITING_LIST,
+        /** events/{eventId}/chosen_list */
+        CHOSEN_LIST,
+        /** events/{eventId}/registrations with a CANCELLED_* status */
+        CANCELLED_REGISTRATIONS
+    }
+
     // Callback interfaces
 
     interface OnSuccessListener {
@@ -163,5 +236,17 @@ public interface NotificationService {
     interface OnNotificationHistoryListener {
         void onSuccess(List<Notification> notifications);
     }
+
+    interface OnNotificationDeltaListener {
+        void onSuccess(List<Notification> notifications, Timestamp newestSentAt);
+    }
+
+    interface OnDeleteProgressListener {
+        void onProgress(int deleted, int found);
+    }
+
+    interface OnFanOutProgressListener {
+        void onProgress(int sent, int skipped);
+    }
 }
 
@@ -0,0 +1,225 @@
+package com.example.eventmaster.data.firestore;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.eventmaster.common.Constants;
+import com.example.eventmaster.common.FirestoreFields;
+import com.example.eventmaster.common.FirestorePaths;
+import com.example.eventmaster.data.api.NotificationService;
+import com.example.eventmaster.model.Notification;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streams an audience query and writes one notification per recipient.
+ *
+ * The audience is read {@link #PAGE_SIZE} documents at a time (ordered by
+ * document ID, continued with startAfter) and each page is written before
+ * the next one is read, so memory stays at one page no matter how large the
+ * list is. Recipient ids come straight from the audience docs (userId, then
+ * entrantId, then the doc ID), so no Profile is read per recipient; opt-outs
+ * are filtered against {@link OptOutCache}.
+ *
+ * Each page is one WriteBatch (notification + unread-counter increment per
+ * recipient) started through {@link NotificationDispatcher} under the type's
+ * priority, whatever the type. Broadcasts are sent on the organizer's behalf,
+ * so they are never folded into digests ({@link NotificationDigestFs}); every
+ * recipient's doc carries the organizerId and stays in the organizer's log.
+ */
+public class AudienceFanOutFs {
+
+    private static final String TAG = "AudienceFanOutFs";
+
+    /** Audience docs per page; 2 writes per recipient keeps a page under the 500-op batch cap. */
+    static final int PAGE_SIZE = 200;
+
+    private final FirebaseFirestore db;
+
+    public AudienceFanOutFs(@NonNull FirebaseFirestore db) {
+        this.db = db;
+    }
+
+    /** Running totals for a fan-out. */
+    public static final class Result {
+        public int sent;
+        public int skipped;
+    }
+
+    /** Builds the Firestore query behind an audience. */
+    public Query queryFor(@NonNull String eventId, @NonNull NotificationService.Audience audience) {
+        switch (audience) {
+            case WAITING_LIST:
+                return db.collection(FirestorePaths.waitingListPath(eventId));
+            case CHOSEN_LIST:
+                return db.collection(FirestorePaths.chosenListPath(eventId));
+            case CANCELLED_REGISTRATIONS:
+                return db.collection(FirestorePaths.registrationsPath(eventId))
+                        .whereIn(FirestoreFields.STATUS, Arrays.asList(
+                                Constants.STATUS_CANCELLED_BY_ORGANIZER,
+                                Constants.STATUS_CANCELLED_BY_ENTRANT));
+            default:
+                throw new IllegalArgumentException("Unknown audience " + audience);
+        }
+    }
+
+    /**
+     * Sends {@code title}/{@code message} to everyone in {@code audience}.
+     * Cancellation notices ignore opt-outs, like the profile-based senders.
+     *
+     * @param onProgress optional; called after each page with running totals
+     * @return Task resolving to the final totals
+     */
+    public Task<Result> send(@NonNull String eventId,
+                             @NonNull NotificationService.Audience audience,
+                             @NonNull Notification.NotificationType type,
+                             @NonNull String title,
+                             @NonNull String message,
+                             @Nullable NotificationService.OnFanOutProgressListener onProgress) {
+        Map<String, Object> base = new HashMap<>();
+        base.put(FirestoreFields.EVENT_ID, eventId);
+        base.put(FirestoreFields.SENDER_USER_ID, "system");
+        base.put(FirestoreFields.TYPE, type.name());
+        base.put(FirestoreFields.TITLE, title);
+        base.put(FirestoreFields.MESSAGE, message);
+        base.put(FirestoreFields.IS_READ, false);
+
+        boolean honorOptOut = type != Notification.NotificationType.CANCELLATION;
+        Task<Set<String>> optOuts = honorOptOut
+                ? OptOutCache.get(db)
+                : Tasks.forResult(Collections.<String>emptySet());
+
+        Task<String> organizer = EventOrganizerCache.organizerIdFor(db, eventId);
+
+        return Tasks.whenAllComplete(optOuts, organizer).continueWithTask(ready -> {
+            // Without the opt-out set preferences can't be honoured; don't send blind
+            if (!optOuts.isSuccessful()) throw optOuts.getException();
+            if (organizer.isSuccessful() && organizer.getResult() != null) {
+                base.put(FirestoreFields.ORGANIZER_ID, organizer.getResult());
+            }
+
+            Run run = new Run(queryFor(eventId, audience), type, base, optOuts.getResult(), onProgress);
+            return run.page(null).continueWith(t -> {
+                if (!t.isSuccessful()) throw t.getException();
+                Log.d(TAG, audience + " fan-out for " + eventId + ": sent " + run.result.sent
+                        + ", skipped " + run.result.skipped);
+                return run.result;
+            });
+        });
+    }
+
+    private final class Run {
+        final Query query;
+        final Notification.NotificationType type;
+        final Map<String, Object> base;
+        final Set<String> optOuts;
+        @Nullable final NotificationService.OnFanOutProgressListener onProgress;
+        final Result result = new Result();
+
+        Run(Query query, Notification.NotificationType type, Map<String, Object> base,
+            Set<String> optOuts, @Nullable NotificationService.OnFanOutProgressListener onProgress) {
+            this.query = query;
+            this.type = type;
+            this.base = base;
+            this.optOuts = optOuts;
+            this.onProgress = onProgress;
+        }
+
+        Task<Void> page(@Nullable DocumentSnapshot cursor) {
+            Query q = query.orderBy(FieldPath.documentId()).limit(PAGE_SIZE);
+            if (cursor != null) q = q.startAfter(cursor);
+
+            return q.get().continueWithTask(task -> {
+                if (!task.isSuccessful()) throw task.getException();
+                List<DocumentSnapshot> docs = task.getResult().getDocuments();
+
+                Set<String> recipients = new LinkedHashSet<>();
+                for (DocumentSnapshot doc : docs) {
+                    String id = recipientOf(doc);
+                    if (optOuts.contains(id) || optOuts.contains(doc.getId())) {
+                        result.skipped++;
+                    } else {
+                        recipients.add(id);
+                    }
+                }
+
+                return write(new ArrayList<>(recipients)).continueWithTask(written -> {
+                    if (!written.isSuccessful()) throw written.getException();
+                    result.sent += recipients.size();
+                    if (onProgress != null) onProgress.onProgress(result.sent, result.skipped);
+
+                    if (docs.size() < PAGE_SIZE) return Tasks.forResult(null);
+                    return page(docs.get(docs.size() - 1));
+                });
+            });
+        }
+
+        private Task<Void> write(List<String> recipients) {
+            if (recipients.isEmpty()) return Tasks.forResult(null);
+
+            TaskCompletionSource<Void> done = new TaskCompletionSource<>();
+            NotificationDispatcher.getInstance().submit(
+                    NotificationDispatchScheduler.Priority.forType(type),
+                    () -> {
+                        WriteBatch batch = db.batch();
+                        for (String id : recipients) {
+                            DocumentReference ref = db.collection(FirestorePaths.NOTIFICATIONS).document();
+                            Map<String, Object> data = dataFor(id);
+                            data.put("notificationId", ref.getId());
+                            batch.set(ref, data);
+                            NotificationCounterFs.applyDelta(batch, db, id, 1);
+                        }
+                        batch.commit().addOnCompleteListener(t -> complete(done, t));
+                    });
+            return done.getTask();
+        }
+
+        private Map<String, Object> dataFor(String recipient) {
+            Map<String, Object> data = new HashMap<>(base);
+            data.put(FirestoreFields.RECIPIENT_USER_ID, recipient);
+            data.put(FirestoreFields.RECIPIENT_ID, recipient);
+            data.put(FirestoreFields.DEVICE_ID, recipient);
+            data.put(FirestoreFields.SENT_AT, Timestamp.now());
+            return data;
+        }
+    }
+
+    /** Entrant id on an audience doc: userId, then entrantId, then the doc ID. */
+    static String recipientOf(DocumentSnapshot doc) {
+        return recipientOf(doc.getString(FirestoreFields.USER_ID),
+                doc.getString(FirestoreFields.ENTRANT_ID), doc.getId());
+    }
+
+    static String recipientOf(@Nullable String userId, @Nullable String entrantId, @NonNull String docId) {
+        if (userId != null && !userId.isEmpty()) return userId;
+        if (entrantId != null && !entrantId.isEmpty()) return entrantId;
+        return docId;
+    }
+
+    private static <T> void complete(TaskCompletionSource<T> source, Task<T> task) {
+        if (task.isSuccessful()) {
+            source.setResult(task.getResult());
+        } else {
+            source.setException(task.getException());
+        }
+    }
+}
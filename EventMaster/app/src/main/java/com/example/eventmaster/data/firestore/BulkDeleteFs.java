@@ -0,0 +1,255 @@
+package com.example.eventmaster.data.firestore;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.CancellationToken;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bulk delete engine for "delete everything matching these queries".
+ *
+ * How it runs:
+ *  - Each query is read page by page (limit + startAfter), so the full
+ *    result set is never held in memory.
+ *  - Matching references are de-duped by path across queries and packed
+ *    into batches of at most {@link #MAX_BATCH_OPS} deletes.
+ *  - Up to {@code maxInFlight} batch commits run at once; the next page is
+ *    fetched while earlier batches are still committing.
+ *  - With a {@code minCommitIntervalMs}, commits are started at most that
+ *    often, capping the write rate of long runs.
+ *
+ * Cancelling the token stops new pages and new commits; batches already
+ * in flight are allowed to finish and the Task resolves with the number
+ * deleted so far. The first failed read or commit fails the Task once
+ * in-flight work has drained.
+ *
+ * All run state is only touched from Task callbacks (main thread), so no
+ * locking is needed.
+ */
+public class BulkDeleteFs {
+
+    private static final String TAG = "BulkDeleteFs";
+
+    /** Firestore's limit on writes per batch. */
+    public static final int MAX_BATCH_OPS = 500;
+
+    public static final int DEFAULT_MAX_IN_FLIGHT = 4;
+
+    /** Progress callback; {@code found} grows as pages are read. */
+    public interface OnProgressListener {
+        void onProgress(int deleted, int found);
+    }
+
+    private static final Handler MAIN = new Handler(Looper.getMainLooper());
+
+    private final FirebaseFirestore db;
+    private final int maxInFlight;
+    private final long minCommitIntervalMs;
+
+    public BulkDeleteFs() {
+        this(FirebaseFirestore.getInstance(), DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    public BulkDeleteFs(@NonNull FirebaseFirestore db) {
+        this(db, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    /**
+     * @param maxInFlight number of batch commits allowed to run concurrently (min 1)
+     */
+    public BulkDeleteFs(@NonNull FirebaseFirestore db, int maxInFlight) {
+        this(db, maxInFlight, 0);
+    }
+
+    /**
+     * @param maxInFlight         number of batch commits allowed to run concurrently (min 1)
+     * @param minCommitIntervalMs minimum time between starting two commits; 0 for no pacing
+     */
+    public BulkDeleteFs(@NonNull FirebaseFirestore db, int maxInFlight, long minCommitIntervalMs) {
+        this.db = db;
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.minCommitIntervalMs = Math.max(0, minCommitIntervalMs);
+    }
+
+    /**
+     * Deletes every document matched by any of {@code queries}.
+     *
+     * @param progress optional progress callback, invoked after each committed batch
+     * @param cancel   optional token; see class docs for cancellation semantics
+     * @return Task resolving to the number of documents deleted
+     */
+    public Task<Integer> deleteMatching(@NonNull List<Query> queries,
+                                        @Nullable OnProgressListener progress,
+                                        @Nullable CancellationToken cancel) {
+        return new Run(queries, progress, cancel).start();
+    }
+
+    /** State for one deleteMatching call. */
+    private final class Run {
+        private final ArrayDeque<Query> queries;
+        private final OnProgressListener progress;
+        private final CancellationToken cancel;
+        private final TaskCompletionSource<Integer> done = new TaskCompletionSource<>();
+
+        private final Set<String> seenPaths = new HashSet<>();
+        private final ArrayDeque<List<DocumentReference>> ready = new ArrayDeque<>();
+        private List<DocumentReference> filling = new ArrayList<>();
+
+        private Query current;
+        private DocumentSnapshot cursor;
+        private boolean fetching;
+        private boolean exhausted;
+        private boolean finished;
+        private int inFlight;
+        private long lastCommitAt;
+        private boolean pumpScheduled;
+        private int found;
+        private int deleted;
+        private Exception failure;
+
+        Run(List<Query> queries, OnProgressListener progress, CancellationToken cancel) {
+            this.queries = new ArrayDeque<>(queries);
+            this.progress = progress;
+            this.cancel = cancel;
+        }
+
+        Task<Integer> start() {
+            pump();
+            return done.getTask();
+        }
+
+        private boolean isCancelled() {
+            return cancel != null && cancel.isCancellationRequested();
+        }
+
+        /** Starts whatever work the current state allows, then checks for completion. */
+        private void pump() {
+            if (finished) return;
+
+            boolean stopping = failure != null || isCancelled();
+            if (!stopping) {
+                if (exhausted && !filling.isEmpty()) {
+                    ready.add(filling);
+                    filling = new ArrayList<>();
+                }
+                while (inFlight < maxInFlight && !ready.isEmpty()) {
+                    long wait = lastCommitAt + minCommitIntervalMs - SystemClock.elapsedRealtime();
+                    if (minCommitIntervalMs > 0 && wait > 0) {
+                        schedulePump(wait);
+                        break;
+                    }
+                    commit(ready.poll());
+                }
+                // Read ahead only while there is room, so memory stays bounded.
+                if (!fetching && !exhausted && ready.size() < maxInFlight) {
+                    fetchNextPage();
+                    if (finished) return;
+                }
+            }
+
+            boolean drained = exhausted && ready.isEmpty() && filling.isEmpty();
+            if (inFlight == 0 && !fetching && (stopping || drained)) {
+                finished = true;
+                if (failure != null) {
+                    done.setException(failure);
+                } else {
+                    Log.d(TAG, "Bulk delete " + (stopping ? "cancelled" : "finished")
+                            + ": " + deleted + "/" + found);
+                    done.setResult(deleted);
+                }
+            }
+        }
+
+        private void schedulePump(long delayMs) {
+            if (pumpScheduled) return;
+            pumpScheduled = true;
+            MAIN.postDelayed(() -> {
+                pumpScheduled = false;
+                pump();
+            }, delayMs);
+        }
+
+        private void fetchNextPage() {
+            if (current == null) {
+                current = queries.poll();
+                cursor = null;
+                if (current == null) {
+                    exhausted = true;
+                    pump();
+                    return;
+                }
+            }
+
+            Query page = current.limit(MAX_BATCH_OPS);
+            if (cursor != null) page = page.startAfter(cursor);
+
+            fetching = true;
+            page.get().addOnCompleteListener(task -> {
+                fetching = false;
+                if (!task.isSuccessful() || task.getResult() == null) {
+                    if (failure == null) failure = task.getException();
+                    pump();
+                    return;
+                }
+
+                List<DocumentSnapshot> docs = task.getResult().getDocuments();
+                for (DocumentSnapshot doc : docs) {
+                    DocumentReference ref = doc.getReference();
+                    if (!seenPaths.add(ref.getPath())) continue;
+                    found++;
+                    filling.add(ref);
+                    if (filling.size() == MAX_BATCH_OPS) {
+                        ready.add(filling);
+                        filling = new ArrayList<>();
+                    }
+                }
+
+                if (docs.size() < MAX_BATCH_OPS) {
+                    current = null;
+                } else {
+                    cursor = docs.get(docs.size() - 1);
+                }
+                pump();
+            });
+        }
+
+        private void commit(List<DocumentReference> refs) {
+            WriteBatch batch = db.batch();
+            for (DocumentReference ref : refs) {
+                batch.delete(ref);
+            }
+
+            inFlight++;
+            lastCommitAt = SystemClock.elapsedRealtime();
+            batch.commit().addOnCompleteListener(task -> {
+                inFlight--;
+                if (task.isSuccessful()) {
+                    deleted += refs.size();
+                    if (progress != null) progress.onProgress(deleted, found);
+                } else {
+                    Log.e(TAG, "Batch of " + refs.size() + " deletes failed", task.getException());
+                    if (failure == null) failure = task.getException();
+                }
+                pump();
+            });
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.eventmaster.data.firestore;
+
+import android.content.ComponentCallbacks2;
+import android.content.res.Configuration;
+
+import androidx.annotation.NonNull;
+
+/**
+ * onTrimMemory handling shared by the process-wide in-memory caches.
+ *
+ * Only levels that aren't deprecated (API 34) are acted on:
+ *  - TRIM_MEMORY_UI_HIDDEN: the app left the foreground; {@link #shrink()}
+ *  - TRIM_MEMORY_BACKGROUND and above: the process is on the LRU kill
+ *    list; {@link #clear()}
+ * Foreground pressure levels below UI_HIDDEN are ignored. Register with
+ * {@code Context#registerComponentCallbacks} on the application context.
+ */
+abstract class CacheTrimCallbacks implements ComponentCallbacks2 {
+
+    /** Drops most entries; the hottest may stay. */
+    protected abstract void shrink();
+
+    /** Releases everything held in memory. */
+    protected abstract void clear();
+
+    @Override
+    public final void onTrimMemory(int level) {
+        if (level >= TRIM_MEMORY_BACKGROUND) {
+            clear();
+        } else if (level >= TRIM_MEMORY_UI_HIDDEN) {
+            shrink();
+        }
+    }
+
+    @Override
+    public final void onConfigurationChanged(@NonNull Configuration newConfig) { }
+
+    // Still required by ComponentCallbacks; only pre-ICS callers ever sent it
+    @SuppressWarnings("deprecation")
+    @Override
+    public final void onLowMemory() {
+        clear();
+    }
+}
@@ -3,6 +3,7 @@ package com.example.eventmaster.data.firestore;
 import androidx.annotation.NonNull;
 
 import com.example.eventmaster.data.api.EnrollmentRepository;
+import com.example.eventmaster.model.ProfileSummary;
 import com.example.eventmaster.ui.organizer.adapters.EntrantRow;
 import com.google.android.gms.tasks.Task;
 import com.google.firebase.firestore.DocumentSnapshot;
@@ -37,9 +38,10 @@ public class EnrollmentRepositoryFs implements EnrollmentRepository {
                     if (!task.isSuccessful() || task.getResult() == null) return out;
                     for (DocumentSnapshot d : task.getResult().getDocuments()) {
                         String entrantId = d.getId();
-                        String name  = d.getString("name");
-                        String email = d.getString("email");
-                        String phone = d.getString("phone");
+                        ProfileSummary summary = ProfileSummary.fromMap(d.get("profileSummary"));
+                        String name  = firstNonNull(d.getString("name"), summary != null ? summary.getName() : null);
+                        String email = firstNonNull(d.getString("email"), summary != null ? summary.getEmail() : null);
+                        String phone = firstNonNull(d.getString("phone"), summary != null ? summary.getPhoneNumber() : null);
                         out.add(new EntrantRow(
                                 entrantId, name != null ? name : entrantId, email, phone
                         ));
@@ -59,9 +61,10 @@ public class EnrollmentRepositoryFs implements EnrollmentRepository {
                     if (!task.isSuccessful() || task.getResult() == null) return out;
                     for (DocumentSnapshot d : task.getResult().getDocuments()) {
                         String entrantId = d.getId();
-                        String name  = d.getString("name");
-                        String email = d.getString("email");
-                        String phone = d.getString("phone");
+                        ProfileSummary summary = ProfileSummary.fromMap(d.get("profileSummary"));
+                        String name  = firstNonNull(d.getString("name"), summary != null ? summary.getName() : null);
+                        String email = firstNonNull(d.getString("email"), summary != null ? summary.getEmail() : null);
+                        String phone = firstNonNull(d.getString("phone"), summary != null ? summary.getPhoneNumber() : null);
                         out.add(new EntrantRow(
                                 entrantId,
                                 name != null ? name : entrantId,
@@ -71,4 +74,8 @@ public class EnrollmentRepositoryFs implements EnrollmentRepository {
                     return out;
                 });
     }
+
+    private static String firstNonNull(String a, String b) {
+        return a != null ? a : b;
+    }
 }
@@ -0,0 +1,444 @@
+package com.example.eventmaster.data.firestore;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.eventmaster.common.Constants;
+import com.example.eventmaster.common.FirestoreFields;
+import com.example.eventmaster.common.FirestorePaths;
+import com.example.eventmaster.data.api.EventRepository;
+import com.example.eventmaster.model.Event;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compact copies of the events entrants can still sign up for or attend,
+ * packed into a few shard docs so the whole catalog loads in one read per
+ * shard.
+ *
+ * Storage notes:
+ *  - Collection: "event_catalog", doc IDs "shard-0" .. "shard-{n-1}"; n is
+ *    recorded as "shardCount" on the migrations/eventCatalog marker doc
+ *    ({@link #LEGACY_SHARD_COUNT} until the first rebuild).
+ *  - Field "events" maps event id to a summary: the fields a list row and
+ *    the join checks need (name, dates, price, type, location, posterUrl,
+ *    status, capacity, waitingListLimit, geolocationRequired, updatedAt).
+ *  - Only PUBLISHED events whose date hasn't passed are kept. Writing an
+ *    event that no longer qualifies (closed, finished, drafted, deleted)
+ *    drops its entry; events that finish without being written again are
+ *    pruned by {@link #compact()}.
+ *  - An event's shard is fixed by its id and the shard count, so a writer
+ *    touches one map entry without reading the shard. Entries are written
+ *    with mergeFieldPaths, so writers for different events never clobber
+ *    each other.
+ *  - {@link #compact()} re-sizes the shard count to about
+ *    {@link #TARGET_SHARD_ENTRIES} summaries (roughly 200 KB) a shard,
+ *    well under Firestore's 1 MiB doc limit. A writer that read the count
+ *    just before a re-size may leave an entry in its old shard; {@link #load()}
+ *    keeps the newest copy and the next compaction drops the other.
+ *
+ * {@link EventRepositoryFs} refreshes an event's entry after each create,
+ * update, publish and delete commits. Those are separate writes, so a
+ * failed catalog write never fails the event write; the entry catches up
+ * on the event's next write. Events written before the catalog existed are
+ * added by {@link #rebuild()}, run once behind the marker doc.
+ */
+public class EventCatalogShardsFs {
+
+    private static final String TAG = "EventCatalogShardsFs";
+
+    /** Shard count before the marker doc records one (the original fixed layout). */
+    static final int LEGACY_SHARD_COUNT = 3;
+    /** Summaries per shard that {@link #compact()} sizes for. */
+    static final int TARGET_SHARD_ENTRIES = 500;
+    /** How long a writer trusts the shard count it last read. */
+    static final long LAYOUT_TTL_MS = 10 * 60 * 1000L;
+    /** Compactions closer together than this are skipped. */
+    static final long COMPACT_INTERVAL_MS = 20 * 60 * 60 * 1000L;
+
+    /** Marker doc under /migrations recording a completed {@link #rebuild()} and the layout. */
+    static final String REBUILD_DOC = "eventCatalog";
+    static final int REBUILD_VERSION = 2; // 2: active events only, sized shard count
+    static final int REBUILD_PAGE_SIZE = 400;
+
+    /** Event doc fields copied into a summary. */
+    private static final String[] SUMMARY_FIELDS = {
+            FirestoreFields.NAME, FirestoreFields.LOCATION, "eventType", FirestoreFields.PRICE,
+            FirestoreFields.POSTER_URL, FirestoreFields.EVENT_DATE, FirestoreFields.REGISTRATION_OPEN,
+            FirestoreFields.REGISTRATION_CLOSE, FirestoreFields.STATUS, FirestoreFields.CAPACITY,
+            FirestoreFields.WAITING_LIST_LIMIT, FirestoreFields.GEOLOCATION_REQUIRED,
+            FirestoreFields.UPDATED_AT
+    };
+
+    private static volatile int cachedShardCount;
+    private static volatile long cachedShardCountAtMillis;
+
+    private final FirebaseFirestore db;
+
+    public EventCatalogShardsFs() {
+        this(FirebaseFirestore.getInstance());
+    }
+
+    public EventCatalogShardsFs(@NonNull FirebaseFirestore db) {
+        this.db = db;
+    }
+
+    // ---------- Layout ----------
+
+    static int shardOf(@NonNull String eventId, int shardCount) {
+        return Math.floorMod(eventId.hashCode(), shardCount);
+    }
+
+    /** Shards needed for {@code entries} summaries at {@link #TARGET_SHARD_ENTRIES} each. */
+    static int shardCountFor(int entries) {
+        return Math.max(1, (entries + TARGET_SHARD_ENTRIES - 1) / TARGET_SHARD_ENTRIES);
+    }
+
+    private DocumentReference shardDoc(int index) {
+        return db.collection(FirestorePaths.EVENT_CATALOG).document("shard-" + index);
+    }
+
+    private DocumentReference marker() {
+        return db.collection(FirestorePaths.MIGRATIONS).document(REBUILD_DOC);
+    }
+
+    /** Current shard count, from the marker doc at most every {@link #LAYOUT_TTL_MS}. */
+    private Task<Integer> shardCount() {
+        int cached = cachedShardCount;
+        if (cached > 0 && System.currentTimeMillis() - cachedShardCountAtMillis < LAYOUT_TTL_MS) {
+            return Tasks.forResult(cached);
+        }
+        return marker().get().continueWith(task -> {
+            if (!task.isSuccessful()) throw task.getException();
+            Long n = task.getResult().getLong(FirestoreFields.CATALOG_SHARD_COUNT);
+            int count = n != null && n > 0 ? n.intValue() : LEGACY_SHARD_COUNT;
+            rememberShardCount(count);
+            return count;
+        });
+    }
+
+    private static void rememberShardCount(int count) {
+        cachedShardCount = count;
+        cachedShardCountAtMillis = System.currentTimeMillis();
+    }
+
+    // ---------- Writes ----------
+
+    /**
+     * Writes the catalog entry for an event doc's data: its summary if the
+     * event is active, otherwise a delete of the entry.
+     */
+    public Task<Void> put(@NonNull String eventId, @Nullable Map<String, Object> eventData) {
+        Map<String, Object> summary = summarize(eventData, new Date());
+        return shardCount().continueWithTask(task -> {
+            if (!task.isSuccessful()) throw task.getException();
+            return shardDoc(shardOf(eventId, task.getResult()))
+                    .set(entry(eventId, summary), entryOnly(eventId));
+        });
+    }
+
+    /** Removes an event's catalog entry. */
+    public Task<Void> remove(@NonNull String eventId) {
+        return put(eventId, null);
+    }
+
+    /**
+     * Re-reads one event and rewrites its catalog entry. Used after partial
+     * updates, where the written fields alone can't produce a summary.
+     */
+    public Task<Void> refresh(@NonNull String eventId) {
+        return db.collection(FirestorePaths.EVENTS).document(eventId).get().continueWithTask(task -> {
+            if (!task.isSuccessful()) throw task.getException();
+            DocumentSnapshot doc = task.getResult();
+            return put(eventId, doc.exists() ? doc.getData() : null);
+        });
+    }
+
+    private static Map<String, Object> entry(String eventId, @Nullable Map<String, Object> summary) {
+        Map<String, Object> m = new HashMap<>();
+        m.put(FirestoreFields.CATALOG_EVENTS,
+                Collections.singletonMap(eventId, summary != null ? summary : FieldValue.delete()));
+        return m;
+    }
+
+    /** Summary of an event doc's data; null if it isn't active (or doesn't exist). */
+    @Nullable
+    private static Map<String, Object> summarize(@Nullable Map<String, Object> eventData, @NonNull Date now) {
+        if (eventData == null || !isActive(eventData, now)) return null;
+        Map<String, Object> summary = new HashMap<>();
+        for (String field : SUMMARY_FIELDS) {
+            Object v = eventData.get(field);
+            if (v != null) summary.put(field, v);
+        }
+        return summary;
+    }
+
+    /**
+     * Whether an event doc's data (or a summary of it) belongs in the
+     * catalog: published, and not dated before {@code now}.
+     */
+    static boolean isActive(@NonNull Map<?, ?> data, @NonNull Date now) {
+        if (!Constants.STATUS_PUBLISHED.equals(data.get(FirestoreFields.STATUS))) return false;
+        Object date = data.get(FirestoreFields.EVENT_DATE);
+        if (date instanceof Timestamp) date = ((Timestamp) date).toDate();
+        return !(date instanceof Date) || !((Date) date).before(now);
+    }
+
+    /** Replaces just this event's entry; the rest of the shard is untouched. */
+    private static SetOptions entryOnly(String eventId) {
+        return SetOptions.mergeFieldPaths(
+                Collections.singletonList(FieldPath.of(FirestoreFields.CATALOG_EVENTS, eventId)));
+    }
+
+    // ---------- Reads ----------
+
+    /**
+     * Every catalogued event, one read per shard. Only summary fields are
+     * set; open the event doc for the rest. Entries that have finished
+     * since they were written are left out.
+     */
+    public Task<EventRepository.EventDelta> load() {
+        return db.collection(FirestorePaths.EVENT_CATALOG).get().continueWith(task -> {
+            if (!task.isSuccessful()) throw task.getException();
+            Date now = new Date();
+            List<Event> out = new ArrayList<>();
+            Timestamp newest = null;
+            for (Map.Entry<String, Map<String, Object>> entry
+                    : merge(task.getResult().getDocuments()).entrySet()) {
+                Map<String, Object> summary = entry.getValue();
+                if (!isActive(summary, now)) continue;
+                out.add(fromSummary(entry.getKey(), summary));
+                Timestamp updated = updatedAt(summary);
+                if (updated != null && (newest == null || updated.compareTo(newest) > 0)) {
+                    newest = updated;
+                }
+            }
+            return new EventRepository.EventDelta(out, newest);
+        });
+    }
+
+    /** Entries of every shard by event id; an id found in two shards keeps the newer summary. */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Map<String, Object>> merge(List<DocumentSnapshot> shards) {
+        Map<String, Map<String, Object>> byId = new HashMap<>();
+        for (DocumentSnapshot shard : shards) {
+            Object entries = shard.get(FirestoreFields.CATALOG_EVENTS);
+            if (!(entries instanceof Map)) continue;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) entries).entrySet()) {
+                if (!(entry.getKey() instanceof String) || !(entry.getValue() instanceof Map)) continue;
+                Map<String, Object> summary = (Map<String, Object>) entry.getValue();
+                Map<String, Object> seen = byId.get(entry.getKey());
+                if (seen == null || compareUpdated(summary, seen) > 0) {
+                    byId.put((String) entry.getKey(), summary);
+                }
+            }
+        }
+        return byId;
+    }
+
+    private static int compareUpdated(Map<?, ?> a, Map<?, ?> b) {
+        Timestamp ta = updatedAt(a);
+        Timestamp tb = updatedAt(b);
+        if (ta == null) return tb == null ? 0 : -1;
+        return tb == null ? 1 : ta.compareTo(tb);
+    }
+
+    @Nullable
+    private static Timestamp updatedAt(Map<?, ?> summary) {
+        return asTimestamp(summary.get(FirestoreFields.UPDATED_AT));
+    }
+
+    private static Event fromSummary(String eventId, Map<?, ?> s) {
+        Event e = new Event();
+        e.setId(eventId);
+        if (s.get(FirestoreFields.NAME) instanceof String) e.setName((String) s.get(FirestoreFields.NAME));
+        if (s.get(FirestoreFields.STATUS) instanceof String) e.setStatus((String) s.get(FirestoreFields.STATUS));
+        e.setLocation(asString(s.get(FirestoreFields.LOCATION)));
+        e.setEventType(asString(s.get("eventType")));
+        e.setPosterUrl(asString(s.get(FirestoreFields.POSTER_URL)));
+        e.setEventDateTimestamp(asTimestamp(s.get(FirestoreFields.EVENT_DATE)));
+        e.setRegistrationStartDateTimestamp(asTimestamp(s.get(FirestoreFields.REGISTRATION_OPEN)));
+        e.setRegistrationEndDateTimestamp(asTimestamp(s.get(FirestoreFields.REGISTRATION_CLOSE)));
+        Object price = s.get(FirestoreFields.PRICE);
+        if (price instanceof Number) e.setPrice(((Number) price).doubleValue());
+        Object capacity = s.get(FirestoreFields.CAPACITY);
+        if (capacity instanceof Number) e.setCapacity(((Number) capacity).intValue());
+        Object limit = s.get(FirestoreFields.WAITING_LIST_LIMIT);
+        e.setWaitingListLimit(limit instanceof Number ? ((Number) limit).intValue() : null);
+        e.setGeolocationRequired(Boolean.TRUE.equals(s.get(FirestoreFields.GEOLOCATION_REQUIRED)));
+        return e;
+    }
+
+    @Nullable
+    private static String asString(@Nullable Object o) {
+        return o instanceof String ? (String) o : null;
+    }
+
+    @Nullable
+    private static Timestamp asTimestamp(@Nullable Object o) {
+        return o instanceof Timestamp ? (Timestamp) o : null;
+    }
+
+    // ---------- Compaction ----------
+
+    /**
+     * Drops entries whose events have finished, and re-sizes the shard count
+     * to the entries left, rewriting every shard when either changes. Reads
+     * only the shard docs and the marker. Skipped if any client compacted
+     * within {@link #COMPACT_INTERVAL_MS}. Entries written by other clients
+     * while it runs may be overwritten; their next edit puts them back.
+     *
+     * @return Task resolving to the number of entries dropped
+     */
+    public Task<Integer> compact() {
+        return marker().get().continueWithTask(task -> {
+            if (!task.isSuccessful()) throw task.getException();
+            DocumentSnapshot mark = task.getResult();
+            Timestamp last = mark.getTimestamp(FirestoreFields.CATALOG_COMPACTED_AT);
+            if (last != null && System.currentTimeMillis() - last.toDate().getTime() < COMPACT_INTERVAL_MS) {
+                return Tasks.forResult(0);
+            }
+            Long n = mark.getLong(FirestoreFields.CATALOG_SHARD_COUNT);
+            int oldCount = n != null && n > 0 ? n.intValue() : LEGACY_SHARD_COUNT;
+
+            return db.collection(FirestorePaths.EVENT_CATALOG).get().continueWithTask(read -> {
+                if (!read.isSuccessful()) throw read.getException();
+                List<DocumentSnapshot> shards = read.getResult().getDocuments();
+                Map<String, Map<String, Object>> entries = merge(shards);
+                int stored = 0;
+                for (DocumentSnapshot shard : shards) {
+                    Object m = shard.get(FirestoreFields.CATALOG_EVENTS);
+                    if (m instanceof Map) stored += ((Map<?, ?>) m).size();
+                }
+                Date now = new Date();
+                entries.values().removeIf(summary -> !isActive(summary, now));
+                int dropped = stored - entries.size();
+                int count = shardCountFor(entries.size());
+
+                WriteBatch batch = db.batch();
+                if (dropped > 0 || count != oldCount) {
+                    writeShards(batch, shards, entries, count);
+                }
+                Map<String, Object> markerData = new HashMap<>();
+                markerData.put(FirestoreFields.CATALOG_SHARD_COUNT, count);
+                markerData.put(FirestoreFields.CATALOG_COMPACTED_AT, FieldValue.serverTimestamp());
+                batch.set(marker(), markerData, SetOptions.merge());
+                return batch.commit().continueWith(t -> {
+                    if (!t.isSuccessful()) throw t.getException();
+                    rememberShardCount(count);
+                    Log.d(TAG, "Catalog compacted: dropped " + dropped + ", " + count + " shards");
+                    return dropped;
+                });
+            });
+        });
+    }
+
+    /**
+     * Adds to {@code batch} a full rewrite of shards 0..count-1 from
+     * {@code entries}, and deletes of any other shard doc in {@code existing}.
+     */
+    private void writeShards(WriteBatch batch, List<DocumentSnapshot> existing,
+                             Map<String, Map<String, Object>> entries, int count) {
+        List<Map<String, Object>> shards = new ArrayList<>();
+        for (int i = 0; i < count; i++) shards.add(new HashMap<>());
+        for (Map.Entry<String, Map<String, Object>> e : entries.entrySet()) {
+            shards.get(shardOf(e.getKey(), count)).put(e.getKey(), e.getValue());
+        }
+        Set<String> kept = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> data = new HashMap<>();
+            data.put(FirestoreFields.CATALOG_EVENTS, shards.get(i));
+            data.put(FirestoreFields.UPDATED_AT, FieldValue.serverTimestamp());
+            DocumentReference ref = shardDoc(i);
+            batch.set(ref, data);
+            kept.add(ref.getId());
+        }
+        for (DocumentSnapshot doc : existing) {
+            if (!kept.contains(doc.getId())) batch.delete(doc.getReference());
+        }
+    }
+
+    // ---------- One-off rebuild ----------
+
+    /**
+     * Rewrites every shard from the events collection, read
+     * {@link #REBUILD_PAGE_SIZE} at a time, sizing the shard count to the
+     * active events found. Skipped once the marker doc records this version.
+     * Entries written by other clients while it runs may be overwritten;
+     * their next edit puts them back.
+     *
+     * @return Task resolving to the number of events catalogued
+     */
+    public Task<Integer> rebuild() {
+        return marker().get().continueWithTask(task -> {
+            if (!task.isSuccessful()) throw task.getException();
+            Long done = task.getResult().getLong(FirestoreFields.MIGRATION_VERSION);
+            if (done != null && done >= REBUILD_VERSION) return Tasks.forResult(0);
+
+            Map<String, Map<String, Object>> entries = new HashMap<>();
+            return readPage(null, entries, new Date())
+                    .continueWithTask(read -> {
+                        if (!read.isSuccessful()) throw read.getException();
+                        return db.collection(FirestorePaths.EVENT_CATALOG).get();
+                    })
+                    .continueWithTask(existing -> {
+                        if (!existing.isSuccessful()) throw existing.getException();
+                        int count = shardCountFor(entries.size());
+                        WriteBatch batch = db.batch();
+                        writeShards(batch, existing.getResult().getDocuments(), entries, count);
+
+                        Map<String, Object> markerData = new HashMap<>();
+                        markerData.put(FirestoreFields.MIGRATION_VERSION, REBUILD_VERSION);
+                        markerData.put(FirestoreFields.CATALOG_SHARD_COUNT, count);
+                        markerData.put(FirestoreFields.CATALOG_COMPACTED_AT, FieldValue.serverTimestamp());
+                        markerData.put(FirestoreFields.UPDATED_AT, FieldValue.serverTimestamp());
+                        batch.set(marker(), markerData);
+
+                        int catalogued = entries.size();
+                        return batch.commit().continueWith(t -> {
+                            if (!t.isSuccessful()) throw t.getException();
+                            rememberShardCount(count);
+                            Log.d(TAG, "Catalog rebuilt with " + catalogued + " events in " + count + " shards");
+                            return catalogued;
+                        });
+                    });
+        });
+    }
+
+    private Task<Void> readPage(@Nullable DocumentSnapshot cursor,
+                                Map<String, Map<String, Object>> entries, Date now) {
+        Query q = db.collection(FirestorePaths.EVENTS).orderBy(FieldPath.documentId()).limit(REBUILD_PAGE_SIZE);
+        if (cursor != null) q = q.startAfter(cursor);
+
+        return q.get().continueWithTask(task -> {
+            if (!task.isSuccessful()) throw task.getException();
+            List<DocumentSnapshot> docs = task.getResult().getDocuments();
+            for (DocumentSnapshot doc : docs) {
+                Map<String, Object> summary = summarize(doc.getData(), now);
+                if (summary != null) entries.put(doc.getId(), summary);
+            }
+            if (docs.size() < REBUILD_PAGE_SIZE) return Tasks.forResult(null);
+            return readPage(docs.get(docs.size() - 1), entries, now);
+        });
+    }
+}
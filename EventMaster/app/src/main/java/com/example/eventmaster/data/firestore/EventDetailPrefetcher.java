@@ -0,0 +1,235 @@
+package com.example.eventmaster.data.firestore;
+
+import android.app.ActivityManager;
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.util.Log;
+import android.util.LruCache;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.eventmaster.common.FirestorePaths;
+import com.example.eventmaster.data.api.EventRepository;
+import com.example.eventmaster.model.Event;
+import com.example.eventmaster.model.Profile;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.AggregateSource;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Warms what the event detail screen reads on open, beyond the event
+ * itself (its detail doc, the organizer's profile and the waiting-list
+ * count), for the rows an entrant is looking at. The list already holds
+ * those events live, so they are taken as given rather than re-read.
+ *
+ * Work is queued per {@link #prefetch} call and runs at most
+ * {@link #MAX_IN_FLIGHT} events at a time. A new call or {@link #cancel()}
+ * drops whatever hasn't started; reads already in flight finish and are
+ * still cached. Nothing is fetched on metered or missing networks, on
+ * low-RAM devices, or while the system reports low memory; the cache is
+ * released on {@code onTrimMemory}.
+ *
+ * Snapshots are fresh for {@link #FRESH_MS}. A detail screen that opens on
+ * one skips its own event, detail and count reads; only the entrant's own
+ * membership check and invitation listener still run. Joining or leaving
+ * invalidates the snapshot. Queue methods must be called on the main thread.
+ */
+public final class EventDetailPrefetcher {
+
+    private static final String TAG = "EventDetailPrefetcher";
+
+    static final int MAX_IN_FLIGHT = 3;
+    static final int MEMORY_ENTRIES = 40;
+    static final long FRESH_MS = 60_000L;
+
+    /** What the detail screen needs before its first frame. */
+    public static final class Snapshot {
+        @NonNull public final Event event;
+        /** Full description from the detail doc; null if the event predates the split. */
+        @Nullable public final String description;
+        @Nullable public final String organizerName;
+        @Nullable public final Integer waitingListCount;
+        final long fetchedAtMillis;
+
+        Snapshot(@NonNull Event event, @Nullable String description, @Nullable String organizerName,
+                 @Nullable Integer waitingListCount, long fetchedAtMillis) {
+            this.event = event;
+            this.description = description;
+            this.organizerName = organizerName;
+            this.waitingListCount = waitingListCount;
+            this.fetchedAtMillis = fetchedAtMillis;
+        }
+    }
+
+    private static EventDetailPrefetcher instance;
+
+    private final FirebaseFirestore db;
+    private final EventRepositoryFs events;
+    private final ProfileRepositoryFs profiles;
+    private final LruCache<String, Snapshot> memory = new LruCache<>(MEMORY_ENTRIES);
+    private final LinkedHashMap<String, Event> queue = new LinkedHashMap<>(); // id -> event, nearest first
+    private final Set<String> inFlight = new HashSet<>();
+    @Nullable private volatile Context appContext;
+
+    public static synchronized EventDetailPrefetcher getInstance() {
+        if (instance == null) {
+            instance = new EventDetailPrefetcher(FirebaseFirestore.getInstance(),
+                    new EventRepositoryFs(), new ProfileRepositoryFs());
+        }
+        return instance;
+    }
+
+    private EventDetailPrefetcher(FirebaseFirestore db, EventRepositoryFs events, ProfileRepositoryFs profiles) {
+        this.db = db;
+        this.events = events;
+        this.profiles = profiles;
+    }
+
+    /**
+     * Enables prefetching (network and memory checks need a Context) and
+     * memory-trim handling. Safe to call on every launch; later calls are
+     * no-ops. Until it has run, {@link #prefetch} does nothing.
+     */
+    public static void init(@NonNull Context context) {
+        EventDetailPrefetcher prefetcher = getInstance();
+        synchronized (prefetcher) {
+            if (prefetcher.appContext != null) return;
+            Context app = context.getApplicationContext();
+            prefetcher.appContext = app;
+            app.registerComponentCallbacks(prefetcher.trimCallbacks);
+        }
+    }
+
+    // ---------- Reads ----------
+
+    /** Fresh snapshot for the event, or null. Never touches the network. */
+    @Nullable
+    public Snapshot peek(@NonNull String eventId) {
+        Snapshot s = memory.get(eventId);
+        if (s == null) return null;
+        if (System.currentTimeMillis() - s.fetchedAtMillis >= FRESH_MS) {
+            memory.remove(eventId);
+            return null;
+        }
+        return s;
+    }
+
+    /** Drops an event's snapshot, e.g. after the entrant joined or left its waiting list. */
+    public void invalidate(@NonNull String eventId) {
+        memory.remove(eventId);
+    }
+
+    // ---------- Queue ----------
+
+    /**
+     * Replaces the queue with {@code rows}, nearest-first. The events are
+     * used as the caller holds them and are not re-read; events with
+     * a fresh snapshot or a read already in flight are skipped.
+     */
+    @MainThread
+    public void prefetch(@NonNull List<Event> rows) {
+        cancel();
+        if (!allowed()) return;
+        for (Event e : rows) {
+            String id = e != null ? e.getId() : null;
+            if (id == null || inFlight.contains(id) || queue.containsKey(id) || peek(id) != null) continue;
+            queue.put(id, e);
+        }
+        pump();
+    }
+
+    /** Drops queued events; reads already started still complete and are cached. */
+    @MainThread
+    public void cancel() {
+        queue.clear();
+    }
+
+    private void pump() {
+        while (inFlight.size() < MAX_IN_FLIGHT && !queue.isEmpty()) {
+            Iterator<Event> next = queue.values().iterator();
+            Event event = next.next();
+            next.remove();
+            String id = event.getId();
+            inFlight.add(id);
+            load(event).addOnCompleteListener(task -> {
+                inFlight.remove(id);
+                if (task.isSuccessful()) {
+                    memory.put(id, task.getResult());
+                } else {
+                    Log.d(TAG, "Prefetch failed for " + id, task.getException());
+                }
+                // The queue may have been replaced meanwhile; either way it's the current one
+                if (queue.isEmpty()) return;
+                if (allowed()) {
+                    pump();
+                } else {
+                    queue.clear();
+                }
+            });
+        }
+    }
+
+    /** Detail doc, organizer (through ProfileCache) and count, in parallel. */
+    private Task<Snapshot> load(Event event) {
+        String eventId = event.getId();
+        Task<EventRepository.EventDetails> details = events.getEventDetails(eventId);
+        Task<Profile> organizer = event.getOrganizerId() != null
+                ? profiles.get(event.getOrganizerId())
+                : Tasks.forResult(null);
+        Task<Long> count = db.collection(FirestorePaths.waitingListPath(eventId))
+                .count()
+                .get(AggregateSource.SERVER)
+                .continueWith(t -> {
+                    if (!t.isSuccessful()) throw t.getException();
+                    return t.getResult().getCount();
+                });
+        // A missing piece is left null; the detail screen reads it itself
+        return Tasks.whenAllComplete(details, organizer, count).continueWith(all -> new Snapshot(
+                event,
+                details.isSuccessful() ? details.getResult().description : null,
+                organizer.isSuccessful() && organizer.getResult() != null
+                        ? organizer.getResult().getName() : null,
+                count.isSuccessful() ? count.getResult().intValue() : null,
+                System.currentTimeMillis()));
+    }
+
+    // ---------- Conditions ----------
+
+    /** Unmetered network, and memory to spare. */
+    private boolean allowed() {
+        Context context = appContext;
+        if (context == null) return false;
+
+        ConnectivityManager cm = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        if (cm == null || cm.getActiveNetwork() == null || cm.isActiveNetworkMetered()) return false;
+
+        ActivityManager am = (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+        if (am == null || am.isLowRamDevice()) return false;
+        ActivityManager.MemoryInfo info = new ActivityManager.MemoryInfo();
+        am.getMemoryInfo(info);
+        return !info.lowMemory;
+    }
+
+    private final CacheTrimCallbacks trimCallbacks = new CacheTrimCallbacks() {
+        @Override
+        protected void shrink() {
+            cancel();
+            memory.trimToSize(MEMORY_ENTRIES / 4);
+        }
+
+        @Override
+        protected void clear() {
+            cancel();
+            memory.evictAll();
+        }
+    };
+}
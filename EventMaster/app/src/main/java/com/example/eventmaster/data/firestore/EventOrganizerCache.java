@@ -0,0 +1,37 @@
+package com.example.eventmaster.data.firestore;
+
+import androidx.annotation.NonNull;
+
+import com.example.eventmaster.common.FirestoreFields;
+import com.example.eventmaster.common.FirestorePaths;
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide eventId -> organizerId lookup used to stamp "organizerId" onto
+ * notifications. An event's organizer never changes, so entries are kept for
+ * the life of the process. Concurrent lookups for the same event share one
+ * read (the pending Task is cached); failed lookups are dropped so they retry.
+ */
+public final class EventOrganizerCache {
+
+    private static final Map<String, Task<String>> CACHE = new ConcurrentHashMap<>();
+
+    private EventOrganizerCache() { }
+
+    /** Resolves to the event's organizerId, or null if the event has none. */
+    public static Task<String> organizerIdFor(@NonNull FirebaseFirestore db, @NonNull String eventId) {
+        return CACHE.computeIfAbsent(eventId, id -> {
+            Task<String> lookup = db.collection(FirestorePaths.EVENTS).document(id).get()
+                    .continueWith(task -> {
+                        if (!task.isSuccessful()) throw task.getException();
+                        return task.getResult().getString(FirestoreFields.ORGANIZER_ID);
+                    });
+            lookup.addOnFailureListener(e -> CACHE.remove(id));
+            return lookup;
+        });
+    }
+}
@@ -1,23 +1,44 @@
 package com.example.eventmaster.data.firestore;
 
+import android.util.Log;
+
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import com.example.eventmaster.common.FirestoreFields;
+import com.example.eventmaster.common.FirestorePaths;
+import com.example.eventmaster.data.api.EventQuery;
 import com.example.eventmaster.data.api.EventRepository;
 import com.example.eventmaster.model.Event;
+import com.example.eventmaster.utils.GeoHash;
 import com.google.android.gms.tasks.Task;
 import com.google.android.gms.tasks.Tasks;
 import com.google.firebase.Timestamp;
 import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.firestore.AggregateSource;
+import com.google.firebase.firestore.DocumentChange;
 import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.Query;
 import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Consumer;
 
 /**
@@ -30,11 +51,62 @@ import java.util.function.Consumer;
  *  - Registration window stored as "registrationOpen"/"registrationClose".
  *  - If present, "eventDate" is stored as a Timestamp.
  *  - Doc ID is not stored; we set it on the model after reads.
+ *  - The event doc is the summary every list query reads. Large fields
+ *    ({@link #DETAIL_FIELDS}) live in "event_details/{eventId}" instead and
+ *    are read by {@link #getEventDetails} when a detail screen opens; the
+ *    event doc keeps a short "descriptionPreview" for rows, plus
+ *    "descriptionTokens" (the full description's words) so list search
+ *    still matches text past the preview.
+ *    Every write here splits the fields accordingly; older events are
+ *    moved over by {@link #splitDetails()}.
+ *
+ * Query notes ({@link #queryEvents}):
+ *  - status / eventType use equality or "in", price and the date windows
+ *    are range filters, ordered by registrationOpen; pages continue with
+ *    startAfter. Each combination used needs a composite index.
+ *  - Firestore allows at most {@link #MAX_DISJUNCTIONS} "in" combinations
+ *    per query; past that the eventType filter is applied to each page
+ *    instead (and counted per type).
+ *  - {@link #listenEvents} uses the same query with a snapshot listener;
+ *    a closed range ends at a cursor (endAt) instead of a limit.
+ *  - create/update/publish/delete also refresh the event's summary in
+ *    {@link EventCatalogShardsFs} ({@link #getCatalog}) once the event
+ *    write has committed; a failed catalog write is logged, not returned.
+ *  - Events with coordinates also store their {@link GeoHash}, kept in step
+ *    by every write here; {@link #getEventsNear} range-queries it per cell
+ *    (needs a status + geohash composite index).
+ *  - Events saved without a status are backfilled to PUBLISHED by
+ *    {@link #backfillStatus()}; status-filtered queries can't see them before that.
  */
 public class EventRepositoryFs implements EventRepository {
 
     private static final String COLL = "events";
+    private static final String TAG = "EventRepositoryFs";
+
+    /** Firestore's cap on "in" disjunctions (product of value counts) per query. */
+    static final int MAX_DISJUNCTIONS = 30;
+
+    /** Marker doc under /migrations recording a completed {@link #backfillStatus()}. */
+    static final String STATUS_BACKFILL_DOC = "eventStatus";
+    static final int STATUS_BACKFILL_VERSION = 1;
+    static final int STATUS_BACKFILL_PAGE_SIZE = 400;
+
+    /** Fields stored in the detail doc rather than the event (summary) doc. */
+    static final List<String> DETAIL_FIELDS = Collections.unmodifiableList(Arrays.asList(
+            FirestoreFields.DESCRIPTION, FirestoreFields.PUBLISHED_AT));
+    static final String DESCRIPTION_PREVIEW = "descriptionPreview";
+    static final int PREVIEW_LENGTH = 160;
+    /** Caps "descriptionTokens" so a very long description can't bloat the summary doc. */
+    static final int MAX_DESCRIPTION_TOKENS = 300;
+
+    /** Marker doc under /migrations recording a completed {@link #splitDetails()}. */
+    static final String DETAIL_SPLIT_DOC = "eventDetailSplit";
+    static final int DETAIL_SPLIT_VERSION = 2; // 2: adds descriptionTokens to events split by version 1
+    /** Two writes per event, under the 500-op batch limit. */
+    static final int DETAIL_SPLIT_PAGE_SIZE = 200;
+
     private final FirebaseFirestore db = FirebaseFirestore.getInstance();
+    private final EventCatalogShardsFs catalog = new EventCatalogShardsFs(db);
 
     // ----------- Mapping helpers -----------
 
@@ -54,6 +126,9 @@ public class EventRepositoryFs implements EventRepository {
         // Core fields
         putIfNotNull(m, "description", e.getDescription());
         putIfNotNull(m, "location", e.getLocation());
+        putIfNotNull(m, FirestoreFields.LATITUDE, e.getLatitude());
+        putIfNotNull(m, FirestoreFields.LONGITUDE, e.getLongitude());
+        putGeohash(m);
 
         // Optional event date as Timestamp
         putIfNotNull(m, "eventDate", e.getEventDateTimestamp());
@@ -75,6 +150,7 @@ public class EventRepositoryFs implements EventRepository {
         if (e.getWaitingListLimit() != null) m.put("waitingListLimit", e.getWaitingListLimit());
         m.put("geolocationRequired", e.isGeolocationRequired());
         m.put("price", e.getPrice());
+        putIfNotNull(m, "eventType", e.getEventType());
 
         // Lifecycle
         putIfNotNull(m, "status", e.getStatus());
@@ -92,14 +168,80 @@ public class EventRepositoryFs implements EventRepository {
         if (val != null) m.put(key, val);
     }
 
+    /** Derives "geohash" whenever both coordinates are written, so the two never disagree. */
+    static void putGeohash(Map<String, Object> fields) {
+        Object lat = fields.get(FirestoreFields.LATITUDE);
+        Object lng = fields.get(FirestoreFields.LONGITUDE);
+        if (lat instanceof Number && lng instanceof Number) {
+            fields.put(FirestoreFields.GEOHASH, GeoHash.encode(((Number) lat).doubleValue(),
+                    ((Number) lng).doubleValue(), GeoHash.STORED_PRECISION));
+        }
+    }
+
     private Event fromSnapshot(@NonNull DocumentSnapshot doc) {
         Event e = doc.toObject(Event.class);
         if (e == null) e = new Event();
         // Ensure ID is set (both aliases supported by model)
         e.setId(doc.getId());
+        fillDescription(e, doc.getString(DESCRIPTION_PREVIEW));
         return e;
     }
 
+    /**
+     * Split events only carry a preview, which stands in for the description
+     * on list rows; detail screens load the rest. Events from before the
+     * split keep their full description.
+     */
+    static void fillDescription(@NonNull Event e, @Nullable String preview) {
+        if (e.getDescription() == null) e.setDescription(preview);
+    }
+
+    /**
+     * Moves {@link #DETAIL_FIELDS} out of {@code fields} and returns them,
+     * leaving a description preview and its search tokens behind when the
+     * description is written.
+     */
+    static Map<String, Object> splitDetailFields(@NonNull Map<String, Object> fields) {
+        Map<String, Object> details = new HashMap<>();
+        for (String key : DETAIL_FIELDS) {
+            if (fields.containsKey(key)) details.put(key, fields.remove(key));
+        }
+        Object description = details.get(FirestoreFields.DESCRIPTION);
+        if (description instanceof String) {
+            fields.put(DESCRIPTION_PREVIEW, preview((String) description));
+            fields.put(FirestoreFields.DESCRIPTION_TOKENS, descriptionTokens((String) description));
+        } else if (details.containsKey(FirestoreFields.DESCRIPTION)) {
+            fields.put(DESCRIPTION_PREVIEW, description);
+            fields.put(FirestoreFields.DESCRIPTION_TOKENS, new ArrayList<String>());
+        }
+        return details;
+    }
+
+    /**
+     * Distinct lowercased letter/digit runs of {@code description}, in order
+     * of first use; the same word rule as the list's search index.
+     */
+    static List<String> descriptionTokens(@Nullable String description) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (description != null) {
+            for (String w : description.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+                if (w.isEmpty()) continue;
+                tokens.add(w);
+                if (tokens.size() == MAX_DESCRIPTION_TOKENS) break;
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    static String preview(@NonNull String description) {
+        String d = description.trim();
+        return d.length() <= PREVIEW_LENGTH ? d : d.substring(0, PREVIEW_LENGTH).trim() + "…";
+    }
+
+    private DocumentReference detailsRef(@NonNull String eventId) {
+        return db.collection(FirestorePaths.EVENT_DETAILS).document(eventId);
+    }
+
     // ----------- Task-based writes -----------
 
     @Override
@@ -107,14 +249,32 @@ public class EventRepositoryFs implements EventRepository {
         String err = e.validate();
         if (err != null) return Tasks.forException(new IllegalArgumentException(err));
 
-        Map<String, Object> data = toMap(e, /*includeAuditCreate*/ true);
         DocumentReference ref = db.collection(COLL).document();
-        return ref.set(data).continueWith(task -> {
+        return createWithId(ref.getId(), toMap(e, /*includeAuditCreate*/ true)).continueWith(task -> {
             if (!task.isSuccessful()) throw task.getException();
             return ref.getId();
         });
     }
 
+    /**
+     * Writes a new event from raw doc fields under an id the caller already
+     * handed out (the organizer create screen names Storage paths after it).
+     * Splits the detail fields into the same batch; the catalog entry is
+     * written after it commits.
+     */
+    public Task<Void> createWithId(@NonNull String eventId, @NonNull Map<String, Object> fields) {
+        Map<String, Object> data = new HashMap<>(fields);
+        putGeohash(data);
+        Map<String, Object> details = splitDetailFields(data);
+        WriteBatch batch = db.batch();
+        batch.set(db.collection(COLL).document(eventId), data);
+        batch.set(detailsRef(eventId), details);
+        return batch.commit().continueWithTask(task -> {
+            if (!task.isSuccessful()) throw task.getException();
+            return catalogWrite(eventId, catalog.put(eventId, data));
+        });
+    }
+
     @Override
     public Task<Void> update(@NonNull String eventId, @NonNull Map<String, Object> fields) {
         // Always update audit
@@ -125,7 +285,17 @@ public class EventRepositoryFs implements EventRepository {
             fields.put("title", fields.get("name"));
         }
 
-        return db.collection(COLL).document(eventId).update(fields);
+        putGeohash(fields);
+        Map<String, Object> details = splitDetailFields(fields);
+        WriteBatch batch = db.batch();
+        batch.update(db.collection(COLL).document(eventId), fields);
+        if (!details.isEmpty()) batch.set(detailsRef(eventId), details, SetOptions.merge());
+
+        // The written fields may not cover a summary; re-read to rebuild the catalog entry
+        return batch.commit().continueWithTask(task -> {
+            if (!task.isSuccessful()) throw task.getException();
+            return catalogWrite(eventId, catalog.refresh(eventId));
+        });
     }
 
     @Override
@@ -138,7 +308,27 @@ public class EventRepositoryFs implements EventRepository {
 
     @Override
     public Task<Void> delete(@NonNull String eventId) {
-        return db.collection(COLL).document(eventId).delete();
+        WriteBatch batch = db.batch();
+        batch.delete(db.collection(COLL).document(eventId));
+        batch.delete(detailsRef(eventId));
+        return batch.commit().continueWithTask(task -> {
+            if (!task.isSuccessful()) throw task.getException();
+            return catalogWrite(eventId, catalog.remove(eventId));
+        });
+    }
+
+    /**
+     * Waits for a catalog entry write but never fails with it: the event
+     * write already committed, and the entry catches up on the event's next
+     * write.
+     */
+    private static Task<Void> catalogWrite(@NonNull String eventId, @NonNull Task<Void> write) {
+        return write.continueWith(t -> {
+            if (!t.isSuccessful()) {
+                Log.w(TAG, "Catalog entry write failed for " + eventId, t.getException());
+            }
+            return null;
+        });
     }
 
     // ----------- Task-based reads -----------
@@ -170,8 +360,343 @@ public class EventRepositoryFs implements EventRepository {
                 });
     }
 
+    @Override
+    public Task<EventDetails> getEventDetails(@NonNull String eventId) {
+        return detailsRef(eventId).get().continueWith(task -> {
+            if (!task.isSuccessful()) throw task.getException();
+            DocumentSnapshot doc = task.getResult();
+            // No detail doc yet: the event predates the split and still holds its description
+            return new EventDetails(doc.getString(FirestoreFields.DESCRIPTION),
+                    doc.getTimestamp(FirestoreFields.PUBLISHED_AT));
+        });
+    }
+
     // ----------- Callback-based reads (delegate to Task versions) -----------
 
+    // ----------- Filtered, paged reads -----------
+
+    @Override
+    public Task<EventPage> queryEvents(@NonNull EventQuery query,
+                                       @Nullable DocumentSnapshot cursor,
+                                       int pageSize) {
+        boolean typesOnServer = typesOnServer(query);
+        Query q = buildQuery(query, typesOnServer ? query.getEventTypes() : Collections.<String>emptyList())
+                .orderBy("registrationOpen", query.isNewestFirst()
+                        ? Query.Direction.DESCENDING : Query.Direction.ASCENDING)
+                .limit(pageSize);
+        if (cursor != null) q = q.startAfter(cursor);
+
+        return q.get().continueWith(task -> {
+            if (!task.isSuccessful()) throw task.getException();
+            List<DocumentSnapshot> docs = task.getResult().getDocuments();
+            List<Event> out = new ArrayList<>();
+            for (DocumentSnapshot doc : docs) {
+                Event e = fromSnapshot(doc);
+                if (!typesOnServer && !query.getEventTypes().contains(e.getEventType())) continue;
+                out.add(e);
+            }
+            DocumentSnapshot next = docs.size() < pageSize ? null : docs.get(docs.size() - 1);
+            return new EventPage(out, next);
+        });
+    }
+
+    @Override
+    public Task<Long> countEvents(@NonNull EventQuery query) {
+        if (typesOnServer(query)) {
+            return count(buildQuery(query, query.getEventTypes()));
+        }
+        // Types are distinct values, so per-type counts add up exactly
+        List<Task<Long>> perType = new ArrayList<>();
+        for (String type : query.getEventTypes()) {
+            perType.add(count(buildQuery(query, Collections.singletonList(type))));
+        }
+        return Tasks.whenAllSuccess(perType).continueWith(task -> {
+            if (!task.isSuccessful()) throw task.getException();
+            long total = 0;
+            for (Object n : task.getResult()) total += (Long) n;
+            return total;
+        });
+    }
+
+    @Override
+    public Task<List<NearbyEvent>> getEventsNear(double latitude, double longitude, double radiusMeters) {
+        List<Task<QuerySnapshot>> cells = new ArrayList<>();
+        for (String[] bound : GeoHash.queryBounds(latitude, longitude, radiusMeters)) {
+            cells.add(db.collection(COLL)
+                    .whereIn("status", EventQuery.BROWSABLE_STATUSES)
+                    .orderBy(FirestoreFields.GEOHASH)
+                    .startAt(bound[0])
+                    .endAt(bound[1])
+                    .get());
+        }
+
+        return Tasks.whenAllSuccess(cells).continueWith(task -> {
+            if (!task.isSuccessful()) throw task.getException();
+            Map<String, NearbyEvent> byId = new HashMap<>();
+            for (Object snap : task.getResult()) {
+                for (DocumentSnapshot doc : ((QuerySnapshot) snap).getDocuments()) {
+                    Double lat = doc.getDouble(FirestoreFields.LATITUDE);
+                    Double lng = doc.getDouble(FirestoreFields.LONGITUDE);
+                    if (lat == null || lng == null || byId.containsKey(doc.getId())) continue;
+                    // Cells are squares around the circle; keep only what's really inside
+                    double distance = GeoHash.distanceMeters(latitude, longitude, lat, lng);
+                    if (distance <= radiusMeters) {
+                        byId.put(doc.getId(), new NearbyEvent(fromSnapshot(doc), distance));
+                    }
+                }
+            }
+            List<NearbyEvent> out = new ArrayList<>(byId.values());
+            Collections.sort(out, (a, b) -> Double.compare(a.distanceMeters, b.distanceMeters));
+            return out;
+        });
+    }
+
+    @Override
+    public Task<EventDelta> getCatalog() {
+        return catalog.load();
+    }
+
+    @Override
+    public Task<EventDelta> getEventsUpdatedSince(@Nullable Timestamp since) {
+        Query q = db.collection(COLL);
+        if (since != null) {
+            q = q.whereGreaterThan("updatedAt", since).orderBy("updatedAt");
+        }
+        return q.get().continueWith(task -> {
+            if (!task.isSuccessful()) throw task.getException();
+            List<Event> out = new ArrayList<>();
+            Timestamp newest = null;
+            for (DocumentSnapshot doc : task.getResult().getDocuments()) {
+                out.add(fromSnapshot(doc));
+                Timestamp updated = doc.getTimestamp("updatedAt");
+                if (updated != null && (newest == null || updated.compareTo(newest) > 0)) {
+                    newest = updated;
+                }
+            }
+            return new EventDelta(out, newest);
+        });
+    }
+
+    @Override
+    public ListenerRegistration listenEvents(@NonNull EventQuery query,
+                                             @Nullable DocumentSnapshot after,
+                                             @Nullable DocumentSnapshot through,
+                                             int limit,
+                                             @NonNull OnEventChangesListener listener) {
+        boolean typesOnServer = typesOnServer(query);
+        Query q = buildQuery(query, typesOnServer ? query.getEventTypes() : Collections.<String>emptyList())
+                .orderBy("registrationOpen", query.isNewestFirst()
+                        ? Query.Direction.DESCENDING : Query.Direction.ASCENDING);
+        if (after != null) q = q.startAfter(after);
+        q = through != null ? q.endAt(through) : q.limit(limit);
+
+        return q.addSnapshotListener((snap, e) -> {
+            if (e != null) {
+                listener.onFailure(e);
+                return;
+            }
+            if (snap == null) return;
+            List<EventChange> changes = new ArrayList<>();
+            for (DocumentChange dc : snap.getDocumentChanges()) {
+                Event ev = fromSnapshot(dc.getDocument());
+                boolean removed = dc.getType() == DocumentChange.Type.REMOVED
+                        || (!typesOnServer && !query.getEventTypes().contains(ev.getEventType()));
+                changes.add(new EventChange(ev, removed));
+            }
+            List<DocumentSnapshot> docs = snap.getDocuments();
+            listener.onChanges(changes, docs.size(), docs.isEmpty() ? null : docs.get(docs.size() - 1));
+        });
+    }
+
+    private Task<Long> count(Query q) {
+        return q.count().get(AggregateSource.SERVER).continueWith(task -> {
+            if (!task.isSuccessful()) throw task.getException();
+            return task.getResult().getCount();
+        });
+    }
+
+    private static boolean typesOnServer(EventQuery query) {
+        int statuses = Math.max(1, query.getStatuses().size());
+        return query.getEventTypes().size() * statuses <= MAX_DISJUNCTIONS;
+    }
+
+    /** Every predicate of {@code query}, with {@code types} as the eventType filter. */
+    private Query buildQuery(EventQuery query, List<String> types) {
+        Query q = db.collection(COLL);
+
+        List<String> statuses = query.getStatuses();
+        if (statuses.size() == 1) {
+            q = q.whereEqualTo("status", statuses.get(0));
+        } else if (statuses.size() > 1) {
+            q = q.whereIn("status", statuses);
+        }
+
+        if (types.size() == 1) {
+            q = q.whereEqualTo("eventType", types.get(0));
+        } else if (types.size() > 1) {
+            q = q.whereIn("eventType", types);
+        }
+
+        if (query.getMinPrice() != null) q = q.whereGreaterThanOrEqualTo("price", query.getMinPrice());
+        if (query.getMaxPrice() != null) q = q.whereLessThanOrEqualTo("price", query.getMaxPrice());
+
+        q = window(q, "eventDate", query.getEventDateFrom(), query.getEventDateTo());
+        q = window(q, "registrationClose", query.getRegistrationCloseFrom(), query.getRegistrationCloseTo());
+        return q;
+    }
+
+    private static Query window(Query q, String field, @Nullable Date from, @Nullable Date to) {
+        if (from != null) q = q.whereGreaterThanOrEqualTo(field, new Timestamp(from));
+        if (to != null) q = q.whereLessThan(field, new Timestamp(to));
+        return q;
+    }
+
+    /**
+     * Sets status=PUBLISHED on events saved without one (they have always
+     * been listed to entrants), {@link #STATUS_BACKFILL_PAGE_SIZE} per
+     * batch. Skipped once the marker doc records this version.
+     *
+     * @return Task resolving to the number of events updated
+     */
+    public Task<Integer> backfillStatus() {
+        DocumentReference marker = db.collection(FirestorePaths.MIGRATIONS).document(STATUS_BACKFILL_DOC);
+        return marker.get().continueWithTask(task -> {
+            if (!task.isSuccessful()) throw task.getException();
+            Long done = task.getResult().getLong(FirestoreFields.MIGRATION_VERSION);
+            if (done != null && done >= STATUS_BACKFILL_VERSION) return Tasks.forResult(0);
+
+            return backfillStatusPage(null, 0).continueWithTask(count -> {
+                if (!count.isSuccessful()) throw count.getException();
+                Map<String, Object> data = new HashMap<>();
+                data.put(FirestoreFields.MIGRATION_VERSION, STATUS_BACKFILL_VERSION);
+                data.put(FirestoreFields.UPDATED_AT, FieldValue.serverTimestamp());
+                return marker.set(data).continueWith(t -> {
+                    if (!t.isSuccessful()) throw t.getException();
+                    Log.d(TAG, "Status backfill updated " + count.getResult() + " events");
+                    return count.getResult();
+                });
+            });
+        });
+    }
+
+    private Task<Integer> backfillStatusPage(@Nullable DocumentSnapshot cursor, int soFar) {
+        Query q = db.collection(COLL).orderBy(FieldPath.documentId()).limit(STATUS_BACKFILL_PAGE_SIZE);
+        if (cursor != null) q = q.startAfter(cursor);
+
+        return q.get().continueWithTask(task -> {
+            if (!task.isSuccessful()) throw task.getException();
+            List<DocumentSnapshot> docs = task.getResult().getDocuments();
+            if (docs.isEmpty()) return Tasks.forResult(soFar);
+
+            WriteBatch batch = db.batch();
+            int updated = 0;
+            for (DocumentSnapshot doc : docs) {
+                String status = doc.getString("status");
+                if (status != null && !status.isEmpty()) continue;
+                batch.update(doc.getReference(), "status", "PUBLISHED", "updatedAt", Timestamp.now());
+                updated++;
+            }
+
+            int total = soFar + updated;
+            Task<Void> commit = updated > 0 ? batch.commit() : Tasks.forResult(null);
+            return commit.continueWithTask(committed -> {
+                if (!committed.isSuccessful()) throw committed.getException();
+                if (docs.size() < STATUS_BACKFILL_PAGE_SIZE) return Tasks.forResult(total);
+                return backfillStatusPage(docs.get(docs.size() - 1), total);
+            });
+        });
+    }
+
+    /**
+     * Moves {@link #DETAIL_FIELDS} of events written before the split into
+     * their detail docs, {@link #DETAIL_SPLIT_PAGE_SIZE} events per batch,
+     * leaving a description preview and search tokens behind. Events split
+     * before tokens existed get theirs from the detail doc. Skipped once the marker doc
+     * records this version. updatedAt is left alone: the visible content
+     * doesn't change, so local mirrors needn't re-sync every event.
+     *
+     * @return Task resolving to the number of events split
+     */
+    public Task<Integer> splitDetails() {
+        DocumentReference marker = db.collection(FirestorePaths.MIGRATIONS).document(DETAIL_SPLIT_DOC);
+        return marker.get().continueWithTask(task -> {
+            if (!task.isSuccessful()) throw task.getException();
+            Long done = task.getResult().getLong(FirestoreFields.MIGRATION_VERSION);
+            if (done != null && done >= DETAIL_SPLIT_VERSION) return Tasks.forResult(0);
+
+            return splitDetailsPage(null, 0).continueWithTask(count -> {
+                if (!count.isSuccessful()) throw count.getException();
+                Map<String, Object> data = new HashMap<>();
+                data.put(FirestoreFields.MIGRATION_VERSION, DETAIL_SPLIT_VERSION);
+                data.put(FirestoreFields.UPDATED_AT, FieldValue.serverTimestamp());
+                return marker.set(data).continueWith(t -> {
+                    if (!t.isSuccessful()) throw t.getException();
+                    Log.d(TAG, "Detail split moved " + count.getResult() + " events");
+                    return count.getResult();
+                });
+            });
+        });
+    }
+
+    private Task<Integer> splitDetailsPage(@Nullable DocumentSnapshot cursor, int soFar) {
+        Query q = db.collection(COLL).orderBy(FieldPath.documentId()).limit(DETAIL_SPLIT_PAGE_SIZE);
+        if (cursor != null) q = q.startAfter(cursor);
+
+        return q.get().continueWithTask(task -> {
+            if (!task.isSuccessful()) throw task.getException();
+            List<DocumentSnapshot> docs = task.getResult().getDocuments();
+            if (docs.isEmpty()) return Tasks.forResult(soFar);
+
+            // Split before tokens existed: the full description is only in the detail doc
+            List<DocumentSnapshot> untokenized = new ArrayList<>();
+            List<Task<DocumentSnapshot>> detailReads = new ArrayList<>();
+            for (DocumentSnapshot doc : docs) {
+                if (!doc.contains(FirestoreFields.DESCRIPTION) && doc.contains(DESCRIPTION_PREVIEW)
+                        && !doc.contains(FirestoreFields.DESCRIPTION_TOKENS)) {
+                    untokenized.add(doc);
+                    detailReads.add(detailsRef(doc.getId()).get());
+                }
+            }
+
+            return Tasks.whenAllSuccess(detailReads).continueWithTask(read -> {
+                if (!read.isSuccessful()) throw read.getException();
+                WriteBatch batch = db.batch();
+                int split = 0;
+                for (DocumentSnapshot doc : docs) {
+                    Map<String, Object> data = doc.getData();
+                    if (data == null) continue;
+                    Map<String, Object> details = splitDetailFields(data);
+                    if (details.isEmpty()) continue;
+
+                    Map<String, Object> summary = new HashMap<>();
+                    for (String key : details.keySet()) summary.put(key, FieldValue.delete());
+                    if (data.containsKey(DESCRIPTION_PREVIEW)) {
+                        summary.put(DESCRIPTION_PREVIEW, data.get(DESCRIPTION_PREVIEW));
+                        summary.put(FirestoreFields.DESCRIPTION_TOKENS, data.get(FirestoreFields.DESCRIPTION_TOKENS));
+                    }
+                    batch.set(detailsRef(doc.getId()), details, SetOptions.merge());
+                    batch.update(doc.getReference(), summary);
+                    split++;
+                }
+                List<Object> detailDocs = read.getResult();
+                for (int i = 0; i < untokenized.size(); i++) {
+                    String description = ((DocumentSnapshot) detailDocs.get(i)).getString(FirestoreFields.DESCRIPTION);
+                    batch.update(untokenized.get(i).getReference(),
+                            FirestoreFields.DESCRIPTION_TOKENS, descriptionTokens(description));
+                    split++;
+                }
+
+                int total = soFar + split;
+                Task<Void> commit = split > 0 ? batch.commit() : Tasks.forResult(null);
+                return commit.continueWithTask(committed -> {
+                    if (!committed.isSuccessful()) throw committed.getException();
+                    if (docs.size() < DETAIL_SPLIT_PAGE_SIZE) return Tasks.forResult(total);
+                    return splitDetailsPage(docs.get(docs.size() - 1), total);
+                });
+            });
+        });
+    }
+
     @Override
     public void getAllEvents(OnEventListListener listener) {
         getAllEvents()
@@ -0,0 +1,207 @@
+package com.example.eventmaster.data.firestore;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.eventmaster.common.FirestoreFields;
+import com.example.eventmaster.common.FirestorePaths;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.Source;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maps any identifier a profile is known by to its canonical profile doc ID.
+ *
+ * A profile can be referenced by its doc ID, its Firebase UID (userId field)
+ * or its deviceId. Each of those gets an {@code identityAliases/{anyId}} doc
+ * holding {@code canonicalId}, written in the same batch as the profile, so
+ * resolving an id is a single document get that the local cache can answer.
+ *
+ * Ids without an alias (profiles written before aliases existed) fall back to
+ * the old doc-ID / deviceId lookups and the alias is written on the way out.
+ * {@link #migrate()} backfills every existing profile in one pass.
+ */
+public class IdentityAliasFs {
+
+    private static final String TAG = "IdentityAliasFs";
+
+    /** Marker doc recording that {@link #migrate()} has completed. */
+    static final String MIGRATION_DOC = "_migration";
+    static final int MIGRATION_VERSION = 1;
+
+    /** Profiles per migration page; up to 3 alias writes each stays under the 500-op cap. */
+    static final int MIGRATION_PAGE_SIZE = 150;
+
+    private final FirebaseFirestore db;
+
+    public IdentityAliasFs(@NonNull FirebaseFirestore db) {
+        this.db = db;
+    }
+
+    /**
+     * Adds alias writes for {@code canonicalId} itself and every non-empty id
+     * in {@code ids} to {@code batch}.
+     */
+    public static void putAliases(@NonNull WriteBatch batch,
+                                  @NonNull FirebaseFirestore db,
+                                  @NonNull String canonicalId,
+                                  @Nullable String... ids) {
+        Set<String> all = new LinkedHashSet<>();
+        all.add(canonicalId);
+        if (ids != null) {
+            for (String id : ids) {
+                if (id != null && !id.isEmpty()) all.add(id);
+            }
+        }
+        for (String id : all) {
+            batch.set(ref(db, id), aliasData(canonicalId), SetOptions.merge());
+        }
+    }
+
+    /**
+     * Resolves {@code anyId} to the canonical profile doc ID, or null when no
+     * profile is known by it. Served from the local cache when possible.
+     */
+    public Task<String> canonicalId(@NonNull String anyId) {
+        if (anyId.isEmpty() || MIGRATION_DOC.equals(anyId)) return Tasks.forResult(null);
+
+        DocumentReference ref = ref(db, anyId);
+        return ref.get(Source.CACHE)
+                .continueWithTask(cached -> {
+                    if (cached.isSuccessful() && cached.getResult() != null && cached.getResult().exists()) {
+                        return Tasks.forResult(cached.getResult());
+                    }
+                    return ref.get();
+                })
+                .continueWithTask(task -> {
+                    if (!task.isSuccessful()) throw task.getException();
+                    String canonical = task.getResult().getString(FirestoreFields.CANONICAL_ID);
+                    if (canonical != null && !canonical.isEmpty()) return Tasks.forResult(canonical);
+                    return legacyLookup(anyId);
+                });
+    }
+
+    /** Repoints {@code anyId} at {@code canonicalId}, e.g. after a fallback lookup found a newer profile. */
+    public Task<Void> point(@NonNull String anyId, @NonNull String canonicalId) {
+        return ref(db, anyId).set(aliasData(canonicalId), SetOptions.merge())
+                .addOnFailureListener(e -> Log.w(TAG, "Alias write failed for " + anyId, e));
+    }
+
+    /**
+     * Pre-alias resolution: a profile doc with this ID, else the best profile
+     * carrying it as deviceId. A hit is written back as an alias.
+     */
+    private Task<String> legacyLookup(String anyId) {
+        return db.collection(FirestorePaths.PROFILES).document(anyId).get().continueWithTask(byId -> {
+            if (!byId.isSuccessful()) throw byId.getException();
+            if (byId.getResult().exists()) return Tasks.forResult(anyId);
+
+            return db.collection(FirestorePaths.PROFILES)
+                    .whereEqualTo(FirestoreFields.DEVICE_ID, anyId)
+                    .get()
+                    .continueWith(byDevice -> {
+                        if (!byDevice.isSuccessful()) throw byDevice.getException();
+                        DocumentSnapshot best = null;
+                        for (DocumentSnapshot doc : byDevice.getResult().getDocuments()) {
+                            if (best == null || ProfileResolver.score(doc) > ProfileResolver.score(best)) {
+                                best = doc;
+                            }
+                        }
+                        return best != null ? best.getId() : null;
+                    });
+        }).continueWith(task -> {
+            String canonical = task.getResult();
+            if (canonical != null) point(anyId, canonical);
+            return canonical;
+        });
+    }
+
+    /**
+     * Writes aliases for every existing profile, {@link #MIGRATION_PAGE_SIZE}
+     * profiles per batch. Skipped once the marker doc records this version.
+     * Safe to re-run: alias writes are idempotent merges.
+     *
+     * @return Task resolving to the number of profiles processed (0 if already migrated)
+     */
+    public Task<Integer> migrate() {
+        DocumentReference marker = ref(db, MIGRATION_DOC);
+        return marker.get().continueWithTask(task -> {
+            if (!task.isSuccessful()) throw task.getException();
+            Long done = task.getResult().getLong(FirestoreFields.MIGRATION_VERSION);
+            if (done != null && done >= MIGRATION_VERSION) return Tasks.forResult(0);
+
+            return migratePage(null, 0).continueWithTask(count -> {
+                if (!count.isSuccessful()) throw count.getException();
+                Map<String, Object> data = new HashMap<>();
+                data.put(FirestoreFields.MIGRATION_VERSION, MIGRATION_VERSION);
+                data.put(FirestoreFields.UPDATED_AT, FieldValue.serverTimestamp());
+                return marker.set(data).continueWith(t -> {
+                    if (!t.isSuccessful()) throw t.getException();
+                    Log.d(TAG, "Alias migration wrote aliases for " + count.getResult() + " profiles");
+                    return count.getResult();
+                });
+            });
+        });
+    }
+
+    private Task<Integer> migratePage(@Nullable DocumentSnapshot cursor, int soFar) {
+        Query q = db.collection(FirestorePaths.PROFILES)
+                .orderBy(FieldPath.documentId())
+                .limit(MIGRATION_PAGE_SIZE);
+        if (cursor != null) q = q.startAfter(cursor);
+
+        return q.get().continueWithTask(task -> {
+            if (!task.isSuccessful()) throw task.getException();
+            List<DocumentSnapshot> docs = task.getResult().getDocuments();
+            if (docs.isEmpty()) return Tasks.forResult(soFar);
+
+            WriteBatch batch = db.batch();
+            for (DocumentSnapshot doc : docs) {
+                // Only profiles getByDeviceId would accept claim their deviceId
+                String deviceId = isActiveEntrant(doc) ? doc.getString(FirestoreFields.DEVICE_ID) : null;
+                putAliases(batch, db, doc.getId(), doc.getString(FirestoreFields.USER_ID), deviceId);
+            }
+
+            int total = soFar + docs.size();
+            return batch.commit().continueWithTask(committed -> {
+                if (!committed.isSuccessful()) throw committed.getException();
+                if (docs.size() < MIGRATION_PAGE_SIZE) return Tasks.forResult(total);
+                return migratePage(docs.get(docs.size() - 1), total);
+            });
+        });
+    }
+
+    private static boolean isActiveEntrant(DocumentSnapshot doc) {
+        String role = doc.getString(FirestoreFields.ROLE);
+        return (role == null || "entrant".equals(role))
+                && !Boolean.FALSE.equals(doc.getBoolean(FirestoreFields.ACTIVE))
+                && !Boolean.TRUE.equals(doc.getBoolean(FirestoreFields.BANNED));
+    }
+
+    private static DocumentReference ref(FirebaseFirestore db, String anyId) {
+        return db.collection(FirestorePaths.IDENTITY_ALIASES).document(anyId);
+    }
+
+    private static Map<String, Object> aliasData(String canonicalId) {
+        Map<String, Object> data = new HashMap<>();
+        data.put(FirestoreFields.CANONICAL_ID, canonicalId);
+        data.put(FirestoreFields.UPDATED_AT, FieldValue.serverTimestamp());
+        return data;
+    }
+}
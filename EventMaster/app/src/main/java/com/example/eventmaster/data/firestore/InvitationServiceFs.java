@@ -3,6 +3,7 @@ package com.example.eventmaster.data.firestore;
 import static com.google.firebase.firestore.FieldValue.serverTimestamp;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.example.eventmaster.model.Invitation;
 import com.example.eventmaster.model.Registration;
@@ -20,6 +21,9 @@ import java.util.function.Consumer;
  * - Retrieving user's invitation for an event
  * - Accepting invitations (creates ACTIVE registration, removes from chosen_list)
  * - Declining invitations (creates CANCELLED_BY_ENTRANT registration, removes from chosen_list)
+ *
+ * Registrations carry the entrant's profileSummary, copied from their
+ * chosen_list entry before it is removed.
  */
 public class InvitationServiceFs {
 
@@ -87,6 +91,21 @@ public class InvitationServiceFs {
         DocumentReference chosenRef = db.collection("events").document(eventId)
                 .collection("chosen_list").document(userId);
 
+        new ProfileSummaryFs(db).forRegistration(eventId, userId).addOnCompleteListener(summary -> {
+            Map<String, Object> profileSummary = summary.isSuccessful() ? summary.getResult() : null;
+            commitResponse(invRef, regRef, chosenRef, eventId, userId, accept, profileSummary, onSuccess, onError);
+        });
+    }
+
+    private void commitResponse(@NonNull DocumentReference invRef,
+                                @NonNull DocumentReference regRef,
+                                @NonNull DocumentReference chosenRef,
+                                @NonNull String eventId,
+                                @NonNull String userId,
+                                boolean accept,
+                                @Nullable Map<String, Object> profileSummary,
+                                @NonNull Consumer<Void> onSuccess,
+                                @NonNull Consumer<Throwable> onError) {
         WriteBatch batch = db.batch();
 
         // 1. Update invitation status
@@ -101,6 +120,7 @@ public class InvitationServiceFs {
         reg.put("entrantId", userId);
         reg.put(accept ? "enrolledAtUtc" : "cancelledAtUtc", serverTimestamp());
         reg.put("status", accept ? "ACTIVE" : "CANCELLED_BY_ENTRANT");
+        if (profileSummary != null) reg.put("profileSummary", profileSummary);
         batch.set(regRef, reg, SetOptions.merge());
 
         // 3. Remove from chosen_list (they've responded, so no longer "pending")
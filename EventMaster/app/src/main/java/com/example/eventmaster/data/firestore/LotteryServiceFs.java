@@ -33,7 +33,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class LotteryServiceFs implements LotteryService {
 
     private final FirebaseFirestore db = FirebaseFirestore.getInstance();
-    private final ProfileRepositoryFs profileRepo = new ProfileRepositoryFs();
+    private final ProfileResolver profileResolver = ProfileResolver.getInstance();
     private final NotificationServiceFs notificationService = new NotificationServiceFs();
     private static final String TAG = "LotteryServiceFs";
 
@@ -56,7 +56,9 @@ public class LotteryServiceFs implements LotteryService {
      *    - Remove from waiting_list
      *    - Send a "not selected" notification
      *
-     * All writes are added to a list of Tasks and executed together.
+     * All list writes are added to a list of Tasks and executed together.
+     * Notifications go through NotificationDispatcher: winner profiles are
+     * resolved in bulk first and their writes carry a higher priority than losers'.
      *
      * @param eventId ID of the event running the lottery
      * @param numberToSelect number of winners to choose
@@ -113,10 +115,12 @@ public class LotteryServiceFs implements LotteryService {
                                     }
                                     
                                     List<Task<Void>> writeTasks = new ArrayList<>();
+                                    List<String> winnerIds = new ArrayList<>();
 
                                     // Process WINNERS
                                     for (WaitingListEntry e : chosen) {
                                         e.setStatus("selected");
+                                        ProfileSummaryFs.compact(e);
 
                                         // Write to chosen_list
                                         Task<Void> addTask = db.collection("events")
@@ -161,35 +165,14 @@ public class LotteryServiceFs implements LotteryService {
                                         writeTasks.add(invitationTask);
 
                                         // Send notification to winner (US 01.04.01) with event name - check opt-out preference
-                                        String winnerUserId = e.getUserId();
-                                        
-                                        // Try to get profile by userId first (for organizers/legacy entrants)
-                                        profileRepo.get(winnerUserId)
-                                                .addOnSuccessListener(profile -> {
-                                                    sendWinnerNotification(profile, eventId, eventName, winnerUserId);
-                                                })
-                                                .addOnFailureListener(ex -> {
-                                                    // Fallback: try to get profile by deviceId (for deviceId-based entrants)
-                                                    Log.d(TAG, "Profile not found by userId " + winnerUserId + ", trying deviceId lookup");
-                                                    profileRepo.getByDeviceId(winnerUserId)
-                                                            .addOnSuccessListener(profile -> {
-                                                                sendWinnerNotification(profile, eventId, eventName, winnerUserId);
-                                                            })
-                                                            .addOnFailureListener(err -> {
-                                                                Log.w(TAG, "⚠️ Could not fetch profile for " + winnerUserId + " (tried userId and deviceId)", err);
-                                                                // Create a minimal profile with deviceId for notification
-                                                                Profile fallbackProfile = new Profile();
-                                                                fallbackProfile.setUserId(winnerUserId);
-                                                                fallbackProfile.setDeviceId(winnerUserId);
-                                                                fallbackProfile.setNotificationsEnabled(true);
-                                                                sendWinnerNotification(fallbackProfile, eventId, eventName, winnerUserId);
-                                                            });
-                                                });
+                                        winnerIds.add(e.getUserId());
                                     }
 
                                     // Process LOSERS (not selected)
+                                    List<String> loserIds = new ArrayList<>();
                                     for (WaitingListEntry e : notChosen) {
                                         // Add them to not_selected
+                                        ProfileSummaryFs.compact(e);
                                         Task<Void> addNotSelectedTask = db.collection("events")
                                                 .document(eventId)
                                                 .collection("not_selected")
@@ -213,32 +196,24 @@ public class LotteryServiceFs implements LotteryService {
                                         writeTasks.add(removeTask);
 
                                         // Send notification to loser (US 01.04.02) with event name - check opt-out preference
-                                        String loserUserId = e.getUserId();
-                                        
-                                        // Try to get profile by userId first (for organizers/legacy entrants)
-                                        profileRepo.get(loserUserId)
-                                                .addOnSuccessListener(profile -> {
-                                                    sendLoserNotification(profile, eventId, eventName, loserUserId);
-                                                })
-                                                .addOnFailureListener(ex -> {
-                                                    // Fallback: try to get profile by deviceId (for deviceId-based entrants)
-                                                    Log.d(TAG, "Profile not found by userId " + loserUserId + ", trying deviceId lookup");
-                                                    profileRepo.getByDeviceId(loserUserId)
-                                                            .addOnSuccessListener(profile -> {
-                                                                sendLoserNotification(profile, eventId, eventName, loserUserId);
-                                                            })
-                                                            .addOnFailureListener(err -> {
-                                                                Log.w(TAG, "⚠️ Could not fetch profile for " + loserUserId + " (tried userId and deviceId)", err);
-                                                                // Create a minimal profile with deviceId for notification
-                                                                Profile fallbackProfile = new Profile();
-                                                                fallbackProfile.setUserId(loserUserId);
-                                                                fallbackProfile.setDeviceId(loserUserId);
-                                                                fallbackProfile.setNotificationsEnabled(true);
-                                                                sendLoserNotification(fallbackProfile, eventId, eventName, loserUserId);
-                                                            });
-                                                });
+                                        loserIds.add(e.getUserId());
                                     }
 
+                                    // Winners are resolved (in bulk) and queued first; loser lookups only
+                                    // start after that, and the dispatcher's priority classes keep winners ahead.
+                                    profileResolver.resolve(winnerIds).addOnCompleteListener(winners -> {
+                                        for (String winnerUserId : winnerIds) {
+                                            sendWinnerNotification(recipientOrFallback(winners, winnerUserId),
+                                                    eventId, eventName, winnerUserId);
+                                        }
+                                        profileResolver.resolve(loserIds).addOnCompleteListener(losers -> {
+                                            for (String loserUserId : loserIds) {
+                                                sendLoserNotification(recipientOrFallback(losers, loserUserId),
+                                                        eventId, eventName, loserUserId);
+                                            }
+                                        });
+                                    });
+
                                     Log.d(TAG, "Lottery selected " + chosen.size() + " entrants, not selected " + notChosen.size() + ", executing " + writeTasks.size() + " write tasks");
                                     return Tasks.whenAll(writeTasks);
                                 });
@@ -249,6 +224,23 @@ public class LotteryServiceFs implements LotteryService {
                 });
     }
 
+    /**
+     * Profile resolved for {@code userId}, or a minimal deviceId-only profile
+     * so the notice is still written when no profile was found.
+     */
+    private static Profile recipientOrFallback(Task<Map<String, Profile>> resolved, String userId) {
+        Profile profile = resolved.isSuccessful() ? resolved.getResult().get(userId) : null;
+        if (profile != null) return profile;
+
+        Log.w(TAG, "⚠️ Could not fetch profile for " + userId + " (tried userId and deviceId)");
+        // Create a minimal profile with deviceId for notification
+        Profile fallbackProfile = new Profile();
+        fallbackProfile.setUserId(userId);
+        fallbackProfile.setDeviceId(userId);
+        fallbackProfile.setNotificationsEnabled(true);
+        return fallbackProfile;
+    }
+
     /**
      * Helper method to send winner notification using NotificationServiceFs.
      * Ensures deviceId and recipientId fields are properly stored.
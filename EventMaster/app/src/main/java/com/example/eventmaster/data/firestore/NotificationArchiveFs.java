@@ -0,0 +1,372 @@
+package com.example.eventmaster.data.firestore;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.example.eventmaster.common.Constants;
+import com.example.eventmaster.common.FirestoreFields;
+import com.example.eventmaster.common.FirestorePaths;
+import com.example.eventmaster.model.Notification;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retention and compaction for the notifications collection.
+ *
+ * Storage notes:
+ *  - Collection: "notification_archives"
+ *  - Doc ID = "{recipientId}_{yyyy-MM}", one doc per user per month
+ *  - Fields: userId, month, entries (array of compact notification maps), updatedAt
+ *
+ * A retention run (driven by NotificationRetentionWorker):
+ *  1. Moves read notifications older than the retention window into their
+ *     month doc with arrayUnion, deleting the originals in the same batch.
+ *  2. Deletes GENERAL/REMINDER announcements older than the broadcast TTL,
+ *     read or not, decrementing the unread counter for the unread ones.
+ * Types other screens use as state markers (LOTTERY_NOT_SELECTED,
+ * REPLACEMENT_LOTTERY_AVAILABLE) stay in the live collection.
+ *
+ * Both passes query a recipient field plus isRead or type, ranged and
+ * ordered on sentAt, which needs the composite indexes in
+ * EventMaster/firestore.indexes.json; without them the run fails with
+ * FAILED_PRECONDITION.
+ *
+ * Commits are sequential, spaced by a minimum interval, and capped per run;
+ * whatever is left is picked up by the next scheduled run. An entry is a few
+ * hundred bytes, so a month doc stays far below the 1 MiB document limit.
+ */
+public class NotificationArchiveFs {
+
+    private static final String TAG = "NotificationArchiveFs";
+
+    /** Notifications read per page; each costs at most two writes, so a batch stays under 500. */
+    private static final int PAGE_SIZE = 200;
+
+    private static final long DEFAULT_MIN_COMMIT_INTERVAL_MS = 1000;
+    private static final int DEFAULT_MAX_BATCHES_PER_RUN = 50;
+
+    private static final Set<String> PINNED_TYPES = new HashSet<>(Arrays.asList(
+            "LOTTERY_NOT_SELECTED", "REPLACEMENT_LOTTERY_AVAILABLE"));
+
+    private static final List<String> BROADCAST_TYPES = Arrays.asList(
+            Constants.NOTIF_GENERAL, Constants.NOTIF_REMINDER);
+
+    private static final String[] RECIPIENT_FIELDS = {
+            FirestoreFields.RECIPIENT_USER_ID, FirestoreFields.RECIPIENT_ID};
+
+    /** Outcome of one {@link #runRetention} call. */
+    public static final class RunStats {
+        public int archived;
+        public int expired;
+        public int batches;
+        /** False when the run stopped at the batch cap with work remaining. */
+        public boolean complete;
+
+        @NonNull
+        @Override
+        public String toString() {
+            return "archived=" + archived + ", expired=" + expired
+                    + ", batches=" + batches + ", complete=" + complete;
+        }
+    }
+
+    private final FirebaseFirestore db;
+    private final int retentionDays;
+    private final int broadcastTtlDays;
+    private final long minCommitIntervalMs;
+    private final int maxBatchesPerRun;
+
+    private long lastCommitAt;
+
+    public NotificationArchiveFs() {
+        this(FirebaseFirestore.getInstance());
+    }
+
+    public NotificationArchiveFs(@NonNull FirebaseFirestore db) {
+        this(db, Constants.NOTIFICATION_RETENTION_DAYS, Constants.BROADCAST_TTL_DAYS,
+                DEFAULT_MIN_COMMIT_INTERVAL_MS, DEFAULT_MAX_BATCHES_PER_RUN);
+    }
+
+    public NotificationArchiveFs(@NonNull FirebaseFirestore db,
+                                 int retentionDays,
+                                 int broadcastTtlDays,
+                                 long minCommitIntervalMs,
+                                 int maxBatchesPerRun) {
+        this.db = db;
+        this.retentionDays = retentionDays;
+        this.broadcastTtlDays = broadcastTtlDays;
+        this.minCommitIntervalMs = minCommitIntervalMs;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    // ---------- Retention run (background thread only) ----------
+
+    /**
+     * Archives and expires notifications addressed to any of {@code userIds}.
+     * Blocks on Firestore, so call from a worker thread.
+     */
+    @WorkerThread
+    public RunStats runRetention(@NonNull Collection<String> userIds)
+            throws ExecutionException, InterruptedException {
+        RunStats stats = new RunStats();
+        long now = System.currentTimeMillis();
+        Timestamp archiveCutoff = new Timestamp(new Date(now - TimeUnit.DAYS.toMillis(retentionDays)));
+        Timestamp broadcastCutoff = new Timestamp(new Date(now - TimeUnit.DAYS.toMillis(broadcastTtlDays)));
+
+        for (String id : userIds) {
+            for (String field : RECIPIENT_FIELDS) {
+                Query readAndOld = db.collection(FirestorePaths.NOTIFICATIONS)
+                        .whereEqualTo(field, id)
+                        .whereEqualTo(FirestoreFields.IS_READ, true)
+                        .whereLessThan(FirestoreFields.SENT_AT, archiveCutoff);
+                if (!archivePass(readAndOld, stats)) return stats;
+            }
+        }
+
+        for (String id : userIds) {
+            for (String field : RECIPIENT_FIELDS) {
+                Query expired = db.collection(FirestorePaths.NOTIFICATIONS)
+                        .whereEqualTo(field, id)
+                        .whereIn(FirestoreFields.TYPE, BROADCAST_TYPES)
+                        .whereLessThan(FirestoreFields.SENT_AT, broadcastCutoff);
+                if (!expirePass(expired, stats)) return stats;
+            }
+        }
+
+        stats.complete = true;
+        return stats;
+    }
+
+    /** Moves each page into month archives. Returns false if the batch cap was hit. */
+    private boolean archivePass(Query query, RunStats stats)
+            throws ExecutionException, InterruptedException {
+        DocumentSnapshot cursor = null;
+        while (true) {
+            if (stats.batches >= maxBatchesPerRun) return false;
+
+            List<DocumentSnapshot> docs = nextPage(query, cursor);
+            if (docs.isEmpty()) return true;
+            cursor = docs.get(docs.size() - 1);
+
+            WriteBatch batch = db.batch();
+            // userId -> month -> entries
+            Map<String, Map<String, List<Map<String, Object>>>> grouped = new HashMap<>();
+            int moved = 0;
+            for (DocumentSnapshot doc : docs) {
+                String recipient = recipientOf(doc);
+                Timestamp sentAt = doc.getTimestamp(FirestoreFields.SENT_AT);
+                if (recipient == null || sentAt == null || PINNED_TYPES.contains(doc.getString(FirestoreFields.TYPE))) {
+                    continue;
+                }
+                grouped.computeIfAbsent(recipient, k -> new HashMap<>())
+                        .computeIfAbsent(monthKey(sentAt.toDate()), k -> new ArrayList<>())
+                        .add(toEntry(doc, sentAt));
+                batch.delete(doc.getReference());
+                moved++;
+            }
+
+            for (Map.Entry<String, Map<String, List<Map<String, Object>>>> user : grouped.entrySet()) {
+                for (Map.Entry<String, List<Map<String, Object>>> month : user.getValue().entrySet()) {
+                    Map<String, Object> fields = new HashMap<>();
+                    fields.put(FirestoreFields.USER_ID, user.getKey());
+                    fields.put(FirestoreFields.ARCHIVE_MONTH, month.getKey());
+                    fields.put(FirestoreFields.ARCHIVE_ENTRIES, FieldValue.arrayUnion(month.getValue().toArray()));
+                    fields.put(FirestoreFields.UPDATED_AT, Timestamp.now());
+                    batch.set(archiveRef(user.getKey(), month.getKey()), fields, SetOptions.merge());
+                }
+            }
+
+            if (moved > 0) {
+                commitThrottled(batch, stats);
+                stats.archived += moved;
+            }
+            if (docs.size() < PAGE_SIZE) return true;
+        }
+    }
+
+    /** Deletes expired announcements. Returns false if the batch cap was hit. */
+    private boolean expirePass(Query query, RunStats stats)
+            throws ExecutionException, InterruptedException {
+        DocumentSnapshot cursor = null;
+        while (true) {
+            if (stats.batches >= maxBatchesPerRun) return false;
+
+            List<DocumentSnapshot> docs = nextPage(query, cursor);
+            if (docs.isEmpty()) return true;
+            cursor = docs.get(docs.size() - 1);
+
+            WriteBatch batch = db.batch();
+            Map<String, Long> unreadDeleted = new HashMap<>();
+            for (DocumentSnapshot doc : docs) {
+                batch.delete(doc.getReference());
+                String recipient = recipientOf(doc);
+                if (recipient != null && !Boolean.TRUE.equals(doc.getBoolean(FirestoreFields.IS_READ))) {
+                    unreadDeleted.merge(recipient, 1L, Long::sum);
+                }
+            }
+            for (Map.Entry<String, Long> e : unreadDeleted.entrySet()) {
+                NotificationCounterFs.applyDelta(batch, db, e.getKey(), -e.getValue());
+            }
+
+            commitThrottled(batch, stats);
+            stats.expired += docs.size();
+            if (docs.size() < PAGE_SIZE) return true;
+        }
+    }
+
+    private List<DocumentSnapshot> nextPage(Query query, @Nullable DocumentSnapshot cursor)
+            throws ExecutionException, InterruptedException {
+        Query page = query.orderBy(FirestoreFields.SENT_AT).limit(PAGE_SIZE);
+        if (cursor != null) page = page.startAfter(cursor);
+        return Tasks.await(page.get()).getDocuments();
+    }
+
+    /** Commits one batch, sleeping first if the previous commit was too recent. */
+    private void commitThrottled(WriteBatch batch, RunStats stats)
+            throws ExecutionException, InterruptedException {
+        long wait = lastCommitAt + minCommitIntervalMs - SystemClock.elapsedRealtime();
+        if (wait > 0) Thread.sleep(wait);
+        Tasks.await(batch.commit());
+        lastCommitAt = SystemClock.elapsedRealtime();
+        stats.batches++;
+    }
+
+    // ---------- Reading archived history ----------
+
+    /**
+     * Loads archived notifications for any of {@code userIds}, newest first.
+     * Only the most recent {@code maxMonths} month docs per id are read.
+     */
+    public Task<List<Notification>> getArchivedNotifications(@NonNull List<String> userIds, int maxMonths) {
+        List<Task<QuerySnapshot>> queries = new ArrayList<>();
+        for (String id : userIds) {
+            queries.add(db.collection(FirestorePaths.NOTIFICATION_ARCHIVES)
+                    .whereEqualTo(FirestoreFields.USER_ID, id)
+                    .orderBy(FirestoreFields.ARCHIVE_MONTH, Query.Direction.DESCENDING)
+                    .limit(maxMonths)
+                    .get());
+        }
+
+        return Tasks.whenAllComplete(queries).continueWith(all -> {
+            Set<String> seen = new HashSet<>();
+            List<Notification> result = new ArrayList<>();
+            Exception lastError = null;
+            for (Task<QuerySnapshot> q : queries) {
+                if (!q.isSuccessful() || q.getResult() == null) {
+                    lastError = q.getException();
+                    Log.w(TAG, "Archive query failed", lastError);
+                    continue;
+                }
+                for (DocumentSnapshot doc : q.getResult().getDocuments()) {
+                    Object raw = doc.get(FirestoreFields.ARCHIVE_ENTRIES);
+                    if (!(raw instanceof List)) continue;
+                    for (Object item : (List<?>) raw) {
+                        if (!(item instanceof Map)) continue;
+                        Notification n = fromEntry((Map<?, ?>) item, doc.getString(FirestoreFields.USER_ID));
+                        if (n != null && seen.add(n.getNotificationId())) result.add(n);
+                    }
+                }
+            }
+            if (result.isEmpty() && lastError != null) throw lastError;
+
+            result.sort((a, b) -> b.getSentAt().compareTo(a.getSentAt()));
+            return result;
+        });
+    }
+
+    // ---------- Helpers ----------
+
+    private DocumentReference archiveRef(String userId, String month) {
+        return db.document(FirestorePaths.notificationArchivePath(userId, month));
+    }
+
+    private static String monthKey(Date date) {
+        SimpleDateFormat fmt = new SimpleDateFormat("yyyy-MM", Locale.ROOT);
+        fmt.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return fmt.format(date);
+    }
+
+    @Nullable
+    private static String recipientOf(DocumentSnapshot doc) {
+        String recipient = doc.getString(FirestoreFields.RECIPIENT_USER_ID);
+        if (recipient == null || recipient.isEmpty()) {
+            recipient = doc.getString(FirestoreFields.RECIPIENT_ID);
+        }
+        return recipient == null || recipient.isEmpty() ? null : recipient;
+    }
+
+    /** Compact form kept in the archive; recipient and read state are implied by the doc. */
+    private static Map<String, Object> toEntry(DocumentSnapshot doc, Timestamp sentAt) {
+        Map<String, Object> m = new HashMap<>();
+        m.put("notificationId", doc.getId());
+        m.put("eventId", doc.getString("eventId"));
+        m.put(FirestoreFields.TYPE, doc.getString(FirestoreFields.TYPE));
+        m.put(FirestoreFields.NOTIFICATION_TITLE, doc.getString(FirestoreFields.NOTIFICATION_TITLE));
+        m.put(FirestoreFields.MESSAGE, doc.getString(FirestoreFields.MESSAGE));
+        m.put(FirestoreFields.SENDER_USER_ID, doc.getString(FirestoreFields.SENDER_USER_ID));
+        m.put(FirestoreFields.SENT_AT, sentAt);
+        return m;
+    }
+
+    @Nullable
+    private static Notification fromEntry(Map<?, ?> m, String userId) {
+        Object id = m.get("notificationId");
+        Object sentAt = m.get(FirestoreFields.SENT_AT);
+        if (!(id instanceof String) || !(sentAt instanceof Timestamp)) return null;
+
+        Notification n = new Notification();
+        n.setNotificationId((String) id);
+        n.setRecipientUserId(userId);
+        n.setEventId(asString(m.get("eventId")));
+        n.setSenderUserId(asString(m.get(FirestoreFields.SENDER_USER_ID)));
+        n.setTitle(asString(m.get(FirestoreFields.NOTIFICATION_TITLE)));
+        n.setMessage(asString(m.get(FirestoreFields.MESSAGE)));
+        n.setSentAt(((Timestamp) sentAt).toDate());
+        n.setRead(true);
+
+        Notification.NotificationType type = Notification.NotificationType.GENERAL;
+        String typeStr = asString(m.get(FirestoreFields.TYPE));
+        if (typeStr != null) {
+            try {
+                type = Notification.NotificationType.valueOf(typeStr.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ignored) {
+                // Types outside the enum (e.g. LOTTERY_REPLACEMENT_SELECTED) show as GENERAL
+            }
+        }
+        n.setType(type);
+        return n;
+    }
+
+    @Nullable
+    private static String asString(Object o) {
+        return o instanceof String ? (String) o : null;
+    }
+}
@@ -0,0 +1,261 @@
+package com.example.eventmaster.data.firestore;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.eventmaster.common.FirestoreFields;
+import com.example.eventmaster.common.FirestorePaths;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.Transaction;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Per-user unread counters for the notification inbox.
+ *
+ * Storage notes:
+ *  - Collection: "notification_counters"
+ *  - Doc ID = recipient id (the value written to "recipientUserId")
+ *  - Field "unreadCount" is only ever changed with FieldValue.increment,
+ *    folded into the same WriteBatch/Transaction as the notification write.
+ *
+ * Badges and eligibility checks read this single document instead of the
+ * full notification set. Legacy writers and partial failures can make a
+ * count drift; {@link #recompute(String)} rebuilds it from the unread
+ * notifications and {@link #reconcile(String, long)} fixes it from a list
+ * the inbox has already loaded.
+ */
+public class NotificationCounterFs {
+
+    private static final String TAG = "NotificationCounterFs";
+
+    private final FirebaseFirestore db;
+
+    public NotificationCounterFs() {
+        this(FirebaseFirestore.getInstance());
+    }
+
+    public NotificationCounterFs(@NonNull FirebaseFirestore db) {
+        this.db = db;
+    }
+
+    // ---------- Write helpers (shared by every notification writer) ----------
+
+    /** Reference to the counter document for a recipient. */
+    public static DocumentReference counterRef(@NonNull FirebaseFirestore db, @NonNull String userId) {
+        return db.collection(FirestorePaths.NOTIFICATION_COUNTERS).document(userId);
+    }
+
+    /** Adds {@code delta} to the recipient's unread count as part of {@code batch}. */
+    public static void applyDelta(@NonNull WriteBatch batch,
+                                  @NonNull FirebaseFirestore db,
+                                  @Nullable String userId,
+                                  long delta) {
+        if (userId == null || userId.isEmpty() || delta == 0) return;
+        batch.set(counterRef(db, userId), deltaFields(delta), SetOptions.merge());
+    }
+
+    /** Adds {@code delta} to the recipient's unread count as part of {@code tx}. */
+    public static void applyDelta(@NonNull Transaction tx,
+                                  @NonNull FirebaseFirestore db,
+                                  @Nullable String userId,
+                                  long delta) {
+        if (userId == null || userId.isEmpty() || delta == 0) return;
+        tx.set(counterRef(db, userId), deltaFields(delta), SetOptions.merge());
+    }
+
+    private static Map<String, Object> deltaFields(long delta) {
+        Map<String, Object> m = new HashMap<>();
+        m.put(FirestoreFields.UNREAD_COUNT, FieldValue.increment(delta));
+        m.put(FirestoreFields.UPDATED_AT, Timestamp.now());
+        return m;
+    }
+
+    /**
+     * Writes a new notification document together with its counter increment.
+     * The generated ID is stored as "notificationId" in the same write, so
+     * callers no longer need a follow-up update. If the data has an "eventId"
+     * but no "organizerId", the event's organizer is looked up (cached) and
+     * stamped on first so organizer-scoped logs can query it directly.
+     *
+     * @param data notification fields; must contain "recipientUserId"
+     * @return Task resolving to the new notification's reference
+     */
+    public static Task<DocumentReference> addNotification(@NonNull FirebaseFirestore db,
+                                                           @NonNull Map<String, Object> data) {
+        Object eventId = data.get(FirestoreFields.EVENT_ID);
+        if (data.get(FirestoreFields.ORGANIZER_ID) != null || !(eventId instanceof String)
+                || ((String) eventId).isEmpty()) {
+            return writeNotification(db, data);
+        }
+
+        return EventOrganizerCache.organizerIdFor(db, (String) eventId).continueWithTask(task -> {
+            if (task.isSuccessful() && task.getResult() != null) {
+                data.put(FirestoreFields.ORGANIZER_ID, task.getResult());
+            } else if (!task.isSuccessful()) {
+                Log.w(TAG, "Organizer lookup failed for event " + eventId, task.getException());
+            }
+            return writeNotification(db, data);
+        });
+    }
+
+    private static Task<DocumentReference> writeNotification(@NonNull FirebaseFirestore db,
+                                                             @NonNull Map<String, Object> data) {
+        DocumentReference ref = db.collection(FirestorePaths.NOTIFICATIONS).document();
+        data.put("notificationId", ref.getId());
+
+        WriteBatch batch = db.batch();
+        batch.set(ref, data);
+        if (!Boolean.TRUE.equals(data.get(FirestoreFields.IS_READ))) {
+            Object recipient = data.get(FirestoreFields.RECIPIENT_USER_ID);
+            applyDelta(batch, db, recipient instanceof String ? (String) recipient : null, 1);
+        }
+        return batch.commit().continueWith(task -> {
+            if (!task.isSuccessful()) throw task.getException();
+            return ref;
+        });
+    }
+
+    // ---------- Reads ----------
+
+    /**
+     * One-shot read of the unread count. Resolves to null when the user has no
+     * counter yet (e.g. only legacy notifications), so callers can tell
+     * "zero unread" apart from "unknown".
+     */
+    public Task<Long> getUnreadCount(@NonNull String userId) {
+        return counterRef(db, userId).get().continueWith(task -> {
+            if (!task.isSuccessful()) throw task.getException();
+            return readCount(task.getResult());
+        });
+    }
+
+    /** Live unread count for bottom-nav badges. */
+    public ListenerRegistration listenUnreadCount(@NonNull String userId,
+                                                  @NonNull Consumer<Long> onChange,
+                                                  @NonNull Consumer<Exception> onError) {
+        return counterRef(db, userId).addSnapshotListener((doc, e) -> {
+            if (e != null) {
+                onError.accept(e);
+                return;
+            }
+            Long count = readCount(doc);
+            onChange.accept(count == null ? 0L : count);
+        });
+    }
+
+    /**
+     * Live total of several counters, for a user whose notifications are
+     * addressed to more than one id (Firebase UID, device ID, profile
+     * userId). Reports the running sum on every change; removing the
+     * returned registration removes every listener.
+     */
+    public ListenerRegistration listenUnreadCount(@NonNull Collection<String> userIds,
+                                                  @NonNull Consumer<Long> onChange,
+                                                  @NonNull Consumer<Exception> onError) {
+        Map<String, Long> byId = new HashMap<>();
+        List<ListenerRegistration> registrations = new ArrayList<>();
+        for (String userId : new HashSet<>(userIds)) {
+            registrations.add(listenUnreadCount(userId, count -> {
+                byId.put(userId, count);
+                long total = 0;
+                for (long c : byId.values()) total += c;
+                onChange.accept(total);
+            }, onError));
+        }
+        return () -> {
+            for (ListenerRegistration r : registrations) r.remove();
+        };
+    }
+
+    @Nullable
+    private static Long readCount(@Nullable DocumentSnapshot doc) {
+        if (doc == null || !doc.exists()) return null;
+        Long v = doc.getLong(FirestoreFields.UNREAD_COUNT);
+        // Drifted decrements can push the stored value below zero; never show that.
+        return v == null ? null : Math.max(0L, v);
+    }
+
+    // ---------- Repair ----------
+
+    /** Resets the counter to zero (after a bulk delete of the user's inbox). */
+    public Task<Void> reset(@NonNull String userId) {
+        return overwrite(userId, 0L);
+    }
+
+    /**
+     * Recomputes the unread count from the notifications themselves.
+     * Counters are keyed like the decrements in NotificationServiceFs:
+     * recipientUserId, falling back to the legacy recipientId. Results are
+     * de-duped by doc ID since new docs carry both fields.
+     */
+    public Task<Long> recompute(@NonNull String userId) {
+        List<Task<QuerySnapshot>> queries = new ArrayList<>();
+        for (String field : new String[]{FirestoreFields.RECIPIENT_USER_ID, FirestoreFields.RECIPIENT_ID}) {
+            queries.add(db.collection(FirestorePaths.NOTIFICATIONS)
+                    .whereEqualTo(field, userId)
+                    .whereEqualTo(FirestoreFields.IS_READ, false)
+                    .get());
+        }
+
+        return Tasks.whenAllComplete(queries).continueWithTask(all -> {
+            Set<String> unreadIds = new HashSet<>();
+            for (Task<QuerySnapshot> q : queries) {
+                if (q.isSuccessful() && q.getResult() != null) {
+                    for (DocumentSnapshot doc : q.getResult().getDocuments()) {
+                        unreadIds.add(doc.getId());
+                    }
+                } else {
+                    Log.w(TAG, "Unread recompute query failed for " + userId, q.getException());
+                }
+            }
+            long count = unreadIds.size();
+            Log.d(TAG, "Recomputed unread count for " + userId + ": " + count);
+            return overwrite(userId, count).continueWith(t -> {
+                if (!t.isSuccessful()) throw t.getException();
+                return count;
+            });
+        });
+    }
+
+    /**
+     * Cheap drift repair: the inbox already holds the user's full list, so if the
+     * stored count disagrees with what was loaded, overwrite it. Costs one read
+     * and at most one write.
+     */
+    public Task<Void> reconcile(@NonNull String userId, long observedUnread) {
+        return getUnreadCount(userId).continueWithTask(task -> {
+            if (task.isSuccessful() && task.getResult() != null && task.getResult() == observedUnread) {
+                return Tasks.forResult(null);
+            }
+            Log.d(TAG, "Unread counter drift for " + userId + ", resetting to " + observedUnread);
+            return overwrite(userId, observedUnread);
+        });
+    }
+
+    private Task<Void> overwrite(@NonNull String userId, long count) {
+        Map<String, Object> m = new HashMap<>();
+        m.put(FirestoreFields.UNREAD_COUNT, count);
+        m.put(FirestoreFields.UPDATED_AT, Timestamp.now());
+        return counterRef(db, userId).set(m, SetOptions.merge());
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.eventmaster.data.firestore;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.eventmaster.common.Constants;
+import com.example.eventmaster.common.FirestoreFields;
+import com.example.eventmaster.common.FirestorePaths;
+import com.example.eventmaster.model.Notification;
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Folds low-priority system notices into one rolling digest per user and
+ * organizer.
+ *
+ * Storage notes:
+ *  - Lives in "notifications" so the inbox, counters and retention treat it
+ *    like any other GENERAL notification.
+ *  - Doc ID = "digest_{recipientId}_{organizerId}_{window}", where window is
+ *    the index of the {@link Constants#NOTIFICATION_DIGEST_WINDOW_MINUTES}
+ *    slot it was written in, so every writer in the same slot lands on the
+ *    same doc. The digest carries that "organizerId", so it shows up in the
+ *    organizer's log like the notices it replaces; the organizer part is
+ *    left out when the event has none.
+ *  - "digestItems" keeps the newest {@link #MAX_ITEMS} entries and
+ *    "digestCount" the total; title/message are rebuilt from them.
+ *    digestCount doubles as the digest's version: a read receipt only
+ *    applies if it still matches the count the user saw, so an entry
+ *    appended to a still-unread digest can't be marked read by a receipt
+ *    that was buffered before it (see ReadReceiptBuffer).
+ *
+ * Organizer broadcasts are never folded (see {@link #shouldDigest(Map)}):
+ * each recipient gets their own doc, stamped with the organizer.
+ *
+ * Each append is one transaction. The unread counter only moves when the
+ * digest goes from read (or missing) to unread, so a burst of ten notices
+ * is one inbox row and one counter bump instead of ten of each.
+ */
+public final class NotificationDigestFs {
+
+    /** Entries kept on the digest; older ones only count toward the total. */
+    static final int MAX_ITEMS = 20;
+
+    private static final String SYSTEM_SENDER = "system";
+
+    private NotificationDigestFs() { }
+
+    /** True when a notification of {@code type} should be folded into a digest. */
+    public static boolean shouldDigest(@Nullable Notification.NotificationType type) {
+        return Constants.NOTIFICATION_DIGEST_ENABLED
+                && NotificationDispatchScheduler.Priority.forType(type)
+                        == NotificationDispatchScheduler.Priority.GENERAL;
+    }
+
+    /**
+     * True when a notification's data should be folded: a digestible type,
+     * sent by the system rather than on an organizer's behalf. Data that
+     * already names an organizer is an organizer broadcast.
+     */
+    public static boolean shouldDigest(@NonNull Map<String, Object> data) {
+        Object sender = data.get(FirestoreFields.SENDER_USER_ID);
+        return shouldDigest(data.get(FirestoreFields.TYPE))
+                && (sender == null || SYSTEM_SENDER.equals(sender))
+                && data.get(FirestoreFields.ORGANIZER_ID) == null;
+    }
+
+    /** Same as {@link #shouldDigest(Notification.NotificationType)} for a stored type name. */
+    public static boolean shouldDigest(@Nullable Object typeName) {
+        if (!(typeName instanceof String)) return shouldDigest((Notification.NotificationType) null);
+        try {
+            return shouldDigest(Notification.NotificationType.valueOf((String) typeName));
+        } catch (IllegalArgumentException e) {
+            return shouldDigest((Notification.NotificationType) null);
+        }
+    }
+
+    /**
+     * Writes {@code data} as a digest entry when {@link #shouldDigest(Map)}
+     * applies, otherwise falls through to {@link NotificationCounterFs#addNotification}.
+     * Takes the same map callers already build for addNotification.
+     *
+     * @return Task resolving to the digest (or plain notification) reference
+     */
+    public static Task<DocumentReference> addOrDigest(@NonNull FirebaseFirestore db,
+                                                      @NonNull Map<String, Object> data) {
+        Object recipient = data.get(FirestoreFields.RECIPIENT_USER_ID);
+        if (!shouldDigest(data)
+                || !(recipient instanceof String) || ((String) recipient).isEmpty()) {
+            return NotificationCounterFs.addNotification(db, data);
+        }
+        Object eventId = data.get(FirestoreFields.EVENT_ID);
+        if (!(eventId instanceof String) || ((String) eventId).isEmpty()) {
+            return append(db, (String) recipient, null, data);
+        }
+        return EventOrganizerCache.organizerIdFor(db, (String) eventId).continueWithTask(task ->
+                append(db, (String) recipient, task.isSuccessful() ? task.getResult() : null, data));
+    }
+
+    private static Task<DocumentReference> append(FirebaseFirestore db,
+                                                  String recipient,
+                                                  @Nullable String organizerId,
+                                                  Map<String, Object> data) {
+        long windowMs = Constants.NOTIFICATION_DIGEST_WINDOW_MINUTES * 60_000L;
+        long window = System.currentTimeMillis() / windowMs;
+        String docId = organizerId != null
+                ? "digest_" + recipient + "_" + organizerId + "_" + window
+                : "digest_" + recipient + "_" + window;
+        DocumentReference ref = db.collection(FirestorePaths.NOTIFICATIONS).document(docId);
+
+        Map<String, Object> item = new HashMap<>();
+        item.put(FirestoreFields.EVENT_ID, data.get(FirestoreFields.EVENT_ID));
+        if (organizerId != null) item.put(FirestoreFields.ORGANIZER_ID, organizerId);
+        item.put(FirestoreFields.TITLE, data.get(FirestoreFields.TITLE));
+        item.put(FirestoreFields.MESSAGE, data.get(FirestoreFields.MESSAGE));
+        item.put(FirestoreFields.SENT_AT, Timestamp.now());
+
+        return db.runTransaction(tx -> {
+            DocumentSnapshot snap = tx.get(ref);
+
+            List<Map<String, Object>> items = new ArrayList<>();
+            long count = 1;
+            boolean wasUnread = false;
+            if (snap.exists()) {
+                Object stored = snap.get(FirestoreFields.DIGEST_ITEMS);
+                if (stored instanceof List) {
+                    for (Object o : (List<?>) stored) {
+                        if (o instanceof Map) {
+                            //noinspection unchecked
+                            items.add((Map<String, Object>) o);
+                        }
+                    }
+                }
+                Long c = snap.getLong(FirestoreFields.DIGEST_COUNT);
+                count = (c != null ? c : items.size()) + 1;
+                wasUnread = !Boolean.TRUE.equals(snap.getBoolean(FirestoreFields.IS_READ));
+            }
+            items.add(0, item);
+            if (items.size() > MAX_ITEMS) items = new ArrayList<>(items.subList(0, MAX_ITEMS));
+
+            Map<String, Object> doc = new HashMap<>();
+            doc.put(FirestoreFields.DIGEST_ITEMS, items);
+            doc.put(FirestoreFields.DIGEST_COUNT, count);
+            doc.put(FirestoreFields.TITLE, count == 1
+                    ? item.get(FirestoreFields.TITLE) : count + " updates");
+            doc.put(FirestoreFields.MESSAGE, buildMessage(items, count));
+            doc.put(FirestoreFields.EVENT_ID, item.get(FirestoreFields.EVENT_ID));
+            doc.put(FirestoreFields.SENT_AT, item.get(FirestoreFields.SENT_AT));
+            doc.put(FirestoreFields.IS_READ, false);
+
+            if (snap.exists()) {
+                tx.update(ref, doc);
+            } else {
+                doc.put("notificationId", ref.getId());
+                doc.put(FirestoreFields.RECIPIENT_USER_ID, recipient);
+                doc.put(FirestoreFields.RECIPIENT_ID, recipient);
+                Object deviceId = data.get(FirestoreFields.DEVICE_ID);
+                if (deviceId != null) doc.put(FirestoreFields.DEVICE_ID, deviceId);
+                doc.put(FirestoreFields.SENDER_USER_ID, SYSTEM_SENDER);
+                if (organizerId != null) doc.put(FirestoreFields.ORGANIZER_ID, organizerId);
+                doc.put(FirestoreFields.TYPE, Notification.NotificationType.GENERAL.name());
+                tx.set(ref, doc);
+            }
+            if (!wasUnread) {
+                NotificationCounterFs.applyDelta(tx, db, recipient, 1);
+            }
+            return ref;
+        });
+    }
+
+    /** Newest first, one line per entry, with a tail for entries no longer kept. */
+    static String buildMessage(List<Map<String, Object>> items, long count) {
+        if (count == 1) {
+            Object message = items.get(0).get(FirestoreFields.MESSAGE);
+            return message != null ? message.toString() : "";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Map<String, Object> it : items) {
+            if (sb.length() > 0) sb.append('\n');
+            sb.append("• ").append(it.get(FirestoreFields.TITLE));
+            Object message = it.get(FirestoreFields.MESSAGE);
+            if (message != null) sb.append(": ").append(message);
+        }
+        if (count > items.size()) {
+            sb.append("\n…and ").append(count - items.size()).append(" more");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.eventmaster.data.firestore;
+
+import com.example.eventmaster.model.Notification;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Orders outgoing notification writes by urgency and paces each class.
+ *
+ * Every submitted job belongs to a {@link Priority}. Classes are drained in
+ * rank order (lowest rank first), and each class has its own token bucket,
+ * so a large batch of loser notices can never hold back winner invitations,
+ * and winners cannot starve cancellations past their own budget either.
+ *
+ * This class only decides what runs when; it has no Android or Firestore
+ * dependencies so it can be driven by a fake {@link Clock} in unit tests.
+ * {@link NotificationDispatcher} runs it on the main thread. Not thread-safe.
+ */
+public class NotificationDispatchScheduler {
+
+    /** Dispatch classes, most urgent first by default. */
+    public enum Priority {
+        INVITATION,
+        CANCELLATION,
+        LOSER,
+        GENERAL;
+
+        /** Maps a notification type onto its dispatch class. */
+        public static Priority forType(Notification.NotificationType type) {
+            if (type == null) return GENERAL;
+            switch (type) {
+                case LOTTERY_WON:
+                case INVITATION:
+                    return INVITATION;
+                case CANCELLATION:
+                    return CANCELLATION;
+                case LOTTERY_LOST:
+                    return LOSER;
+                default:
+                    return GENERAL;
+            }
+        }
+    }
+
+    /** Time source in milliseconds; swapped for a fake one in tests. */
+    public interface Clock {
+        long nowMillis();
+    }
+
+    /** Per-class rank and write budget. */
+    public static final class Config {
+        private final Map<Priority, Integer> ranks = new EnumMap<>(Priority.class);
+        private final Map<Priority, Double> ratesPerSecond = new EnumMap<>(Priority.class);
+        private final Map<Priority, Integer> bursts = new EnumMap<>(Priority.class);
+
+        /** Defaults: enum order, with budgets shrinking as urgency drops. */
+        public static Config defaults() {
+            return new Config()
+                    .setRate(Priority.INVITATION, 20, 20)
+                    .setRate(Priority.CANCELLATION, 10, 10)
+                    .setRate(Priority.LOSER, 5, 5)
+                    .setRate(Priority.GENERAL, 2, 2);
+        }
+
+        public Config() {
+            for (Priority p : Priority.values()) {
+                ranks.put(p, p.ordinal());
+                ratesPerSecond.put(p, 1.0);
+                bursts.put(p, 1);
+            }
+        }
+
+        /** Lower rank drains first. Ties fall back to enum order. */
+        public Config setRank(Priority priority, int rank) {
+            ranks.put(priority, rank);
+            return this;
+        }
+
+        /**
+         * @param perSecond sustained writes per second for the class (> 0)
+         * @param burst writes the class may start back-to-back after idling (>= 1)
+         */
+        public Config setRate(Priority priority, double perSecond, int burst) {
+            if (perSecond <= 0) throw new IllegalArgumentException("rate must be > 0");
+            if (burst < 1) throw new IllegalArgumentException("burst must be >= 1");
+            ratesPerSecond.put(priority, perSecond);
+            bursts.put(priority, burst);
+            return this;
+        }
+
+        public int getRank(Priority priority) {
+            return ranks.get(priority);
+        }
+
+        public double getRatePerSecond(Priority priority) {
+            return ratesPerSecond.get(priority);
+        }
+
+        public int getBurst(Priority priority) {
+            return bursts.get(priority);
+        }
+    }
+
+    private final Clock clock;
+    private final Priority[] order;
+    private final Map<Priority, Lane> lanes = new EnumMap<>(Priority.class);
+
+    public NotificationDispatchScheduler(Clock clock, Config config) {
+        this.clock = clock;
+        this.order = Priority.values();
+        Arrays.sort(order, Comparator.comparingInt(config::getRank));
+
+        long now = clock.nowMillis();
+        for (Priority p : Priority.values()) {
+            lanes.put(p, new Lane(config.getRatePerSecond(p), config.getBurst(p), now));
+        }
+    }
+
+    /** Queues {@code job}; it runs from a later {@link #drain()}. */
+    public void submit(Priority priority, Runnable job) {
+        lanes.get(priority).queue.add(job);
+    }
+
+    /** Jobs still waiting across all classes. */
+    public int pending() {
+        int n = 0;
+        for (Lane lane : lanes.values()) {
+            n += lane.queue.size();
+        }
+        return n;
+    }
+
+    public int pending(Priority priority) {
+        return lanes.get(priority).queue.size();
+    }
+
+    /**
+     * Removes every job that may start now, most urgent class first.
+     * The caller runs them in the returned order.
+     */
+    public List<Runnable> drain() {
+        long now = clock.nowMillis();
+        List<Runnable> ready = new ArrayList<>();
+        for (Priority p : order) {
+            Lane lane = lanes.get(p);
+            lane.refill(now);
+            while (!lane.queue.isEmpty() && lane.tokens >= 1) {
+                lane.tokens -= 1;
+                ready.add(lane.queue.poll());
+            }
+        }
+        return ready;
+    }
+
+    /**
+     * Milliseconds until some waiting class earns its next token,
+     * 0 if something can run now, or -1 when nothing is queued.
+     */
+    public long nextDelayMillis() {
+        long now = clock.nowMillis();
+        long best = -1;
+        for (Lane lane : lanes.values()) {
+            if (lane.queue.isEmpty()) continue;
+            lane.refill(now);
+            long wait = lane.tokens >= 1 ? 0 : (long) Math.ceil((1 - lane.tokens) / lane.perMilli);
+            if (best < 0 || wait < best) best = wait;
+        }
+        return best;
+    }
+
+    /** One class: FIFO queue plus token bucket. */
+    private static final class Lane {
+        final ArrayDeque<Runnable> queue = new ArrayDeque<>();
+        final double perMilli;
+        final int burst;
+        double tokens;
+        long lastRefill;
+
+        Lane(double perSecond, int burst, long now) {
+            this.perMilli = perSecond / 1000.0;
+            this.burst = burst;
+            this.tokens = burst;
+            this.lastRefill = now;
+        }
+
+        void refill(long now) {
+            if (now <= lastRefill) return;
+            tokens = Math.min(burst, tokens + (now - lastRefill) * perMilli);
+            lastRefill = now;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.eventmaster.data.firestore;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.example.eventmaster.data.firestore.NotificationDispatchScheduler.Priority;
+
+import java.util.List;
+
+/**
+ * Process-wide front door for notification writes.
+ *
+ * Wraps a {@link NotificationDispatchScheduler} and drains it on the main
+ * looper: ready jobs start immediately, and when every waiting class is out
+ * of budget a single delayed drain is posted for the earliest refill.
+ * Safe to call {@link #submit} from any thread.
+ */
+public class NotificationDispatcher {
+
+    private static final String TAG = "NotificationDispatcher";
+
+    private static NotificationDispatcher instance;
+
+    private final NotificationDispatchScheduler scheduler;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable drainRunnable = this::drain;
+    private boolean drainPosted;
+
+    public static synchronized NotificationDispatcher getInstance() {
+        if (instance == null) {
+            instance = new NotificationDispatcher(NotificationDispatchScheduler.Config.defaults());
+        }
+        return instance;
+    }
+
+    public NotificationDispatcher(@NonNull NotificationDispatchScheduler.Config config) {
+        this.scheduler = new NotificationDispatchScheduler(SystemClock::elapsedRealtime, config);
+    }
+
+    /** Queues a write job under {@code priority}. */
+    public void submit(@NonNull Priority priority, @NonNull Runnable job) {
+        handler.post(() -> {
+            scheduler.submit(priority, job);
+            postDrain(0);
+        });
+    }
+
+    private void drain() {
+        drainPosted = false;
+        List<Runnable> ready = scheduler.drain();
+        for (Runnable job : ready) {
+            try {
+                job.run();
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Dispatch job failed", e);
+            }
+        }
+
+        long delay = scheduler.nextDelayMillis();
+        if (delay >= 0) {
+            Log.d(TAG, scheduler.pending() + " notification writes waiting, next drain in " + delay + "ms");
+            postDrain(delay);
+        }
+    }
+
+    private void postDrain(long delayMillis) {
+        if (drainPosted) {
+            if (delayMillis > 0) return;
+            handler.removeCallbacks(drainRunnable);
+        }
+        drainPosted = true;
+        handler.postDelayed(drainRunnable, delayMillis);
+    }
+}
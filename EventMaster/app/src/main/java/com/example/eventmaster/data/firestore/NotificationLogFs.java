@@ -0,0 +1,133 @@
+package com.example.eventmaster.data.firestore;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.eventmaster.common.FirestoreFields;
+import com.example.eventmaster.common.FirestorePaths;
+import com.example.eventmaster.model.Event;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Organizer-scoped reads of the notifications collection.
+ *
+ * Notifications carry a denormalized "organizerId" (stamped at write time by
+ * NotificationCounterFs.addNotification), so an organizer's log is one indexed
+ * query: organizerId == X order by sentAt desc, paged with startAfter.
+ * Requires the composite index (organizerId ASC, sentAt DESC).
+ */
+public class NotificationLogFs {
+
+    private static final String TAG = "NotificationLogFs";
+
+    /** Firestore's whereIn limit, only used by the one-time backfill. */
+    private static final int WHERE_IN_LIMIT = 10;
+    private static final int MAX_BATCH_OPS = 500;
+
+    /** One page of log results. */
+    public static final class Page {
+        public final List<DocumentSnapshot> documents;
+        /** Pass back to load the next page; null when this page was empty. */
+        @Nullable public final DocumentSnapshot cursor;
+        public final boolean hasMore;
+
+        Page(List<DocumentSnapshot> documents, int pageSize) {
+            this.documents = documents;
+            this.cursor = documents.isEmpty() ? null : documents.get(documents.size() - 1);
+            this.hasMore = documents.size() == pageSize;
+        }
+    }
+
+    private final FirebaseFirestore db;
+
+    public NotificationLogFs() {
+        this(FirebaseFirestore.getInstance());
+    }
+
+    public NotificationLogFs(@NonNull FirebaseFirestore db) {
+        this.db = db;
+    }
+
+    /**
+     * Loads one page of an organizer's notifications, newest first.
+     *
+     * @param cursor last document of the previous page, or null for the first page
+     */
+    public Task<Page> getOrganizerPage(@NonNull String organizerId,
+                                       @Nullable DocumentSnapshot cursor,
+                                       int pageSize) {
+        Query q = db.collection(FirestorePaths.NOTIFICATIONS)
+                .whereEqualTo(FirestoreFields.ORGANIZER_ID, organizerId)
+                .orderBy(FirestoreFields.SENT_AT, Query.Direction.DESCENDING)
+                .limit(pageSize);
+        if (cursor != null) q = q.startAfter(cursor);
+
+        return q.get().continueWith(task -> {
+            if (!task.isSuccessful()) throw task.getException();
+            return new Page(task.getResult().getDocuments(), pageSize);
+        });
+    }
+
+    /**
+     * Stamps organizerId onto notifications written before the field existed.
+     * Walks the organizer's events in whereIn groups once and only writes docs
+     * that are missing the field, so re-running it is cheap.
+     *
+     * @return Task resolving to the number of notifications updated
+     */
+    public Task<Integer> backfillOrganizerId(@NonNull String organizerId) {
+        return new EventReadServiceFs().listByOrganizer(organizerId).continueWithTask(eventsTask -> {
+            if (!eventsTask.isSuccessful()) throw eventsTask.getException();
+
+            List<String> eventIds = new ArrayList<>();
+            for (Event e : eventsTask.getResult()) {
+                if (e.getEventId() != null) eventIds.add(e.getEventId());
+            }
+
+            List<Task<QuerySnapshot>> queries = new ArrayList<>();
+            for (int i = 0; i < eventIds.size(); i += WHERE_IN_LIMIT) {
+                queries.add(db.collection(FirestorePaths.NOTIFICATIONS)
+                        .whereIn(FirestoreFields.EVENT_ID,
+                                eventIds.subList(i, Math.min(i + WHERE_IN_LIMIT, eventIds.size())))
+                        .get());
+            }
+
+            return Tasks.<QuerySnapshot>whenAllSuccess(queries).continueWithTask(all -> {
+                if (!all.isSuccessful()) throw all.getException();
+
+                List<DocumentSnapshot> missing = new ArrayList<>();
+                for (QuerySnapshot snap : all.getResult()) {
+                    for (DocumentSnapshot doc : snap.getDocuments()) {
+                        if (doc.getString(FirestoreFields.ORGANIZER_ID) == null) missing.add(doc);
+                    }
+                }
+                if (missing.isEmpty()) return Tasks.forResult(0);
+
+                List<Task<Void>> commits = new ArrayList<>();
+                for (int i = 0; i < missing.size(); i += MAX_BATCH_OPS) {
+                    WriteBatch batch = db.batch();
+                    for (DocumentSnapshot doc : missing.subList(i, Math.min(i + MAX_BATCH_OPS, missing.size()))) {
+                        batch.update(doc.getReference(), FirestoreFields.ORGANIZER_ID, organizerId);
+                    }
+                    commits.add(batch.commit());
+                }
+                Log.d(TAG, "Backfilling organizerId on " + missing.size() + " notifications");
+                return Tasks.whenAll(commits).continueWith(t -> {
+                    if (!t.isSuccessful()) throw t.getException();
+                    return missing.size();
+                });
+            });
+        });
+    }
+}
@@ -2,22 +2,29 @@ package com.example.eventmaster.data.firestore;
 
 import android.util.Log;
 
+import com.example.eventmaster.common.FirestoreFields;
+import com.example.eventmaster.common.FirestorePaths;
 import com.example.eventmaster.data.api.NotificationService;
 import com.example.eventmaster.model.Notification;
 import com.example.eventmaster.model.Profile;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
-import com.google.android.gms.tasks.Tasks;
+import com.google.android.gms.tasks.CancellationToken;
+import com.google.android.gms.tasks.Task;
 
 /**
  * Firebase Firestore implementation of NotificationService.
@@ -143,6 +150,30 @@ public class NotificationServiceFs implements NotificationService {
         );
     }
 
+    @Override
+    public void sendNotificationToAudience(
+            String eventId,
+            Audience audience,
+            Notification.NotificationType type,
+            String title,
+            String message,
+            OnFanOutProgressListener onProgress,
+            OnFanOutProgressListener onComplete,
+            OnFailureListener onFailure) {
+
+        Log.d(TAG, "Sending " + type + " notifications to " + audience + " of event " + eventId);
+
+        new AudienceFanOutFs(firestore)
+                .send(eventId, audience, type, title, message, onProgress)
+                .addOnSuccessListener(result -> {
+                    if (onComplete != null) onComplete.onProgress(result.sent, result.skipped);
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Audience fan-out failed for " + audience, e);
+                    if (onFailure != null) onFailure.onFailure(e.getMessage());
+                });
+    }
+
     /**
      * Helper method to send notifications to a list of profiles.
      * Creates notification records in Firestore for each recipient.
@@ -327,32 +358,24 @@ public class NotificationServiceFs implements NotificationService {
 
         Map<String, Object> notificationData = createNotificationData(notification, deviceId);
 
-        firestore.collection(COLLECTION_NOTIFICATIONS)
-                .add(notificationData)
-                .addOnSuccessListener(documentReference -> {
-                    String notificationId = documentReference.getId();
-                    Log.d(TAG, "Notification created with ID: " + notificationId);
-                    
-                    // Update the document with its own ID
-                    documentReference.update("notificationId", notificationId)
-                            .addOnSuccessListener(aVoid -> {
-                                if (onSuccess != null) {
-                                    onSuccess.onSuccess();
-                                }
-                            })
-                            .addOnFailureListener(e -> {
-                                Log.e(TAG, "Failed to update notification ID", e);
-                                if (onFailure != null) {
-                                    onFailure.onFailure(e.getMessage());
-                                }
-                            });
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Failed to create notification", e);
-                    if (onFailure != null) {
-                        onFailure.onFailure(e.getMessage());
-                    }
-                });
+        // Notification doc (with its own ID) + unread counter increment in one batch,
+        // started by the dispatcher so urgent types go out ahead of bulk ones.
+        // Organizer broadcasts aren't digested, so each stays in the organizer's log
+        NotificationDispatcher.getInstance().submit(
+                NotificationDispatchScheduler.Priority.forType(type),
+                () -> NotificationCounterFs.addNotification(firestore, notificationData)
+                        .addOnSuccessListener(documentReference -> {
+                            Log.d(TAG, "Notification created with ID: " + documentReference.getId());
+                            if (onSuccess != null) {
+                                onSuccess.onSuccess();
+                            }
+                        })
+                        .addOnFailureListener(e -> {
+                            Log.e(TAG, "Failed to create notification", e);
+                            if (onFailure != null) {
+                                onFailure.onFailure(e.getMessage());
+                            }
+                        }));
     }
 
     /**
@@ -741,6 +764,10 @@ public class NotificationServiceFs implements NotificationService {
             Boolean isRead = doc.getBoolean("isRead");
             notification.setRead(isRead != null && isRead);
 
+            // ---------- Digest version ----------
+            Long digestCount = doc.getLong("digestCount");
+            if (digestCount != null) notification.setDigestCount(digestCount);
+
             return notification;
 
         } catch (Exception e) {
@@ -807,9 +834,17 @@ public class NotificationServiceFs implements NotificationService {
                                    OnSuccessListener onSuccess,
                                    OnFailureListener onFailure) {
         Log.d(TAG, "Deleting notification: " + notificationId);
-        firestore.collection(COLLECTION_NOTIFICATIONS)
-                .document(notificationId)
-                .delete()
+        DocumentReference ref = firestore.collection(COLLECTION_NOTIFICATIONS).document(notificationId);
+
+        // Read inside the transaction so an unread delete decrements the counter exactly once
+        firestore.runTransaction(tx -> {
+                    DocumentSnapshot doc = tx.get(ref);
+                    if (doc.exists() && !Boolean.TRUE.equals(doc.getBoolean("isRead"))) {
+                        NotificationCounterFs.applyDelta(tx, firestore, recipientOf(doc), -1);
+                    }
+                    tx.delete(ref);
+                    return null;
+                })
                 .addOnSuccessListener(aVoid -> {
                     Log.d(TAG, "Notification deleted successfully: " + notificationId);
                     if (onSuccess != null) {
@@ -824,134 +859,102 @@ public class NotificationServiceFs implements NotificationService {
                 });
     }
 
+    /** Recipient id used as the counter key (recipientUserId, falling back to legacy recipientId). */
+    private static String recipientOf(DocumentSnapshot doc) {
+        String recipient = doc.getString("recipientUserId");
+        if (recipient == null || recipient.isEmpty()) {
+            recipient = doc.getString("recipientId");
+        }
+        return recipient;
+    }
+
     @Override
     public void deleteAllNotificationsForUser(String userId,
                                                 OnSuccessListener onSuccess,
                                                 OnFailureListener onFailure) {
-        Log.d(TAG, "Deleting all notifications for user: " + userId);
-        
-        // Query for all notifications for this user (recipientUserId, legacy recipientId, and deviceId)
-        com.google.android.gms.tasks.Task<com.google.firebase.firestore.QuerySnapshot> task1 = 
-                firestore.collection(COLLECTION_NOTIFICATIONS)
-                        .whereEqualTo("recipientUserId", userId)
-                        .get();
-        
-        com.google.android.gms.tasks.Task<com.google.firebase.firestore.QuerySnapshot> task2 = 
-                firestore.collection(COLLECTION_NOTIFICATIONS)
-                        .whereEqualTo("recipientId", userId)
-                        .get();
-        
-        com.google.android.gms.tasks.Task<com.google.firebase.firestore.QuerySnapshot> task3 = 
-                firestore.collection(COLLECTION_NOTIFICATIONS)
-                        .whereEqualTo("deviceId", userId)
-                        .get();
-        
-        Tasks.whenAllComplete(task1, task2, task3)
-                .addOnSuccessListener(taskList -> {
-                    Set<String> notificationIds = new HashSet<>();
-                    
-                    // Collect all notification IDs from both queries
-                    int count1 = 0;
-                    if (task1.isSuccessful() && task1.getResult() != null) {
-                        for (com.google.firebase.firestore.DocumentSnapshot doc : task1.getResult().getDocuments()) {
-                            notificationIds.add(doc.getId());
-                            count1++;
-                        }
-                        Log.d(TAG, "Found " + count1 + " notifications with recipientUserId=" + userId);
-                    } else if (task1.getException() != null) {
-                        Log.w(TAG, "Query 1 failed (recipientUserId): " + task1.getException().getMessage());
-                    }
-                    
-                    int count2 = 0;
-                    if (task2.isSuccessful() && task2.getResult() != null) {
-                        for (com.google.firebase.firestore.DocumentSnapshot doc : task2.getResult().getDocuments()) {
-                            notificationIds.add(doc.getId());
-                            count2++;
-                        }
-                        Log.d(TAG, "Found " + count2 + " notifications with recipientId=" + userId);
-                    } else if (task2.getException() != null) {
-                        Log.w(TAG, "Query 2 failed (recipientId): " + task2.getException().getMessage());
-                    }
-                    
-                    int count3 = 0;
-                    if (task3.isSuccessful() && task3.getResult() != null) {
-                        for (com.google.firebase.firestore.DocumentSnapshot doc : task3.getResult().getDocuments()) {
-                            notificationIds.add(doc.getId());
-                            count3++;
-                        }
-                        Log.d(TAG, "Found " + count3 + " notifications with deviceId=" + userId);
-                    } else if (task3.getException() != null) {
-                        Log.w(TAG, "Query 3 failed (deviceId): " + task3.getException().getMessage());
+        deleteAllNotificationsForUsers(Collections.singletonList(userId), null, null, onSuccess, onFailure);
+    }
+
+    @Override
+    public void deleteAllNotificationsForUsers(List<String> userIds,
+                                               OnDeleteProgressListener onProgress,
+                                               CancellationToken cancellationToken,
+                                               OnSuccessListener onSuccess,
+                                               OnFailureListener onFailure) {
+        Set<String> ids = new LinkedHashSet<>();
+        for (String id : userIds) {
+            if (id != null && !id.isEmpty()) ids.add(id);
+        }
+        Log.d(TAG, "Deleting all notifications for: " + ids);
+
+        // recipientUserId, legacy recipientId, and deviceId can all point at the user
+        List<Query> queries = new ArrayList<>();
+        for (String id : ids) {
+            for (String field : new String[]{"recipientUserId", "recipientId", "deviceId"}) {
+                queries.add(firestore.collection(COLLECTION_NOTIFICATIONS).whereEqualTo(field, id));
+            }
+            // Monthly archives written by the retention job
+            queries.add(firestore.collection(FirestorePaths.NOTIFICATION_ARCHIVES)
+                    .whereEqualTo(FirestoreFields.USER_ID, id));
+        }
+
+        new BulkDeleteFs(firestore)
+                .deleteMatching(queries,
+                        onProgress == null ? null : onProgress::onProgress,
+                        cancellationToken)
+                .addOnSuccessListener(deleted -> {
+                    boolean cancelled = cancellationToken != null && cancellationToken.isCancellationRequested();
+                    Log.d(TAG, "Deleted " + deleted + " notifications for " + ids
+                            + (cancelled ? " (cancelled)" : ""));
+                    NotificationCounterFs counters = new NotificationCounterFs(firestore);
+                    for (String id : ids) {
+                        // A cancelled run leaves some unread docs behind, so count them again
+                        Task<?> fix = cancelled ? counters.recompute(id) : counters.reset(id);
+                        fix.addOnFailureListener(e -> Log.w(TAG, "Failed to update unread counter for " + id, e));
                     }
-                    
-                    Log.d(TAG, "Total unique notifications to delete: " + notificationIds.size() + " for user: " + userId);
-                    
-                    if (notificationIds.isEmpty()) {
-                        Log.d(TAG, "No notifications to delete for user: " + userId);
-                        if (onSuccess != null) {
-                            onSuccess.onSuccess();
-                        }
-                        return;
+                    if (onSuccess != null) {
+                        onSuccess.onSuccess();
                     }
-                    
-                    // Firestore batch operations are limited to 500 operations
-                    // Split into batches if needed
-                    List<String> idList = new ArrayList<>(notificationIds);
-                    int batchSize = 500;
-                    int batchCount = (idList.size() + batchSize - 1) / batchSize;
-                    
-                    Log.d(TAG, "Deleting " + idList.size() + " notifications in " + batchCount + " batch(es)");
-                    
-                    deleteNotificationsInBatches(idList, 0, batchCount, batchSize, userId, onSuccess, onFailure);
                 })
                 .addOnFailureListener(e -> {
-                    Log.e(TAG, "Failed to query notifications for deletion: " + userId, e);
+                    Log.e(TAG, "Failed to delete notifications for " + ids, e);
+                    // Some batches may have landed before the failure
+                    NotificationCounterFs counters = new NotificationCounterFs(firestore);
+                    for (String id : ids) {
+                        counters.recompute(id);
+                    }
                     if (onFailure != null) {
                         onFailure.onFailure(e.getMessage());
                     }
                 });
     }
-    
-    /**
-     * Recursively deletes notifications in batches to handle Firestore's 500 operation limit.
-     */
-    private void deleteNotificationsInBatches(List<String> notificationIds, int currentBatch, int totalBatches,
-                                              int batchSize, String userId,
-                                              OnSuccessListener onSuccess, OnFailureListener onFailure) {
-        int start = currentBatch * batchSize;
-        int end = Math.min(start + batchSize, notificationIds.size());
-        
-        if (start >= notificationIds.size()) {
-            // All batches complete
-            Log.d(TAG, "Successfully deleted all " + notificationIds.size() + " notifications for user: " + userId);
-            if (onSuccess != null) {
-                onSuccess.onSuccess();
-            }
-            return;
-        }
-        
-        List<String> batchIds = notificationIds.subList(start, end);
-        com.google.firebase.firestore.WriteBatch batch = firestore.batch();
-        
-        for (String notificationId : batchIds) {
-            batch.delete(firestore.collection(COLLECTION_NOTIFICATIONS).document(notificationId));
-        }
-        
-        Log.d(TAG, "Deleting batch " + (currentBatch + 1) + "/" + totalBatches + 
-                " (" + batchIds.size() + " notifications)");
-        
-        batch.commit()
-                .addOnSuccessListener(aVoid -> {
-                    Log.d(TAG, "Batch " + (currentBatch + 1) + "/" + totalBatches + " deleted successfully");
-                    // Process next batch
-                    deleteNotificationsInBatches(notificationIds, currentBatch + 1, totalBatches, 
-                            batchSize, userId, onSuccess, onFailure);
+
+    @Override
+    public void getNotificationsSince(List<String> userIds,
+                                      Timestamp since,
+                                      OnNotificationDeltaListener onSuccess,
+                                      OnFailureListener onFailure) {
+        firestore.collection(COLLECTION_NOTIFICATIONS)
+                .whereIn("recipientUserId", userIds)
+                .whereGreaterThan("sentAt", since)
+                .orderBy("sentAt")
+                .get()
+                .addOnSuccessListener(snapshot -> {
+                    List<Notification> added = new ArrayList<>();
+                    Timestamp newest = since;
+                    for (DocumentSnapshot doc : snapshot.getDocuments()) {
+                        Notification n = parseNotification(doc);
+                        if (n != null) added.add(n);
+                        Timestamp sentAt = doc.getTimestamp("sentAt");
+                        if (sentAt != null && sentAt.compareTo(newest) > 0) newest = sentAt;
+                    }
+                    Log.d(TAG, "Delta sync: " + added.size() + " new notifications for " + userIds);
+                    onSuccess.onSuccess(added, newest);
                 })
                 .addOnFailureListener(e -> {
-                    Log.e(TAG, "Failed to delete batch " + (currentBatch + 1) + "/" + totalBatches + 
-                            " for user: " + userId, e);
+                    Log.w(TAG, "Delta sync failed for " + userIds, e);
                     if (onFailure != null) {
-                        onFailure.onFailure("Failed to delete batch " + (currentBatch + 1) + ": " + e.getMessage());
+                        onFailure.onFailure(e.getMessage());
                     }
                 });
     }
@@ -959,14 +962,48 @@ public class NotificationServiceFs implements NotificationService {
     @Override
     public void markNotificationAsRead(String notificationId) {
         Log.d(TAG, "Marking notification as read: " + notificationId);
-        
-        firestore.collection(COLLECTION_NOTIFICATIONS)
-                .document(notificationId)
-                .update("isRead", true)
+        DocumentReference ref = firestore.collection(COLLECTION_NOTIFICATIONS).document(notificationId);
+
+        // Only decrement when this call actually flips isRead (double taps stay idempotent)
+        firestore.runTransaction(tx -> {
+                    DocumentSnapshot doc = tx.get(ref);
+                    if (!doc.exists() || Boolean.TRUE.equals(doc.getBoolean("isRead"))) {
+                        return null;
+                    }
+                    tx.update(ref, "isRead", true);
+                    NotificationCounterFs.applyDelta(tx, firestore, recipientOf(doc), -1);
+                    return null;
+                })
                 .addOnSuccessListener(aVoid -> 
                         Log.d(TAG, "Notification marked as read successfully"))
                 .addOnFailureListener(e -> 
                         Log.e(TAG, "Failed to mark notification as read", e));
     }
+
+    /**
+     * Marks a digest read only if it still holds what the user saw: an entry
+     * appended since then bumps digestCount, and the digest stays unread
+     * (and counted) so the new entry isn't hidden.
+     *
+     * @param seenCount the digestCount the user read
+     * @return Task resolving to whether the digest was marked read
+     */
+    public Task<Boolean> markDigestAsRead(String notificationId, long seenCount) {
+        DocumentReference ref = firestore.collection(COLLECTION_NOTIFICATIONS).document(notificationId);
+        return firestore.runTransaction(tx -> {
+            DocumentSnapshot doc = tx.get(ref);
+            if (!doc.exists() || Boolean.TRUE.equals(doc.getBoolean("isRead"))) {
+                return false;
+            }
+            Long stored = doc.getLong(FirestoreFields.DIGEST_COUNT);
+            if (stored == null || stored != seenCount) {
+                Log.d(TAG, "Digest " + notificationId + " changed since it was read; leaving it unread");
+                return false;
+            }
+            tx.update(ref, "isRead", true);
+            NotificationCounterFs.applyDelta(tx, firestore, recipientOf(doc), -1);
+            return true;
+        });
+    }
 }
 
@@ -0,0 +1,73 @@
+package com.example.eventmaster.data.firestore;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+
+import com.example.eventmaster.common.FirestoreFields;
+import com.example.eventmaster.common.FirestorePaths;
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Process-wide set of ids that have turned notifications off.
+ *
+ * One query (profiles where notificationsEnabled == false) yields every
+ * opted-out profile's doc ID, userId and deviceId, so fan-outs can filter
+ * recipients by whatever id their audience documents carry without reading
+ * each profile. Opt-outs are a small minority, so the set stays small.
+ * Refreshed after {@link #TTL_MS}; concurrent callers share one load.
+ */
+public final class OptOutCache {
+
+    static final long TTL_MS = 5 * 60_000L;
+
+    private static Task<Set<String>> pending;
+    private static long loadedAt;
+
+    private OptOutCache() { }
+
+    /** Resolves to an unmodifiable set of opted-out ids. */
+    public static synchronized Task<Set<String>> get(@NonNull FirebaseFirestore db) {
+        long now = SystemClock.elapsedRealtime();
+        if (pending != null && (!pending.isComplete() || now - loadedAt < TTL_MS)) {
+            return pending;
+        }
+
+        loadedAt = now;
+        Task<Set<String>> load = db.collection(FirestorePaths.PROFILES)
+                .whereEqualTo(FirestoreFields.NOTIFICATIONS_ENABLED, false)
+                .get()
+                .continueWith(task -> {
+                    if (!task.isSuccessful()) throw task.getException();
+                    Set<String> ids = new HashSet<>();
+                    for (DocumentSnapshot doc : task.getResult().getDocuments()) {
+                        ids.add(doc.getId());
+                        addIfPresent(ids, doc.getString(FirestoreFields.USER_ID));
+                        addIfPresent(ids, doc.getString(FirestoreFields.DEVICE_ID));
+                    }
+                    return Collections.unmodifiableSet(ids);
+                });
+        load.addOnFailureListener(e -> {
+            synchronized (OptOutCache.class) {
+                if (pending == load) pending = null;
+            }
+        });
+        pending = load;
+        return load;
+    }
+
+    /** Drops the cached set, e.g. after the current user changes their own preference. */
+    public static synchronized void invalidate() {
+        pending = null;
+    }
+
+    private static void addIfPresent(Set<String> ids, String id) {
+        if (id != null && !id.isEmpty()) ids.add(id);
+    }
+}
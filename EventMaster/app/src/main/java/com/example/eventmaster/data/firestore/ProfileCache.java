@@ -0,0 +1,333 @@
+package com.example.eventmaster.data.firestore;
+
+import android.content.Context;
+import android.util.Log;
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.eventmaster.common.FirestorePaths;
+import com.example.eventmaster.data.local.ProfileCacheStore;
+import com.example.eventmaster.model.Profile;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide two-tier cache of profiles, keyed by profile doc ID.
+ *
+ * Memory tier: LRU of {@link #MEMORY_ENTRIES} profiles, fresh for
+ * {@link #MEMORY_TTL_MS}. Disk tier: {@link ProfileCacheStore}, fresh for
+ * {@link #DISK_TTL_MS}; only present once {@link #init(Context)} has run.
+ *
+ * Freshness is kept by write-through from {@link ProfileRepositoryFs}
+ * (upsert, update, setBanned, delete) and, for hot profiles (read
+ * {@link #HOT_HITS} times), by a snapshot listener on the profile doc that
+ * replaces the entry on every server change. At most {@link #MAX_WATCHED}
+ * listeners are kept; the least recently used one is dropped first.
+ *
+ * Entries are copies, so callers mutating a returned Profile never change
+ * the cache. Memory is released on {@code onTrimMemory}.
+ */
+public final class ProfileCache {
+
+    private static final String TAG = "ProfileCache";
+
+    static final int MEMORY_ENTRIES = 200;
+    static final long MEMORY_TTL_MS = 5 * 60_000L;
+    static final long DISK_TTL_MS = 60 * 60_000L;
+    static final int HOT_HITS = 3;
+    static final int MAX_WATCHED = 16;
+
+    /** Hit/miss counters since process start. */
+    public static final class Stats {
+        public final long memoryHits;
+        public final long diskHits;
+        public final long misses;
+        public final int memorySize;
+        public final int watched;
+
+        Stats(long memoryHits, long diskHits, long misses, int memorySize, int watched) {
+            this.memoryHits = memoryHits;
+            this.diskHits = diskHits;
+            this.misses = misses;
+            this.memorySize = memorySize;
+            this.watched = watched;
+        }
+
+        /** Share of lookups served without a Firestore read, 0..1. */
+        public double hitRate() {
+            long total = memoryHits + diskHits + misses;
+            return total == 0 ? 0 : (double) (memoryHits + diskHits) / total;
+        }
+
+        @Override
+        public String toString() {
+            return "memoryHits=" + memoryHits + " diskHits=" + diskHits + " misses=" + misses
+                    + " size=" + memorySize + " watched=" + watched
+                    + String.format(Locale.ROOT, " hitRate=%.2f", hitRate());
+        }
+    }
+
+    private static final class Entry {
+        final Profile profile;
+        final long cachedAtMillis;
+        int hits;
+
+        Entry(Profile profile, long cachedAtMillis) {
+            this.profile = profile;
+            this.cachedAtMillis = cachedAtMillis;
+        }
+    }
+
+    private static ProfileCache instance;
+
+    private final FirebaseFirestore db;
+    private final LruCache<String, Entry> memory = new LruCache<>(MEMORY_ENTRIES);
+    private final LinkedHashMap<String, ListenerRegistration> watchers =
+            new LinkedHashMap<>(MAX_WATCHED, 0.75f, /*accessOrder*/ true);
+    @Nullable private volatile ProfileCacheStore disk;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public static synchronized ProfileCache getInstance() {
+        if (instance == null) {
+            instance = new ProfileCache(FirebaseFirestore.getInstance());
+        }
+        return instance;
+    }
+
+    private ProfileCache(FirebaseFirestore db) {
+        this.db = db;
+    }
+
+    /**
+     * Enables the disk tier and memory-trim handling. Safe to call on every
+     * launch; later calls are no-ops.
+     */
+    public static void init(@NonNull Context context) {
+        ProfileCache cache = getInstance();
+        synchronized (cache) {
+            if (cache.disk != null) return;
+            Context app = context.getApplicationContext();
+            cache.disk = new ProfileCacheStore(app);
+            cache.disk.pruneOlderThan(System.currentTimeMillis() - DISK_TTL_MS);
+            app.registerComponentCallbacks(cache.trimCallbacks);
+        }
+    }
+
+    // ---------- Reads ----------
+
+    /** Fresh memory-tier entry, or null. Never touches disk or network. */
+    @Nullable
+    public Profile peek(@NonNull String profileId) {
+        Entry e = memory.get(profileId);
+        if (e == null || !isFresh(profileId, e)) return null;
+        memoryHits.incrementAndGet();
+        noteHit(profileId, e);
+        return copyOf(e.profile);
+    }
+
+    /**
+     * Memory, then disk, then {@code loader}. A non-null loaded profile is
+     * cached under {@code profileId}; loader failures are passed through.
+     */
+    public Task<Profile> get(@NonNull String profileId, @NonNull Callable<Task<Profile>> loader) {
+        Profile hit = peek(profileId);
+        if (hit != null) return Tasks.forResult(hit);
+
+        ProfileCacheStore store = disk;
+        Task<ProfileCacheStore.Row> fromDisk = store != null ? store.get(profileId) : Tasks.forResult(null);
+        return fromDisk.continueWithTask(row -> {
+            ProfileCacheStore.Row r = row.isSuccessful() ? row.getResult() : null;
+            if (r != null && System.currentTimeMillis() - r.cachedAtMillis < DISK_TTL_MS) {
+                diskHits.incrementAndGet();
+                memory.put(profileId, new Entry(r.profile, r.cachedAtMillis));
+                return Tasks.forResult(copyOf(r.profile));
+            }
+
+            misses.incrementAndGet();
+            return loader.call().continueWith(loaded -> {
+                if (!loaded.isSuccessful()) throw loaded.getException();
+                Profile p = loaded.getResult();
+                if (p != null) put(profileId, p);
+                return p;
+            });
+        });
+    }
+
+    // ---------- Writes ----------
+
+    /** Stores {@code p} in both tiers (write-through or a fresh read). */
+    public void put(@NonNull String profileId, @NonNull Profile p) {
+        long now = System.currentTimeMillis();
+        Entry entry = new Entry(copyOf(p), now);
+        Entry previous = memory.get(profileId);
+        if (previous != null) entry.hits = previous.hits;
+        memory.put(profileId, entry);
+        ProfileCacheStore store = disk;
+        if (store != null) store.put(profileId, entry.profile, now);
+    }
+
+    /**
+     * Write-through for a partial update. Applies {@code fields} to the cached
+     * copy when every field is one the model carries; otherwise drops it.
+     */
+    public void applyUpdate(@NonNull String profileId, @NonNull Map<String, Object> fields) {
+        Entry e = memory.get(profileId);
+        if (e != null) {
+            Profile updated = copyOf(e.profile);
+            if (apply(updated, fields)) {
+                put(profileId, updated);
+                return;
+            }
+        }
+        invalidate(profileId);
+    }
+
+    public void invalidate(@NonNull String profileId) {
+        memory.remove(profileId);
+        ProfileCacheStore store = disk;
+        if (store != null) store.remove(profileId);
+    }
+
+    /** Drops the memory tier and every listener; the disk tier is kept. */
+    public void clearMemory() {
+        memory.evictAll();
+        synchronized (watchers) {
+            for (ListenerRegistration reg : watchers.values()) {
+                reg.remove();
+            }
+            watchers.clear();
+        }
+    }
+
+    public Stats stats() {
+        int watched;
+        synchronized (watchers) {
+            watched = watchers.size();
+        }
+        return new Stats(memoryHits.get(), diskHits.get(), misses.get(), memory.size(), watched);
+    }
+
+    // ---------- Hot-profile listeners ----------
+
+    private boolean isFresh(String profileId, Entry e) {
+        synchronized (watchers) {
+            if (watchers.containsKey(profileId)) return true;
+        }
+        return System.currentTimeMillis() - e.cachedAtMillis < MEMORY_TTL_MS;
+    }
+
+    private void noteHit(String profileId, Entry e) {
+        if (++e.hits < HOT_HITS) return;
+        synchronized (watchers) {
+            if (watchers.get(profileId) != null) return;   // also refreshes LRU order
+            watchers.put(profileId, db.collection(FirestorePaths.PROFILES).document(profileId)
+                    .addSnapshotListener((doc, err) -> {
+                        if (err != null || doc == null || doc.getMetadata().isFromCache()) return;
+                        if (doc.exists()) {
+                            put(profileId, ProfileRepositoryFs.fromDoc(doc));
+                        } else {
+                            invalidate(profileId);
+                        }
+                    }));
+            if (watchers.size() > MAX_WATCHED) {
+                Iterator<Map.Entry<String, ListenerRegistration>> it = watchers.entrySet().iterator();
+                it.next().getValue().remove();
+                it.remove();
+            }
+        }
+    }
+
+    private final CacheTrimCallbacks trimCallbacks = new CacheTrimCallbacks() {
+        @Override
+        protected void shrink() {
+            memory.trimToSize(MEMORY_ENTRIES / 4);
+            Log.d(TAG, "Trimmed: " + stats());
+        }
+
+        @Override
+        protected void clear() {
+            clearMemory();
+            Log.d(TAG, "Cleared: " + stats());
+        }
+    };
+
+    // ---------- Copying ----------
+
+    private static Profile copyOf(Profile p) {
+        Profile c = new Profile();
+        c.setUserId(p.getUserId());
+        c.setDeviceId(p.getDeviceId());
+        c.setName(p.getName());
+        c.setEmail(p.getEmail());
+        c.setPhoneNumber(p.getPhoneNumber());
+        c.setProfileImageUrl(p.getProfileImageUrl());
+        c.setFcmToken(p.getFcmToken());
+        c.setNotificationsEnabled(p.isNotificationsEnabled());
+        c.setRole(p.getRole());
+        c.setBanned(p.getBanned());
+        c.setActive(p.getActive());
+        return c;
+    }
+
+    /** Applies known profile fields; returns false if any field isn't modelled. */
+    private static boolean apply(Profile p, Map<String, Object> fields) {
+        for (Map.Entry<String, Object> f : fields.entrySet()) {
+            Object v = f.getValue();
+            // FieldValue sentinels (delete, serverTimestamp, ...) can't be applied locally
+            if (v != null && !(v instanceof String) && !(v instanceof Boolean)) return false;
+            switch (f.getKey()) {
+                case "name":
+                case "email":
+                case "phoneNumber":
+                case "profileImageUrl":
+                case "fcmToken":
+                case "deviceId":
+                case "role":
+                    if (v instanceof Boolean) return false;
+                    setString(p, f.getKey(), (String) v);
+                    break;
+                case "notificationsEnabled":
+                    if (!(v instanceof Boolean)) return false;
+                    p.setNotificationsEnabled((Boolean) v);
+                    break;
+                case "banned":
+                    if (!(v instanceof Boolean)) return false;
+                    p.setBanned((Boolean) v);
+                    break;
+                case "active":
+                    if (!(v instanceof Boolean)) return false;
+                    p.setActive((Boolean) v);
+                    break;
+                default:
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    private static void setString(Profile p, String field, @Nullable String v) {
+        switch (field) {
+            case "name": p.setName(v); break;
+            case "email": p.setEmail(v); break;
+            case "phoneNumber": p.setPhoneNumber(v); break;
+            case "profileImageUrl": p.setProfileImageUrl(v); break;
+            case "fcmToken": p.setFcmToken(v); break;
+            case "deviceId": p.setDeviceId(v); break;
+            default: p.setRole(v); break;
+        }
+    }
+}
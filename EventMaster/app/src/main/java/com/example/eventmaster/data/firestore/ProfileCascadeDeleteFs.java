@@ -0,0 +1,150 @@
+package com.example.eventmaster.data.firestore;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.eventmaster.common.FirestoreFields;
+import com.example.eventmaster.common.FirestorePaths;
+import com.google.android.gms.tasks.CancellationToken;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Removes a profile together with everything that refers to it.
+ *
+ * The user's docs are found with collection-group queries on every id the
+ * profile is known by (doc ID, userId, deviceId):
+ *  - waiting_list / chosen_list / not_selected by userId
+ *  - invitations / registrations by entrantId
+ *  - notifications by recipientUserId, recipientId or deviceId,
+ *    and notification_archives by userId
+ *
+ * They are deleted through {@link BulkDeleteFs} in 500-op batches, at most
+ * {@link #MAX_IN_FLIGHT} commits at a time and one commit per
+ * {@link #MIN_COMMIT_INTERVAL_MS}. The profile doc, its identity aliases
+ * and unread counter go last, so an interrupted run can simply be started
+ * again: whatever is already gone no longer matches the queries.
+ */
+public class ProfileCascadeDeleteFs {
+
+    private static final String TAG = "ProfileCascadeDelete";
+
+    static final int MAX_IN_FLIGHT = 2;
+    static final long MIN_COMMIT_INTERVAL_MS = 250;
+
+    private final FirebaseFirestore db;
+
+    public ProfileCascadeDeleteFs(@NonNull FirebaseFirestore db) {
+        this.db = db;
+    }
+
+    /**
+     * Hides the profile (inactive + deletionPending) until the cascade has
+     * run, so it drops out of the directory and sign-in lookups at once.
+     */
+    public Task<Void> markPending(@NonNull String profileId) {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put(FirestoreFields.ACTIVE, false);
+        fields.put(FirestoreFields.DELETION_PENDING, true);
+        return new ProfileRepositoryFs().update(profileId, fields);
+    }
+
+    /**
+     * Runs the cascade for {@code profileId}.
+     *
+     * @param knownIds other ids of the user, used when the profile doc is already gone
+     * @param progress optional callback after each committed batch
+     * @param cancel   optional token; a cancelled run keeps the profile doc
+     * @return Task resolving to the number of dependent docs deleted
+     */
+    public Task<Integer> run(@NonNull String profileId,
+                             @NonNull Collection<String> knownIds,
+                             @Nullable BulkDeleteFs.OnProgressListener progress,
+                             @Nullable CancellationToken cancel) {
+        DocumentReference profileRef = db.collection(FirestorePaths.PROFILES).document(profileId);
+        return profileRef.get().continueWithTask(read -> {
+            if (!read.isSuccessful()) throw read.getException();
+            Set<String> ids = new LinkedHashSet<>();
+            ids.add(profileId);
+            for (String id : knownIds) addId(ids, id);
+            DocumentSnapshot doc = read.getResult();
+            addId(ids, doc.getString(FirestoreFields.USER_ID));
+            addId(ids, doc.getString(FirestoreFields.DEVICE_ID));
+            List<String> keys = new ArrayList<>(ids);
+
+            return new BulkDeleteFs(db, MAX_IN_FLIGHT, MIN_COMMIT_INTERVAL_MS)
+                    .deleteMatching(queriesFor(keys), progress, cancel)
+                    .continueWithTask(deleted -> {
+                        if (!deleted.isSuccessful()) throw deleted.getException();
+                        if (cancel != null && cancel.isCancellationRequested()) {
+                            return Tasks.forResult(deleted.getResult());
+                        }
+                        return deleteProfile(profileId, keys).continueWith(t -> {
+                            if (!t.isSuccessful()) throw t.getException();
+                            Log.d(TAG, "Removed profile " + profileId + " and "
+                                    + deleted.getResult() + " dependent docs");
+                            return deleted.getResult();
+                        });
+                    });
+        });
+    }
+
+    private List<Query> queriesFor(List<String> ids) {
+        List<Query> queries = new ArrayList<>();
+        for (String roster : new String[]{FirestorePaths.WAITING_LIST, FirestorePaths.CHOSEN_LIST,
+                FirestorePaths.NOT_SELECTED}) {
+            queries.add(db.collectionGroup(roster).whereIn(FirestoreFields.USER_ID, ids));
+        }
+        queries.add(db.collectionGroup(FirestorePaths.INVITATIONS).whereIn(FirestoreFields.ENTRANT_ID, ids));
+        queries.add(db.collectionGroup(FirestorePaths.REGISTRATIONS).whereIn(FirestoreFields.ENTRANT_ID, ids));
+        for (String field : new String[]{FirestoreFields.RECIPIENT_USER_ID, FirestoreFields.RECIPIENT_ID,
+                FirestoreFields.DEVICE_ID}) {
+            queries.add(db.collection(FirestorePaths.NOTIFICATIONS).whereIn(field, ids));
+        }
+        queries.add(db.collection(FirestorePaths.NOTIFICATION_ARCHIVES).whereIn(FirestoreFields.USER_ID, ids));
+        return queries;
+    }
+
+    /**
+     * Final batch: the profile doc, unread counters, and the aliases that
+     * still point at this profile (a reused deviceId may point elsewhere).
+     */
+    private Task<Void> deleteProfile(String profileId, List<String> ids) {
+        List<Task<DocumentSnapshot>> aliasReads = new ArrayList<>();
+        for (String id : ids) {
+            aliasReads.add(db.collection(FirestorePaths.IDENTITY_ALIASES).document(id).get());
+        }
+        return Tasks.whenAllComplete(aliasReads).continueWithTask(done -> {
+            WriteBatch batch = db.batch();
+            batch.delete(db.collection(FirestorePaths.PROFILES).document(profileId));
+            for (int i = 0; i < ids.size(); i++) {
+                batch.delete(db.collection(FirestorePaths.NOTIFICATION_COUNTERS).document(ids.get(i)));
+                Task<DocumentSnapshot> alias = aliasReads.get(i);
+                if (alias.isSuccessful()
+                        && profileId.equals(alias.getResult().getString(FirestoreFields.CANONICAL_ID))) {
+                    batch.delete(alias.getResult().getReference());
+                }
+            }
+            return batch.commit();
+        }).addOnSuccessListener(v -> ProfileCache.getInstance().invalidate(profileId));
+    }
+
+    private static void addId(Set<String> ids, @Nullable String id) {
+        if (id != null && !id.isEmpty()) ids.add(id);
+    }
+}
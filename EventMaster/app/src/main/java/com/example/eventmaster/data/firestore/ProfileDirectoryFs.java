@@ -0,0 +1,172 @@
+package com.example.eventmaster.data.firestore;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.eventmaster.common.FirestoreFields;
+import com.example.eventmaster.common.FirestorePaths;
+import com.example.eventmaster.model.Profile;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.AggregateSource;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Paged, searchable admin directory over /profiles.
+ *
+ * Pages are ordered by nameLower and continue from the last doc of the
+ * previous page, so each page is one indexed query of {@link #PAGE_SIZE}
+ * docs. A search adds {@code array-contains} on searchTokens for the
+ * query's longest word (see {@link ProfileSearchIndex}); any other words
+ * are checked on the returned page.
+ *
+ * Needs composite indexes on profiles:
+ *   role ASC, nameLower ASC
+ *   role ASC, searchTokens CONTAINS, nameLower ASC
+ *
+ * Profiles written before the search fields existed are picked up by
+ * {@link #backfill()}.
+ */
+public class ProfileDirectoryFs {
+
+    private static final String TAG = "ProfileDirectoryFs";
+
+    public static final int PAGE_SIZE = 25;
+
+    /** Marker doc under /migrations recording a completed {@link #backfill()}. */
+    static final String BACKFILL_DOC = "profileSearchIndex";
+    static final int BACKFILL_VERSION = 1;
+    /** One update per profile; stays under the 500-op batch cap. */
+    static final int BACKFILL_PAGE_SIZE = 400;
+
+    /** One page of directory results. */
+    public static final class Page {
+        public final List<Profile> profiles;
+        /** Pass to the next {@link #page} call; null when there is nothing more. */
+        @Nullable public final DocumentSnapshot next;
+
+        Page(List<Profile> profiles, @Nullable DocumentSnapshot next) {
+            this.profiles = profiles;
+            this.next = next;
+        }
+
+        public boolean hasMore() { return next != null; }
+    }
+
+    private final FirebaseFirestore db;
+
+    public ProfileDirectoryFs(@NonNull FirebaseFirestore db) {
+        this.db = db;
+    }
+
+    /**
+     * One page of active, unbanned profiles with {@code role}.
+     *
+     * @param search free text matched as a prefix of name/email words; null or blank lists all
+     * @param after  {@link Page#next} of the previous page, or null for the first page
+     */
+    public Task<Page> page(@NonNull String role, @Nullable String search, @Nullable DocumentSnapshot after) {
+        Query q = db.collection(FirestorePaths.PROFILES).whereEqualTo(FirestoreFields.ROLE, role);
+        String token = ProfileSearchIndex.queryToken(search);
+        if (token != null) q = q.whereArrayContains(FirestoreFields.SEARCH_TOKENS, token);
+        q = q.orderBy(FirestoreFields.NAME_LOWER).limit(PAGE_SIZE);
+        if (after != null) q = q.startAfter(after);
+
+        return q.get().continueWith(task -> {
+            if (!task.isSuccessful()) throw task.getException();
+            List<DocumentSnapshot> docs = task.getResult().getDocuments();
+            List<Profile> out = new ArrayList<>();
+            for (DocumentSnapshot doc : docs) {
+                Profile p = ProfileRepositoryFs.fromDoc(doc);
+                if (!p.getActive() || p.getBanned()) continue;
+                if (token != null && !ProfileSearchIndex.matches(search, p.getName(), p.getEmail())) continue;
+                out.add(p);
+            }
+            DocumentSnapshot next = docs.size() < PAGE_SIZE ? null : docs.get(docs.size() - 1);
+            return new Page(Collections.unmodifiableList(out), next);
+        });
+    }
+
+    /**
+     * Server-side count of profiles with any of {@code roles}; a single
+     * aggregation read instead of downloading the docs.
+     */
+    public Task<Long> count(@NonNull List<String> roles) {
+        return db.collection(FirestorePaths.PROFILES)
+                .whereIn(FirestoreFields.ROLE, roles)
+                .count()
+                .get(AggregateSource.SERVER)
+                .continueWith(task -> {
+                    if (!task.isSuccessful()) throw task.getException();
+                    return task.getResult().getCount();
+                });
+    }
+
+    /**
+     * Writes the search fields onto every existing profile,
+     * {@link #BACKFILL_PAGE_SIZE} per batch. Skipped once the marker doc
+     * records this version; re-running is harmless.
+     *
+     * @return Task resolving to the number of profiles updated (0 if already done)
+     */
+    public Task<Integer> backfill() {
+        DocumentReference marker = db.collection(FirestorePaths.MIGRATIONS).document(BACKFILL_DOC);
+        return marker.get().continueWithTask(task -> {
+            if (!task.isSuccessful()) throw task.getException();
+            Long done = task.getResult().getLong(FirestoreFields.MIGRATION_VERSION);
+            if (done != null && done >= BACKFILL_VERSION) return Tasks.forResult(0);
+
+            return backfillPage(null, 0).continueWithTask(count -> {
+                if (!count.isSuccessful()) throw count.getException();
+                Map<String, Object> data = new HashMap<>();
+                data.put(FirestoreFields.MIGRATION_VERSION, BACKFILL_VERSION);
+                data.put(FirestoreFields.UPDATED_AT, FieldValue.serverTimestamp());
+                return marker.set(data).continueWith(t -> {
+                    if (!t.isSuccessful()) throw t.getException();
+                    Log.d(TAG, "Search backfill updated " + count.getResult() + " profiles");
+                    return count.getResult();
+                });
+            });
+        });
+    }
+
+    private Task<Integer> backfillPage(@Nullable DocumentSnapshot cursor, int soFar) {
+        Query q = db.collection(FirestorePaths.PROFILES)
+                .orderBy(FieldPath.documentId())
+                .limit(BACKFILL_PAGE_SIZE);
+        if (cursor != null) q = q.startAfter(cursor);
+
+        return q.get().continueWithTask(task -> {
+            if (!task.isSuccessful()) throw task.getException();
+            List<DocumentSnapshot> docs = task.getResult().getDocuments();
+            if (docs.isEmpty()) return Tasks.forResult(soFar);
+
+            WriteBatch batch = db.batch();
+            for (DocumentSnapshot doc : docs) {
+                batch.update(doc.getReference(), ProfileSearchIndex.fields(
+                        doc.getString(FirestoreFields.NAME), doc.getString(FirestoreFields.EMAIL)));
+            }
+
+            int total = soFar + docs.size();
+            return batch.commit().continueWithTask(committed -> {
+                if (!committed.isSuccessful()) throw committed.getException();
+                if (docs.size() < BACKFILL_PAGE_SIZE) return Tasks.forResult(total);
+                return backfillPage(docs.get(docs.size() - 1), total);
+            });
+        });
+    }
+}
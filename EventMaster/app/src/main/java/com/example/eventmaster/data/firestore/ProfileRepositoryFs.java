@@ -13,8 +13,10 @@ import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.ListenerRegistration;
 import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.WriteBatch;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -31,11 +33,20 @@ import java.util.function.Consumer;
  *      active: true if missing
  *      banned: false if missing
  *      role:   "entrant" if missing
+ * - Every write also records identityAliases for the doc ID, userId and
+ *   entrant deviceId (see {@link IdentityAliasFs}).
+ * - Single-profile reads go through {@link ProfileCache}; writes update or
+ *   invalidate it once committed. {@link #getFresh(String)} skips the cache
+ *   for auth decisions.
+ * - Writes touching name or email also maintain the normalized search fields
+ *   ({@link ProfileSearchIndex}) read by {@link ProfileDirectoryFs}.
  */
 public class ProfileRepositoryFs {
 
     private static final String COLL = "profiles";
     private final FirebaseFirestore db = FirebaseFirestore.getInstance();
+    private final IdentityAliasFs aliases = new IdentityAliasFs(db);
+    private final ProfileCache cache = ProfileCache.getInstance();
 
     // ---------- Mapping helpers ----------
 
@@ -54,6 +65,7 @@ public class ProfileRepositoryFs {
         putIfNotNull(m, "role", p.getRole());
         m.put("banned", p.getBanned());   // defaults applied by getters
         m.put("active", p.getActive());
+        m.putAll(ProfileSearchIndex.fields(p.getName(), p.getEmail()));
 
         return m;
     }
@@ -64,7 +76,7 @@ public class ProfileRepositoryFs {
         m.put(key, val);
     }
 
-    private static Profile fromDoc(@NonNull DocumentSnapshot doc) {
+    static Profile fromDoc(@NonNull DocumentSnapshot doc) {
         Profile p = doc.toObject(Profile.class);
         if (p == null) p = new Profile();
 
@@ -115,7 +127,9 @@ public class ProfileRepositoryFs {
             return Tasks.forException(new IllegalArgumentException("userId is required"));
         }
         Map<String, Object> data = toMap(p, /*includeId*/ false);
-        return db.collection(COLL).document(p.getUserId()).set(data);
+        String userId = p.getUserId();
+        return writeWithAliases(userId, data, /*merge*/ false)
+                .addOnSuccessListener(v -> cache.put(userId, p));
     }
 
     /** Overload used by some screens: simple fields. */
@@ -137,7 +151,9 @@ public class ProfileRepositoryFs {
             Object v = fields.remove("phone");
             if (v != null) fields.put("phoneNumber", v);
         }
-        return db.collection(COLL).document(userId).set(fields);
+        fields.putAll(ProfileSearchIndex.fields(asString(fields.get("name")), asString(fields.get("email"))));
+        return writeWithAliases(userId, fields, /*merge*/ false)
+                .addOnSuccessListener(v -> cache.invalidate(userId));
     }
 
     // ---------- Entrant helpers (deviceId-based profiles) ----------
@@ -152,7 +168,9 @@ public class ProfileRepositoryFs {
             return Tasks.forException(new IllegalArgumentException("deviceId is required for entrants"));
         }
         Map<String, Object> data = toMap(p, /*includeId*/ false);
-        return db.collection(COLL).document(deviceId).set(data);
+        // Stored without userId, so a read maps it differently from p; re-read on next get
+        return writeWithAliases(deviceId, data, /*merge*/ false, p.getUserId())
+                .addOnSuccessListener(v -> cache.invalidate(deviceId));
     }
 
     /**
@@ -160,7 +178,7 @@ public class ProfileRepositoryFs {
      * Returns null if the profile does not exist yet.
      */
     public Task<Profile> getEntrantByDeviceIdDoc(@NonNull String deviceId) {
-        return db.collection(COLL).document(deviceId)
+        return cache.get(deviceId, () -> db.collection(COLL).document(deviceId)
                 .get()
                 .continueWith(task -> {
                     if (!task.isSuccessful()) throw task.getException();
@@ -169,16 +187,79 @@ public class ProfileRepositoryFs {
                         return null;
                     }
                     return fromDoc(doc);
-                });
+                }));
     }
 
-    /** Partial update (merge). */
+    /**
+     * Partial update (merge). Changing only one of name/email reads the doc
+     * first so the search fields are rebuilt from both.
+     */
     public Task<Void> update(@NonNull String userId, @NonNull Map<String, Object> fields) {
         if (fields.containsKey("phone")) {
             Object v = fields.remove("phone");
             if (v != null) fields.put("phoneNumber", v);
         }
-        return db.collection(COLL).document(userId).update(fields);
+        Map<String, Object> written = new HashMap<>(fields);
+        boolean hasName = fields.containsKey("name");
+        boolean hasEmail = fields.containsKey("email");
+
+        Task<Void> indexed;
+        if (hasName && hasEmail) {
+            fields.putAll(ProfileSearchIndex.fields(asString(fields.get("name")), asString(fields.get("email"))));
+            indexed = Tasks.forResult(null);
+        } else if (hasName || hasEmail) {
+            indexed = db.collection(COLL).document(userId).get().continueWith(task -> {
+                if (!task.isSuccessful()) throw task.getException();
+                DocumentSnapshot doc = task.getResult();
+                String name = hasName ? asString(fields.get("name")) : doc.getString("name");
+                String email = hasEmail ? asString(fields.get("email")) : doc.getString("email");
+                fields.putAll(ProfileSearchIndex.fields(name, email));
+                return null;
+            });
+        } else {
+            indexed = Tasks.forResult(null);
+        }
+
+        return indexed
+                .continueWithTask(t -> {
+                    if (!t.isSuccessful()) throw t.getException();
+                    return writeWithAliases(userId, fields, /*merge*/ true);
+                })
+                .addOnSuccessListener(v -> cache.applyUpdate(userId, written));
+    }
+
+    @Nullable
+    private static String asString(@Nullable Object v) {
+        return v instanceof String ? (String) v : null;
+    }
+
+    /**
+     * Writes the profile doc and its identity aliases in one batch.
+     * The deviceId is only claimed for entrant profiles, matching
+     * {@link #getByDeviceId(String)}.
+     */
+    private Task<Void> writeWithAliases(@NonNull String docId,
+                                        @NonNull Map<String, Object> fields,
+                                        boolean merge,
+                                        @Nullable String... extraIds) {
+        WriteBatch batch = db.batch();
+        DocumentReference ref = db.collection(COLL).document(docId);
+        if (merge) {
+            batch.update(ref, fields);
+        } else {
+            batch.set(ref, fields);
+        }
+
+        List<String> ids = new ArrayList<>();
+        if (extraIds != null) ids.addAll(Arrays.asList(extraIds));
+        Object userId = fields.get("userId");
+        if (userId instanceof String) ids.add((String) userId);
+        Object role = fields.get("role");
+        Object deviceId = fields.get("deviceId");
+        if (deviceId instanceof String && (role == null || "entrant".equals(role))) ids.add((String) deviceId);
+
+        IdentityAliasFs.putAliases(batch, db, docId, ids.toArray(new String[0]));
+        return batch.commit();
     }
 
     /** Set banned flag (Task-returning). */
@@ -202,6 +283,7 @@ public class ProfileRepositoryFs {
                        @NonNull OnFailureListener err) {
         db.collection(COLL).document(userId)
                 .delete()
+                .addOnSuccessListener(v -> cache.invalidate(userId))
                 .addOnSuccessListener(ok)
                 .addOnFailureListener(err);
     }
@@ -209,6 +291,11 @@ public class ProfileRepositoryFs {
     // ---------- Reads (Task-based) ----------
 
     public Task<Profile> get(@NonNull String userId) {
+        return cache.get(userId, () -> getFresh(userId));
+    }
+
+    /** Reads the profile from Firestore, bypassing (but refreshing) the cache. */
+    public Task<Profile> getFresh(@NonNull String userId) {
         return db.collection(COLL).document(userId)
                 .get()
                 .continueWith(task -> {
@@ -221,7 +308,8 @@ public class ProfileRepositoryFs {
                         throw new IllegalStateException("Profile not found for userId: " + userId + ". Document ID must exactly match the UID from Firebase Authentication.");
                     }
                     return fromDoc(doc);
-                });
+                })
+                .addOnSuccessListener(p -> cache.put(userId, p));
     }
 
     public Task<List<Profile>> getByRole(@NonNull String role) {
@@ -242,8 +330,49 @@ public class ProfileRepositoryFs {
     }
 
     /** Get profile by device ID (for entrants to find existing profile on same device). 
-     * Returns null if not found (use addOnCompleteListener and check result). */
+     * Returns null if not found (use addOnCompleteListener and check result).
+     * Resolved through the deviceId's identity alias; falls back to the deviceId
+     * query when the alias is missing or points at a profile that no longer qualifies. */
     public Task<Profile> getByDeviceId(@NonNull String deviceId) {
+        return aliases.canonicalId(deviceId)
+                .continueWithTask(alias -> {
+                    String canonical = alias.isSuccessful() ? alias.getResult() : null;
+                    if (canonical == null) return Tasks.forResult((Profile) null);
+                    return getEntrantByDeviceIdDoc(canonical);
+                })
+                .continueWithTask(task -> {
+                    Profile p = task.isSuccessful() ? task.getResult() : null;
+                    if (p != null && deviceId.equals(p.getDeviceId()) && "entrant".equals(p.getRole())
+                            && p.getActive() && !p.getBanned()) {
+                        return Tasks.forResult(p);
+                    }
+                    return queryByDeviceId(deviceId);
+                });
+    }
+
+    /**
+     * Resolves the profile for the first of {@code ids} that is known, in order
+     * (e.g. deviceId then Firebase UID). All ids are looked up in parallel.
+     * Returns null if none resolves; lookup failures count as misses.
+     */
+    public Task<Profile> getByAnyId(@NonNull String... ids) {
+        List<Task<Profile>> lookups = new ArrayList<>();
+        for (String id : ids) {
+            if (id == null || id.isEmpty()) continue;
+            lookups.add(aliases.canonicalId(id).continueWithTask(alias -> {
+                if (!alias.isSuccessful() || alias.getResult() == null) return Tasks.forResult((Profile) null);
+                return getEntrantByDeviceIdDoc(alias.getResult());
+            }));
+        }
+        return Tasks.whenAllComplete(lookups).continueWith(done -> {
+            for (Task<Profile> t : lookups) {
+                if (t.isSuccessful() && t.getResult() != null) return t.getResult();
+            }
+            return null;
+        });
+    }
+
+    private Task<Profile> queryByDeviceId(@NonNull String deviceId) {
         return db.collection(COLL)
                 .whereEqualTo("deviceId", deviceId)
                 .whereEqualTo("role", "entrant")
@@ -256,6 +385,7 @@ public class ProfileRepositoryFs {
                         for (DocumentSnapshot doc : snap.getDocuments()) {
                             Profile p = fromDoc(doc);
                             if (p.getActive() && !p.getBanned()) {
+                                aliases.point(deviceId, doc.getId());
                                 return p;
                             }
                         }
@@ -300,7 +430,11 @@ public class ProfileRepositoryFs {
 
     // ---------- Live listeners ----------
 
-    /** Live entrants list (active & not banned). */
+    /**
+     * Live entrants list (active & not banned).
+     * @deprecated downloads and watches every profile of the role; page with {@link ProfileDirectoryFs}.
+     */
+    @Deprecated
     public ListenerRegistration listenEntrants(@NonNull Consumer<List<Profile>> onChange,
                                                @NonNull Consumer<Exception> onError) {
         return db.collection(COLL)
@@ -321,7 +455,11 @@ public class ProfileRepositoryFs {
                 });
     }
 
-    /** Live organizers list (active & not banned). */
+    /**
+     * Live organizers list (active & not banned).
+     * @deprecated downloads and watches every profile of the role; page with {@link ProfileDirectoryFs}.
+     */
+    @Deprecated
     public ListenerRegistration listenOrganizers(@NonNull Consumer<List<Profile>> onChange,
                                                  @NonNull Consumer<Exception> onError) {
         return db.collection(COLL)
@@ -353,10 +491,13 @@ public class ProfileRepositoryFs {
                         return;
                     }
                     if (doc == null || !doc.exists()) {
+                        cache.invalidate(userId);
                         onError.accept(new IllegalStateException("Profile not found: " + userId));
                         return;
                     }
-                    onChange.accept(fromDoc(doc));
+                    Profile p = fromDoc(doc);
+                    cache.put(userId, p);
+                    onChange.accept(p);
                 });
     }
 }
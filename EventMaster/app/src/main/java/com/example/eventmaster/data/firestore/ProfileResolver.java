@@ -0,0 +1,196 @@
+package com.example.eventmaster.data.firestore;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.eventmaster.common.FirestoreFields;
+import com.example.eventmaster.common.FirestorePaths;
+import com.example.eventmaster.model.Profile;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves entrant/organizer ids to profiles in bulk.
+ *
+ * Ids stored on lists and notifications are either a profile doc ID (Firebase
+ * UID or the entrant's deviceId doc) or a deviceId on an older profile doc.
+ * Instead of one or two reads per id, ids are looked up in two passes:
+ *  1. whereIn(documentId, chunk) for every id,
+ *  2. whereIn("deviceId", chunk) for the ids pass 1 missed,
+ * each chunked at {@link #WHERE_IN_LIMIT}. 1,000 ids cost ~34-68 queries.
+ *
+ * Ids already in {@link ProfileCache}'s memory tier are answered from it,
+ * and profiles found by doc ID are added to it. Concurrent requests for the
+ * same id share one lookup.
+ */
+public class ProfileResolver {
+
+    private static final String TAG = "ProfileResolver";
+
+    /** Firestore's "in" filter limit. */
+    static final int WHERE_IN_LIMIT = 30;
+
+    private static ProfileResolver instance;
+
+    private final FirebaseFirestore db;
+    private final Map<String, Task<Profile>> inFlight = new HashMap<>();
+
+    public static synchronized ProfileResolver getInstance() {
+        if (instance == null) {
+            instance = new ProfileResolver(FirebaseFirestore.getInstance());
+        }
+        return instance;
+    }
+
+    public ProfileResolver(@NonNull FirebaseFirestore db) {
+        this.db = db;
+    }
+
+    /**
+     * Resolves every id it can. Ids with no profile (or whose chunk failed to
+     * load) are simply absent from the map; the Task itself never fails.
+     *
+     * @return Task resolving to id -> profile, in the order ids were given
+     */
+    public Task<Map<String, Profile>> resolve(@NonNull Collection<String> ids) {
+        Set<String> wanted = new LinkedHashSet<>();
+        for (String id : ids) {
+            if (id != null && !id.isEmpty()) wanted.add(id);
+        }
+
+        Map<String, Task<Profile>> perId = new LinkedHashMap<>();
+        Map<String, TaskCompletionSource<Profile>> mine = new LinkedHashMap<>();
+        synchronized (inFlight) {
+            for (String id : wanted) {
+                Profile cached = ProfileCache.getInstance().peek(id);
+                if (cached != null) {
+                    perId.put(id, Tasks.forResult(cached));
+                    continue;
+                }
+                Task<Profile> pending = inFlight.get(id);
+                if (pending == null) {
+                    TaskCompletionSource<Profile> source = new TaskCompletionSource<>();
+                    mine.put(id, source);
+                    pending = source.getTask();
+                    inFlight.put(id, pending);
+                }
+                perId.put(id, pending);
+            }
+        }
+
+        if (!mine.isEmpty()) fetch(mine);
+
+        return Tasks.whenAllComplete(perId.values()).continueWith(done -> {
+            Map<String, Profile> out = new LinkedHashMap<>();
+            for (Map.Entry<String, Task<Profile>> e : perId.entrySet()) {
+                Task<Profile> t = e.getValue();
+                if (t.isSuccessful() && t.getResult() != null) out.put(e.getKey(), t.getResult());
+            }
+            return out;
+        });
+    }
+
+    /** Single-id convenience; resolves to null when there is no profile. */
+    public Task<Profile> resolve(@NonNull String id) {
+        List<String> one = new ArrayList<>();
+        one.add(id);
+        return resolve(one).continueWith(t -> t.getResult().get(id));
+    }
+
+    private void fetch(Map<String, TaskCompletionSource<Profile>> sources) {
+        List<String> ids = new ArrayList<>(sources.keySet());
+        Map<String, Profile> found = new HashMap<>();
+
+        byField(FieldPath.documentId(), ids).continueWithTask(byId -> {
+            found.putAll(byId.getResult());
+            for (Map.Entry<String, Profile> e : byId.getResult().entrySet()) {
+                ProfileCache.getInstance().put(e.getKey(), e.getValue());
+            }
+
+            List<String> misses = new ArrayList<>();
+            for (String id : ids) {
+                if (!found.containsKey(id)) misses.add(id);
+            }
+            if (misses.isEmpty()) return Tasks.forResult(null);
+
+            return byField(FieldPath.of(FirestoreFields.DEVICE_ID), misses).continueWith(byDevice -> {
+                found.putAll(byDevice.getResult());
+                return null;
+            });
+        }).addOnCompleteListener(done -> {
+            synchronized (inFlight) {
+                for (String id : ids) {
+                    inFlight.remove(id);
+                }
+            }
+            for (Map.Entry<String, TaskCompletionSource<Profile>> e : sources.entrySet()) {
+                e.getValue().setResult(found.get(e.getKey()));
+            }
+            Log.d(TAG, "Resolved " + found.size() + " of " + ids.size() + " profiles");
+        });
+    }
+
+    /**
+     * Chunked whereIn on {@code field}; maps each requested id to its best
+     * matching profile. Failed chunks are logged and treated as misses.
+     */
+    private Task<Map<String, Profile>> byField(FieldPath field, List<String> ids) {
+        boolean byDocId = field.equals(FieldPath.documentId());
+        List<Task<QuerySnapshot>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += WHERE_IN_LIMIT) {
+            chunks.add(db.collection(FirestorePaths.PROFILES)
+                    .whereIn(field, new ArrayList<>(ids.subList(i, Math.min(i + WHERE_IN_LIMIT, ids.size()))))
+                    .get());
+        }
+
+        return Tasks.whenAllComplete(chunks).continueWith(done -> {
+            Map<String, Profile> out = new HashMap<>();
+            Map<String, DocumentSnapshot> best = new HashMap<>();
+            for (Task<QuerySnapshot> chunk : chunks) {
+                if (!chunk.isSuccessful()) {
+                    Log.w(TAG, "Profile chunk lookup failed", chunk.getException());
+                    continue;
+                }
+                for (DocumentSnapshot doc : chunk.getResult().getDocuments()) {
+                    String key = byDocId ? doc.getId() : doc.getString(FirestoreFields.DEVICE_ID);
+                    if (key == null) continue;
+                    if (preferred(doc, best.get(key))) best.put(key, doc);
+                }
+            }
+            for (Map.Entry<String, DocumentSnapshot> e : best.entrySet()) {
+                out.put(e.getKey(), ProfileRepositoryFs.fromDoc(e.getValue()));
+            }
+            return out;
+        });
+    }
+
+    /** Several docs can share a deviceId; prefer an active, unbanned entrant profile. */
+    private static boolean preferred(DocumentSnapshot candidate, @Nullable DocumentSnapshot current) {
+        return current == null || score(candidate) > score(current);
+    }
+
+    static int score(DocumentSnapshot doc) {
+        int s = 0;
+        if (!Boolean.FALSE.equals(doc.getBoolean(FirestoreFields.ACTIVE))) s += 2;
+        if (!Boolean.TRUE.equals(doc.getBoolean(FirestoreFields.BANNED))) s += 2;
+        String role = doc.getString(FirestoreFields.ROLE);
+        if (role == null || "entrant".equals(role)) s += 1;
+        return s;
+    }
+}
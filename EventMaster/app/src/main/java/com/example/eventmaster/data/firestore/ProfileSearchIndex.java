@@ -0,0 +1,123 @@
+package com.example.eventmaster.data.firestore;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.eventmaster.common.FirestoreFields;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Normalized search fields stored on every profile doc so the admin
+ * directory can sort and prefix-search with indexed queries.
+ *
+ * - nameLower / emailLower: lowercase, accent-free, whitespace collapsed;
+ *   always written (empty string when unknown) so orderBy never drops a doc.
+ * - searchTokens: prefixes ({@link #MIN_PREFIX}..{@link #MAX_PREFIX} chars)
+ *   of each name word, the email local-part words and the whole email.
+ *   A search is one {@code array-contains} on the query's normalized prefix.
+ */
+final class ProfileSearchIndex {
+
+    static final int MIN_PREFIX = 1;
+    static final int MAX_PREFIX = 15;
+    /** Keeps the array well inside Firestore's per-doc index entry limits. */
+    static final int MAX_TOKENS = 120;
+
+    private ProfileSearchIndex() { }
+
+    /** The three index fields for a profile with this name and email. */
+    static Map<String, Object> fields(@Nullable String name, @Nullable String email) {
+        Map<String, Object> m = new HashMap<>();
+        m.put(FirestoreFields.NAME_LOWER, normalize(name));
+        m.put(FirestoreFields.EMAIL_LOWER, normalize(email));
+        m.put(FirestoreFields.SEARCH_TOKENS, tokens(name, email));
+        return m;
+    }
+
+    /** Lowercase, strip accents, trim and collapse runs of whitespace. */
+    @NonNull
+    static String normalize(@Nullable String s) {
+        if (s == null) return "";
+        String folded = Normalizer.normalize(s, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}+", "");
+        return folded.toLowerCase(Locale.ROOT).trim().replaceAll("\\s+", " ");
+    }
+
+    static List<String> tokens(@Nullable String name, @Nullable String email) {
+        Set<String> out = new LinkedHashSet<>();
+        for (String word : words(normalize(name))) addPrefixes(out, word);
+
+        String e = normalize(email);
+        if (!e.isEmpty()) {
+            addPrefixes(out, e);
+            int at = e.indexOf('@');
+            for (String word : words(at >= 0 ? e.substring(0, at) : e)) addPrefixes(out, word);
+        }
+
+        List<String> list = new ArrayList<>(out);
+        return list.size() > MAX_TOKENS ? new ArrayList<>(list.subList(0, MAX_TOKENS)) : list;
+    }
+
+    /**
+     * Token to query for {@code input}: the longest word (most selective),
+     * clipped to {@link #MAX_PREFIX}. Null when there is nothing to search.
+     * An input containing '@' is treated as a whole-email prefix.
+     */
+    @Nullable
+    static String queryToken(@Nullable String input) {
+        String q = normalize(input);
+        if (q.isEmpty()) return null;
+        if (q.indexOf('@') >= 0) return clip(q.replace(" ", ""));
+
+        String best = null;
+        for (String word : words(q)) {
+            if (best == null || word.length() > best.length()) best = word;
+        }
+        return best != null ? clip(best) : null;
+    }
+
+    /**
+     * Client-side check for the words the indexed query didn't cover: every
+     * word of {@code input} must prefix a word of the name or the email.
+     */
+    static boolean matches(@Nullable String input, @Nullable String name, @Nullable String email) {
+        String q = normalize(input);
+        if (q.isEmpty()) return true;
+        List<String> have = tokens(name, email);
+        if (q.indexOf('@') >= 0) {
+            return normalize(email).startsWith(q.replace(" ", ""));
+        }
+        for (String word : words(q)) {
+            if (!have.contains(clip(word))) return false;
+        }
+        return true;
+    }
+
+    private static List<String> words(String normalized) {
+        List<String> out = new ArrayList<>();
+        // Apostrophes join rather than split: "o'neil" is searched as "oneil"
+        for (String w : normalized.replaceAll("['\u2019]", "").split("[^\\p{L}\\p{N}]+")) {
+            if (!w.isEmpty()) out.add(w);
+        }
+        return out;
+    }
+
+    private static void addPrefixes(Set<String> out, String word) {
+        int max = Math.min(word.length(), MAX_PREFIX);
+        for (int len = MIN_PREFIX; len <= max; len++) {
+            out.add(word.substring(0, len));
+        }
+    }
+
+    private static String clip(String token) {
+        return token.length() > MAX_PREFIX ? token.substring(0, MAX_PREFIX) : token;
+    }
+}
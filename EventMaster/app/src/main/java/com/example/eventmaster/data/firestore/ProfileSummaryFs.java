@@ -0,0 +1,151 @@
+package com.example.eventmaster.data.firestore;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.eventmaster.common.FirestoreFields;
+import com.example.eventmaster.common.FirestorePaths;
+import com.example.eventmaster.model.ProfileSummary;
+import com.example.eventmaster.model.WaitingListEntry;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the {@link ProfileSummary} embedded in roster entries current.
+ *
+ * Entries get their summary when written (waiting list join, lottery,
+ * invitation responses). When a profile is edited, {@link #fanOut} finds
+ * that user's waiting_list / chosen_list entries (by userId) and
+ * registrations (by entrantId) with collection-group queries and rewrites
+ * the summary one page ({@link #PAGE_SIZE} docs, one WriteBatch) at a time.
+ */
+public class ProfileSummaryFs {
+
+    private static final String TAG = "ProfileSummaryFs";
+
+    /** Entries per page; one update each keeps a page within the 500-op batch cap. */
+    static final int PAGE_SIZE = 200;
+
+    private final FirebaseFirestore db;
+
+    public ProfileSummaryFs(@NonNull FirebaseFirestore db) {
+        this.db = db;
+    }
+
+    /**
+     * Replaces an entry's embedded full Profile (legacy) with its summary, so
+     * the written doc carries only the compact copy.
+     */
+    public static void compact(@NonNull WaitingListEntry entry) {
+        if (entry.getProfileSummary() == null && entry.getProfile() != null) {
+            entry.setProfileSummary(ProfileSummary.from(entry.getProfile()));
+        }
+        entry.setProfile(null);
+    }
+
+    /**
+     * Summary map for a registration being written for {@code entrantId}:
+     * copied from their chosen_list entry when it has one, else built from
+     * the resolved profile. Resolves to null if neither is available.
+     */
+    public Task<Map<String, Object>> forRegistration(@NonNull String eventId, @NonNull String entrantId) {
+        return db.collection(FirestorePaths.chosenListPath(eventId)).document(entrantId).get()
+                .continueWithTask(chosen -> {
+                    if (chosen.isSuccessful() && chosen.getResult() != null) {
+                        ProfileSummary s = summaryOf(chosen.getResult());
+                        if (s != null) return Tasks.forResult(s.toMap());
+                    }
+                    return ProfileResolver.getInstance().resolve(entrantId)
+                            .continueWith(p -> p.getResult() != null
+                                    ? ProfileSummary.from(p.getResult()).toMap()
+                                    : null);
+                });
+    }
+
+    /** Summary embedded in a roster doc, falling back to a legacy embedded profile. */
+    @Nullable
+    public static ProfileSummary summaryOf(@NonNull DocumentSnapshot doc) {
+        ProfileSummary s = ProfileSummary.fromMap(doc.get(FirestoreFields.PROFILE_SUMMARY));
+        if (s != null) return s;
+        return ProfileSummary.fromMap(doc.get("profile"));
+    }
+
+    /**
+     * Rewrites the summary on every roster entry belonging to any of
+     * {@code ids} (a user's profile doc ID, Firebase UID and deviceId).
+     *
+     * @return Task resolving to the number of entries updated
+     */
+    public Task<Integer> fanOut(@NonNull Collection<String> ids, @NonNull ProfileSummary summary) {
+        List<String> keys = new ArrayList<>(ids);
+        if (keys.isEmpty()) return Tasks.forResult(0);
+
+        Map<String, Object> rosterUpdate = new HashMap<>();
+        rosterUpdate.put(FirestoreFields.PROFILE_SUMMARY, summary.toMap());
+        rosterUpdate.put(FirestoreFields.ENTRANT_NAME, summary.getName());
+        rosterUpdate.put(FirestoreFields.EMAIL, summary.getEmail());
+        rosterUpdate.put(FirestoreFields.PHONE, summary.getPhoneNumber());
+        rosterUpdate.put("profile", FieldValue.delete());   // drop legacy full copies
+
+        Map<String, Object> registrationUpdate = new HashMap<>();
+        registrationUpdate.put(FirestoreFields.PROFILE_SUMMARY, summary.toMap());
+
+        int[] total = new int[1];
+        return update(db.collectionGroup(FirestorePaths.WAITING_LIST).whereIn(FirestoreFields.USER_ID, keys),
+                rosterUpdate, null, total)
+                .continueWithTask(t -> {
+                    if (!t.isSuccessful()) throw t.getException();
+                    return update(db.collectionGroup(FirestorePaths.CHOSEN_LIST)
+                            .whereIn(FirestoreFields.USER_ID, keys), rosterUpdate, null, total);
+                })
+                .continueWithTask(t -> {
+                    if (!t.isSuccessful()) throw t.getException();
+                    return update(db.collectionGroup(FirestorePaths.REGISTRATIONS)
+                            .whereIn(FirestoreFields.ENTRANT_ID, keys), registrationUpdate, null, total);
+                })
+                .continueWith(t -> {
+                    if (!t.isSuccessful()) throw t.getException();
+                    Log.d(TAG, "Updated profile summary on " + total[0] + " entries for " + keys);
+                    return total[0];
+                });
+    }
+
+    /** Pages through {@code query}, applying {@code fields} to every hit. */
+    private Task<Void> update(Query query, Map<String, Object> fields,
+                              @Nullable DocumentSnapshot cursor, int[] total) {
+        Query q = query.orderBy(FieldPath.documentId()).limit(PAGE_SIZE);
+        if (cursor != null) q = q.startAfter(cursor);
+
+        return q.get().continueWithTask(task -> {
+            if (!task.isSuccessful()) throw task.getException();
+            List<DocumentSnapshot> docs = task.getResult().getDocuments();
+            if (docs.isEmpty()) return Tasks.forResult(null);
+
+            WriteBatch batch = db.batch();
+            for (DocumentSnapshot doc : docs) {
+                batch.update(doc.getReference(), fields);
+            }
+            total[0] += docs.size();
+
+            return batch.commit().continueWithTask(done -> {
+                if (!done.isSuccessful()) throw done.getException();
+                if (docs.size() < PAGE_SIZE) return Tasks.forResult(null);
+                return update(query, fields, docs.get(docs.size() - 1), total);
+            });
+        });
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.eventmaster.data.firestore;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.ProcessLifecycleOwner;
+
+import com.example.eventmaster.common.FirestoreFields;
+import com.example.eventmaster.common.FirestorePaths;
+import com.example.eventmaster.model.Notification;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Coalesces inbox read/dismiss actions into a few WriteBatch commits.
+ *
+ * Taps and swipes only update memory; pending actions are flushed together:
+ *  - {@link #DEBOUNCE_MS} after the last action,
+ *  - when the screen calls {@link #flush()} on exit,
+ *  - when the whole app goes to the background (process lifecycle).
+ *
+ * Each batch also carries the unread-counter decrements for the items that
+ * were unread when the user acted on them. If a batch fails (e.g. one of the
+ * docs was deleted elsewhere, which fails the update), its items fall back to
+ * the per-item transactional calls in NotificationServiceFs, which check the
+ * stored state before touching the counter.
+ *
+ * Digest reads don't go in the batch. Each is a transaction that applies
+ * only if the digest's digestCount still matches the one the user read
+ * ({@link NotificationServiceFs#markDigestAsRead}); an entry appended while
+ * the receipt was pending leaves the digest unread instead of hiding it.
+ *
+ * Main thread only.
+ */
+public class ReadReceiptBuffer {
+
+    private static final String TAG = "ReadReceiptBuffer";
+
+    /** Quiet period after the last action before pending actions are written. */
+    public static final long DEBOUNCE_MS = 2000;
+
+    private static final int MAX_BATCH_OPS = 500;
+
+    private static ReadReceiptBuffer instance;
+
+    private final FirebaseFirestore db;
+    private final NotificationServiceFs fallback;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable flushRunnable = this::flush;
+
+    // notificationId -> recipient to decrement (null when it was already read)
+    private final Map<String, String> pendingReads = new LinkedHashMap<>();
+    private final Map<String, String> pendingDismisses = new LinkedHashMap<>();
+    // digest notificationId -> digestCount the user saw
+    private final Map<String, Long> pendingDigestReads = new LinkedHashMap<>();
+
+    @MainThread
+    public static ReadReceiptBuffer getInstance() {
+        if (instance == null) {
+            instance = new ReadReceiptBuffer(FirebaseFirestore.getInstance());
+            ProcessLifecycleOwner.get().getLifecycle().addObserver(new DefaultLifecycleObserver() {
+                @Override
+                public void onStop(@NonNull LifecycleOwner owner) {
+                    instance.flush();
+                }
+            });
+        }
+        return instance;
+    }
+
+    ReadReceiptBuffer(@NonNull FirebaseFirestore db) {
+        this.db = db;
+        this.fallback = new NotificationServiceFs(db);
+    }
+
+    /** Queues a read receipt; already-read notifications are ignored. */
+    @MainThread
+    public void markRead(@NonNull Notification n) {
+        String id = n.getNotificationId();
+        if (id == null || n.isRead() || pendingReads.containsKey(id) || pendingDismisses.containsKey(id)
+                || pendingDigestReads.containsKey(id)) return;
+        if (n.getDigestCount() > 0) {
+            pendingDigestReads.put(id, n.getDigestCount());
+        } else {
+            pendingReads.put(id, n.getRecipientUserId());
+        }
+        schedule();
+    }
+
+    /** Queues a delete; supersedes a pending read for the same notification. */
+    @MainThread
+    public void dismiss(@NonNull Notification n) {
+        String id = n.getNotificationId();
+        if (id == null || pendingDismisses.containsKey(id)) return;
+
+        String recipient;
+        if (pendingReads.containsKey(id)) {
+            // Read locally but never written: the counter still includes it
+            recipient = pendingReads.remove(id);
+        } else if (pendingDigestReads.remove(id) != null) {
+            recipient = n.getRecipientUserId();
+        } else {
+            recipient = n.isRead() ? null : n.getRecipientUserId();
+        }
+        pendingDismisses.put(id, recipient);
+        schedule();
+    }
+
+    /** Marks every unread notification in {@code list} as read and flushes right away. */
+    @MainThread
+    public Task<Void> markAllRead(@NonNull List<Notification> list) {
+        for (Notification n : list) {
+            markRead(n);
+        }
+        return flush();
+    }
+
+    /** Writes everything pending now. Safe to call when nothing is pending. */
+    @MainThread
+    public Task<Void> flush() {
+        handler.removeCallbacks(flushRunnable);
+        if (pendingReads.isEmpty() && pendingDismisses.isEmpty() && pendingDigestReads.isEmpty()) {
+            return Tasks.forResult(null);
+        }
+
+        List<Task<?>> commits = new ArrayList<>();
+        for (Map.Entry<String, Long> e : pendingDigestReads.entrySet()) {
+            String id = e.getKey();
+            commits.add(fallback.markDigestAsRead(id, e.getValue())
+                    .addOnFailureListener(err -> Log.e(TAG, "Failed to mark digest " + id + " read", err)));
+        }
+        int digestReads = pendingDigestReads.size();
+        pendingDigestReads.clear();
+        if (pendingReads.isEmpty() && pendingDismisses.isEmpty()) return Tasks.whenAll(commits);
+
+        List<Op> ops = new ArrayList<>();
+        for (Map.Entry<String, String> e : pendingDismisses.entrySet()) {
+            ops.add(new Op(e.getKey(), true, e.getValue()));
+        }
+        for (Map.Entry<String, String> e : pendingReads.entrySet()) {
+            ops.add(new Op(e.getKey(), false, e.getValue()));
+        }
+        pendingReads.clear();
+        pendingDismisses.clear();
+
+        List<Op> chunk = new ArrayList<>();
+        Map<String, Long> deltas = new HashMap<>();
+        for (Op op : ops) {
+            boolean newRecipient = op.recipient != null && !deltas.containsKey(op.recipient);
+            if (chunk.size() + deltas.size() + 1 + (newRecipient ? 1 : 0) > MAX_BATCH_OPS) {
+                commits.add(commitChunk(chunk, deltas));
+                chunk = new ArrayList<>();
+                deltas = new HashMap<>();
+            }
+            chunk.add(op);
+            if (op.recipient != null) deltas.merge(op.recipient, 1L, Long::sum);
+        }
+        commits.add(commitChunk(chunk, deltas));
+
+        Log.d(TAG, "Flushing " + ops.size() + " read/dismiss actions in " + (commits.size() - digestReads)
+                + " batch(es) and " + digestReads + " digest read(s)");
+        return Tasks.whenAll(commits);
+    }
+
+    private Task<Void> commitChunk(List<Op> chunk, Map<String, Long> deltas) {
+        WriteBatch batch = db.batch();
+        for (Op op : chunk) {
+            if (op.delete) {
+                batch.delete(db.collection(FirestorePaths.NOTIFICATIONS).document(op.id));
+            } else {
+                batch.update(db.collection(FirestorePaths.NOTIFICATIONS).document(op.id),
+                        FirestoreFields.IS_READ, true);
+            }
+        }
+        for (Map.Entry<String, Long> e : deltas.entrySet()) {
+            NotificationCounterFs.applyDelta(batch, db, e.getKey(), -e.getValue());
+        }
+
+        return batch.commit().continueWith(task -> {
+            if (!task.isSuccessful()) {
+                Log.w(TAG, "Batch of " + chunk.size() + " failed, retrying per item", task.getException());
+                for (Op op : chunk) {
+                    if (op.delete) {
+                        fallback.deleteNotification(op.id, null,
+                                err -> Log.e(TAG, "Failed to delete " + op.id + ": " + err));
+                    } else {
+                        fallback.markNotificationAsRead(op.id);
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    private void schedule() {
+        handler.removeCallbacks(flushRunnable);
+        handler.postDelayed(flushRunnable, DEBOUNCE_MS);
+    }
+
+    private static final class Op {
+        final String id;
+        final boolean delete;
+        @Nullable final String recipient;
+
+        Op(String id, boolean delete, @Nullable String recipient) {
+            this.id = id;
+            this.delete = delete;
+            this.recipient = recipient;
+        }
+    }
+}
@@ -3,7 +3,10 @@ package com.example.eventmaster.data.firestore;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import com.example.eventmaster.common.FirestoreFields;
 import com.example.eventmaster.data.api.RegistrationRepository;
+import com.example.eventmaster.model.Profile;
+import com.example.eventmaster.model.ProfileSummary;
 import com.example.eventmaster.model.Registration;
 import com.example.eventmaster.ui.organizer.adapters.EntrantRow;
 import com.google.android.gms.tasks.Task;
@@ -12,8 +15,9 @@ import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Map;
 
 public class RegistrationRepositoryFs implements RegistrationRepository {
     private final FirebaseFirestore db = FirebaseFirestore.getInstance();
@@ -73,39 +77,46 @@ public class RegistrationRepositoryFs implements RegistrationRepository {
                     List<DocumentSnapshot> regs = snapTask.getResult().getDocuments();
                     if (regs.isEmpty()) return Tasks.forResult(new ArrayList<>());
 
-                    List<EntrantRow> out = new ArrayList<>(regs.size());
-                    AtomicInteger remaining = new AtomicInteger(regs.size());
-                    TaskCompletion<List<EntrantRow>> tc = new TaskCompletion<>();
-
+                    // Rows render from the embedded profileSummary; only older
+                    // registrations without one are resolved, in one batched lookup
+                    List<String> entrantIds = new ArrayList<>(regs.size());
+                    Map<String, ProfileSummary> summaries = new HashMap<>();
+                    List<String> missing = new ArrayList<>();
                     for (DocumentSnapshot r : regs) {
                         String entrantId = r.getString("entrantId");  // doc id is entrantId
-                        assert entrantId != null;
-                        db.collection("profiles").document(entrantId).get()
-                                .addOnSuccessListener(p -> {
-                                    String name = p.getString("name");
-                                    String email = p.getString("email");
-                                    String phone = p.getString("phone");
-                                    out.add(new EntrantRow(entrantId,
-                                            name != null ? name : entrantId,
-                                            email != null ? email : "",
-                                            phone != null ? phone : ""));
-                                    if (remaining.decrementAndGet() == 0) tc.success(out);
-                                })
-                                .addOnFailureListener(e -> {
-                                    out.add(new EntrantRow(entrantId, entrantId, "", ""));
-                                    if (remaining.decrementAndGet() == 0) tc.success(out);
-                                });
+                        if (entrantId == null) entrantId = r.getId();
+                        entrantIds.add(entrantId);
+                        ProfileSummary s = ProfileSummary.fromMap(r.get(FirestoreFields.PROFILE_SUMMARY));
+                        if (s != null) {
+                            summaries.put(entrantId, s);
+                        } else {
+                            missing.add(entrantId);
+                        }
                     }
-                    return tc.task();
-                });
-    }
 
-    /** tiny helper to turn callbacks into a Task without extra libs */
-    private static class TaskCompletion<T> {
-        private final com.google.android.gms.tasks.TaskCompletionSource<T> tcs = new com.google.android.gms.tasks.TaskCompletionSource<>();
-        Task<T> task() { return tcs.getTask(); }
-        void success(T v) { tcs.setResult(v); }
-        void fail(Exception e) { tcs.setException(e); }
+                    Task<Map<String, Profile>> resolved = missing.isEmpty()
+                            ? Tasks.forResult(new HashMap<>())
+                            : ProfileResolver.getInstance().resolve(missing);
+                    return resolved.continueWith(t -> {
+                        for (Map.Entry<String, Profile> e : t.getResult().entrySet()) {
+                            summaries.put(e.getKey(), ProfileSummary.from(e.getValue()));
+                        }
+                        List<EntrantRow> out = new ArrayList<>(entrantIds.size());
+                        for (String entrantId : entrantIds) {
+                            ProfileSummary s = summaries.get(entrantId);
+                            if (s == null) {
+                                out.add(new EntrantRow(entrantId, entrantId, "", ""));
+                                continue;
+                            }
+                            String name = s.getName();
+                            out.add(new EntrantRow(entrantId,
+                                    name != null && !name.isEmpty() ? name : entrantId,
+                                    s.getEmail() != null ? s.getEmail() : "",
+                                    s.getPhoneNumber() != null ? s.getPhoneNumber() : ""));
+                        }
+                        return out;
+                    });
+                });
     }
 
 }
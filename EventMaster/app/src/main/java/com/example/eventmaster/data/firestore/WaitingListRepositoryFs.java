@@ -2,6 +2,7 @@ package com.example.eventmaster.data.firestore;
 
 import com.example.eventmaster.data.api.WaitingListRepository;
 import com.example.eventmaster.model.WaitingListEntry;
+import com.google.firebase.firestore.AggregateSource;
 import com.google.firebase.firestore.FirebaseFirestore;
 import java.util.Collections;
 import java.util.List;
@@ -32,6 +33,9 @@ public class WaitingListRepositoryFs implements WaitingListRepository {
                 listener.onFailure(new Exception("userId is required"));
                 return;
             }
+
+            // Embed the compact summary instead of the whole profile
+            ProfileSummaryFs.compact(entry);
             
             db.collection("events")
                     .document(entry.getEventId())
@@ -108,8 +112,9 @@ public class WaitingListRepositoryFs implements WaitingListRepository {
         db.collection("events")
                 .document(eventId)
                 .collection("waiting_list")
-                .get()
-                .addOnSuccessListener(querySnapshot -> listener.onSuccess(querySnapshot.size()))
+                .count()
+                .get(AggregateSource.SERVER)
+                .addOnSuccessListener(snapshot -> listener.onSuccess((int) snapshot.getCount()))
                 .addOnFailureListener(listener::onFailure);
     }
 
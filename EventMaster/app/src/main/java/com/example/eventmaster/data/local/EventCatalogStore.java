@@ -0,0 +1,214 @@
+package com.example.eventmaster.data.local;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.eventmaster.model.Event;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.Timestamp;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Local mirror of the event catalog, backed by {@link LocalDbHelper}.
+ *
+ * Holds events (any status; callers filter) plus an updatedAt watermark,
+ * so the browse screen can render from disk before the network answers and
+ * the next sync only asks for events changed since then. Rows from a full
+ * sync come from the catalog shards and only carry summary fields. All
+ * calls run on a single background thread and return Tasks.
+ */
+public class EventCatalogStore {
+
+    private static final Executor IO = Executors.newSingleThreadExecutor();
+
+    /** How far the mirror has been synced. */
+    public static final class SyncState {
+        /** Newest updatedAt seen so far; the next delta asks for anything after it. */
+        public final Timestamp watermark;
+        public final long lastFullSyncMillis;
+
+        public SyncState(Timestamp watermark, long lastFullSyncMillis) {
+            this.watermark = watermark;
+            this.lastFullSyncMillis = lastFullSyncMillis;
+        }
+    }
+
+    private final LocalDbHelper helper;
+
+    public EventCatalogStore(@NonNull Context context) {
+        this.helper = LocalDbHelper.getInstance(context);
+    }
+
+    // ---------- Sync state ----------
+
+    /** Resolves to null before the first full sync. */
+    public Task<SyncState> getSyncState() {
+        return Tasks.call(IO, () -> {
+            try (Cursor c = helper.getReadableDatabase().query(LocalDbHelper.T_EVENT_CATALOG_SYNC,
+                    new String[]{"watermark_seconds", "watermark_nanos", "last_full_sync"},
+                    "id = 0", null, null, null, null)) {
+                if (!c.moveToFirst()) return null;
+                return new SyncState(new Timestamp(c.getLong(0), c.getInt(1)), c.getLong(2));
+            }
+        });
+    }
+
+    public Task<Void> saveSyncState(@NonNull SyncState state) {
+        return Tasks.call(IO, () -> {
+            ContentValues v = new ContentValues();
+            v.put("id", 0);
+            v.put("watermark_seconds", state.watermark.getSeconds());
+            v.put("watermark_nanos", state.watermark.getNanoseconds());
+            v.put("last_full_sync", state.lastFullSyncMillis);
+            helper.getWritableDatabase().insertWithOnConflict(
+                    LocalDbHelper.T_EVENT_CATALOG_SYNC, null, v, SQLiteDatabase.CONFLICT_REPLACE);
+            return null;
+        });
+    }
+
+    // ---------- Catalog rows ----------
+
+    /** Mirrored events whose status is one of {@code statuses}; every event if empty. */
+    public Task<List<Event>> load(@NonNull Collection<String> statuses) {
+        return Tasks.call(IO, () -> {
+            List<Event> out = new ArrayList<>();
+            String where = null;
+            String[] args = null;
+            if (!statuses.isEmpty()) {
+                where = "status IN (" + placeholders(statuses.size()) + ")";
+                args = statuses.toArray(new String[0]);
+            }
+            try (Cursor c = helper.getReadableDatabase().query(LocalDbHelper.T_EVENT_CATALOG, null,
+                    where, args, null, null, null)) {
+                while (c.moveToNext()) {
+                    out.add(fromRow(c));
+                }
+            }
+            return out;
+        });
+    }
+
+    /** Replaces the whole mirror (full sync; also drops deleted events). */
+    public Task<Void> replaceAll(@NonNull List<Event> events) {
+        return Tasks.call(IO, () -> {
+            SQLiteDatabase db = helper.getWritableDatabase();
+            db.beginTransaction();
+            try {
+                db.delete(LocalDbHelper.T_EVENT_CATALOG, null, null);
+                for (Event e : events) {
+                    insertOrReplace(db, e);
+                }
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+            return null;
+        });
+    }
+
+    /** Inserts or overwrites rows (delta sync). */
+    public Task<Void> upsert(@NonNull List<Event> events) {
+        return Tasks.call(IO, () -> {
+            SQLiteDatabase db = helper.getWritableDatabase();
+            db.beginTransaction();
+            try {
+                for (Event e : events) {
+                    insertOrReplace(db, e);
+                }
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+            return null;
+        });
+    }
+
+    public Task<Void> delete(@NonNull String eventId) {
+        return Tasks.call(IO, () -> {
+            helper.getWritableDatabase().delete(LocalDbHelper.T_EVENT_CATALOG,
+                    "event_id = ?", new String[]{eventId});
+            return null;
+        });
+    }
+
+    // ---------- Row mapping ----------
+
+    private static void insertOrReplace(SQLiteDatabase db, Event e) {
+        if (e.getId() == null) return;
+        ContentValues v = new ContentValues();
+        v.put("event_id", e.getId());
+        v.put("name", e.getName());
+        v.put("description", e.getDescription());
+        v.put("location", e.getLocation());
+        v.put("event_type", e.getEventType());
+        v.put("price", e.getPrice());
+        v.put("status", e.getStatus());
+        v.put("registration_open", millis(e.getRegistrationStartDateTimestamp()));
+        v.put("registration_close", millis(e.getRegistrationEndDateTimestamp()));
+        v.put("event_date", millis(e.getEventDateTimestamp()));
+        v.put("poster_url", e.getPosterUrl());
+        v.put("qr_url", e.getQrUrl());
+        v.put("organizer_id", e.getOrganizerId());
+        v.put("organizer_name", e.getOrganizerName());
+        v.put("capacity", e.getCapacity());
+        v.put("waiting_list_limit", e.getWaitingListLimit());
+        v.put("geolocation_required", e.isGeolocationRequired() ? 1 : 0);
+        db.insertWithOnConflict(LocalDbHelper.T_EVENT_CATALOG, null, v, SQLiteDatabase.CONFLICT_REPLACE);
+    }
+
+    private static Event fromRow(Cursor c) {
+        Event e = new Event();
+        e.setId(c.getString(c.getColumnIndexOrThrow("event_id")));
+        String name = c.getString(c.getColumnIndexOrThrow("name"));
+        if (name != null) e.setName(name);
+        e.setDescription(c.getString(c.getColumnIndexOrThrow("description")));
+        e.setLocation(c.getString(c.getColumnIndexOrThrow("location")));
+        e.setEventType(c.getString(c.getColumnIndexOrThrow("event_type")));
+        e.setPrice(c.getDouble(c.getColumnIndexOrThrow("price")));
+        String status = c.getString(c.getColumnIndexOrThrow("status"));
+        if (status != null) e.setStatus(status);
+        e.setRegistrationStartDateTimestamp(timestamp(c, "registration_open"));
+        e.setRegistrationEndDateTimestamp(timestamp(c, "registration_close"));
+        e.setEventDateTimestamp(timestamp(c, "event_date"));
+        e.setPosterUrl(c.getString(c.getColumnIndexOrThrow("poster_url")));
+        e.setQrUrl(c.getString(c.getColumnIndexOrThrow("qr_url")));
+        e.setOrganizerId(c.getString(c.getColumnIndexOrThrow("organizer_id")));
+        e.setOrganizerName(c.getString(c.getColumnIndexOrThrow("organizer_name")));
+        e.setCapacity(c.getInt(c.getColumnIndexOrThrow("capacity")));
+        int limit = c.getColumnIndexOrThrow("waiting_list_limit");
+        e.setWaitingListLimit(c.isNull(limit) ? null : c.getInt(limit));
+        e.setGeolocationRequired(c.getInt(c.getColumnIndexOrThrow("geolocation_required")) != 0);
+        return e;
+    }
+
+    @Nullable
+    private static Long millis(@Nullable Timestamp ts) {
+        return ts != null ? ts.toDate().getTime() : null;
+    }
+
+    @Nullable
+    private static Timestamp timestamp(Cursor c, String column) {
+        int i = c.getColumnIndexOrThrow(column);
+        return c.isNull(i) ? null : new Timestamp(new Date(c.getLong(i)));
+    }
+
+    private static String placeholders(int n) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            sb.append(i == 0 ? "?" : ",?");
+        }
+        return sb.toString();
+    }
+}
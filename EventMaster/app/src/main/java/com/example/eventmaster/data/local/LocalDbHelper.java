@@ -0,0 +1,118 @@
+package com.example.eventmaster.data.local;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import androidx.annotation.NonNull;
+
+/**
+ * On-device SQLite database for data the app keeps locally between launches.
+ *
+ * Tables:
+ *  - inbox: the entrant's notifications (mirror of "notifications" docs)
+ *  - inbox_sync: per-device sync watermark and the ids the inbox covers
+ *  - profile_cache: disk tier of the profile cache, keyed by profile doc ID
+ *  - event_catalog: mirror of "events" docs for the browse screen
+ *  - event_catalog_sync: the catalog's updatedAt watermark
+ *
+ * Everything here is a cache of Firestore, so an upgrade may simply drop
+ * and rebuild the tables; the next sync refills them.
+ */
+public class LocalDbHelper extends SQLiteOpenHelper {
+
+    private static final String DB_NAME = "eventmaster_local.db";
+    private static final int DB_VERSION = 4;
+
+    static final String T_INBOX = "inbox";
+    static final String T_INBOX_SYNC = "inbox_sync";
+    static final String T_PROFILE_CACHE = "profile_cache";
+    static final String T_EVENT_CATALOG = "event_catalog";
+    static final String T_EVENT_CATALOG_SYNC = "event_catalog_sync";
+
+    private static LocalDbHelper instance;
+
+    public static synchronized LocalDbHelper getInstance(@NonNull Context context) {
+        if (instance == null) {
+            instance = new LocalDbHelper(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private LocalDbHelper(Context context) {
+        super(context, DB_NAME, null, DB_VERSION);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + T_INBOX + " ("
+                + "notification_id TEXT PRIMARY KEY, "
+                + "recipient_id TEXT, "
+                + "event_id TEXT, "
+                + "sender_id TEXT, "
+                + "type TEXT, "
+                + "title TEXT, "
+                + "message TEXT, "
+                + "sent_at INTEGER NOT NULL, "
+                + "is_read INTEGER NOT NULL DEFAULT 0, "
+                + "digest_count INTEGER NOT NULL DEFAULT 0)");
+        db.execSQL("CREATE INDEX idx_inbox_recipient_sent ON " + T_INBOX + " (recipient_id, sent_at DESC)");
+
+        db.execSQL("CREATE TABLE " + T_INBOX_SYNC + " ("
+                + "device_id TEXT PRIMARY KEY, "
+                + "ids TEXT NOT NULL, "
+                + "watermark_seconds INTEGER NOT NULL, "
+                + "watermark_nanos INTEGER NOT NULL, "
+                + "last_full_sync INTEGER NOT NULL)");
+
+        db.execSQL("CREATE TABLE " + T_PROFILE_CACHE + " ("
+                + "profile_id TEXT PRIMARY KEY, "
+                + "user_id TEXT, "
+                + "device_id TEXT, "
+                + "name TEXT, "
+                + "email TEXT, "
+                + "phone TEXT, "
+                + "image_url TEXT, "
+                + "fcm_token TEXT, "
+                + "notifications_enabled INTEGER NOT NULL DEFAULT 1, "
+                + "role TEXT, "
+                + "banned INTEGER NOT NULL DEFAULT 0, "
+                + "active INTEGER NOT NULL DEFAULT 1, "
+                + "cached_at INTEGER NOT NULL)");
+
+        db.execSQL("CREATE TABLE " + T_EVENT_CATALOG + " ("
+                + "event_id TEXT PRIMARY KEY, "
+                + "name TEXT, "
+                + "description TEXT, "
+                + "location TEXT, "
+                + "event_type TEXT, "
+                + "price REAL NOT NULL DEFAULT 0, "
+                + "status TEXT, "
+                + "registration_open INTEGER, "
+                + "registration_close INTEGER, "
+                + "event_date INTEGER, "
+                + "poster_url TEXT, "
+                + "qr_url TEXT, "
+                + "organizer_id TEXT, "
+                + "organizer_name TEXT, "
+                + "capacity INTEGER NOT NULL DEFAULT 0, "
+                + "waiting_list_limit INTEGER, "
+                + "geolocation_required INTEGER NOT NULL DEFAULT 0)");
+
+        db.execSQL("CREATE TABLE " + T_EVENT_CATALOG_SYNC + " ("
+                + "id INTEGER PRIMARY KEY CHECK (id = 0), "
+                + "watermark_seconds INTEGER NOT NULL, "
+                + "watermark_nanos INTEGER NOT NULL, "
+                + "last_full_sync INTEGER NOT NULL)");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        db.execSQL("DROP TABLE IF EXISTS " + T_INBOX);
+        db.execSQL("DROP TABLE IF EXISTS " + T_INBOX_SYNC);
+        db.execSQL("DROP TABLE IF EXISTS " + T_PROFILE_CACHE);
+        db.execSQL("DROP TABLE IF EXISTS " + T_EVENT_CATALOG);
+        db.execSQL("DROP TABLE IF EXISTS " + T_EVENT_CATALOG_SYNC);
+        onCreate(db);
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.eventmaster.data.local;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.text.TextUtils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.eventmaster.model.Notification;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.Timestamp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Local copy of the entrant inbox, backed by {@link LocalDbHelper}.
+ *
+ * Rows are keyed by notification ID and scoped by recipient id, the same key
+ * the unread counters use. All calls run on a single background thread and
+ * return Tasks, so callers chain them like the Firestore repositories.
+ */
+public class NotificationInboxStore {
+
+    private static final Executor IO = Executors.newSingleThreadExecutor();
+    /** Ids per IN (...) clause; stays under the 999-variable limit of older SQLite. */
+    private static final int MAX_BOUND_ARGS = 500;
+
+    /** What the last sync covered and how far it got. */
+    public static final class SyncState {
+        public final List<String> ids;
+        /** Newest sentAt seen so far; the next delta asks for anything after it. */
+        public final Timestamp watermark;
+        public final long lastFullSyncMillis;
+
+        public SyncState(List<String> ids, Timestamp watermark, long lastFullSyncMillis) {
+            this.ids = ids;
+            this.watermark = watermark;
+            this.lastFullSyncMillis = lastFullSyncMillis;
+        }
+    }
+
+    private final LocalDbHelper helper;
+
+    public NotificationInboxStore(@NonNull Context context) {
+        this.helper = LocalDbHelper.getInstance(context);
+    }
+
+    // ---------- Sync state ----------
+
+    /** Resolves to null on first launch (no sync yet). */
+    public Task<SyncState> getSyncState(@NonNull String deviceId) {
+        return Tasks.call(IO, () -> {
+            try (Cursor c = helper.getReadableDatabase().query(LocalDbHelper.T_INBOX_SYNC,
+                    new String[]{"ids", "watermark_seconds", "watermark_nanos", "last_full_sync"},
+                    "device_id = ?", new String[]{deviceId}, null, null, null)) {
+                if (!c.moveToFirst()) return null;
+                return new SyncState(
+                        Arrays.asList(TextUtils.split(c.getString(0), ",")),
+                        new Timestamp(c.getLong(1), c.getInt(2)),
+                        c.getLong(3));
+            }
+        });
+    }
+
+    public Task<Void> saveSyncState(@NonNull String deviceId, @NonNull SyncState state) {
+        return Tasks.call(IO, () -> {
+            ContentValues v = new ContentValues();
+            v.put("device_id", deviceId);
+            v.put("ids", TextUtils.join(",", state.ids));
+            v.put("watermark_seconds", state.watermark.getSeconds());
+            v.put("watermark_nanos", state.watermark.getNanoseconds());
+            v.put("last_full_sync", state.lastFullSyncMillis);
+            helper.getWritableDatabase().insertWithOnConflict(
+                    LocalDbHelper.T_INBOX_SYNC, null, v, SQLiteDatabase.CONFLICT_REPLACE);
+            return null;
+        });
+    }
+
+    /**
+     * Makes the next sync a full load, e.g. after a bulk delete that stopped
+     * part-way. The local rows stay until that load replaces them.
+     */
+    public Task<Void> requestFullSync(@NonNull String deviceId) {
+        return Tasks.call(IO, () -> {
+            ContentValues v = new ContentValues();
+            v.put("last_full_sync", 0L);
+            helper.getWritableDatabase().update(LocalDbHelper.T_INBOX_SYNC, v,
+                    "device_id = ?", new String[]{deviceId});
+            return null;
+        });
+    }
+
+    // ---------- Inbox rows ----------
+
+    /** Notifications addressed to any of {@code ids}, newest first. */
+    public Task<List<Notification>> load(@NonNull List<String> ids) {
+        return Tasks.call(IO, () -> {
+            List<Notification> out = new ArrayList<>();
+            if (ids.isEmpty()) return out;
+            try (Cursor c = helper.getReadableDatabase().query(LocalDbHelper.T_INBOX, null,
+                    "recipient_id IN (" + placeholders(ids.size()) + ")",
+                    ids.toArray(new String[0]), null, null, "sent_at DESC")) {
+                while (c.moveToNext()) {
+                    out.add(fromRow(c));
+                }
+            }
+            return out;
+        });
+    }
+
+    /** Replaces every row for {@code ids} with {@code list} (full sync). */
+    public Task<Void> replaceAll(@NonNull List<String> ids, @NonNull List<Notification> list) {
+        return Tasks.call(IO, () -> {
+            SQLiteDatabase db = helper.getWritableDatabase();
+            db.beginTransaction();
+            try {
+                if (!ids.isEmpty()) {
+                    db.delete(LocalDbHelper.T_INBOX, "recipient_id IN (" + placeholders(ids.size()) + ")",
+                            ids.toArray(new String[0]));
+                }
+                for (Notification n : list) {
+                    insertOrReplace(db, n);
+                }
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+            return null;
+        });
+    }
+
+    /** Inserts or overwrites rows (delta sync). */
+    public Task<Void> upsert(@NonNull List<Notification> list) {
+        return Tasks.call(IO, () -> {
+            SQLiteDatabase db = helper.getWritableDatabase();
+            db.beginTransaction();
+            try {
+                for (Notification n : list) {
+                    insertOrReplace(db, n);
+                }
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+            return null;
+        });
+    }
+
+    public Task<Void> markRead(@NonNull Collection<String> notificationIds) {
+        return Tasks.call(IO, () -> {
+            if (notificationIds.isEmpty()) return null;
+            ContentValues v = new ContentValues();
+            v.put("is_read", 1);
+            String[] ids = notificationIds.toArray(new String[0]);
+            SQLiteDatabase db = helper.getWritableDatabase();
+            db.beginTransaction();
+            try {
+                // SQLite before 3.32 (Android < 12) allows at most 999 bound args
+                for (int from = 0; from < ids.length; from += MAX_BOUND_ARGS) {
+                    String[] chunk = Arrays.copyOfRange(ids, from, Math.min(from + MAX_BOUND_ARGS, ids.length));
+                    db.update(LocalDbHelper.T_INBOX, v,
+                            "notification_id IN (" + placeholders(chunk.length) + ")", chunk);
+                }
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+            return null;
+        });
+    }
+
+    public Task<Void> delete(@NonNull String notificationId) {
+        return Tasks.call(IO, () -> {
+            helper.getWritableDatabase().delete(LocalDbHelper.T_INBOX,
+                    "notification_id = ?", new String[]{notificationId});
+            return null;
+        });
+    }
+
+    /** Clears the inbox for {@code ids} (after a delete-all). */
+    public Task<Void> deleteAllFor(@NonNull List<String> ids) {
+        return replaceAll(ids, Collections.emptyList());
+    }
+
+    // ---------- Row mapping ----------
+
+    private static void insertOrReplace(SQLiteDatabase db, Notification n) {
+        if (n.getNotificationId() == null) return;
+        ContentValues v = new ContentValues();
+        v.put("notification_id", n.getNotificationId());
+        v.put("recipient_id", n.getRecipientUserId());
+        v.put("event_id", n.getEventId());
+        v.put("sender_id", n.getSenderUserId());
+        v.put("type", n.getType() != null ? n.getType().name() : null);
+        v.put("title", n.getTitle());
+        v.put("message", n.getMessage());
+        v.put("sent_at", n.getSentAt() != null ? n.getSentAt().getTime() : 0L);
+        v.put("is_read", n.isRead() ? 1 : 0);
+        v.put("digest_count", n.getDigestCount());
+        db.insertWithOnConflict(LocalDbHelper.T_INBOX, null, v, SQLiteDatabase.CONFLICT_REPLACE);
+    }
+
+    private static Notification fromRow(Cursor c) {
+        Notification n = new Notification();
+        n.setNotificationId(c.getString(c.getColumnIndexOrThrow("notification_id")));
+        n.setRecipientUserId(c.getString(c.getColumnIndexOrThrow("recipient_id")));
+        n.setEventId(c.getString(c.getColumnIndexOrThrow("event_id")));
+        n.setSenderUserId(c.getString(c.getColumnIndexOrThrow("sender_id")));
+        n.setTitle(c.getString(c.getColumnIndexOrThrow("title")));
+        n.setMessage(c.getString(c.getColumnIndexOrThrow("message")));
+        n.setSentAt(new Date(c.getLong(c.getColumnIndexOrThrow("sent_at"))));
+        n.setRead(c.getInt(c.getColumnIndexOrThrow("is_read")) != 0);
+        n.setDigestCount(c.getLong(c.getColumnIndexOrThrow("digest_count")));
+        n.setType(parseType(c.getString(c.getColumnIndexOrThrow("type"))));
+        return n;
+    }
+
+    private static Notification.NotificationType parseType(@Nullable String type) {
+        if (type == null) return Notification.NotificationType.GENERAL;
+        try {
+            return Notification.NotificationType.valueOf(type.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return Notification.NotificationType.GENERAL;
+        }
+    }
+
+    private static String placeholders(int n) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            sb.append(i == 0 ? "?" : ",?");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.eventmaster.data.local;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.annotation.NonNull;
+
+import com.example.eventmaster.model.Profile;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Disk tier of the profile cache, backed by {@link LocalDbHelper}.
+ *
+ * One row per profile doc ID with the time it was cached; callers decide
+ * what is still fresh. All calls run on a single background thread and
+ * return Tasks.
+ */
+public class ProfileCacheStore {
+
+    private static final Executor IO = Executors.newSingleThreadExecutor();
+
+    /** A cached profile and when it was written, in wall-clock millis. */
+    public static final class Row {
+        public final Profile profile;
+        public final long cachedAtMillis;
+
+        Row(Profile profile, long cachedAtMillis) {
+            this.profile = profile;
+            this.cachedAtMillis = cachedAtMillis;
+        }
+    }
+
+    private final LocalDbHelper helper;
+
+    public ProfileCacheStore(@NonNull Context context) {
+        this.helper = LocalDbHelper.getInstance(context);
+    }
+
+    /** Resolves to null when {@code profileId} is not cached. */
+    public Task<Row> get(@NonNull String profileId) {
+        return Tasks.call(IO, () -> {
+            try (Cursor c = helper.getReadableDatabase().query(LocalDbHelper.T_PROFILE_CACHE, null,
+                    "profile_id = ?", new String[]{profileId}, null, null, null)) {
+                if (!c.moveToFirst()) return null;
+                return new Row(fromRow(c), c.getLong(c.getColumnIndexOrThrow("cached_at")));
+            }
+        });
+    }
+
+    public Task<Void> put(@NonNull String profileId, @NonNull Profile p, long cachedAtMillis) {
+        return Tasks.call(IO, () -> {
+            ContentValues v = new ContentValues();
+            v.put("profile_id", profileId);
+            v.put("user_id", p.getUserId());
+            v.put("device_id", p.getDeviceId());
+            v.put("name", p.getName());
+            v.put("email", p.getEmail());
+            v.put("phone", p.getPhoneNumber());
+            v.put("image_url", p.getProfileImageUrl());
+            v.put("fcm_token", p.getFcmToken());
+            v.put("notifications_enabled", p.isNotificationsEnabled() ? 1 : 0);
+            v.put("role", p.getRole());
+            v.put("banned", p.getBanned() ? 1 : 0);
+            v.put("active", p.getActive() ? 1 : 0);
+            v.put("cached_at", cachedAtMillis);
+            helper.getWritableDatabase().insertWithOnConflict(
+                    LocalDbHelper.T_PROFILE_CACHE, null, v, SQLiteDatabase.CONFLICT_REPLACE);
+            return null;
+        });
+    }
+
+    public Task<Void> remove(@NonNull String profileId) {
+        return Tasks.call(IO, () -> {
+            helper.getWritableDatabase().delete(LocalDbHelper.T_PROFILE_CACHE,
+                    "profile_id = ?", new String[]{profileId});
+            return null;
+        });
+    }
+
+    /** Drops rows cached before {@code cutoffMillis}. */
+    public Task<Integer> pruneOlderThan(long cutoffMillis) {
+        return Tasks.call(IO, () -> helper.getWritableDatabase().delete(LocalDbHelper.T_PROFILE_CACHE,
+                "cached_at < ?", new String[]{String.valueOf(cutoffMillis)}));
+    }
+
+    private static Profile fromRow(Cursor c) {
+        Profile p = new Profile();
+        p.setUserId(c.getString(c.getColumnIndexOrThrow("user_id")));
+        p.setDeviceId(c.getString(c.getColumnIndexOrThrow("device_id")));
+        p.setName(c.getString(c.getColumnIndexOrThrow("name")));
+        p.setEmail(c.getString(c.getColumnIndexOrThrow("email")));
+        p.setPhoneNumber(c.getString(c.getColumnIndexOrThrow("phone")));
+        p.setProfileImageUrl(c.getString(c.getColumnIndexOrThrow("image_url")));
+        p.setFcmToken(c.getString(c.getColumnIndexOrThrow("fcm_token")));
+        p.setNotificationsEnabled(c.getInt(c.getColumnIndexOrThrow("notifications_enabled")) != 0);
+        p.setRole(c.getString(c.getColumnIndexOrThrow("role")));
+        p.setBanned(c.getInt(c.getColumnIndexOrThrow("banned")) != 0);
+        p.setActive(c.getInt(c.getColumnIndexOrThrow("active")) != 0);
+        return p;
+    }
+}
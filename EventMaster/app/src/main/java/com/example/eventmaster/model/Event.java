@@ -6,6 +6,7 @@ import androidx.annotation.Nullable;
 import com.google.firebase.Timestamp;
 
 import java.util.Date;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -24,7 +25,11 @@ public class Event {
     private String id;                    // Firestore doc ID (not stored as field)
     private String name;                  // aka "title"
     private String description;
+    private @Nullable List<String> descriptionTokens; // words of the full description; the doc only has a preview
     private String location;
+    private @Nullable Double latitude;          // geocoded from location; null if unknown
+    private @Nullable Double longitude;
+    private @Nullable String geohash;           // GeoHash of latitude/longitude, for "near me" queries
 
     // When the actual event occurs (optional)
     private Timestamp eventDate;
@@ -256,6 +261,18 @@ public class Event {
     @Nullable public String getOrganizerName() { return organizerName; }
     public void setOrganizerName(@Nullable String organizerName) { this.organizerName = organizerName; }
 
+    @Nullable public Double getLatitude() { return latitude; }
+    public void setLatitude(@Nullable Double latitude) { this.latitude = latitude; }
+
+    @Nullable public Double getLongitude() { return longitude; }
+    public void setLongitude(@Nullable Double longitude) { this.longitude = longitude; }
+
+    @Nullable public List<String> getDescriptionTokens() { return descriptionTokens; }
+    public void setDescriptionTokens(@Nullable List<String> descriptionTokens) { this.descriptionTokens = descriptionTokens; }
+
+    @Nullable public String getGeohash() { return geohash; }
+    public void setGeohash(@Nullable String geohash) { this.geohash = geohash; }
+
     public int getCapacity() { return capacity; }
     public void setCapacity(int capacity) { this.capacity = capacity; }
 
@@ -31,6 +31,7 @@ public class Notification {
     private String message;            // Notification message body
     private Date sentAt;               // Timestamp when sent
     private boolean isRead;            // Whether recipient has read it
+    private long digestCount;          // Entries folded into it; 0 unless it is a digest
 
     /**
      * Default constructor required for Firebase deserialization.
@@ -135,5 +136,17 @@ public class Notification {
     public void setRead(boolean read) {
         isRead = read;
     }
+
+    /**
+     * Entries folded into this digest so far, which also versions it: each
+     * append bumps it. 0 for ordinary notifications.
+     */
+    public long getDigestCount() {
+        return digestCount;
+    }
+
+    public void setDigestCount(long digestCount) {
+        this.digestCount = digestCount;
+    }
 }
 
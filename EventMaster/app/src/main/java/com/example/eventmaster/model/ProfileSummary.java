@@ -0,0 +1,86 @@
+package com.example.eventmaster.model;
+
+import androidx.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact copy of the profile fields roster screens display, embedded in
+ * waiting_list, chosen_list and registrations entries as "profileSummary"
+ * so those screens render without reading /profiles.
+ *
+ * Kept current by the fan-out in ProfileSummaryFs when a profile is edited.
+ */
+public class ProfileSummary {
+
+    private String name;
+    private String email;
+    private String phoneNumber;
+    private String profileImageUrl;
+    private boolean notificationsEnabled = true;
+
+    // Empty constructor required by Firestore
+    public ProfileSummary() {}
+
+    public static ProfileSummary from(Profile p) {
+        ProfileSummary s = new ProfileSummary();
+        s.name = p.getName();
+        s.email = p.getEmail();
+        s.phoneNumber = p.getPhoneNumber();
+        s.profileImageUrl = p.getProfileImageUrl();
+        s.notificationsEnabled = p.isNotificationsEnabled();
+        return s;
+    }
+
+    /** Reads a "profileSummary" map field; null if absent or not a map. */
+    @Nullable
+    public static ProfileSummary fromMap(@Nullable Object raw) {
+        if (!(raw instanceof Map)) return null;
+        Map<?, ?> m = (Map<?, ?>) raw;
+        ProfileSummary s = new ProfileSummary();
+        s.name = asString(m.get("name"));
+        s.email = asString(m.get("email"));
+        s.phoneNumber = asString(m.get("phoneNumber"));
+        s.profileImageUrl = asString(m.get("profileImageUrl"));
+        s.notificationsEnabled = !Boolean.FALSE.equals(m.get("notificationsEnabled"));
+        return s;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> m = new HashMap<>();
+        m.put("name", name);
+        m.put("email", email);
+        m.put("phoneNumber", phoneNumber);
+        m.put("profileImageUrl", profileImageUrl);
+        m.put("notificationsEnabled", notificationsEnabled);
+        return m;
+    }
+
+    /** Profile carrying just the summary fields, for screens that list Profiles. */
+    public Profile toProfile(String userId) {
+        Profile p = new Profile(userId, name, email, phoneNumber);
+        p.setProfileImageUrl(profileImageUrl);
+        p.setNotificationsEnabled(notificationsEnabled);
+        return p;
+    }
+
+    private static String asString(Object v) {
+        return v instanceof String ? (String) v : null;
+    }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public String getPhoneNumber() { return phoneNumber; }
+    public void setPhoneNumber(String phoneNumber) { this.phoneNumber = phoneNumber; }
+
+    public String getProfileImageUrl() { return profileImageUrl; }
+    public void setProfileImageUrl(String profileImageUrl) { this.profileImageUrl = profileImageUrl; }
+
+    public boolean isNotificationsEnabled() { return notificationsEnabled; }
+    public void setNotificationsEnabled(boolean notificationsEnabled) { this.notificationsEnabled = notificationsEnabled; }
+}
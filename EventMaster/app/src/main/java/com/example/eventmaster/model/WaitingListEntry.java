@@ -18,7 +18,8 @@ public class WaitingListEntry {
     private Double lat;    // Optional geolocation
     private Double lng;   // Optional geolocation
     private String status;      // "waiting", "chosen", "accepted", "declined", "cancelled"
-    private Profile profile;    // Profile information for the entrant
+    private Profile profile;    // Profile information for the entrant (legacy entries)
+    private ProfileSummary profileSummary; // Compact profile copy written with the entry
 
     // Empty constructor required by Firestore
     public WaitingListEntry() {}
@@ -85,4 +86,7 @@ public class WaitingListEntry {
     public void setProfile(Profile profile) {
         this.profile = profile;
     }
+
+    public ProfileSummary getProfileSummary() { return profileSummary; }
+    public void setProfileSummary(ProfileSummary profileSummary) { this.profileSummary = profileSummary; }
 }
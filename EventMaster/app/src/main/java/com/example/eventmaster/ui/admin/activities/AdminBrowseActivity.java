@@ -8,14 +8,17 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.eventmaster.R;
+import com.example.eventmaster.data.api.EventQuery;
 import com.example.eventmaster.data.api.EventRepository;
 import com.example.eventmaster.data.firestore.EventRepositoryFs;
 import com.example.eventmaster.data.firestore.OrganizerApplicationRepositoryFs;
+import com.example.eventmaster.data.firestore.ProfileDirectoryFs;
 import com.example.eventmaster.data.firestore.ProfileRepositoryFs;
 import com.google.android.material.card.MaterialCardView;
 import com.google.firebase.firestore.FirebaseFirestore;
 
 import java.text.DecimalFormat;
+import java.util.Arrays;
 
 /**
  * Admin dashboard screen with 3 main category cards.
@@ -82,11 +85,8 @@ public class AdminBrowseActivity extends AppCompatActivity {
     }
 
     private void loadEventsCount() {
-        eventRepo.getAllEvents()
-                .addOnSuccessListener(events -> {
-                    int count = events != null ? events.size() : 0;
-                    tvEventsCount.setText(String.valueOf(count));
-                })
+        eventRepo.countEvents(new EventQuery())
+                .addOnSuccessListener(count -> tvEventsCount.setText(String.valueOf(count)))
                 .addOnFailureListener(e -> {
                     android.util.Log.e("AdminBrowse", "Failed to load events count", e);
                     tvEventsCount.setText("0");
@@ -94,30 +94,12 @@ public class AdminBrowseActivity extends AppCompatActivity {
     }
 
     private void loadUsersCount() {
-        // Get total count of all active users (entrants + organizers, excluding admins)
-        // We need to query separately for entrants and organizers since Firestore doesn't support OR queries
-        db.collection("profiles")
-                .whereEqualTo("role", "entrant")
-                .get()
-                .addOnSuccessListener(entrantSnapshot -> {
-                    int entrantCount = entrantSnapshot != null ? entrantSnapshot.size() : 0;
-                    // Now get organizers
-                    db.collection("profiles")
-                            .whereEqualTo("role", "organizer")
-                            .get()
-                            .addOnSuccessListener(organizerSnapshot -> {
-                                int organizerCount = organizerSnapshot != null ? organizerSnapshot.size() : 0;
-                                int totalCount = entrantCount + organizerCount;
-                                // Format count: if >= 1000, show as "1.2K", otherwise show number
-                                String formattedCount = formatCount(totalCount);
-                                tvUsersCount.setText(formattedCount);
-                            })
-                            .addOnFailureListener(e -> {
-                                android.util.Log.e("AdminBrowse", "Failed to load organizers count", e);
-                                // Still show entrant count
-                                String formattedCount = formatCount(entrantCount);
-                                tvUsersCount.setText(formattedCount);
-                            });
+        // Count of entrants + organizers (admins excluded), as one server-side aggregation
+        new ProfileDirectoryFs(db)
+                .count(Arrays.asList("entrant", "organizer"))
+                .addOnSuccessListener(count -> {
+                    // Format count: if >= 1000, show as "1.2K", otherwise show number
+                    tvUsersCount.setText(formatCount(count.intValue()));
                 })
                 .addOnFailureListener(e -> {
                     android.util.Log.e("AdminBrowse", "Failed to load users count", e);
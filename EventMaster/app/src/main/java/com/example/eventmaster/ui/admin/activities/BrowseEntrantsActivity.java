@@ -2,21 +2,28 @@ package com.example.eventmaster.ui.admin.activities;
 
 import android.content.Intent;
 import android.os.Bundle;
-import android.view.View;
+import android.os.Handler;
+import android.os.Looper;
+import android.text.Editable;
+import android.text.TextWatcher;
 
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.eventmaster.R;
-import com.example.eventmaster.data.firestore.ProfileRepositoryFs;
+import com.example.eventmaster.data.firestore.ProfileDirectoryFs;
 import com.example.eventmaster.model.Profile;
 import com.example.eventmaster.ui.admin.adapters.EntrantAdapter;
+import com.example.eventmaster.work.ProfileCascadeDeleteWorker;
 import com.google.android.material.appbar.MaterialToolbar;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.dialog.MaterialAlertDialogBuilder;
 import com.google.android.material.snackbar.Snackbar;
-import com.google.firebase.firestore.ListenerRegistration;
+import com.google.android.material.textfield.TextInputEditText;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
 
 import java.util.ArrayList;
 
@@ -25,19 +32,34 @@ import java.util.ArrayList;
  * Includes a filter bar to switch between Users and Organizers.
  *
  * Responsibilities:
- *  - Subscribes to Firestore profiles stream and renders a list.
+ *  - Pages through profiles ({@link ProfileDirectoryFs}), loading the next
+ *    page as the list nears its end.
+ *  - Prefix search on name/email, debounced while typing.
  *  - Allows admin to switch between viewing Users (entrants) and Organizers.
- *  - Allows admin to remove a profile (hard delete) with confirmation.
+ *  - Allows admin to remove a profile with confirmation; the profile and
+ *    everything referring to it go via ProfileCascadeDeleteWorker.
  *
  * Notes:
- *  - Relies on ProfileRepositoryFs.listenEntrants() and listenOrganizers().
- *  - Deleting will be reflected by the snapshot listener (no manual remove needed).
+ *  - Pages are one-shot reads; a removed row is dropped locally on success.
+ *  - Responses for a superseded role/search are ignored (see {@code generation}).
  */
 public class BrowseEntrantsActivity extends AppCompatActivity {
 
-    private final ProfileRepositoryFs repo = new ProfileRepositoryFs();
-    private ListenerRegistration reg;
+    private static final long SEARCH_DEBOUNCE_MS = 300;
+    /** Start loading the next page when this many rows remain below the fold. */
+    private static final int PREFETCH_ROWS = 5;
+
+    private final ProfileDirectoryFs directory = new ProfileDirectoryFs(FirebaseFirestore.getInstance());
+    private final Handler handler = new Handler(Looper.getMainLooper());
     private EntrantAdapter adapter;
+    private LinearLayoutManager layoutManager;
+
+    private String search = "";
+    private String typed = "";
+    private DocumentSnapshot nextPage;
+    private boolean hasMore;
+    private boolean loading;
+    private int generation;
     
     private MaterialButton btnUsers;
     private MaterialButton btnOrganizers;
@@ -60,7 +82,27 @@ public class BrowseEntrantsActivity extends AppCompatActivity {
         btnOrganizers.setOnClickListener(v -> switchToOrganizers());
 
         RecyclerView rv = findViewById(R.id.rvProfiles);
-        rv.setLayoutManager(new LinearLayoutManager(this));
+        layoutManager = new LinearLayoutManager(this);
+        rv.setLayoutManager(layoutManager);
+        rv.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (dy <= 0) return;
+                int last = layoutManager.findLastVisibleItemPosition();
+                if (last >= adapter.getItemCount() - PREFETCH_ROWS) loadNextPage();
+            }
+        });
+
+        TextInputEditText etSearch = findViewById(R.id.etSearch);
+        etSearch.addTextChangedListener(new TextWatcher() {
+            @Override public void beforeTextChanged(CharSequence s, int start, int count, int after) { }
+            @Override public void onTextChanged(CharSequence s, int start, int before, int count) { }
+            @Override public void afterTextChanged(Editable s) {
+                handler.removeCallbacks(applySearch);
+                typed = s.toString();
+                handler.postDelayed(applySearch, SEARCH_DEBOUNCE_MS);
+            }
+        });
 
         adapter = new EntrantAdapter(
                 new ArrayList<>(),
@@ -82,13 +124,15 @@ public class BrowseEntrantsActivity extends AppCompatActivity {
                             .setMessage("Are you sure you want to permanently remove this " + roleType + "?")
                             .setNegativeButton("Cancel", (d, w) -> d.dismiss())
                             .setPositiveButton("Remove", (d, w) -> {
-                                repo.delete(
-                                        p.getId(),
-                                        v -> Snackbar.make(findViewById(android.R.id.content),
-                                                capitalize(roleType) + " removed", Snackbar.LENGTH_SHORT).show(),
-                                        e -> Snackbar.make(findViewById(android.R.id.content),
-                                                "Failed to remove: " + e.getMessage(), Snackbar.LENGTH_LONG).show()
-                                );
+                                // Hidden at once; its roster/notification docs are removed in the background
+                                ProfileCascadeDeleteWorker.schedule(this, p.getId(), p.getUserId(), p.getDeviceId())
+                                        .addOnSuccessListener(v -> {
+                                            adapter.removeAt(pos);
+                                            Snackbar.make(findViewById(android.R.id.content),
+                                                    capitalize(roleType) + " removed", Snackbar.LENGTH_SHORT).show();
+                                        })
+                                        .addOnFailureListener(e -> Snackbar.make(findViewById(android.R.id.content),
+                                                "Failed to remove: " + e.getMessage(), Snackbar.LENGTH_LONG).show());
                             })
                             .show();
                 }
@@ -102,7 +146,7 @@ public class BrowseEntrantsActivity extends AppCompatActivity {
         
         showingUsers = true;
         updateButtonStyles();
-        updateListener();
+        reload();
     }
 
     private void switchToOrganizers() {
@@ -110,7 +154,7 @@ public class BrowseEntrantsActivity extends AppCompatActivity {
         
         showingUsers = false;
         updateButtonStyles();
-        updateListener();
+        reload();
     }
 
     private void updateButtonStyles() {
@@ -141,47 +185,62 @@ public class BrowseEntrantsActivity extends AppCompatActivity {
         }
     }
 
-    private void updateListener() {
-        // Remove existing listener
-        if (reg != null) {
-            reg.remove();
-            reg = null;
-        }
-        
-        // Start new listener based on current filter
-        if (showingUsers) {
-            reg = repo.listenEntrants(
-                    list -> adapter.replace(list),
-                    err -> {
-                        Snackbar.make(findViewById(android.R.id.content),
-                                "Failed to load users.", Snackbar.LENGTH_LONG).show();
-                    });
-        } else {
-            reg = repo.listenOrganizers(
-                    list -> adapter.replace(list),
-                    err -> {
-                        Snackbar.make(findViewById(android.R.id.content),
-                                "Failed to load organizers.", Snackbar.LENGTH_LONG).show();
-                    });
-        }
+    private final Runnable applySearch = () -> {
+        search = typed;
+        reload();
+    };
+
+    /** Drops the current rows and loads the first page for the current role and search. */
+    private void reload() {
+        generation++;
+        loading = false;
+        nextPage = null;
+        hasMore = true;
+        adapter.replace(new ArrayList<>());
+        loadNextPage();
+    }
+
+    private void loadNextPage() {
+        if (loading || !hasMore) return;
+        loading = true;
+        int gen = generation;
+        boolean users = showingUsers;
+
+        directory.page(users ? "entrant" : "organizer", search, nextPage)
+                .addOnSuccessListener(page -> {
+                    if (gen != generation) return;
+                    loading = false;
+                    nextPage = page.next;
+                    hasMore = page.hasMore();
+                    adapter.addAll(page.profiles);
+                    // Filtered-out rows can leave a short page; keep going until the list fills
+                    if (hasMore && layoutManager.findLastVisibleItemPosition()
+                            >= adapter.getItemCount() - PREFETCH_ROWS) {
+                        loadNextPage();
+                    }
+                })
+                .addOnFailureListener(err -> {
+                    if (gen != generation) return;
+                    loading = false;
+                    Snackbar.make(findViewById(android.R.id.content),
+                            users ? "Failed to load users." : "Failed to load organizers.",
+                            Snackbar.LENGTH_LONG).show();
+                });
     }
 
     @Override
     protected void onStart() {
         super.onStart();
         updateButtonStyles(); // Set initial button styles
-        updateListener(); // Start the initial listener
+        reload(); // First page; picks up bans/removals made on the detail screen
     }
 
     @Override
-    protected void onStop() {
-        super.onStop();
-        if (reg != null) {
-            reg.remove();
-            reg = null;
-        }
+    protected void onDestroy() {
+        super.onDestroy();
+        handler.removeCallbacks(applySearch);
     }
-    
+
     private String capitalize(String s) {
         if (s == null || s.isEmpty()) return s;
         return s.substring(0, 1).toUpperCase() + s.substring(1);
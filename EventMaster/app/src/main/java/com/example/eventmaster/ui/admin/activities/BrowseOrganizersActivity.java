@@ -3,28 +3,38 @@ package com.example.eventmaster.ui.admin.activities;
 import android.content.Intent;
 import android.os.Bundle;
 
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.eventmaster.R;
-import com.example.eventmaster.data.firestore.ProfileRepositoryFs;
+import com.example.eventmaster.data.firestore.ProfileDirectoryFs;
 import com.example.eventmaster.ui.admin.adapters.AdminProfileAdapter;
 import com.google.android.material.appbar.MaterialToolbar;
-import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
 
 import java.util.ArrayList;
 
 /**
- * Admin screen listing organizers (live Firestore stream).
+ * Admin screen listing organizers, one directory page at a time
+ * (next page loads as the list nears its end).
  * Taps open AdminProfileDetailActivity.
  */
 public class BrowseOrganizersActivity extends AppCompatActivity {
 
+    private static final int PREFETCH_ROWS = 5;
+
     private AdminProfileAdapter adapter;
-    private ProfileRepositoryFs repo;
-    private ListenerRegistration reg;
+    private ProfileDirectoryFs directory;
+    private LinearLayoutManager layoutManager;
+
+    private DocumentSnapshot nextPage;
+    private boolean hasMore;
+    private boolean loading;
+    private int generation;
 
     @Override protected void onCreate(@Nullable Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -33,27 +43,58 @@ public class BrowseOrganizersActivity extends AppCompatActivity {
         MaterialToolbar tb = findViewById(R.id.toolbar);
         tb.setNavigationOnClickListener(v -> finish());
 
-        repo = new ProfileRepositoryFs();
+        directory = new ProfileDirectoryFs(FirebaseFirestore.getInstance());
 
         RecyclerView recycler = findViewById(R.id.recycler);
-        recycler.setLayoutManager(new LinearLayoutManager(this));
+        layoutManager = new LinearLayoutManager(this);
+        recycler.setLayoutManager(layoutManager);
         adapter = new AdminProfileAdapter(new ArrayList<>(), p ->
                 startActivity(new Intent(this, AdminProfileDetailActivity.class)
                         .putExtra("profileId", p.getId()))
         );
         recycler.setAdapter(adapter);
+        recycler.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView rv, int dx, int dy) {
+                if (dy > 0 && layoutManager.findLastVisibleItemPosition()
+                        >= adapter.getItemCount() - PREFETCH_ROWS) {
+                    loadNextPage();
+                }
+            }
+        });
     }
 
     @Override protected void onStart() {
         super.onStart();
-        reg = repo.listenOrganizers(
-                list -> adapter.replace(list),
-                err  -> { /* TODO: toast/log if desired */ });
+        // First page again so bans/removals from the detail screen show up
+        generation++;
+        loading = false;
+        nextPage = null;
+        hasMore = true;
+        adapter.replace(new ArrayList<>());
+        loadNextPage();
     }
 
-    @Override protected void onStop() {
-        super.onStop();
-        if (reg != null) { reg.remove(); reg = null; }
+    private void loadNextPage() {
+        if (loading || !hasMore) return;
+        loading = true;
+        int gen = generation;
+        directory.page("organizer", null, nextPage)
+                .addOnSuccessListener(page -> {
+                    if (gen != generation) return;
+                    loading = false;
+                    nextPage = page.next;
+                    hasMore = page.hasMore();
+                    adapter.addAll(page.profiles);
+                    // Filtered-out rows can leave a short page; keep going until the list fills
+                    if (hasMore && layoutManager.findLastVisibleItemPosition()
+                            >= adapter.getItemCount() - PREFETCH_ROWS) {
+                        loadNextPage();
+                    }
+                })
+                .addOnFailureListener(err -> {
+                    if (gen == generation) loading = false;
+                    /* TODO: toast/log if desired */
+                });
     }
 }
-
@@ -7,27 +7,30 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
 import com.example.eventmaster.R;
 import com.example.eventmaster.model.Event;
+import com.example.eventmaster.ui.shared.adapters.RowListAdapter;
 import com.google.android.material.button.MaterialButton;
 
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 
 /**
  * RecyclerView adapter for displaying events in admin view.
  * Shows event cards with admin-specific actions (view entrants, edit, cancel, etc.).
+ * Cards are preformatted {@link AdminEventRow}s; see {@link RowListAdapter}.
  */
-public class AdminEventListAdapter extends RecyclerView.Adapter<AdminEventListAdapter.AdminEventViewHolder> {
+public class AdminEventListAdapter extends RowListAdapter<AdminEventListAdapter.AdminEventRow, AdminEventListAdapter.AdminEventViewHolder> {
 
-    private List<Event> events;
     private final OnAdminEventClickListener listener;
+    private int eventCount;
 
     /**
      * Interface for handling admin event actions.
@@ -38,43 +41,24 @@ public class AdminEventListAdapter extends RecyclerView.Adapter<AdminEventListAd
     }
 
     public AdminEventListAdapter(OnAdminEventClickListener listener) {
-        this.events = new ArrayList<>();
         this.listener = listener;
     }
 
     /**
-     * Updates the list of events and refreshes the RecyclerView.
+     * Updates the list of events; only changed cards are rebound.
      *
      * @param newEvents The new list of events
      */
     public void setEvents(List<Event> newEvents) {
-        this.events = newEvents;
-        notifyDataSetChanged();
+        eventCount = newEvents != null ? newEvents.size() : 0;
+        Date now = new Date();
+        SimpleDateFormat dateFormat = new SimpleDateFormat("MMM dd, yyyy", Locale.getDefault());
+        submitItems(newEvents, e -> new AdminEventRow(e, now, dateFormat));
     }
 
-    /**
-     * Filters the event list based on search query.
-     *
-     * @param query Search query
-     * @param allEvents The complete list of events to filter from
-     */
-    public void filter(String query, List<Event> allEvents) {
-        List<Event> filteredList = new ArrayList<>();
-        
-        if (query.isEmpty()) {
-            filteredList = allEvents;
-        } else {
-            String lowerCaseQuery = query.toLowerCase(Locale.getDefault());
-            for (Event event : allEvents) {
-                if (event.getName() != null && event.getName().toLowerCase(Locale.getDefault()).contains(lowerCaseQuery) ||
-                    event.getDescription() != null && event.getDescription().toLowerCase(Locale.getDefault()).contains(lowerCaseQuery) ||
-                    event.getLocation() != null && event.getLocation().toLowerCase(Locale.getDefault()).contains(lowerCaseQuery)) {
-                    filteredList.add(event);
-                }
-            }
-        }
-        
-        setEvents(filteredList);
+    /** Number of events last passed to {@link #setEvents}, including rows still being built. */
+    public int getEventCount() {
+        return eventCount;
     }
 
     @NonNull
@@ -82,25 +66,107 @@ public class AdminEventListAdapter extends RecyclerView.Adapter<AdminEventListAd
     public AdminEventViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.admin_item_event_card, parent, false);
-        return new AdminEventViewHolder(view);
+        AdminEventViewHolder holder = new AdminEventViewHolder(view);
+        view.setOnClickListener(v -> {
+            AdminEventRow row = rowFor(holder);
+            if (row != null) listener.onEventClick(row.event);
+        });
+        holder.deleteEventButton.setOnClickListener(v -> {
+            AdminEventRow row = rowFor(holder);
+            if (row != null) listener.onDeleteEventClick(row.event);
+        });
+        return holder;
     }
 
     @Override
     public void onBindViewHolder(@NonNull AdminEventViewHolder holder, int position) {
-        Event event = events.get(position);
-        holder.bind(event, listener);
+        holder.bind(getItem(position));
     }
 
-    @Override
-    public int getItemCount() {
-        return events.size();
+    /** Preformatted card content for one event. */
+    static final class AdminEventRow extends RowListAdapter.Row {
+        final Event event;
+        final String name;
+        @Nullable final String posterUrl;
+        final String status;
+        final int statusBackground;
+        final String eventDate;
+        final String registrationDeadline;
+
+        AdminEventRow(Event event, Date now, SimpleDateFormat dateFormat) {
+            super(event.getId());
+            this.event = event;
+            this.name = event.getName() != null ? event.getName() : "Unnamed Event";
+
+            String poster = event.getPosterUrl();
+            this.posterUrl = poster != null && !poster.isEmpty() ? poster : null;
+
+            this.status = getEventStatus(event, now);
+            switch (status) {
+                case "Upcoming":
+                    statusBackground = R.drawable.bg_status_upcoming;
+                    break;
+                case "Completed":
+                    statusBackground = R.drawable.bg_status_completed;
+                    break;
+                case "Active":
+                default:
+                    statusBackground = R.drawable.bg_status_active;
+            }
+
+            this.eventDate = event.getEventDate() != null
+                    ? "Event Date: " + dateFormat.format(event.getEventDate())
+                    : "Event Date: TBA";
+            this.registrationDeadline = event.getRegistrationEndDate() != null
+                    ? "Registration: " + dateFormat.format(event.getRegistrationEndDate())
+                    : "Registration: TBA";
+        }
+
+        /**
+         * Determines event status based on dates.
+         * Returns "Active", "Upcoming", or "Completed"
+         */
+        private static String getEventStatus(Event event, Date now) {
+            Date eventDate = event.getEventDate();
+            Date regEndDate = event.getRegistrationEndDate();
+
+            // If event date exists, use it to determine status
+            if (eventDate != null) {
+                return eventDate.before(now) ? "Completed" : "Upcoming";
+            }
+
+            // Otherwise, check registration end date
+            if (regEndDate != null) {
+                return regEndDate.before(now) ? "Completed" : "Active";
+            }
+
+            // Default to Active if no dates available
+            return "Active";
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof AdminEventRow)) return false;
+            AdminEventRow r = (AdminEventRow) o;
+            return name.equals(r.name)
+                    && Objects.equals(posterUrl, r.posterUrl)
+                    && status.equals(r.status)
+                    && eventDate.equals(r.eventDate)
+                    && registrationDeadline.equals(r.registrationDeadline);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, posterUrl, status, eventDate, registrationDeadline);
+        }
     }
 
     /**
      * ViewHolder for admin event items.
      */
     static class AdminEventViewHolder extends RecyclerView.ViewHolder {
-        
+
         private final ImageView eventPoster;
         private final TextView statusBadge;
         private final TextView eventName;
@@ -120,14 +186,13 @@ public class AdminEventListAdapter extends RecyclerView.Adapter<AdminEventListAd
             deleteEventButton = itemView.findViewById(R.id.delete_event_button);
         }
 
-        public void bind(Event event, OnAdminEventClickListener listener) {
-            // Set event name
-            eventName.setText(event.getName() != null ? event.getName() : "Unnamed Event");
+        void bind(AdminEventRow row) {
+            eventName.setText(row.name);
 
             // Load poster image
-            if (event.getPosterUrl() != null && !event.getPosterUrl().isEmpty()) {
+            if (row.posterUrl != null) {
                 Glide.with(itemView.getContext())
-                        .load(event.getPosterUrl())
+                        .load(row.posterUrl)
                         .centerCrop()
                         .placeholder(R.drawable.ic_calendar_outline)
                         .into(eventPoster);
@@ -136,80 +201,14 @@ public class AdminEventListAdapter extends RecyclerView.Adapter<AdminEventListAd
                 eventPoster.setBackgroundColor(0xFFE3E8E8);
             }
 
-            // Determine and set status badge
-            String status = getEventStatus(event);
-            statusBadge.setText(status);
-            
-            switch (status) {
-                case "Active":
-                    statusBadge.setBackgroundResource(R.drawable.bg_status_active);
-                    break;
-                case "Upcoming":
-                    statusBadge.setBackgroundResource(R.drawable.bg_status_upcoming);
-                    break;
-                case "Completed":
-                    statusBadge.setBackgroundResource(R.drawable.bg_status_completed);
-                    break;
-                default:
-                    statusBadge.setBackgroundResource(R.drawable.bg_status_active);
-            }
-
-            // Format event date
-            if (event.getEventDate() != null) {
-                SimpleDateFormat dateFormat = new SimpleDateFormat("MMM dd, yyyy", Locale.getDefault());
-                String dateStr = "Event Date: " + dateFormat.format(event.getEventDate());
-                eventDateText.setText(dateStr);
-            } else {
-                eventDateText.setText("Event Date: TBA");
-            }
+            statusBadge.setText(row.status);
+            statusBadge.setBackgroundResource(row.statusBackground);
 
-            // Format registration deadline
-            if (event.getRegistrationEndDate() != null) {
-                SimpleDateFormat dateFormat = new SimpleDateFormat("MMM dd, yyyy", Locale.getDefault());
-                String deadline = "Registration: " + dateFormat.format(event.getRegistrationEndDate());
-                registrationDeadlineText.setText(deadline);
-            } else {
-                registrationDeadlineText.setText("Registration: TBA");
-            }
+            eventDateText.setText(row.eventDate);
+            registrationDeadlineText.setText(row.registrationDeadline);
 
             // Set participant count (placeholder - will be updated with actual count if needed)
             joinedCountText.setText("Participants: 0");
-
-            // Set click listeners
-            itemView.setOnClickListener(v -> listener.onEventClick(event));
-            deleteEventButton.setOnClickListener(v -> listener.onDeleteEventClick(event));
-        }
-
-        /**
-         * Determines event status based on dates.
-         * Returns "Active", "Upcoming", or "Completed"
-         */
-        private String getEventStatus(Event event) {
-            Date now = new Date();
-            Date eventDate = event.getEventDate();
-            Date regEndDate = event.getRegistrationEndDate();
-
-            // If event date exists, use it to determine status
-            if (eventDate != null) {
-                if (eventDate.before(now)) {
-                    return "Completed";
-                } else {
-                    return "Upcoming";
-                }
-            }
-            
-            // Otherwise, check registration end date
-            if (regEndDate != null) {
-                if (regEndDate.before(now)) {
-                    return "Completed";
-                } else {
-                    return "Active";
-                }
-            }
-            
-            // Default to Active if no dates available
-            return "Active";
         }
     }
 }
-
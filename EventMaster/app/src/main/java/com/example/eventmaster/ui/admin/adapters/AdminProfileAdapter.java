@@ -52,6 +52,16 @@ public class AdminProfileAdapter extends RecyclerView.Adapter<AdminProfileAdapte
         notifyDataSetChanged();
     }
 
+    /**
+     * Append the next page of profiles.
+     * @param more profiles to add after the current rows
+     */
+    public void addAll(List<Profile> more) {
+        int start = data.size();
+        data.addAll(more);
+        notifyItemRangeInserted(start, more.size());
+    }
+
     @NonNull @Override
     public VH onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View v = LayoutInflater.from(parent.getContext())
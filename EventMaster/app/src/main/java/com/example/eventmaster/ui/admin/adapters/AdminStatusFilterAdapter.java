@@ -33,6 +33,7 @@ public class AdminStatusFilterAdapter extends RecyclerView.Adapter<AdminStatusFi
 
     public AdminStatusFilterAdapter(@NonNull StatusFilterListener listener) {
         this.listener = listener;
+        setHasStableIds(true);
     }
 
     public void setCounts(int total, int open, int closed, int done) {
@@ -67,6 +68,11 @@ public class AdminStatusFilterAdapter extends RecyclerView.Adapter<AdminStatusFi
         return 1;
     }
 
+    @Override
+    public long getItemId(int position) {
+        return 0; // the single chip bar
+    }
+
     class StatusViewHolder extends RecyclerView.ViewHolder {
         final LinearLayout chipAll;
         final LinearLayout chipOpen;
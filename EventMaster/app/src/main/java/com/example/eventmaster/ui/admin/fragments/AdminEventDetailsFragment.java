@@ -160,6 +160,7 @@ public class AdminEventDetailsFragment extends Fragment {
             public void onSuccess(Event event) {
                 currentEvent = event;
                 displayEventDetails(event);
+                loadFullDescription();
             }
 
             @Override
@@ -172,6 +173,17 @@ public class AdminEventDetailsFragment extends Fragment {
         });
     }
 
+    /**
+     * Replaces the description preview with the full text from the event's
+     * detail doc.
+     */
+    private void loadFullDescription() {
+        eventRepository.getEventDetails(eventId).addOnSuccessListener(details -> {
+            if (!isAdded() || details.description == null) return;
+            descriptionText.setText(details.description);
+        });
+    }
+
     /**
      * Displays event details in the UI.
      */
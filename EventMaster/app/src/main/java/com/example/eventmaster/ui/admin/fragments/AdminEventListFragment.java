@@ -30,6 +30,8 @@ import com.example.eventmaster.data.firestore.EventRepositoryFs;
 import com.example.eventmaster.model.Event;
 import com.example.eventmaster.ui.admin.adapters.AdminEventListAdapter;
 import com.example.eventmaster.ui.admin.adapters.AdminStatusFilterAdapter;
+import com.example.eventmaster.ui.entrant.model.EventFacetIndex;
+import com.example.eventmaster.ui.entrant.model.EventSearcher;
 import com.example.eventmaster.ui.entrant.model.StatusFilter;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.checkbox.MaterialCheckBox;
@@ -58,7 +60,8 @@ public class AdminEventListFragment extends Fragment implements AdminEventListAd
     private TextView emptyStateText;
 
     private List<Event> allEvents = new ArrayList<>();
-    private List<Event> filteredEvents = new ArrayList<>();
+    private EventFacetIndex facetIndex = EventFacetIndex.build(new ArrayList<>(), new Date());
+    private EventSearcher searcher; // text index for the search box
     private List<Event> statusFilteredEvents = new ArrayList<>();
     private StatusFilter currentStatusFilter = StatusFilter.ALL;
     
@@ -69,10 +72,6 @@ public class AdminEventListFragment extends Fragment implements AdminEventListAd
     private List<String> selectedEventTypes = new ArrayList<>(); // List of selected event types for filtering
     
     private static final String TAG = "AdminEventListFragment";
-    
-    private enum EventLifecycleState {
-        OPEN, CLOSED, DONE
-    }
 
     public AdminEventListFragment() {
         // Required empty public constructor
@@ -88,6 +87,13 @@ public class AdminEventListFragment extends Fragment implements AdminEventListAd
         
         // Initialize repository
         eventRepository = new EventRepositoryFs();
+        searcher = new EventSearcher();
+    }
+
+    @Override
+    public void onDestroy() {
+        super.onDestroy();
+        searcher.shutdown();
     }
 
     @Nullable
@@ -127,7 +133,10 @@ public class AdminEventListFragment extends Fragment implements AdminEventListAd
     private void setupRecyclerView() {
         adapter = new AdminEventListAdapter(this);
         statusFilterAdapter = new AdminStatusFilterAdapter(this::selectStatusFilter);
-        concatAdapter = new ConcatAdapter(statusFilterAdapter, adapter);
+        // Both children have stable IDs, so rows keep their views across list diffs
+        concatAdapter = new ConcatAdapter(new ConcatAdapter.Config.Builder()
+                .setStableIdMode(ConcatAdapter.Config.StableIdMode.ISOLATED_STABLE_IDS)
+                .build(), statusFilterAdapter, adapter);
         recyclerView.setAdapter(concatAdapter);
         recyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
     }
@@ -143,17 +152,8 @@ public class AdminEventListFragment extends Fragment implements AdminEventListAd
 
             @Override
             public void onTextChanged(CharSequence s, int start, int before, int count) {
-                String query = s.toString().trim();
-                List<Event> eventsToSearch = statusFilteredEvents.isEmpty()
-                        ? filteredEvents
-                        : statusFilteredEvents;
-
-                if (query.isEmpty()) {
-                    adapter.setEvents(eventsToSearch);
-                } else {
-                    adapter.filter(query, eventsToSearch);
-                }
-                updateEmptyState();
+                // Debounced and run off the main thread; a newer keystroke cancels it
+                searcher.search(s.toString(), statusFilteredEvents, AdminEventListFragment.this::showRows);
             }
 
             @Override
@@ -170,10 +170,9 @@ public class AdminEventListFragment extends Fragment implements AdminEventListAd
             @Override
             public void onSuccess(List<Event> events) {
                 allEvents = events;
-                filteredEvents = new ArrayList<>(allEvents);
-                statusFilteredEvents = new ArrayList<>();
+                facetIndex = EventFacetIndex.build(allEvents, new Date());
+                searcher.setEvents(allEvents);
                 applyFilters();
-                updateStatusCounts();
             }
 
             @Override
@@ -191,7 +190,7 @@ public class AdminEventListFragment extends Fragment implements AdminEventListAd
      * Always keeps RecyclerView visible so status filter bar stays visible.
      */
     private void updateEmptyState() {
-        if (adapter.getItemCount() == 0) {
+        if (adapter.getEventCount() == 0) {
             emptyStateText.setVisibility(View.VISIBLE);
         } else {
             emptyStateText.setVisibility(View.GONE);
@@ -211,105 +210,21 @@ public class AdminEventListFragment extends Fragment implements AdminEventListAd
         if (statusFilterAdapter != null) {
             statusFilterAdapter.setCurrentFilter(currentStatusFilter);
         }
-        applyStatusFilterAndRefresh();
+        applyFilters();
     }
 
     /**
-     * Applies the current status filter and refreshes the event list.
+     * Shows the rows of the current tab, narrowed by the search box.
      */
-    private void applyStatusFilterAndRefresh() {
-        statusFilteredEvents = new ArrayList<>();
-        Date now = new Date();
-        for (Event event : filteredEvents) {
-            EventLifecycleState state = resolveLifecycleState(event, now);
-            if (matchesCurrentFilter(state)) {
-                statusFilteredEvents.add(event);
-            }
-        }
-
+    private void refreshList() {
         CharSequence query = searchEditText != null ? searchEditText.getText() : null;
-        if (query != null && query.length() > 0) {
-            adapter.filter(query.toString(), statusFilteredEvents);
-        } else {
-            adapter.setEvents(statusFilteredEvents);
-        }
-        updateEmptyState();
-    }
-
-    /**
-     * Checks if an event matches the current filter.
-     */
-    private boolean matchesCurrentFilter(EventLifecycleState state) {
-        if (currentStatusFilter == StatusFilter.ALL) return true;
-        if (currentStatusFilter == StatusFilter.OPEN && state == EventLifecycleState.OPEN) return true;
-        if (currentStatusFilter == StatusFilter.CLOSED && state == EventLifecycleState.CLOSED) return true;
-        return currentStatusFilter == StatusFilter.DONE && state == EventLifecycleState.DONE;
-    }
-
-    /**
-     * Resolves the lifecycle state of an event based on dates.
-     */
-    private EventLifecycleState resolveLifecycleState(Event event, Date referenceDate) {
-        if (event == null) return EventLifecycleState.OPEN;
-
-        String status = event.getStatus();
-        if (status != null) {
-            String normalized = status.trim().toUpperCase();
-            if ("DONE".equals(normalized) || "COMPLETED".equals(normalized)) {
-                return EventLifecycleState.DONE;
-            }
-            if ("CLOSED".equals(normalized)) {
-                return EventLifecycleState.CLOSED;
-            }
-        }
-
-        Date eventDate = event.getEventDate();
-        if (eventDate != null && !eventDate.after(referenceDate)) {
-            return EventLifecycleState.DONE;
-        }
-
-        Date regEnd = event.getRegistrationEndDate();
-        if (regEnd != null && regEnd.before(referenceDate)) {
-            return EventLifecycleState.CLOSED;
-        }
-
-        return EventLifecycleState.OPEN;
+        searcher.searchNow(query != null ? query.toString() : "", statusFilteredEvents, this::showRows);
     }
 
-    /**
-     * Updates the status filter counts.
-     */
-    private void updateStatusCounts() {
-        if (statusFilterAdapter == null) return;
-
-        // Count from filteredEvents instead of allEvents to reflect active filters
-        List<Event> eventsToCount = (filteredEvents != null && !filteredEvents.isEmpty()) 
-            ? filteredEvents 
-            : (allEvents != null ? allEvents : new ArrayList<>());
-
-        int total = eventsToCount.size();
-        int open = 0;
-        int closed = 0;
-        int done = 0;
-        Date now = new Date();
-
-        for (Event event : eventsToCount) {
-            EventLifecycleState state = resolveLifecycleState(event, now);
-            switch (state) {
-                case DONE:
-                    done++;
-                    break;
-                case CLOSED:
-                    closed++;
-                    break;
-                case OPEN:
-                default:
-                    open++;
-                    break;
-            }
-        }
-
-        statusFilterAdapter.setCounts(total, open, closed, done);
+    private void showRows(List<Event> rows) {
+        if (adapter == null) return;
+        adapter.setEvents(rows);
+        updateEmptyState();
     }
 
     /**
@@ -562,53 +477,29 @@ public class AdminEventListFragment extends Fragment implements AdminEventListAd
     }
 
     /**
-     * Applies active filters to the event list.
+     * Applies the dialog filters and the current tab through the facet index,
+     * which also yields every tab count.
      */
     private void applyFilters() {
-        filteredEvents = new ArrayList<>(allEvents);
-
-        // Filter by price
-        if (maxPrice != null) {
-            filteredEvents.removeIf(event -> event.getPrice() > maxPrice);
+        Date now = new Date();
+        if (facetIndex.isStale(now)) {
+            facetIndex = EventFacetIndex.build(allEvents, now); // an event changed tab since the last build
         }
 
-        // Filter by location
-        if (locationFilter != null && !locationFilter.isEmpty()) {
-            String locationLower = locationFilter.toLowerCase();
-            filteredEvents.removeIf(event ->
-                event.getLocation() == null ||
-                !event.getLocation().toLowerCase().contains(locationLower)
-            );
-        }
+        EventFacetIndex.Selection selection = facetIndex.select(new EventFacetIndex.Filter()
+                .setMaxPrice(maxPrice)
+                .setEventTypes(selectedEventTypes)
+                .setLocation(locationFilter)
+                .setStatus(currentStatusFilter)
+                .setNewestFirst("newest".equals(sortOrder)));
 
-        // Filter by event types
-        if (selectedEventTypes != null && !selectedEventTypes.isEmpty()) {
-            filteredEvents.removeIf(event -> {
-                String eventType = event.getEventType();
-                if (eventType == null || eventType.isEmpty()) {
-                    return true; // Remove events with no type if filtering by type
-                }
-                return !selectedEventTypes.contains(eventType);
-            });
+        statusFilteredEvents = selection.events;
+        if (statusFilterAdapter != null) {
+            statusFilterAdapter.setCounts(selection.total, selection.open, selection.closed, selection.done);
         }
+        refreshList();
 
-        // Sort by date
-        filteredEvents.sort((e1, e2) -> {
-            Date date1 = e1.getRegistrationStartDate();
-            Date date2 = e2.getRegistrationStartDate();
-
-            if (date1 == null && date2 == null) return 0;
-            if (date1 == null) return 1;
-            if (date2 == null) return -1;
-
-            int comparison = date1.compareTo(date2);
-            return sortOrder.equals("newest") ? -comparison : comparison;
-        });
-
-        updateStatusCounts();
-        applyStatusFilterAndRefresh();
-
-        Log.d(TAG, "Applied filters - showing " + filteredEvents.size() + " of " + allEvents.size() + " events before status filter");
+        Log.d(TAG, "Applied filters - showing " + selection.events.size() + " of " + allEvents.size() + " events");
     }
 
     @Override
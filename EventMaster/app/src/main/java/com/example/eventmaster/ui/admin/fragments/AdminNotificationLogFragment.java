@@ -18,8 +18,10 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.eventmaster.R;
 import com.example.eventmaster.data.api.EventReadService;
 import com.example.eventmaster.data.firestore.EventReadServiceFs;
-import com.example.eventmaster.model.Event;
+import com.example.eventmaster.data.firestore.NotificationLogFs;
+import com.example.eventmaster.data.firestore.ProfileResolver;
 import com.example.eventmaster.model.Notification;
+import com.example.eventmaster.model.Profile;
 import com.example.eventmaster.ui.admin.adapters.AdminNotificationLogAdapter;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
@@ -45,6 +47,9 @@ public class AdminNotificationLogFragment extends Fragment {
     private static final String COLLECTION_NOTIFICATIONS = "notifications";
     private static final String ARG_ORGANIZER_ID = "organizerId";
     private static final String ARG_EVENT_ID = "eventId";
+    private static final String PREFS_NOTIFICATION_LOG = "notification_log";
+    private static final int PAGE_SIZE = 50;
+    private static final int PREFETCH_DISTANCE = 10;
 
     private RecyclerView recyclerView;
     private ImageView backButton;
@@ -54,6 +59,16 @@ public class AdminNotificationLogFragment extends Fragment {
     private String organizerId;
     private String eventId;
     private EventReadService eventReadService;
+    private NotificationLogFs notificationLog;
+
+    // Organizer log paging state
+    private DocumentSnapshot pageCursor;
+    private boolean loadingPage;
+    private boolean hasMorePages = true;
+
+    // Names resolved so far; pages only look up ids not seen yet
+    private final Map<String, String> userNames = new HashMap<>();
+    private final Map<String, String> eventNames = new HashMap<>();
 
     public AdminNotificationLogFragment() {
         // Required empty public constructor
@@ -80,6 +95,7 @@ public class AdminNotificationLogFragment extends Fragment {
             eventId = getArguments().getString(ARG_EVENT_ID);
         }
         eventReadService = new EventReadServiceFs();
+        notificationLog = new NotificationLogFs();
     }
 
     @Nullable
@@ -105,6 +121,7 @@ public class AdminNotificationLogFragment extends Fragment {
         if (eventId != null && !eventId.isEmpty()) {
             loadNotificationsForEvent();
         } else if (organizerId != null && !organizerId.isEmpty()) {
+            setupOrganizerPaging();
             loadNotificationsForOrganizer();
         } else {
             loadAllNotifications();
@@ -114,166 +131,86 @@ public class AdminNotificationLogFragment extends Fragment {
     }
 
     /**
-     * Loads notifications for a specific organizer by first getting their events,
-     * then filtering notifications by those event IDs.
+     * Loads the organizer's log one page at a time from the organizerId index.
+     * Notifications written before organizerId existed are backfilled once per device.
      */
     private void loadNotificationsForOrganizer() {
         Log.d(TAG, "Loading notifications for organizer: " + organizerId);
-        
-        // First, get all events for this organizer
-        eventReadService.listByOrganizer(organizerId)
-                .addOnSuccessListener(events -> {
-                    if (events == null || events.isEmpty()) {
-                        Log.d(TAG, "No events found for organizer, showing empty list");
-                        adapter.setNotifications(new ArrayList<>());
-                        updateEmptyState();
-                        return;
-                    }
-                    
-                    // Collect event IDs
-                    Set<String> eventIds = new HashSet<>();
-                    for (Event event : events) {
-                        if (event.getEventId() != null) {
-                            eventIds.add(event.getEventId());
-                        }
+        allNotifications.clear();
+        pageCursor = null;
+        hasMorePages = true;
+
+        android.content.SharedPreferences prefs = requireContext()
+                .getSharedPreferences(PREFS_NOTIFICATION_LOG, android.content.Context.MODE_PRIVATE);
+        String backfillKey = "backfilled_" + organizerId;
+        if (prefs.getBoolean(backfillKey, false)) {
+            loadNextOrganizerPage();
+            return;
+        }
+
+        notificationLog.backfillOrganizerId(organizerId)
+                .addOnSuccessListener(updated -> {
+                    Log.d(TAG, "Backfilled organizerId on " + updated + " notifications");
+                    prefs.edit().putBoolean(backfillKey, true).apply();
+                })
+                .addOnFailureListener(e -> Log.w(TAG, "organizerId backfill failed, older notifications may be missing", e))
+                .addOnCompleteListener(t -> {
+                    if (isAdded()) loadNextOrganizerPage();
+                });
+    }
+
+    /**
+     * Appends the next page of the organizer's log; no-op while a page is loading or when done.
+     */
+    private void loadNextOrganizerPage() {
+        if (loadingPage || !hasMorePages) return;
+        loadingPage = true;
+
+        notificationLog.getOrganizerPage(organizerId, pageCursor, PAGE_SIZE)
+                .addOnSuccessListener(page -> {
+                    loadingPage = false;
+                    if (!isAdded()) return;
+
+                    List<Notification> added = new ArrayList<>();
+                    for (DocumentSnapshot doc : page.documents) {
+                        Notification notification = parseNotification(doc);
+                        if (notification != null) added.add(notification);
                     }
-                    
-                    Log.d(TAG, "Found " + eventIds.size() + " events for organizer");
-                    
-                    // Now load notifications for these events
-                    loadNotificationsForEvents(eventIds);
+                    if (page.cursor != null) pageCursor = page.cursor;
+                    hasMorePages = page.hasMore;
+
+                    allNotifications.addAll(added);
+                    adapter.setNotifications(allNotifications);
+                    resolveNamesForNotifications(added);
+                    updateEmptyState();
+                    Log.d(TAG, "Loaded page of " + added.size() + " notifications for organizer ("
+                            + allNotifications.size() + " total)");
                 })
                 .addOnFailureListener(e -> {
-                    Log.e(TAG, "Failed to load events for organizer", e);
+                    loadingPage = false;
+                    Log.e(TAG, "Failed to load notifications for organizer", e);
+                    if (!isAdded()) return;
                     Toast.makeText(requireContext(),
-                            "Failed to load organizer events: " + e.getMessage(),
+                            "Failed to load notifications: " + e.getMessage(),
                             Toast.LENGTH_SHORT).show();
-                    adapter.setNotifications(new ArrayList<>());
                     updateEmptyState();
                 });
     }
 
     /**
-     * Loads notifications for a set of event IDs.
-     * Handles Firestore's whereIn limit of 10 items by batching queries if needed.
+     * Requests the next organizer page when the list is scrolled near its end.
      */
-    private void loadNotificationsForEvents(Set<String> eventIds) {
-        if (eventIds.isEmpty()) {
-            adapter.setNotifications(new ArrayList<>());
-            updateEmptyState();
-            return;
-        }
-        
-        List<String> eventIdList = new ArrayList<>(eventIds);
-        allNotifications.clear();
-        
-        // Firestore whereIn has a limit of 10 items, so we need to batch if there are more
-        final int BATCH_SIZE = 10;
-        final int totalBatches = (eventIdList.size() + BATCH_SIZE - 1) / BATCH_SIZE;
-        final AtomicInteger completedBatches = new AtomicInteger(0);
-        
-        FirebaseFirestore db = FirebaseFirestore.getInstance();
-        
-        for (int i = 0; i < eventIdList.size(); i += BATCH_SIZE) {
-            int end = Math.min(i + BATCH_SIZE, eventIdList.size());
-            List<String> batch = eventIdList.subList(i, end);
-            
-            db.collection(COLLECTION_NOTIFICATIONS)
-                    .whereIn("eventId", batch)
-                    .orderBy("sentAt", Query.Direction.DESCENDING)
-                    .get()
-                    .addOnSuccessListener(querySnapshot -> {
-                        for (QueryDocumentSnapshot doc : querySnapshot) {
-                            try {
-                                Notification notification = parseNotification(doc);
-                                if (notification != null) {
-                                    allNotifications.add(notification);
-                                }
-                            } catch (Exception e) {
-                                Log.e(TAG, "Error parsing notification document: " + doc.getId(), e);
-                            }
-                        }
-                        
-                        int completed = completedBatches.incrementAndGet();
-                        if (completed == totalBatches) {
-                            // All batches completed, sort and update UI
-                            allNotifications.sort((a, b) -> {
-                                Date dateA = a.getSentAt();
-                                Date dateB = b.getSentAt();
-                                if (dateA == null && dateB == null) return 0;
-                                if (dateA == null) return 1;
-                                if (dateB == null) return -1;
-                                return dateB.compareTo(dateA); // Descending
-                            });
-                            
-                            adapter.setNotifications(allNotifications);
-                            resolveNamesForNotifications(allNotifications);
-                            updateEmptyState();
-                            Log.d(TAG, "Loaded " + allNotifications.size() + " notifications for organizer");
-                        }
-                    })
-                    .addOnFailureListener(e -> {
-                        // If orderBy fails, try without orderBy
-                        Log.w(TAG, "Query with orderBy failed for batch, trying without orderBy: " + e.getMessage());
-                        db.collection(COLLECTION_NOTIFICATIONS)
-                                .whereIn("eventId", batch)
-                                .get()
-                                .addOnSuccessListener(querySnapshot -> {
-                                    for (QueryDocumentSnapshot doc : querySnapshot) {
-                                        try {
-                                            Notification notification = parseNotification(doc);
-                                            if (notification != null) {
-                                                allNotifications.add(notification);
-                                            }
-                                        } catch (Exception ex) {
-                                            Log.e(TAG, "Error parsing notification document: " + doc.getId(), ex);
-                                        }
-                                    }
-                                    
-                                    int completed = completedBatches.incrementAndGet();
-                                    if (completed == totalBatches) {
-                                        // All batches completed, sort and update UI
-                                        allNotifications.sort((a, b) -> {
-                                            Date dateA = a.getSentAt();
-                                            Date dateB = b.getSentAt();
-                                            if (dateA == null && dateB == null) return 0;
-                                            if (dateA == null) return 1;
-                                            if (dateB == null) return -1;
-                                            return dateB.compareTo(dateA); // Descending
-                                        });
-                                        
-                                        adapter.setNotifications(allNotifications);
-                                        resolveNamesForNotifications(allNotifications);
-                                        updateEmptyState();
-                                        Log.d(TAG, "Loaded " + allNotifications.size() + " notifications for organizer (without orderBy)");
-                                    }
-                                })
-                                .addOnFailureListener(ex -> {
-                                    Log.e(TAG, "Failed to load notifications batch for organizer", ex);
-                                    int completed = completedBatches.incrementAndGet();
-                                    if (completed == totalBatches) {
-                                        // Even if some batches failed, update UI with what we have
-                                        allNotifications.sort((a, b) -> {
-                                            Date dateA = a.getSentAt();
-                                            Date dateB = b.getSentAt();
-                                            if (dateA == null && dateB == null) return 0;
-                                            if (dateA == null) return 1;
-                                            if (dateB == null) return -1;
-                                            return dateB.compareTo(dateA); // Descending
-                                        });
-                                        
-                                        adapter.setNotifications(allNotifications);
-                                        resolveNamesForNotifications(allNotifications);
-                                        updateEmptyState();
-                                        if (allNotifications.isEmpty()) {
-                                            Toast.makeText(requireContext(),
-                                                    "Failed to load notifications: " + ex.getMessage(),
-                                                    Toast.LENGTH_SHORT).show();
-                                        }
-                                    }
-                                });
-                    });
-        }
+    private void setupOrganizerPaging() {
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView rv, int dx, int dy) {
+                if (dy <= 0) return;
+                LinearLayoutManager lm = (LinearLayoutManager) rv.getLayoutManager();
+                if (lm != null && lm.findLastVisibleItemPosition() >= adapter.getItemCount() - PREFETCH_DISTANCE) {
+                    loadNextOrganizerPage();
+                }
+            }
+        });
     }
 
     /**
@@ -395,7 +332,7 @@ public class AdminNotificationLogFragment extends Fragment {
      * Parses a Firestore document into a Notification object.
      * Handles legacy field names and missing fields.
      */
-    private Notification parseNotification(QueryDocumentSnapshot doc) {
+    private Notification parseNotification(DocumentSnapshot doc) {
         try {
             Notification notification = new Notification();
             notification.setNotificationId(doc.getId());
@@ -476,46 +413,49 @@ public class AdminNotificationLogFragment extends Fragment {
      */
     private void resolveNamesForNotifications(List<Notification> notifications) {
         if (notifications == null || notifications.isEmpty()) {
-            adapter.setUserNameMap(new HashMap<>());
-            adapter.setEventNameMap(new HashMap<>());
+            adapter.setUserNameMap(new HashMap<>(userNames));
+            adapter.setEventNameMap(new HashMap<>(eventNames));
             return;
         }
 
-        // Collect unique user IDs and event IDs
+        // Collect unique user IDs and event IDs not resolved yet
         Set<String> userIds = new HashSet<>();
         Set<String> eventIds = new HashSet<>();
 
         for (Notification notification : notifications) {
             String recipientId = notification.getRecipientUserId();
-            if (recipientId != null && !recipientId.isEmpty()) {
+            if (recipientId != null && !recipientId.isEmpty() && !userNames.containsKey(recipientId)) {
                 userIds.add(recipientId);
             }
 
             String senderId = notification.getSenderUserId();
-            if (senderId != null && !senderId.isEmpty() && !"system".equals(senderId)) {
+            if (senderId != null && !senderId.isEmpty() && !"system".equals(senderId)
+                    && !userNames.containsKey(senderId)) {
                 userIds.add(senderId);
             }
 
             String eventId = notification.getEventId();
-            if (eventId != null && !eventId.isEmpty()) {
+            if (eventId != null && !eventId.isEmpty() && !eventNames.containsKey(eventId)) {
                 eventIds.add(eventId);
             }
         }
 
         // Resolve user names
         resolveUserNames(userIds, (userNameMap) -> {
-            adapter.setUserNameMap(userNameMap);
+            userNames.putAll(userNameMap);
+            adapter.setUserNameMap(new HashMap<>(userNames));
 
             // Resolve event names after user names are done
             resolveEventNames(eventIds, (eventNameMap) -> {
-                adapter.setEventNameMap(eventNameMap);
+                eventNames.putAll(eventNameMap);
+                adapter.setEventNameMap(new HashMap<>(eventNames));
             });
         });
     }
 
     /**
      * Resolves user IDs to display names.
-     * Tries Firebase UID first, then deviceId lookup for entrants.
+     * One bulk lookup: Firebase UID / profile doc ID first, then deviceId for entrants.
      */
     private void resolveUserNames(Set<String> userIds, java.util.function.Consumer<Map<String, String>> callback) {
         if (userIds == null || userIds.isEmpty()) {
@@ -523,83 +463,19 @@ public class AdminNotificationLogFragment extends Fragment {
             return;
         }
 
-        Map<String, String> userNameMap = new HashMap<>();
-        FirebaseFirestore db = FirebaseFirestore.getInstance();
-        AtomicInteger remaining = new AtomicInteger(userIds.size());
-
-        for (String userId : userIds) {
-            // Try as Firebase UID first (profile document ID)
-            db.collection("profiles")
-                    .document(userId)
-                    .get()
-                    .addOnSuccessListener(doc -> {
-                        if (doc.exists()) {
-                            String name = doc.getString("name");
+        ProfileResolver.getInstance().resolve(userIds)
+                .addOnCompleteListener(task -> {
+                    Map<String, String> userNameMap = new HashMap<>();
+                    if (task.isSuccessful()) {
+                        for (Map.Entry<String, Profile> e : task.getResult().entrySet()) {
+                            String name = e.getValue().getName();
                             if (name != null && !name.isEmpty()) {
-                                userNameMap.put(userId, name);
+                                userNameMap.put(e.getKey(), name);
                             }
                         }
-                        
-                        // If not found as UID, try as deviceId (entrant profiles)
-                        if (!userNameMap.containsKey(userId)) {
-                            db.collection("profiles")
-                                    .whereEqualTo("deviceId", userId)
-                                    .whereEqualTo("role", "entrant")
-                                    .limit(1)
-                                    .get()
-                                    .addOnSuccessListener(querySnapshot -> {
-                                        if (querySnapshot != null && !querySnapshot.isEmpty()) {
-                                            DocumentSnapshot deviceDoc = querySnapshot.getDocuments().get(0);
-                                            String name = deviceDoc.getString("name");
-                                            if (name != null && !name.isEmpty()) {
-                                                userNameMap.put(userId, name);
-                                            }
-                                        }
-                                        
-                                        if (remaining.decrementAndGet() == 0) {
-                                            callback.accept(userNameMap);
-                                        }
-                                    })
-                                    .addOnFailureListener(e -> {
-                                        Log.d(TAG, "Failed to resolve user name as deviceId: " + userId);
-                                        if (remaining.decrementAndGet() == 0) {
-                                            callback.accept(userNameMap);
-                                        }
-                                    });
-                        } else {
-                            if (remaining.decrementAndGet() == 0) {
-                                callback.accept(userNameMap);
-                            }
-                        }
-                    })
-                    .addOnFailureListener(e -> {
-                        // If UID lookup fails, try deviceId
-                        db.collection("profiles")
-                                .whereEqualTo("deviceId", userId)
-                                .whereEqualTo("role", "entrant")
-                                .limit(1)
-                                .get()
-                                .addOnSuccessListener(querySnapshot -> {
-                                    if (querySnapshot != null && !querySnapshot.isEmpty()) {
-                                        DocumentSnapshot deviceDoc = querySnapshot.getDocuments().get(0);
-                                        String name = deviceDoc.getString("name");
-                                        if (name != null && !name.isEmpty()) {
-                                            userNameMap.put(userId, name);
-                                        }
-                                    }
-                                    
-                                    if (remaining.decrementAndGet() == 0) {
-                                        callback.accept(userNameMap);
-                                    }
-                                })
-                                .addOnFailureListener(ex -> {
-                                    Log.d(TAG, "Failed to resolve user name: " + userId);
-                                    if (remaining.decrementAndGet() == 0) {
-                                        callback.accept(userNameMap);
-                                    }
-                                });
-                    });
-        }
+                    }
+                    callback.accept(userNameMap);
+                });
     }
 
     /**
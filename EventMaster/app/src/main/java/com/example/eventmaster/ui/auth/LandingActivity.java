@@ -7,6 +7,13 @@ import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.eventmaster.MainActivity;
 import com.example.eventmaster.R;
+import com.example.eventmaster.data.firestore.EventDetailPrefetcher;
+import com.example.eventmaster.data.firestore.ProfileCache;
+import com.example.eventmaster.work.EventCatalogCompactWorker;
+import com.example.eventmaster.work.EventStatusBackfillWorker;
+import com.example.eventmaster.work.IdentityAliasMigrationWorker;
+import com.example.eventmaster.work.NotificationRetentionWorker;
+import com.example.eventmaster.work.ProfileSearchBackfillWorker;
 import com.google.android.material.button.MaterialButton;
 
 public class LandingActivity extends AppCompatActivity {
@@ -16,6 +23,14 @@ public class LandingActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_landing);
 
+        ProfileCache.init(getApplicationContext());
+        EventDetailPrefetcher.init(getApplicationContext());
+        NotificationRetentionWorker.schedule(getApplicationContext());
+        IdentityAliasMigrationWorker.schedule(getApplicationContext());
+        ProfileSearchBackfillWorker.schedule(getApplicationContext());
+        EventStatusBackfillWorker.schedule(getApplicationContext());
+        EventCatalogCompactWorker.schedule(getApplicationContext());
+
         MaterialButton continueBtn = findViewById(R.id.btnContinue);
 
         continueBtn.setOnClickListener(v -> {
@@ -21,8 +21,13 @@ import com.example.eventmaster.R;
 import com.example.eventmaster.data.api.EventRepository;
 import com.example.eventmaster.data.api.NotificationService;
 import com.example.eventmaster.data.firestore.EventRepositoryFs;
+import com.example.eventmaster.data.firestore.NotificationArchiveFs;
+import com.example.eventmaster.data.firestore.NotificationCounterFs;
 import com.example.eventmaster.data.firestore.NotificationServiceFs;
+import com.example.eventmaster.data.firestore.OptOutCache;
 import com.example.eventmaster.data.firestore.ProfileRepositoryFs;
+import com.example.eventmaster.data.firestore.ReadReceiptBuffer;
+import com.example.eventmaster.data.local.NotificationInboxStore;
 import com.example.eventmaster.model.Event;
 import com.example.eventmaster.model.Notification;
 import com.example.eventmaster.ui.entrant.activities.EntrantHistoryActivity;
@@ -31,8 +36,10 @@ import com.example.eventmaster.ui.entrant.activities.EventListActivity;
 import com.example.eventmaster.model.Profile;
 import com.example.eventmaster.ui.entrant.adapters.NotificationsAdapter;
 import com.example.eventmaster.utils.DeviceUtils;
+import com.google.android.gms.tasks.CancellationTokenSource;
 import com.google.android.gms.tasks.Task;
 import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.Timestamp;
 import com.google.firebase.auth.FirebaseAuth;
 
 import java.util.ArrayList;
@@ -44,14 +51,26 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class EntrantNotificationsActivity extends AppCompatActivity {
 
     private static final String TAG = "EntrantNotifications";
 
+    // Full reload of the local inbox at most once a day; deltas in between
+    private static final long FULL_RESYNC_MS = 24L * 60 * 60 * 1000;
+    /**
+     * Re-ask for this much before the watermark. sentAt is a sender's clock and
+     * paced or batched sends land after later-stamped ones; rows seen twice
+     * replace themselves by id.
+     */
+    private static final long SYNC_OVERLAP_MS = 60L * 60 * 1000;
+
     // UI Components
     private ImageView deleteAllButton;
+    private android.widget.ImageButton archiveButton;
+    private android.widget.ImageButton markAllReadButton;
     private android.widget.ImageButton notificationToggle;
     private RecyclerView recyclerView;
     private LinearLayout emptyState;
@@ -67,9 +86,19 @@ public class EntrantNotificationsActivity extends AppCompatActivity {
     private NotificationService notificationService;
     private EventRepository eventRepository;
     private ProfileRepositoryFs profileRepo;
+    private NotificationCounterFs counterRepo;
+    private NotificationArchiveFs archiveRepo;
+    private ReadReceiptBuffer readReceipts;
+    private NotificationInboxStore inboxStore;
 
     private String currentUserId;
 
+    // Every id the inbox was last loaded for (UID, device ID, profile userId)
+    private List<String> loadedIds = new ArrayList<>();
+
+    // Non-null while a "delete all" is running
+    private CancellationTokenSource deleteCancellation;
+
     @Override
     protected void onCreate(@Nullable Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -79,6 +108,10 @@ public class EntrantNotificationsActivity extends AppCompatActivity {
         notificationService = new NotificationServiceFs();
         eventRepository = new EventRepositoryFs();
         profileRepo = new ProfileRepositoryFs();
+        counterRepo = new NotificationCounterFs();
+        archiveRepo = new NotificationArchiveFs();
+        readReceipts = ReadReceiptBuffer.getInstance();
+        inboxStore = new NotificationInboxStore(this);
 
         currentUserId = resolveCurrentUserId();
 
@@ -106,6 +139,8 @@ public class EntrantNotificationsActivity extends AppCompatActivity {
      */
     private void initializeViews() {
         deleteAllButton = findViewById(R.id.delete_all_button);
+        archiveButton = findViewById(R.id.archive_button);
+        markAllReadButton = findViewById(R.id.mark_all_read_button);
         notificationToggle = findViewById(R.id.notification_toggle);
         recyclerView = findViewById(R.id.notifications_recycler_view);
         emptyState = findViewById(R.id.empty_state);
@@ -140,9 +175,9 @@ public class EntrantNotificationsActivity extends AppCompatActivity {
 
             @Override
             public void onSwiped(@NonNull RecyclerView.ViewHolder viewHolder, int direction) {
-                int position = viewHolder.getAdapterPosition();
-                if (position >= 0 && position < notifications.size()) {
-                    Notification notification = notifications.get(position);
+                int position = viewHolder.getBindingAdapterPosition();
+                if (position != RecyclerView.NO_POSITION) {
+                    Notification notification = adapter.getNotificationAt(position);
                     deleteNotification(notification, position);
                 }
             }
@@ -153,7 +188,8 @@ public class EntrantNotificationsActivity extends AppCompatActivity {
     }
 
     /**
-     * Deletes a single notification from Firestore and updates the UI.
+     * Removes a single notification from the list right away; the Firestore
+     * delete is queued in the read-receipt buffer and written with the next flush.
      */
     private void deleteNotification(Notification notification, int position) {
         if (notification == null || notification.getNotificationId() == null) {
@@ -163,30 +199,19 @@ public class EntrantNotificationsActivity extends AppCompatActivity {
             return;
         }
 
-        notificationService.deleteNotification(
-                notification.getNotificationId(),
-                () -> {
-                    Log.d(TAG, "Successfully deleted notification: " + notification.getNotificationId());
-                    // Remove from local list
-                    notifications.remove(position);
-                    adapter.notifyItemRemoved(position);
-                    adapter.notifyItemRangeChanged(position, notifications.size());
-
-                    // Show empty state if no notifications left
-                    if (notifications.isEmpty()) {
-                        recyclerView.setVisibility(View.GONE);
-                        emptyState.setVisibility(View.VISIBLE);
-                    }
+        readReceipts.dismiss(notification);
+        inboxStore.delete(notification.getNotificationId());
 
-                    Toast.makeText(this, "Notification deleted", Toast.LENGTH_SHORT).show();
-                },
-                error -> {
-                    Log.e(TAG, "Failed to delete notification: " + notification.getNotificationId(), new Exception(error));
-                    // Restore the item on failure
-                    adapter.notifyItemChanged(position);
-                    Toast.makeText(this, "Failed to delete notification", Toast.LENGTH_SHORT).show();
-                }
-        );
+        notifications.remove(notification);
+        adapter.updateNotifications(notifications);
+
+        // Show empty state if no notifications left
+        if (notifications.isEmpty()) {
+            recyclerView.setVisibility(View.GONE);
+            emptyState.setVisibility(View.VISIBLE);
+        }
+
+        Toast.makeText(this, "Notification deleted", Toast.LENGTH_SHORT).show();
     }
 
     /**
@@ -224,6 +249,8 @@ public class EntrantNotificationsActivity extends AppCompatActivity {
      */
     private void setupClickListeners() {
         deleteAllButton.setOnClickListener(v -> handleDeleteAllClick());
+        archiveButton.setOnClickListener(v -> showArchivedNotifications());
+        markAllReadButton.setOnClickListener(v -> markAllAsRead());
         
         // Notification toggle button listener
         notificationToggle.setOnClickListener(v -> {
@@ -238,9 +265,12 @@ public class EntrantNotificationsActivity extends AppCompatActivity {
     //                     ***  MAIN LOAD NOTIFICATIONS FIX  ***
     // -------------------------------------------------------------------------
 
+    /**
+     * Renders the local inbox right away, then brings it up to date from Firestore:
+     * a delta query (sentAt after the stored watermark, less an overlap) normally, or a full load on
+     * first launch, when the id set changed, or once the last full load is a day old.
+     */
     private void loadNotifications() {
-        showLoading(true);
-
         String deviceId = DeviceUtils.getDeviceId(this);
 
         Log.d(TAG, "Resolving notifications for:");
@@ -255,25 +285,76 @@ public class EntrantNotificationsActivity extends AppCompatActivity {
             queryIds.add(deviceId);
         }
 
-        // 2. Retrieve profile using deviceId (Option B fix)
-        profileRepo.getByDeviceId(deviceId).addOnSuccessListener(profile -> {
+        inboxStore.getSyncState(deviceId).addOnCompleteListener(stateTask -> {
+            NotificationInboxStore.SyncState state = stateTask.isSuccessful() ? stateTask.getResult() : null;
 
-            if (profile != null && profile.getUserId() != null) {
-                Log.d(TAG, "Found profile for deviceId → userId: " + profile.getUserId());
-                queryIds.add(profile.getUserId());
+            // 2. Show the local copy (works offline); spinner only on first launch
+            if (state != null) {
+                loadedIds = new ArrayList<>(state.ids);
+                inboxStore.load(state.ids).addOnSuccessListener(local -> {
+                    if (!isFinishing() && !isDestroyed()) handleNotificationsLoaded(local);
+                });
             } else {
-                Log.d(TAG, "No profile mapped to this deviceId");
+                showLoading(true);
             }
 
-            // 3. Load notifications for ALL collected IDs
-            loadNotificationsForIds(queryIds);
+            // 3. Retrieve profile using deviceId (Option B fix); continue with what we have if offline
+            profileRepo.getByDeviceId(deviceId).addOnCompleteListener(profileTask -> {
+                Profile profile = profileTask.isSuccessful() ? profileTask.getResult() : null;
+                if (profile != null && profile.getUserId() != null) {
+                    Log.d(TAG, "Found profile for deviceId → userId: " + profile.getUserId());
+                    if (!queryIds.contains(profile.getUserId())) queryIds.add(profile.getUserId());
+                } else {
+                    Log.d(TAG, "No profile mapped to this deviceId");
+                }
+
+                // 4. Sync for ALL collected IDs
+                syncInbox(deviceId, queryIds, state);
+            });
         });
     }
 
-    private void loadNotificationsForIds(List<String> ids) {
+    private void syncInbox(String deviceId, List<String> ids, @Nullable NotificationInboxStore.SyncState state) {
+        boolean sameIds = state != null && new HashSet<>(state.ids).equals(new HashSet<>(ids));
+        if (!sameIds || System.currentTimeMillis() - state.lastFullSyncMillis > FULL_RESYNC_MS) {
+            loadNotificationsForIds(deviceId, ids);
+            return;
+        }
+
+        loadedIds = new ArrayList<>(ids);
+        notificationService.getNotificationsSince(
+                ids,
+                new Timestamp(new Date(state.watermark.toDate().getTime() - SYNC_OVERLAP_MS)),
+                (added, newest) -> {
+                    if (added.isEmpty()) {
+                        // Nothing new; the local render is already current
+                        showLoading(false);
+                        return;
+                    }
+                    // The overlap can return only rows older than the watermark; never move it back
+                    Timestamp watermark = newest.compareTo(state.watermark) > 0 ? newest : state.watermark;
+                    inboxStore.upsert(added)
+                            .continueWithTask(t -> inboxStore.saveSyncState(deviceId,
+                                    new NotificationInboxStore.SyncState(ids, watermark, state.lastFullSyncMillis)))
+                            .continueWithTask(t -> inboxStore.load(ids))
+                            .addOnSuccessListener(all -> {
+                                if (!isFinishing() && !isDestroyed()) finalizeLoadedNotifications(all);
+                            });
+                },
+                err -> {
+                    // Offline or transient failure: keep showing the local copy
+                    Log.w(TAG, "Inbox delta sync failed: " + err);
+                    showLoading(false);
+                }
+        );
+    }
+
+    private void loadNotificationsForIds(String deviceId, List<String> ids) {
         Log.d(TAG, "Loading notifications for IDs: " + ids);
+        loadedIds = new ArrayList<>(ids);
 
         AtomicInteger remaining = new AtomicInteger(ids.size());
+        AtomicBoolean anyFailed = new AtomicBoolean(false);
         Set<String> seen = new HashSet<>();
         List<Notification> combined = new ArrayList<>();
 
@@ -290,18 +371,62 @@ public class EntrantNotificationsActivity extends AppCompatActivity {
                         }
 
                         if (remaining.decrementAndGet() == 0) {
-                            finalizeLoadedNotifications(combined);
+                            onFullLoadComplete(deviceId, ids, combined, anyFailed.get());
                         }
                     },
                     err -> {
+                        anyFailed.set(true);
                         if (remaining.decrementAndGet() == 0) {
-                            finalizeLoadedNotifications(combined);
+                            onFullLoadComplete(deviceId, ids, combined, true);
                         }
                     }
             );
         }
     }
 
+    private void onFullLoadComplete(String deviceId, List<String> ids, List<Notification> combined, boolean anyFailed) {
+        if (anyFailed && combined.isEmpty()) {
+            // Nothing came back (likely offline): keep whatever is on screen
+            showLoading(false);
+            handleNotificationsLoaded(notifications);
+            return;
+        }
+
+        finalizeLoadedNotifications(combined);
+        // Only trust a complete list for counter repair and the local store
+        if (anyFailed) return;
+        reconcileUnreadCounters(ids, combined);
+
+        long newest = 0;
+        for (Notification n : combined) {
+            if (n.getSentAt() != null) newest = Math.max(newest, n.getSentAt().getTime());
+        }
+        NotificationInboxStore.SyncState state = new NotificationInboxStore.SyncState(
+                ids, new Timestamp(new Date(newest)), System.currentTimeMillis());
+        inboxStore.replaceAll(ids, combined)
+                .continueWithTask(t -> inboxStore.saveSyncState(deviceId, state))
+                .addOnFailureListener(e -> Log.w(TAG, "Failed to save local inbox", e));
+    }
+
+    /**
+     * Repairs drifted unread counters using the list we just loaded anyway.
+     * Counters are keyed by recipientUserId, so count per queried id.
+     */
+    private void reconcileUnreadCounters(List<String> ids, List<Notification> loaded) {
+        Map<String, Long> unreadById = new HashMap<>();
+        for (String id : ids) unreadById.put(id, 0L);
+        for (Notification n : loaded) {
+            String recipient = n.getRecipientUserId();
+            if (!n.isRead() && recipient != null && unreadById.containsKey(recipient)) {
+                unreadById.put(recipient, unreadById.get(recipient) + 1);
+            }
+        }
+        for (Map.Entry<String, Long> e : unreadById.entrySet()) {
+            counterRepo.reconcile(e.getKey(), e.getValue())
+                    .addOnFailureListener(err -> Log.w(TAG, "Unread counter reconcile failed for " + e.getKey(), err));
+        }
+    }
+
     private void finalizeLoadedNotifications(List<Notification> all) {
 
         all.sort((a, b) -> {
@@ -338,7 +463,8 @@ public class EntrantNotificationsActivity extends AppCompatActivity {
     private void handleNotificationClick(Notification notification) {
         // Mark as read if not already read
         if (!notification.isRead()) {
-            notificationService.markNotificationAsRead(notification.getNotificationId());
+            readReceipts.markRead(notification);
+            inboxStore.markRead(java.util.Collections.singletonList(notification.getNotificationId()));
             notification.setRead(true);
         }
         
@@ -361,6 +487,66 @@ public class EntrantNotificationsActivity extends AppCompatActivity {
         builder.show();
     }
 
+    /**
+     * Marks every loaded notification as read in one batched write.
+     */
+    private void markAllAsRead() {
+        List<Notification> unread = new ArrayList<>();
+        for (Notification n : notifications) {
+            if (!n.isRead()) unread.add(n);
+        }
+        if (unread.isEmpty()) {
+            Toast.makeText(this, "No unread notifications", Toast.LENGTH_SHORT).show();
+            return;
+        }
+
+        readReceipts.markAllRead(unread);
+        List<String> unreadIds = new ArrayList<>();
+        for (Notification n : unread) {
+            n.setRead(true);
+            unreadIds.add(n.getNotificationId());
+        }
+        inboxStore.markRead(unreadIds);
+        adapter.updateNotifications(notifications);
+    }
+
+    /**
+     * Shows notifications the retention job moved out of the live inbox.
+     * Loaded on demand only; the last 12 months are shown.
+     */
+    private void showArchivedNotifications() {
+        List<String> ids = loadedIds.isEmpty()
+                ? java.util.Collections.singletonList(currentUserId)
+                : loadedIds;
+
+        archiveRepo.getArchivedNotifications(ids, 12)
+                .addOnSuccessListener(archived -> {
+                    if (isFinishing() || isDestroyed()) return;
+                    if (archived.isEmpty()) {
+                        Toast.makeText(this, "No archived notifications", Toast.LENGTH_SHORT).show();
+                        return;
+                    }
+
+                    java.text.SimpleDateFormat fmt =
+                            new java.text.SimpleDateFormat("MMM d, yyyy", Locale.getDefault());
+                    String[] rows = new String[archived.size()];
+                    for (int i = 0; i < archived.size(); i++) {
+                        Notification n = archived.get(i);
+                        rows[i] = fmt.format(n.getSentAt()) + " - " + n.getTitle();
+                    }
+
+                    new AlertDialog.Builder(this)
+                            .setTitle("Archived notifications")
+                            .setItems(rows, (d, which) -> showNotificationDetails(archived.get(which)))
+                            .setPositiveButton("Close", (d, w) -> d.dismiss())
+                            .show();
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Failed to load archived notifications", e);
+                    Toast.makeText(this, "Failed to load archive", Toast.LENGTH_SHORT).show();
+                });
+    }
+
     private void handleDeleteAllClick() {
         if (notifications.isEmpty()) {
             Toast.makeText(this, "No notifications to delete", Toast.LENGTH_SHORT).show();
@@ -379,9 +565,12 @@ public class EntrantNotificationsActivity extends AppCompatActivity {
 
     /**
      * Deletes all notifications from Firestore for the current user (all IDs).
+     * Every ID goes into a single bulk delete so shared documents are only removed once.
      */
     private void deleteAllNotificationsFromFirestore() {
         showLoading(true);
+        // Push queued read/dismiss actions first so they don't trail the bulk delete
+        readReceipts.flush();
         
         String deviceId = DeviceUtils.getDeviceId(this);
         List<String> userIdsToDelete = new ArrayList<>();
@@ -391,70 +580,62 @@ public class EntrantNotificationsActivity extends AppCompatActivity {
             userIdsToDelete.add(deviceId);
         }
 
-        // Get profile userId if available
-        profileRepo.getByDeviceId(deviceId).addOnSuccessListener(profile -> {
-            if (profile != null && profile.getUserId() != null && !userIdsToDelete.contains(profile.getUserId())) {
-                userIdsToDelete.add(profile.getUserId());
-            }
-            
-            // Delete notifications for all user IDs
-            AtomicInteger completed = new AtomicInteger(0);
-            int total = userIdsToDelete.size();
-            
-            if (total == 0) {
-                finishDeletion();
-                return;
-            }
-            
-            for (String userId : userIdsToDelete) {
-                notificationService.deleteAllNotificationsForUser(
-                        userId,
-                        () -> {
-                            Log.d(TAG, "Successfully deleted notifications for userId: " + userId);
-                            if (completed.incrementAndGet() == total) {
-                                finishDeletion();
-                            }
-                        },
-                        error -> {
-                            Log.e(TAG, "Failed to delete notifications for userId: " + userId + ": " + error);
-                            // Continue even if one fails - we still want to finish
-                            if (completed.incrementAndGet() == total) {
-                                finishDeletion();
-                            }
-                        }
-                );
-            }
-        }).addOnFailureListener(e -> {
-            Log.e(TAG, "Failed to get profile for deletion", e);
-            // Still try to delete with what we have
-            AtomicInteger completed = new AtomicInteger(0);
-            int total = userIdsToDelete.size();
-            
-            if (total == 0) {
-                finishDeletion();
-                return;
+        // Get profile userId if available; still delete with what we have if the lookup fails
+        profileRepo.getByDeviceId(deviceId).addOnCompleteListener(task -> {
+            if (task.isSuccessful()) {
+                Profile profile = task.getResult();
+                if (profile != null && profile.getUserId() != null && !userIdsToDelete.contains(profile.getUserId())) {
+                    userIdsToDelete.add(profile.getUserId());
+                }
+            } else {
+                Log.e(TAG, "Failed to get profile for deletion", task.getException());
             }
-            
-            for (String userId : userIdsToDelete) {
-                notificationService.deleteAllNotificationsForUser(
-                        userId,
-                        () -> {
-                            Log.d(TAG, "Successfully deleted notifications for userId: " + userId);
-                            if (completed.incrementAndGet() == total) {
-                                finishDeletion();
-                            }
-                        },
-                        error -> {
-                            Log.e(TAG, "Failed to delete notifications for userId: " + userId + ": " + error);
-                            if (completed.incrementAndGet() == total) {
-                                finishDeletion();
-                            }
+
+            CancellationTokenSource cancellation = new CancellationTokenSource();
+            deleteCancellation = cancellation;
+            notificationService.deleteAllNotificationsForUsers(
+                    userIdsToDelete,
+                    (deleted, found) -> Log.d(TAG, "Deleted " + deleted + "/" + found + " notifications"),
+                    cancellation.getToken(),
+                    () -> {
+                        deleteCancellation = null;
+                        if (cancellation.getToken().isCancellationRequested()) {
+                            // Stopped part-way: some docs remain, so reload the inbox from Firestore
+                            inboxStore.requestFullSync(deviceId);
+                        } else {
+                            inboxStore.deleteAllFor(userIdsToDelete);
                         }
-                );
-            }
+                        if (!isFinishing() && !isDestroyed()) finishDeletion();
+                    },
+                    error -> {
+                        deleteCancellation = null;
+                        Log.e(TAG, "Failed to delete notifications for " + userIdsToDelete + ": " + error);
+                        // Some batches may have gone through; the local copy can't be trusted
+                        inboxStore.requestFullSync(deviceId);
+                        // Still refresh so the list shows whatever remains
+                        if (!isFinishing() && !isDestroyed()) finishDeletion();
+                    }
+            );
         });
     }
 
+    @Override
+    protected void onStop() {
+        super.onStop();
+        // Write pending read/dismiss actions when leaving the screen
+        readReceipts.flush();
+    }
+
+    @Override
+    protected void onDestroy() {
+        // Stop issuing new delete batches once the screen is gone
+        if (deleteCancellation != null) {
+            deleteCancellation.cancel();
+            deleteCancellation = null;
+        }
+        super.onDestroy();
+    }
+
     /**
      * Finalizes the deletion process by refreshing the UI.
      */
@@ -553,6 +734,7 @@ public class EntrantNotificationsActivity extends AppCompatActivity {
         profileRepo.update(profileId, updates)
                 .addOnSuccessListener(v -> {
                     currentProfile.setNotificationsEnabled(enabled);
+                    OptOutCache.invalidate();
                     Log.d(TAG, "Notification preference updated: " + enabled);
                 })
                 .addOnFailureListener(err -> {
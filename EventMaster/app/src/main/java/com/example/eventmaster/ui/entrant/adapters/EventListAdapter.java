@@ -7,11 +7,13 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
 import com.example.eventmaster.R;
 import com.example.eventmaster.model.Event;
+import com.example.eventmaster.ui.shared.adapters.RowListAdapter;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -20,12 +22,17 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * RecyclerView adapter for displaying a list of events to entrants.
  * Uses item_event_card_entrant.xml for the card layout.
+ *
+ * Cards are {@link EventRow}s built off the main thread (see
+ * {@link RowListAdapter}); a new page or a waiting-list count only rebinds
+ * the cards that actually changed.
  */
-public class EventListAdapter extends RecyclerView.Adapter<EventListAdapter.EventViewHolder> {
+public class EventListAdapter extends RowListAdapter<EventListAdapter.EventRow, EventListAdapter.EventViewHolder> {
 
     public interface OnEventClickListener {
         void onEventClick(Event event);
@@ -44,36 +51,30 @@ public class EventListAdapter extends RecyclerView.Adapter<EventListAdapter.Even
     /** Set waiting list counts map and refresh the display. */
     public void setWaitingListCounts(@NonNull Map<String, Integer> counts) {
         this.waitingListCounts = new HashMap<>(counts);
-        notifyDataSetChanged();
+        refresh();
     }
 
     /** Replace current events and refresh list. */
     public void setEvents(@NonNull List<Event> newEvents) {
-        this.events = newEvents;
-        notifyDataSetChanged();
+        this.events = new ArrayList<>(newEvents);
+        refresh();
     }
 
-    /** Filter helper. */
-    public void filter(@NonNull String query, @NonNull List<Event> allEvents) {
-        String q = query.trim().toLowerCase(Locale.getDefault());
-        if (q.isEmpty()) {
-            setEvents(allEvents);
-            return;
-        }
+    /** Number of events last passed to {@link #setEvents}, including rows still being built. */
+    public int getEventCount() {
+        return events.size();
+    }
 
-        List<Event> filtered = new ArrayList<>();
-        for (Event e : allEvents) {
-            if (e == null) continue;
-            String name = safe(e.getName());
-            String desc = safe(e.getDescription());
-            String loc  = safe(e.getLocation());
-            if (name.toLowerCase().contains(q)
-                    || desc.toLowerCase().contains(q)
-                    || loc.toLowerCase().contains(q)) {
-                filtered.add(e);
-            }
-        }
-        setEvents(filtered);
+    /** Event of the row currently shown at {@code position}, or null if out of range. */
+    @Nullable
+    public Event getEventAt(int position) {
+        return position >= 0 && position < getItemCount() ? getItem(position).event : null;
+    }
+
+    private void refresh() {
+        Map<String, Integer> counts = waitingListCounts;
+        SimpleDateFormat fmt = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
+        submitItems(events, e -> new EventRow(e, counts, fmt));
     }
 
     @NonNull
@@ -81,21 +82,87 @@ public class EventListAdapter extends RecyclerView.Adapter<EventListAdapter.Even
     public EventViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View v = LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.entrant_item_event_card, parent, false);
-        return new EventViewHolder(v);
+        EventViewHolder holder = new EventViewHolder(v);
+        v.setOnClickListener(view -> {
+            EventRow row = rowFor(holder);
+            if (row != null) listener.onEventClick(row.event);
+        });
+        return holder;
     }
 
     @Override
     public void onBindViewHolder(@NonNull EventViewHolder holder, int position) {
-        holder.bind(events.get(position), listener, waitingListCounts);
+        holder.bind(getItem(position));
     }
 
-    @Override
-    public int getItemCount() {
-        return events.size();
-    }
+    /** Preformatted card content for one event. */
+    static final class EventRow extends RowListAdapter.Row {
+        final Event event;
+        final String title;
+        @Nullable final String description; // null hides the line
+        final String location;
+        final String dates;
+        final String waitingList;
+        @Nullable final String posterUrl;
+
+        EventRow(Event event, Map<String, Integer> waitingListCounts, SimpleDateFormat fmt) {
+            super(event.getId());
+            this.event = event;
+            this.title = safe(event.getName(), "Unnamed Event");
+
+            String desc = event.getDescription();
+            this.description = desc != null && !desc.trim().isEmpty() ? desc : null;
+
+            this.location = safe(event.getLocation(), "Location TBA");
+
+            // Showing actual event date, not registration dates
+            Date eventDate = event.getEventDate();
+            Date regStart = event.getRegistrationStartDate();
+            Date regEnd = event.getRegistrationEndDate();
+            if (eventDate != null) {
+                String eventDateText = fmt.format(eventDate);
+                // If event spans multiple days, show range
+                if (regStart != null && regEnd != null && regEnd.after(eventDate)) {
+                    this.dates = eventDateText + " - " + fmt.format(regEnd);
+                } else {
+                    this.dates = eventDateText;
+                }
+            } else if (regStart != null && regEnd != null) {
+                // Fallback to registration dates if event date not available
+                this.dates = fmt.format(regStart) + " - " + fmt.format(regEnd);
+            } else {
+                this.dates = "Dates TBA";
+            }
+
+            String eventId = event.getId();
+            int count = eventId != null ? waitingListCounts.getOrDefault(eventId, 0) : 0;
+            this.waitingList = count == 1 ? "1 person on waiting list" : count + " people on waiting list";
+
+            String poster = event.getPosterUrl();
+            this.posterUrl = poster != null && !poster.isEmpty() ? poster : null;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof EventRow)) return false;
+            EventRow r = (EventRow) o;
+            return title.equals(r.title)
+                    && Objects.equals(description, r.description)
+                    && location.equals(r.location)
+                    && dates.equals(r.dates)
+                    && waitingList.equals(r.waitingList)
+                    && Objects.equals(posterUrl, r.posterUrl);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(title, description, location, dates, waitingList, posterUrl);
+        }
 
-    private static String safe(String s) {
-        return s == null ? "" : s;
+        private static String safe(String s, String fallback) {
+            return (s == null || s.isEmpty()) ? fallback : s;
+        }
     }
 
     /** ViewHolder matching item_event_card_entrant.xml */
@@ -122,59 +189,19 @@ public class EventListAdapter extends RecyclerView.Adapter<EventListAdapter.Even
             waitingListCount = itemView.findViewById(R.id.txtWaitingListCount);
         }
 
-        void bind(Event event, OnEventClickListener listener, Map<String, Integer> waitingListCounts) {
-            // ---------- Title ----------
-            title.setText(safe(event.getName(), "Unnamed Event"));
+        void bind(EventRow row) {
+            title.setText(row.title);
 
-            // ---------- Description ----------
-            String desc = event.getDescription();
-            if (desc != null && !desc.trim().isEmpty()) {
-                description.setText(desc);
+            if (row.description != null) {
+                description.setText(row.description);
                 description.setVisibility(View.VISIBLE);
             } else {
                 description.setVisibility(View.GONE);
             }
 
-            // ---------- Location ----------
-            location.setText(safe(event.getLocation(), "Location TBA"));
-
-            // ---------- Event Dates (showing actual event date, not registration dates) ----------
-            if (event.getEventDate() != null) {
-                SimpleDateFormat fmt = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
-                String eventDateText = fmt.format(event.getEventDate());
-                
-                // If event spans multiple days, try to show range
-                if (event.getRegistrationStartDate() != null && event.getRegistrationEndDate() != null) {
-                    Date regEnd = event.getRegistrationEndDate();
-                    if (regEnd.after(event.getEventDate())) {
-                        // Event might span days, show range
-                        String endDateText = fmt.format(regEnd);
-                        dates.setText(eventDateText + " - " + endDateText);
-                    } else {
-                        dates.setText(eventDateText);
-                    }
-                } else {
-                    dates.setText(eventDateText);
-                }
-            } else if (event.getRegistrationStartDate() != null && event.getRegistrationEndDate() != null) {
-                // Fallback to registration dates if event date not available
-                SimpleDateFormat fmt = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
-                String startText = fmt.format(event.getRegistrationStartDate());
-                String endText = fmt.format(event.getRegistrationEndDate());
-                dates.setText(startText + " - " + endText);
-            } else {
-                dates.setText("Dates TBA");
-            }
-
-            // ---------- Waiting List Count ----------
-            String eventId = event.getId();
-            int count = (waitingListCounts != null && eventId != null) 
-                    ? waitingListCounts.getOrDefault(eventId, 0) : 0;
-            if (count == 1) {
-                waitingListCount.setText("1 person on waiting list");
-            } else {
-                waitingListCount.setText(count + " people on waiting list");
-            }
+            location.setText(row.location);
+            dates.setText(row.dates);
+            waitingListCount.setText(row.waitingList);
 
             // ---------- Badge Status ----------
             // TODO: Show badge if user is on waitlist - needs user context
@@ -185,27 +212,15 @@ public class EventListAdapter extends RecyclerView.Adapter<EventListAdapter.Even
             categoryChip.setVisibility(View.GONE);
 
             // ---------- Poster ----------
-            String posterUrl = event.getPosterUrl();
-            if (posterUrl != null && !posterUrl.isEmpty()) {
+            if (row.posterUrl != null) {
                 Glide.with(itemView.getContext())
-                        .load(posterUrl)
+                        .load(row.posterUrl)
                         .placeholder(R.drawable.ic_launcher_background)
                         .centerCrop()
                         .into(poster);
             } else {
                 poster.setImageResource(R.drawable.ic_launcher_background);
             }
-
-            // ---------- Clicks ----------
-            itemView.setOnClickListener(v -> {
-                if (listener != null) listener.onEventClick(event);
-            });
-
-            // Remove poster-specific click handler since entire card is clickable
-        }
-
-        private static String safe(String s, String fallback) {
-            return (s == null || s.isEmpty()) ? fallback : s;
         }
     }
 }
@@ -13,10 +13,11 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.eventmaster.R;
 import com.example.eventmaster.model.Notification;
+import com.example.eventmaster.ui.shared.adapters.RowListAdapter;
 import com.example.eventmaster.utils.TimeUtils;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * RecyclerView adapter for displaying notifications in the entrant notifications inbox.
@@ -24,9 +25,8 @@ import java.util.List;
  * 
  * Implements US 01.04.01 (receive win notification) and US 01.04.02 (receive loss notification).
  */
-public class NotificationsAdapter extends RecyclerView.Adapter<NotificationsAdapter.NotificationViewHolder> {
+public class NotificationsAdapter extends RowListAdapter<NotificationsAdapter.NotificationRow, NotificationsAdapter.NotificationViewHolder> {
 
-    private List<Notification> notifications;
     private OnNotificationClickListener clickListener;
 
     /**
@@ -40,7 +40,6 @@ public class NotificationsAdapter extends RecyclerView.Adapter<NotificationsAdap
      * Creates a new adapter with an empty list.
      */
     public NotificationsAdapter() {
-        this.notifications = new ArrayList<>();
     }
 
     /**
@@ -49,7 +48,7 @@ public class NotificationsAdapter extends RecyclerView.Adapter<NotificationsAdap
      * @param notifications List of notifications
      */
     public NotificationsAdapter(List<Notification> notifications) {
-        this.notifications = notifications != null ? notifications : new ArrayList<>();
+        updateNotifications(notifications);
     }
 
     /**
@@ -62,22 +61,23 @@ public class NotificationsAdapter extends RecyclerView.Adapter<NotificationsAdap
     }
 
     /**
-     * Updates the list of notifications and refreshes the view.
+     * Updates the list of notifications; only changed cards are rebound.
+     * Relative timestamps ("5 minutes ago") are computed as of this call.
      * 
      * @param newNotifications New list of notifications
      */
     public void updateNotifications(List<Notification> newNotifications) {
-        this.notifications = newNotifications != null ? newNotifications : new ArrayList<>();
-        notifyDataSetChanged();
+        submitItems(newNotifications, NotificationRow::new);
     }
 
     /**
-     * Returns the current list of notifications.
+     * Returns the notification shown at an adapter position.
      * 
-     * @return List of notifications
+     * @param position Adapter position, e.g. from a swiped view holder
+     * @return The notification at that position
      */
-    public List<Notification> getNotifications() {
-        return notifications;
+    public Notification getNotificationAt(int position) {
+        return getItem(position).notification;
     }
 
     @NonNull
@@ -85,113 +85,76 @@ public class NotificationsAdapter extends RecyclerView.Adapter<NotificationsAdap
     public NotificationViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.entrant_item_notification_card, parent, false);
-        return new NotificationViewHolder(view);
+        NotificationViewHolder holder = new NotificationViewHolder(view);
+        view.setOnClickListener(v -> {
+            NotificationRow row = rowFor(holder);
+            if (clickListener != null && row != null) {
+                clickListener.onNotificationClick(row.notification);
+            }
+        });
+        return holder;
     }
 
     @Override
     public void onBindViewHolder(@NonNull NotificationViewHolder holder, int position) {
-        Notification notification = notifications.get(position);
-        holder.bind(notification, clickListener);
-    }
-
-    @Override
-    public int getItemCount() {
-        return notifications.size();
+        holder.bind(getItem(position));
     }
 
     /**
-     * ViewHolder for individual notification items.
+     * Preformatted card content: text, relative time and the styling for
+     * the notification type.
      */
-    static class NotificationViewHolder extends RecyclerView.ViewHolder {
-
-        private final CardView cardView;
-        private final TextView iconText;
-        private final TextView titleText;
-        private final TextView messageText;
-        private final TextView timestampText;
-
-        /**
-         * Creates a new ViewHolder.
-         * 
-         * @param itemView The item view
-         */
-        public NotificationViewHolder(@NonNull View itemView) {
-            super(itemView);
-            cardView = (CardView) itemView;
-            iconText = itemView.findViewById(R.id.notification_icon);
-            titleText = itemView.findViewById(R.id.notification_title);
-            messageText = itemView.findViewById(R.id.notification_message);
-            timestampText = itemView.findViewById(R.id.notification_timestamp);
-        }
-
-        /**
-         * Binds notification data to the view with appropriate styling.
-         * 
-         * @param notification The notification to display
-         * @param clickListener Click listener for the item
-         */
-        public void bind(Notification notification, OnNotificationClickListener clickListener) {
-            // Set title and message
-            titleText.setText(notification.getTitle());
-            messageText.setText(notification.getMessage());
-
-            // Set timestamp
-            String relativeTime = TimeUtils.getRelativeTimeString(notification.getSentAt());
-            timestampText.setText(relativeTime);
-
-            // Style based on notification type
-            applyNotificationStyle(notification.getType());
-
-            // Handle item clicks
-            if (clickListener != null) {
-                itemView.setOnClickListener(v -> clickListener.onNotificationClick(notification));
-            }
-        }
-
-        /**
-         * Applies appropriate styling (background color, icon, text color) based on notification type.
-         * 
-         * @param type The notification type
-         */
-        private void applyNotificationStyle(Notification.NotificationType type) {
-            int backgroundRes;
-            String icon;
-            int titleColor;
-
-            switch (type) {
+    static final class NotificationRow extends RowListAdapter.Row {
+        final Notification notification;
+        final String title;
+        final String message;
+        final String timestamp;
+        final int backgroundRes;
+        final String icon;
+        final int titleColorRes;
+
+        NotificationRow(Notification notification) {
+            super(notification.getNotificationId());
+            this.notification = notification;
+            this.title = notification.getTitle();
+            this.message = notification.getMessage();
+            this.timestamp = TimeUtils.getRelativeTimeString(notification.getSentAt());
+
+            Notification.NotificationType type = notification.getType();
+            switch (type != null ? type : Notification.NotificationType.GENERAL) {
                 case LOTTERY_WON:
                     // Green background for winning lottery
                     backgroundRes = R.drawable.notification_background_success;
                     icon = "✓";
-                    titleColor = ContextCompat.getColor(itemView.getContext(), android.R.color.holo_green_dark);
+                    titleColorRes = android.R.color.holo_green_dark;
                     break;
 
                 case LOTTERY_LOST:
                     // Red background for losing lottery
                     backgroundRes = R.drawable.notification_background_error;
                     icon = "✗";
-                    titleColor = ContextCompat.getColor(itemView.getContext(), android.R.color.holo_red_dark);
+                    titleColorRes = android.R.color.holo_red_dark;
                     break;
 
                 case INVITATION:
                     // Green background for invitations
                     backgroundRes = R.drawable.notification_background_success;
                     icon = "✓";
-                    titleColor = ContextCompat.getColor(itemView.getContext(), android.R.color.holo_green_dark);
+                    titleColorRes = android.R.color.holo_green_dark;
                     break;
 
                 case REMINDER:
                     // Purple background for reminders
                     backgroundRes = R.drawable.notification_background_reminder;
                     icon = "🔔";
-                    titleColor = ContextCompat.getColor(itemView.getContext(), android.R.color.holo_blue_dark);
+                    titleColorRes = android.R.color.holo_blue_dark;
                     break;
 
                 case CANCELLATION:
                     // Red background for cancellations
                     backgroundRes = R.drawable.notification_background_error;
                     icon = "✗";
-                    titleColor = ContextCompat.getColor(itemView.getContext(), android.R.color.holo_red_dark);
+                    titleColorRes = android.R.color.holo_red_dark;
                     break;
 
                 case GENERAL:
@@ -199,19 +162,73 @@ public class NotificationsAdapter extends RecyclerView.Adapter<NotificationsAdap
                     // Beige background for general messages
                     backgroundRes = R.drawable.notification_background_general;
                     icon = "💬";
-                    titleColor = ContextCompat.getColor(itemView.getContext(), android.R.color.darker_gray);
+                    titleColorRes = android.R.color.darker_gray;
                     break;
             }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof NotificationRow)) return false;
+            NotificationRow r = (NotificationRow) o;
+            return Objects.equals(title, r.title)
+                    && Objects.equals(message, r.message)
+                    && timestamp.equals(r.timestamp)
+                    && backgroundRes == r.backgroundRes
+                    && icon.equals(r.icon)
+                    && titleColorRes == r.titleColorRes;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(title, message, timestamp, backgroundRes, icon, titleColorRes);
+        }
+    }
+
+    /**
+     * ViewHolder for individual notification items.
+     */
+    static class NotificationViewHolder extends RecyclerView.ViewHolder {
+
+        private final CardView cardView;
+        private final TextView iconText;
+        private final TextView titleText;
+        private final TextView messageText;
+        private final TextView timestampText;
+
+        /**
+         * Creates a new ViewHolder.
+         * 
+         * @param itemView The item view
+         */
+        public NotificationViewHolder(@NonNull View itemView) {
+            super(itemView);
+            cardView = (CardView) itemView;
+            iconText = itemView.findViewById(R.id.notification_icon);
+            titleText = itemView.findViewById(R.id.notification_title);
+            messageText = itemView.findViewById(R.id.notification_message);
+            timestampText = itemView.findViewById(R.id.notification_timestamp);
+        }
+
+        /**
+         * Binds a preformatted notification row to the view.
+         * 
+         * @param row The row to display
+         */
+        void bind(NotificationRow row) {
+            titleText.setText(row.title);
+            messageText.setText(row.message);
+            timestampText.setText(row.timestamp);
 
             // Apply background
-            Drawable background = ContextCompat.getDrawable(itemView.getContext(), backgroundRes);
+            Drawable background = ContextCompat.getDrawable(itemView.getContext(), row.backgroundRes);
             cardView.setCardBackgroundColor(android.graphics.Color.TRANSPARENT);
             itemView.setBackground(background);
 
             // Set icon and title color
-            iconText.setText(icon);
-            titleText.setTextColor(titleColor);
+            iconText.setText(row.icon);
+            titleText.setTextColor(ContextCompat.getColor(itemView.getContext(), row.titleColorRes));
         }
     }
 }
-
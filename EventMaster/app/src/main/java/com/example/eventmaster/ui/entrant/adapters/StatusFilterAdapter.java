@@ -32,6 +32,7 @@ public class StatusFilterAdapter extends RecyclerView.Adapter<StatusFilterAdapte
 
     public StatusFilterAdapter(@NonNull StatusFilterListener listener) {
         this.listener = listener;
+        setHasStableIds(true);
     }
 
     public void setCounts(int total, int open, int closed, int done) {
@@ -66,6 +67,11 @@ public class StatusFilterAdapter extends RecyclerView.Adapter<StatusFilterAdapte
         return 1;
     }
 
+    @Override
+    public long getItemId(int position) {
+        return 0; // the single chip bar
+    }
+
     class StatusViewHolder extends RecyclerView.ViewHolder {
         final LinearLayout chipAll;
         final LinearLayout chipOpen;
@@ -27,7 +27,10 @@ import com.bumptech.glide.Glide;
 import com.example.eventmaster.R;
 import com.example.eventmaster.data.api.EventRepository;
 import com.example.eventmaster.data.api.WaitingListRepository;
+import com.example.eventmaster.data.firestore.EventDetailPrefetcher;
 import com.example.eventmaster.data.firestore.EventRepositoryFs;
+import com.example.eventmaster.data.firestore.NotificationCounterFs;
+import com.example.eventmaster.data.firestore.NotificationDigestFs;
 import com.example.eventmaster.data.firestore.ProfileRepositoryFs;
 import com.example.eventmaster.data.firestore.WaitingListRepositoryFs;
 import com.example.eventmaster.data.firestore.InvitationServiceFs;
@@ -35,6 +38,7 @@ import com.example.eventmaster.data.firestore.RegistrationServiceFs;
 import com.example.eventmaster.model.Event;
 import com.example.eventmaster.model.Invitation;
 import com.example.eventmaster.model.Profile;
+import com.example.eventmaster.model.ProfileSummary;
 import com.example.eventmaster.model.WaitingListEntry;
 import com.example.eventmaster.utils.DeviceUtils;
 import com.google.android.material.button.MaterialButton;
@@ -76,6 +80,7 @@ public class EventDetailsFragment extends Fragment {
 
     private String eventId;
     private Event currentEvent;
+    private String fullDescription; // from the detail doc; the event only carries a preview
     private String userId;
     private boolean isInWaitingList = false;  // Track if user is in waiting list
 
@@ -158,82 +163,45 @@ public class EventDetailsFragment extends Fragment {
     }
 
     /**
-     * Retrieves the user's profile using the device ID. If no existing profile
-     * is found, it tries to get Firebase UID and create profile properly.
+     * Retrieves the user's profile by device ID or Firebase UID, whichever is
+     * known, via identity aliases. If neither resolves and the user is signed
+     * in, a profile keyed by the Firebase UID is created.
      * This ensures that every entrant interacting with the system has a valid profile record.
      */
     private void loadUserProfile() {
-        profileRepo.getByDeviceId(userId)
+        com.google.firebase.auth.FirebaseUser firebaseUser = com.google.firebase.auth.FirebaseAuth.getInstance().getCurrentUser();
+        String uid = firebaseUser != null ? firebaseUser.getUid() : null;
+
+        profileRepo.getByAnyId(userId, uid)
                 .addOnSuccessListener(profile -> {
                     if (profile != null) {
+                        // Found by UID on an older profile: attach this device
+                        if (profile.getDeviceId() == null || profile.getDeviceId().isEmpty()) {
+                            profile.setDeviceId(userId);
+                            profileRepo.upsert(profile);
+                        }
                         currentProfile = profile;
-                        Log.d(TAG, "Loaded profile for device: " + profile.getName());
+                        Log.d(TAG, "Loaded profile: " + profile.getName());
+                    } else if (uid != null) {
+                        // No profile by either id, create new one with Firebase UID
+                        Profile newProf = new Profile();
+                        newProf.setUserId(uid);
+                        newProf.setDeviceId(userId);
+                        newProf.setName("Guest User");
+                        newProf.setEmail("");
+                        newProf.setRole("entrant");
+                        newProf.setActive(true);
+                        newProf.setBanned(false);
+                        profileRepo.upsert(newProf);
+                        currentProfile = newProf;
+                        Log.d(TAG, "Created new profile with Firebase UID.");
                     } else {
-                        // No profile found by deviceId
-                        // Check if user is signed in with Firebase
-                        com.google.firebase.auth.FirebaseUser firebaseUser = com.google.firebase.auth.FirebaseAuth.getInstance().getCurrentUser();
-                        if (firebaseUser != null && firebaseUser.getUid() != null) {
-                            // User is signed in, check profile by Firebase UID
-                            profileRepo.get(firebaseUser.getUid())
-                                    .addOnSuccessListener(existingProfile -> {
-                                        if (existingProfile != null) {
-                                            // Profile exists by UID, update deviceId if needed
-                                            if (existingProfile.getDeviceId() == null || existingProfile.getDeviceId().isEmpty()) {
-                                                existingProfile.setDeviceId(userId);
-                                                profileRepo.upsert(existingProfile);
-                                            }
-                                            currentProfile = existingProfile;
-                                            Log.d(TAG, "Loaded profile by Firebase UID: " + existingProfile.getName());
-                                        } else {
-                                            // No profile by UID either, create new one with Firebase UID
-                                            Profile newProf = new Profile();
-                                            newProf.setUserId(firebaseUser.getUid());
-                                            newProf.setDeviceId(userId);
-                                            newProf.setName("Guest User");
-                                            newProf.setEmail("");
-                                            newProf.setRole("entrant");
-                                            newProf.setActive(true);
-                                            newProf.setBanned(false);
-                                            profileRepo.upsert(newProf);
-                                            currentProfile = newProf;
-                                            Log.d(TAG, "Created new profile with Firebase UID.");
-                                        }
-                                    })
-                                    .addOnFailureListener(e -> {
-                                        // Error getting by UID, create new profile with Firebase UID
-                                        Profile newProf = new Profile();
-                                        newProf.setUserId(firebaseUser.getUid());
-                                        newProf.setDeviceId(userId);
-                                        newProf.setName("Guest User");
-                                        newProf.setEmail("");
-                                        newProf.setRole("entrant");
-                                        newProf.setActive(true);
-                                        newProf.setBanned(false);
-                                        profileRepo.upsert(newProf);
-                                        currentProfile = newProf;
-                                        Log.d(TAG, "Created new profile with Firebase UID (fallback).");
-                                    });
-                        } else {
-                            // Not signed in - this shouldn't happen for entrants, but handle gracefully
-                            Log.w(TAG, "No Firebase user signed in, cannot create profile properly");
-                            // Don't create profile with deviceId as userId - wait for proper sign-in
-                        }
+                        // Not signed in - this shouldn't happen for entrants, but handle gracefully
+                        Log.w(TAG, "No Firebase user signed in, cannot create profile properly");
+                        // Don't create profile with deviceId as userId - wait for proper sign-in
                     }
                 })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Profile load failed", e);
-                    // Try to get Firebase user as fallback
-                    com.google.firebase.auth.FirebaseUser firebaseUser = com.google.firebase.auth.FirebaseAuth.getInstance().getCurrentUser();
-                    if (firebaseUser != null && firebaseUser.getUid() != null) {
-                        profileRepo.get(firebaseUser.getUid())
-                                .addOnSuccessListener(profile -> {
-                                    if (profile != null) {
-                                        currentProfile = profile;
-                                        Log.d(TAG, "Loaded profile by Firebase UID (fallback): " + profile.getName());
-                                    }
-                                });
-                    }
-                });
+                .addOnFailureListener(e -> Log.e(TAG, "Profile load failed", e));
     }
 
     @Nullable
@@ -302,13 +270,29 @@ public class EventDetailsFragment extends Fragment {
         }
     }
 
-    /** Loads event details from Firestore and displays them. */
+    /**
+     * Loads event details from Firestore and displays them. On first open, a
+     * fresh snapshot warmed by the event list stands in for the event, detail
+     * and count reads.
+     */
     private void loadEventDetails() {
+        EventDetailPrefetcher prefetcher = EventDetailPrefetcher.getInstance();
+        if (currentEvent == null) {
+            EventDetailPrefetcher.Snapshot warm = prefetcher.peek(eventId);
+            if (warm != null) {
+                showSnapshot(warm);
+                return;
+            }
+        } else {
+            prefetcher.invalidate(eventId); // refreshing after a join or exit; the count has moved
+        }
+
         eventRepository.getEventById(eventId, new EventRepository.OnEventListener() {
             @Override
             public void onSuccess(Event event) {
                 currentEvent = event;
                 displayEventDetails(event);
+                loadFullDescription();
                 loadWaitingListCountWithLimit(event);
                 // loadWaitingListCount(); CODE CHECK
             }
@@ -321,6 +305,32 @@ public class EventDetailsFragment extends Fragment {
         });
     }
 
+    /** Renders a prefetched snapshot, reading only the pieces it is missing. */
+    private void showSnapshot(@NonNull EventDetailPrefetcher.Snapshot warm) {
+        currentEvent = warm.event;
+        if (warm.description != null) fullDescription = warm.description;
+        displayEventDetails(warm.event);
+        if (warm.organizerName != null && !warm.organizerName.isEmpty()) {
+            organizerText.setText("Hosted by: " + warm.organizerName);
+        }
+        loadFullDescription();
+        if (warm.waitingListCount != null) {
+            showWaitingListState(warm.waitingListCount, warm.event.getWaitingListLimit());
+        } else {
+            loadWaitingListCountWithLimit(warm.event);
+        }
+    }
+
+    /** Replaces the preview with the full description, read once per screen. */
+    private void loadFullDescription() {
+        if (fullDescription != null) return;
+        eventRepository.getEventDetails(eventId).addOnSuccessListener(details -> {
+            if (!isAdded() || details.description == null) return;
+            fullDescription = details.description;
+            descriptionText.setText(fullDescription);
+        });
+    }
+
     /** Sets up real-time listener for invitation changes
      * If an invitation exists, the invitation UI is shown. If no invitation
      * is found, the join waiting list button is shown. Automatically calls
@@ -515,6 +525,22 @@ public class EventDetailsFragment extends Fragment {
             return;
         }
 
+        // One counter read answers "anything unread at all?" - only then run the filtered query
+        new NotificationCounterFs().getUnreadCount(userId)
+                .addOnSuccessListener(unread -> {
+                    if (unread != null && unread == 0) {
+                        checkIfCanRejoinForReplacement();
+                    } else {
+                        queryReplacementLotteryNotification();
+                    }
+                })
+                .addOnFailureListener(e -> queryReplacementLotteryNotification());
+    }
+
+    /**
+     * Looks for an unread REPLACEMENT_LOTTERY_AVAILABLE notification for this event.
+     */
+    private void queryReplacementLotteryNotification() {
         FirebaseFirestore db = FirebaseFirestore.getInstance();
 
         // Check if user has a replacement lottery notification for this event
@@ -675,31 +701,27 @@ public class EventDetailsFragment extends Fragment {
         String organizerId = event.getOrganizerId();
 
         if (organizerId != null) {
-            FirebaseFirestore.getInstance()
-                    .collection("profiles")
-                    .document(organizerId)
-                    .get()
-                    .addOnSuccessListener(profileDoc -> {
-                        if (profileDoc.exists()) {
-                            String organizerName = profileDoc.getString("name");
-
-                            if (organizerName != null && !organizerName.isEmpty()) {
-                                organizerText.setText("Hosted by: " + organizerName);
-                            } else {
-                                organizerText.setText("Hosted by: " + organizerId);
-                            }
-
+            // Through the profile cache, which the list's prefetch has usually filled
+            profileRepo.get(organizerId)
+                    .addOnSuccessListener(organizer -> {
+                        if (!isAdded()) return;
+                        String organizerName = organizer != null ? organizer.getName() : null;
+                        if (organizerName != null && !organizerName.isEmpty()) {
+                            organizerText.setText("Hosted by: " + organizerName);
                         } else {
                             organizerText.setText("Hosted by: " + organizerId);
                         }
                     })
-                    .addOnFailureListener(e -> organizerText.setText("Hosted by: " + organizerId));
+                    .addOnFailureListener(e -> {
+                        if (isAdded()) organizerText.setText("Hosted by: " + organizerId);
+                    });
         } else {
             organizerText.setText("Hosted by: Unknown");
         }
 
         locationText.setText(event.getLocation() != null ? event.getLocation() : "Location TBA");
-        descriptionText.setText(event.getDescription() != null ? event.getDescription() : "No description available");
+        String description = fullDescription != null ? fullDescription : event.getDescription();
+        descriptionText.setText(description != null ? description : "No description available");
 
         // Price formatting
         if (event.getPrice() % 1 == 0) {
@@ -767,56 +789,67 @@ public class EventDetailsFragment extends Fragment {
         waitingListRepository.getWaitingListCount(eventId, new WaitingListRepository.OnCountListener() {
             @Override
             public void onSuccess(int count) {
-                waitingListCountText.setText(String.valueOf(count));
+                showWaitingListState(count, waitingLimit);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                waitingListCountText.setText("Unable to load waiting list count");
+            }
+        });
+    }
 
-                // CODE CHECK START
+    /**
+     * Shows the waiting list count and sets the join button from the
+     * entrant's membership and the organizer's limit.
+     *
+     * @param count        entrants currently on the waiting list
+     * @param waitingLimit the event's waiting list limit; null or 0 = unlimited
+     */
+    private void showWaitingListState(int count, Integer waitingLimit) {
+        waitingListCountText.setText(String.valueOf(count));
 
-                // If user is already in the WL → always allow them to leave
-                waitingListRepository.isUserInWaitingList(eventId, userId, new WaitingListRepository.OnCheckListener() {
-                    @Override
-                    public void onSuccess(boolean exists) {
+        // CODE CHECK START
 
-                        isInWaitingList = exists;
+        // If user is already in the WL → always allow them to leave
+        waitingListRepository.isUserInWaitingList(eventId, userId, new WaitingListRepository.OnCheckListener() {
+            @Override
+            public void onSuccess(boolean exists) {
 
-                        // If user already joined → allow them to exit even if full
-                        if (exists) {
-                            joinButton.setEnabled(true);
-                            joinButton.setText("Exit Waiting List");
-                            return;
-                        }
+                isInWaitingList = exists;
 
-                        // --- If no limit set → normal behaviour ---
-                        if (waitingLimit == null || waitingLimit == 0) {
-                            joinButton.setEnabled(true);
-                            joinButton.setText("Join Waiting List");
-                            return;
-                        }
+                // If user already joined → allow them to exit even if full
+                if (exists) {
+                    joinButton.setEnabled(true);
+                    joinButton.setText("Exit Waiting List");
+                    return;
+                }
 
-                        // --- If FULL → disable joining ---
-                        if (count >= waitingLimit) {
-                            joinButton.setEnabled(false);
-                            joinButton.setText("Waiting List Full");
-                        } else {
-                            joinButton.setEnabled(true);
-                            joinButton.setText("Join Waiting List");
-                        }
-                    }
+                // --- If no limit set → normal behaviour ---
+                if (waitingLimit == null || waitingLimit == 0) {
+                    joinButton.setEnabled(true);
+                    joinButton.setText("Join Waiting List");
+                    return;
+                }
 
-                    @Override
-                    public void onFailure(Exception e) {
-                        joinButton.setEnabled(true);
-                        joinButton.setText("Join Waiting List");
-                    }
-                });
+                // --- If FULL → disable joining ---
+                if (count >= waitingLimit) {
+                    joinButton.setEnabled(false);
+                    joinButton.setText("Waiting List Full");
+                } else {
+                    joinButton.setEnabled(true);
+                    joinButton.setText("Join Waiting List");
+                }
             }
 
-            // CODE CHECK END ^
-
             @Override
             public void onFailure(Exception e) {
-                waitingListCountText.setText("Unable to load waiting list count");
+                joinButton.setEnabled(true);
+                joinButton.setText("Join Waiting List");
             }
         });
+
+        // CODE CHECK END ^
     }
 
     private void showQrDialog() {
@@ -1218,6 +1251,7 @@ public class EventDetailsFragment extends Fragment {
                     joinButton.setText("Join Waiting List");
                     joinButton.setBackgroundTintList(android.content.res.ColorStateList.valueOf(0xFF3D8B87)); // Teal color
                     joinButton.setEnabled(true);
+                    EventDetailPrefetcher.getInstance().invalidate(eventId);
                     if (currentEvent != null) {
                         loadWaitingListCountWithLimit(currentEvent);
                     }
@@ -1266,11 +1300,9 @@ public class EventDetailsFragment extends Fragment {
             notification.put("isRead", false);
             notification.put("sentAt", com.google.firebase.Timestamp.now());
             
-            db.collection("notifications")
-                    .add(notification)
+            NotificationDigestFs.addOrDigest(db, notification)
                     .addOnSuccessListener(docRef -> {
                         Log.d(TAG, "✅ Sent waiting list notification to deviceId: " + deviceIdForNotification);
-                        docRef.update("notificationId", docRef.getId());
                     })
                     .addOnFailureListener(e -> Log.e(TAG, "❌ Failed to send notification", e));
         };
@@ -1370,11 +1402,9 @@ public class EventDetailsFragment extends Fragment {
                                 notification.put("isRead", false);
                                 notification.put("sentAt", com.google.firebase.Timestamp.now());
                                 
-                                db.collection("notifications")
-                                        .add(notification)
+                                NotificationCounterFs.addNotification(db, notification)
                                         .addOnSuccessListener(docRef -> {
                                             Log.d(TAG, "✅ Sent invitation accepted notification to userId: " + recipientUserId);
-                                            docRef.update("notificationId", docRef.getId());
                                         })
                                         .addOnFailureListener(e -> Log.e(TAG, "❌ Failed to send notification", e));
                             }
@@ -1398,11 +1428,9 @@ public class EventDetailsFragment extends Fragment {
                                 notification.put("isRead", false);
                                 notification.put("sentAt", com.google.firebase.Timestamp.now());
                                 
-                                db.collection("notifications")
-                                        .add(notification)
+                                NotificationCounterFs.addNotification(db, notification)
                                         .addOnSuccessListener(docRef -> {
                                             Log.d(TAG, "✅ Sent invitation accepted notification (fallback) to userId: " + recipientUserId);
-                                            docRef.update("notificationId", docRef.getId());
                                         })
                                         .addOnFailureListener(err -> Log.e(TAG, "❌ Failed to send notification", err));
                             }
@@ -1435,11 +1463,9 @@ public class EventDetailsFragment extends Fragment {
                             notification.put("isRead", false);
                             notification.put("sentAt", com.google.firebase.Timestamp.now());
                             
-                            db.collection("notifications")
-                                    .add(notification)
+                            NotificationCounterFs.addNotification(db, notification)
                                     .addOnSuccessListener(docRef -> {
                                         Log.d(TAG, "✅ Sent invitation accepted notification to userId: " + recipientUserId + " (profile fetch failed)");
-                                        docRef.update("notificationId", docRef.getId());
                                     })
                                     .addOnFailureListener(err -> Log.e(TAG, "❌ Failed to send notification", err));
                         }
@@ -1479,6 +1505,9 @@ public class EventDetailsFragment extends Fragment {
         reg.put("entrantId", entrantId);
         reg.put("status", "CANCELLED_BY_ORGANIZER");
         reg.put("cancelledAtUtc", new Date());
+        if (currentProfile != null) {
+            reg.put("profileSummary", ProfileSummary.from(currentProfile).toMap());
+        }
 
         DocumentReference regRef = db.collection("events")
                 .document(eventId)
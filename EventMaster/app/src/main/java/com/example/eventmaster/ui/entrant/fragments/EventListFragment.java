@@ -3,6 +3,7 @@ package com.example.eventmaster.ui.entrant.fragments;
 import android.Manifest;
 import android.content.Intent;
 import android.content.pm.PackageManager;
+import android.location.Location;
 import android.os.Bundle;
 import android.text.Editable;
 import android.text.TextWatcher;
@@ -26,16 +27,22 @@ import androidx.annotation.Nullable;
 import androidx.core.app.ActivityCompat;
 import androidx.appcompat.app.AlertDialog;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.Lifecycle;
 import androidx.recyclerview.widget.ConcatAdapter;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.eventmaster.R;
+import com.example.eventmaster.data.api.EventQuery;
 import com.example.eventmaster.data.api.EventRepository;
 import com.example.eventmaster.data.api.WaitingListRepository;
+import com.example.eventmaster.data.firestore.EventDetailPrefetcher;
 import com.example.eventmaster.data.firestore.EventRepositoryFs;
+import com.example.eventmaster.data.firestore.NotificationCounterFs;
+import com.example.eventmaster.data.firestore.NotificationDigestFs;
 import com.example.eventmaster.data.firestore.ProfileRepositoryFs;
 import com.example.eventmaster.data.firestore.WaitingListRepositoryFs;
+import com.example.eventmaster.data.local.EventCatalogStore;
 import com.example.eventmaster.model.Event;
 import com.example.eventmaster.model.Profile;
 import com.example.eventmaster.model.WaitingListEntry;
@@ -44,12 +51,17 @@ import com.example.eventmaster.ui.entrant.activities.EntrantNotificationsActivit
 import com.example.eventmaster.ui.entrant.activities.EventDetailsActivity;
 import com.example.eventmaster.ui.entrant.adapters.EventListAdapter;
 import com.example.eventmaster.ui.entrant.adapters.StatusFilterAdapter;
+import com.example.eventmaster.ui.entrant.model.EventFacetIndex;
+import com.example.eventmaster.ui.entrant.model.LiveEventPages;
+import com.example.eventmaster.ui.entrant.model.EventSearcher;
 import com.example.eventmaster.ui.entrant.model.StatusFilter;
 import com.example.eventmaster.ui.shared.activities.ProfileActivity;
 import com.example.eventmaster.ui.shared.activities.QRScannerActivity;
 import com.example.eventmaster.utils.DeviceUtils;
 import com.google.android.gms.location.FusedLocationProviderClient;
 import com.google.android.gms.location.LocationServices;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.checkbox.MaterialCheckBox;
@@ -57,12 +69,17 @@ import com.google.android.material.textfield.TextInputEditText;
 import com.google.firebase.Timestamp;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -84,20 +101,46 @@ public class EventListFragment extends Fragment implements EventListAdapter.OnEv
     private ImageButton qrScannerButton;
     private TextView emptyStateText;
     private BottomNavigationView bottomNavigationView;
+    private ListenerRegistration unreadBadgeListener;
+    private int badgeGeneration; // bumped on stop so a late profile lookup doesn't attach
     private StatusFilterAdapter statusFilterAdapter;
     private ConcatAdapter concatAdapter;
 
-    private List<Event> allEvents = new ArrayList<>();
+    private EventFacetIndex facetIndex = EventFacetIndex.build(new ArrayList<>(), new Date()); // live window, sorted
+    private EventSearcher searcher; // text index over the live window
     private Map<String, Integer> waitingListCounts = new HashMap<>(); // eventId -> count
 
+    // Live paging state (see reloadEvents)
+    private static final int PAGE_SIZE = 20;
+    /** Extend the window when this many rows remain below the fold. */
+    private static final int PREFETCH_ROWS = 5;
+    private LinearLayoutManager layoutManager;
+    private LiveEventPages livePages;
+    private int generation;
+
+    /** Rows above and below the visible ones whose details are warmed once scrolling stops. */
+    private static final int DETAIL_PREFETCH_ROWS = 3;
+    private final EventDetailPrefetcher detailPrefetcher = EventDetailPrefetcher.getInstance();
+
+    // Local mirror of the catalog (see showMirror / syncCatalog)
+    /** Full re-read of the mirror at most once a day; deleted events drop out then. */
+    private static final long FULL_RESYNC_MS = 24L * 60 * 60 * 1000;
+    /** Re-ask for this much before the watermark; updatedAt is sometimes a client clock. */
+    private static final long SYNC_OVERLAP_MS = 5L * 60 * 1000;
+    private EventCatalogStore catalogStore;
+    private boolean showingMirror; // rows come from disk until the live listener delivers
+    private boolean liveDelivered;
+
     // Filter state variables
-    private List<Event> filteredEvents = new ArrayList<>();
     private List<Event> statusFilteredEvents = new ArrayList<>();
     private String sortOrder = "newest"; // "newest" or "oldest"
     private Double maxPrice = null; // null means no price limit
     private String locationFilter = null;
     private List<String> selectedEventTypes = new ArrayList<>(); // List of selected event types for filtering
     private StatusFilter currentStatusFilter = StatusFilter.ALL;
+    private Integer nearRadiusKm = null; // "near me" radius; null means off
+    private static final int[] NEAR_RADII_KM = {5, 10, 25, 50};
+    private Map<String, Double> nearbyDistances; // eventId -> meters, while "near me" results are shown
 
     private static final String TAG = "EventListFragment";
 
@@ -109,114 +152,129 @@ public class EventListFragment extends Fragment implements EventListAdapter.OnEv
         if (statusFilterAdapter != null) {
             statusFilterAdapter.setCurrentFilter(currentStatusFilter);
         }
-        applyStatusFilterAndRefresh();
+        if (nearbyDistances != null) {
+            applyStatusFilterAndRefresh(); // "Near me" results are complete; the tab filters them locally
+            return;
+        }
+        reloadEvents(); // The tab is a server-side predicate; listen to its first page
     }
 
+    /**
+     * Re-applies every filter to the live window through the facet index.
+     * Firestore already applied price, type and the tab's dates; this adds
+     * the location substring and stored-status overrides, and keeps rows
+     * correct when a date passes while the screen is open.
+     */
     private void applyStatusFilterAndRefresh() {
-        if (filteredEvents == null) {
-            filteredEvents = new ArrayList<>();
-        }
-        statusFilteredEvents = new ArrayList<>();
         Date now = new Date();
-        for (Event event : filteredEvents) {
-            EventLifecycleState state = resolveLifecycleState(event, now);
-            if (matchesCurrentFilter(state)) {
-                statusFilteredEvents.add(event);
+        if (facetIndex.isStale(now)) {
+            facetIndex = EventFacetIndex.build(facetIndex.events(), now);
+        }
+        EventFacetIndex.Selection selection = facetIndex.select(new EventFacetIndex.Filter()
+                .setMaxPrice(maxPrice)
+                .setEventTypes(selectedEventTypes)
+                .setLocation(locationFilter)
+                .setStatus(currentStatusFilter)
+                .setNewestFirst("newest".equals(sortOrder)));
+        statusFilteredEvents = selection.events;
+        if (nearbyDistances != null) {
+            // Nearest first; the radius result is complete, so its counts are the tab counts
+            Map<String, Double> distances = nearbyDistances;
+            statusFilteredEvents = new ArrayList<>(statusFilteredEvents);
+            statusFilteredEvents.sort(Comparator.comparingDouble(
+                    e -> distances.getOrDefault(e.getId(), Double.MAX_VALUE)));
+            if (statusFilterAdapter != null) {
+                statusFilterAdapter.setCounts(selection.total, selection.open, selection.closed, selection.done);
             }
         }
 
         CharSequence query = searchEditText != null ? searchEditText.getText() : null;
-        if (query != null && query.length() > 0) {
-            adapter.filter(query.toString(), statusFilteredEvents);
-        } else {
-            adapter.setEvents(statusFilteredEvents);
-        }
+        searcher.searchNow(query != null ? query.toString() : "", statusFilteredEvents, this::showRows);
         // Ensure waiting list counts are always available in adapter
         if (adapter != null && !waitingListCounts.isEmpty()) {
             adapter.setWaitingListCounts(waitingListCounts);
         }
-        updateEmptyState();
-    }
-
-    private boolean matchesCurrentFilter(EventLifecycleState state) {
-        if (currentStatusFilter == StatusFilter.ALL) return true;
-        if (currentStatusFilter == StatusFilter.OPEN && state == EventLifecycleState.OPEN) return true;
-        if (currentStatusFilter == StatusFilter.CLOSED && state == EventLifecycleState.CLOSED) return true;
-        return currentStatusFilter == StatusFilter.DONE && state == EventLifecycleState.DONE;
     }
 
-    private EventLifecycleState resolveLifecycleState(Event event, Date referenceDate) {
-        if (event == null) return EventLifecycleState.OPEN;
-
-        String status = event.getStatus();
-        if (status != null) {
-            String normalized = status.trim().toUpperCase();
-            if ("DONE".equals(normalized) || "COMPLETED".equals(normalized)) {
-                return EventLifecycleState.DONE;
-            }
-            if ("CLOSED".equals(normalized)) {
-                return EventLifecycleState.CLOSED;
-            }
-        }
-
-        Date eventDate = event.getEventDate();
-        if (eventDate != null && !eventDate.after(referenceDate)) {
-            return EventLifecycleState.DONE;
-        }
-
-        Date regEnd = event.getRegistrationEndDate();
-        if (regEnd != null && regEnd.before(referenceDate)) {
-            return EventLifecycleState.CLOSED;
-        }
-
-        return EventLifecycleState.OPEN;
+    /** Search results for the current tab; see {@link EventSearcher}. */
+    private void showRows(List<Event> rows) {
+        if (adapter == null) return;
+        adapter.setEvents(rows);
+        updateEmptyState();
     }
 
+    /**
+     * Tab counts as four count() aggregations over the same filters, so they
+     * cover every matching event rather than just the pages loaded so far.
+     * The location substring filter can't be expressed as a query and is
+     * therefore not reflected in the counts. They are taken when the query
+     * changes, not on every live update.
+     */
     private void updateStatusCounts() {
         if (statusFilterAdapter == null) return;
-        
-        // Count from filteredEvents instead of allEvents to reflect active filters
-        // Use filteredEvents if it exists (even if empty - that means filters resulted in 0 matches)
-        // Only fall back to allEvents if filteredEvents hasn't been initialized yet
-        List<Event> eventsToCount = (filteredEvents != null) 
-            ? filteredEvents 
-            : (allEvents != null ? allEvents : new ArrayList<>());
-        
-        int total = eventsToCount.size();
-        int open = 0;
-        int closed = 0;
-        int done = 0;
+        int gen = generation;
         Date now = new Date();
-        
-        for (Event event : eventsToCount) {
-            EventLifecycleState state = resolveLifecycleState(event, now);
-            switch (state) {
-                case DONE:
-                    done++;
-                    break;
-                case CLOSED:
-                    closed++;
-                    break;
-                case OPEN:
-                default:
-                    open++;
-                    break;
-            }
-        }
+        EventQuery base = buildBaseQuery();
+        List<Task<Long>> counts = Arrays.asList(
+                eventRepository.countEvents(base),
+                eventRepository.countEvents(queryForStatus(base, StatusFilter.OPEN, now)),
+                eventRepository.countEvents(queryForStatus(base, StatusFilter.CLOSED, now)),
+                eventRepository.countEvents(queryForStatus(base, StatusFilter.DONE, now)));
+
+        Tasks.<Long>whenAllSuccess(counts)
+                .addOnSuccessListener(results -> {
+                    if (gen != generation || statusFilterAdapter == null) return;
+                    statusFilterAdapter.setCounts(results.get(0).intValue(), results.get(1).intValue(),
+                            results.get(2).intValue(), results.get(3).intValue());
+                })
+                .addOnFailureListener(e -> Log.w(TAG, "Failed to count events", e));
+    }
 
-        statusFilterAdapter.setCounts(total, open, closed, done);
+    /** Price, type, status and sort from the filter dialog, without the tab. */
+    private EventQuery buildBaseQuery() {
+        return new EventQuery()
+                .setStatuses(EventQuery.BROWSABLE_STATUSES)
+                .setMaxPrice(maxPrice)
+                .setEventTypes(selectedEventTypes)
+                .setNewestFirst("newest".equals(sortOrder));
     }
 
-    private enum EventLifecycleState {
-        OPEN, CLOSED, DONE
+    /**
+     * Date windows matching {@link EventFacetIndex}'s lifecycle rules for a tab:
+     * OPEN = registration still open, CLOSED = registration over but event
+     * upcoming, DONE = event date passed. Events whose stored status
+     * overrides the dates are corrected by the client-side check.
+     */
+    private static EventQuery queryForStatus(EventQuery base, StatusFilter filter, Date now) {
+        switch (filter) {
+            case OPEN:
+                return base.copy().setRegistrationCloseWindow(now, null).setEventDateWindow(now, null);
+            case CLOSED:
+                return base.copy().setRegistrationCloseWindow(null, now).setEventDateWindow(now, null);
+            case DONE:
+                return base.copy().setEventDateWindow(null, now);
+            case ALL:
+            default:
+                return base;
+        }
     }
 
     // --- GEOLOCATION SUPPORT ---
     private Event pendingGeolocationEvent; // Store event requiring location
+    private boolean pendingNearbySearch; // permission asked for "near me"
 
     private final ActivityResultLauncher<String> requestPermissionLauncher =
             registerForActivityResult(new ActivityResultContracts.RequestPermission(), granted -> {
-                if (granted) {
+                if (pendingNearbySearch) {
+                    pendingNearbySearch = false;
+                    if (!granted) {
+                        nearRadiusKm = null;
+                        Toast.makeText(requireContext(),
+                                "Location is required to find events near you",
+                                Toast.LENGTH_SHORT).show();
+                    }
+                    reloadEvents();
+                } else if (granted) {
                     if (pendingGeolocationEvent != null) {
                         fetchLocationAndJoin(pendingGeolocationEvent);
                     }
@@ -241,61 +299,40 @@ public class EventListFragment extends Fragment implements EventListAdapter.OnEv
         
         // Initialize repositories
         eventRepository = new EventRepositoryFs();
+        searcher = new EventSearcher();
+        catalogStore = new EventCatalogStore(requireContext());
         waitingListRepository = new WaitingListRepositoryFs();
         
         // Get device-based user ID
         userId = DeviceUtils.getDeviceId(requireContext());
 
         // --- Load profile for attaching to waiting list entries ---
-        profileRepo.getByDeviceId(userId)
+        // Resolved by deviceId or Firebase UID through identity aliases
+        com.google.firebase.auth.FirebaseUser firebaseUser = com.google.firebase.auth.FirebaseAuth.getInstance().getCurrentUser();
+        String uid = firebaseUser != null ? firebaseUser.getUid() : null;
+        profileRepo.getByAnyId(userId, uid)
                 .addOnSuccessListener(profile -> {
                     if (profile != null) {
-                        currentProfile = profile;
-                    } else {
-                        // No profile found by deviceId
-                        // Check if user is signed in with Firebase
-                        com.google.firebase.auth.FirebaseUser firebaseUser = com.google.firebase.auth.FirebaseAuth.getInstance().getCurrentUser();
-                        if (firebaseUser != null && firebaseUser.getUid() != null) {
-                            // User is signed in, check profile by Firebase UID
-                            profileRepo.get(firebaseUser.getUid())
-                                    .addOnSuccessListener(existingProfile -> {
-                                        if (existingProfile != null) {
-                                            // Profile exists by UID, update deviceId if needed
-                                            if (existingProfile.getDeviceId() == null || existingProfile.getDeviceId().isEmpty()) {
-                                                existingProfile.setDeviceId(userId);
-                                                profileRepo.upsert(existingProfile);
-                                            }
-                                            currentProfile = existingProfile;
-                                        } else {
-                                            // No profile by UID either, create new one with Firebase UID
-                                            Profile newP = new Profile();
-                                            newP.setUserId(firebaseUser.getUid());
-                                            newP.setDeviceId(userId);
-                                            newP.setName("Guest User");
-                                            newP.setEmail("");
-                                            newP.setRole("entrant");
-                                            newP.setActive(true);
-                                            newP.setBanned(false);
-                                            profileRepo.upsert(newP);
-                                            currentProfile = newP;
-                                        }
-                                    })
-                                    .addOnFailureListener(e -> {
-                                        // Error getting by UID, create new profile with Firebase UID
-                                        Profile newP = new Profile();
-                                        newP.setUserId(firebaseUser.getUid());
-                                        newP.setDeviceId(userId);
-                                        newP.setName("Guest User");
-                                        newP.setEmail("");
-                                        newP.setRole("entrant");
-                                        newP.setActive(true);
-                                        newP.setBanned(false);
-                                        profileRepo.upsert(newP);
-                                        currentProfile = newP;
-                                    });
+                        // Found by UID on an older profile: attach this device
+                        if (profile.getDeviceId() == null || profile.getDeviceId().isEmpty()) {
+                            profile.setDeviceId(userId);
+                            profileRepo.upsert(profile);
                         }
-                        // If not signed in, don't create profile - wait for proper sign-in
+                        currentProfile = profile;
+                    } else if (uid != null) {
+                        // No profile by either id, create new one with Firebase UID
+                        Profile newP = new Profile();
+                        newP.setUserId(uid);
+                        newP.setDeviceId(userId);
+                        newP.setName("Guest User");
+                        newP.setEmail("");
+                        newP.setRole("entrant");
+                        newP.setActive(true);
+                        newP.setBanned(false);
+                        profileRepo.upsert(newP);
+                        currentProfile = newP;
                     }
+                    // If not signed in, don't create profile - wait for proper sign-in
                 });
     }
 
@@ -328,21 +365,144 @@ public class EventListFragment extends Fragment implements EventListAdapter.OnEv
         // Setup bottom navigation
         setupBottomNavigation();
 
-        // Load events
-        loadEvents();
+        // Listen to the first page of events (attached in onStart)
+        reloadEvents();
+        syncCatalog();
 
         return view;
     }
 
+    @Override
+    public void onStart() {
+        super.onStart();
+        listenUnreadBadge();
+        // Resumed listeners only receive what changed while the screen was away
+        if (livePages != null) livePages.start();
+        // Snapshots may have expired while the screen was away
+        if (recyclerView != null) recyclerView.post(this::prefetchVisibleDetails);
+    }
+
+    @Override
+    public void onStop() {
+        super.onStop();
+        if (livePages != null) livePages.stop();
+        detailPrefetcher.cancel();
+        badgeGeneration++;
+        if (unreadBadgeListener != null) {
+            unreadBadgeListener.remove();
+            unreadBadgeListener = null;
+        }
+    }
+
+    @Override
+    public void onDestroy() {
+        super.onDestroy();
+        searcher.shutdown();
+    }
+
+    /**
+     * Keeps the Alerts badge in sync with the user's unread counter documents
+     * (single-document listeners instead of loading the whole inbox). Counters
+     * are keyed by recipient, so this sums the same ids the inbox reads: the
+     * Firebase UID, the device ID and the profile's userId.
+     */
+    private void listenUnreadBadge() {
+        if (userId == null || bottomNavigationView == null || unreadBadgeListener != null) return;
+        Set<String> ids = new LinkedHashSet<>();
+        if (FirebaseAuth.getInstance().getCurrentUser() != null) {
+            ids.add(FirebaseAuth.getInstance().getCurrentUser().getUid());
+        }
+        ids.add(userId);
+
+        int gen = ++badgeGeneration;
+        // Continue with the known ids if the profile lookup fails (e.g. offline)
+        profileRepo.getByDeviceId(userId).addOnCompleteListener(task -> {
+            if (gen != badgeGeneration || unreadBadgeListener != null || !isAdded()) return;
+            Profile profile = task.isSuccessful() ? task.getResult() : null;
+            if (profile != null && profile.getUserId() != null) ids.add(profile.getUserId());
+            unreadBadgeListener = new NotificationCounterFs().listenUnreadCount(ids,
+                    unread -> {
+                        if (bottomNavigationView == null) return;
+                        if (unread > 0) {
+                            bottomNavigationView.getOrCreateBadge(R.id.nav_alerts).setNumber(unread.intValue());
+                        } else {
+                            bottomNavigationView.removeBadge(R.id.nav_alerts);
+                        }
+                    },
+                    e -> Log.w(TAG, "Unread badge listener failed", e));
+        });
+    }
+
     /**
      * Sets up the RecyclerView with adapter and layout manager.
      */
     private void setupRecyclerView() {
         adapter = new EventListAdapter(this);
         statusFilterAdapter = new StatusFilterAdapter(this::selectStatusFilter);
-        concatAdapter = new ConcatAdapter(statusFilterAdapter, adapter);
+        // Both children have stable IDs, so rows keep their views across list diffs
+        concatAdapter = new ConcatAdapter(new ConcatAdapter.Config.Builder()
+                .setStableIdMode(ConcatAdapter.Config.StableIdMode.ISOLATED_STABLE_IDS)
+                .build(), statusFilterAdapter, adapter);
         recyclerView.setAdapter(concatAdapter);
-        recyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
+        layoutManager = new LinearLayoutManager(requireContext());
+        recyclerView.setLayoutManager(layoutManager);
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView rv, int dx, int dy) {
+                if (dy <= 0) return;
+                int last = layoutManager.findLastVisibleItemPosition();
+                if (livePages != null && last >= concatAdapter.getItemCount() - PREFETCH_ROWS) {
+                    livePages.loadMore();
+                }
+            }
+
+            @Override
+            public void onScrollStateChanged(@NonNull RecyclerView rv, int newState) {
+                if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+                    prefetchVisibleDetails();
+                } else {
+                    detailPrefetcher.cancel(); // the rows in view are about to change
+                }
+            }
+        });
+        // First rows (and new pages) arrive without any scrolling
+        adapter.registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+            @Override
+            public void onItemRangeInserted(int positionStart, int itemCount) {
+                if (recyclerView.getScrollState() == RecyclerView.SCROLL_STATE_IDLE) {
+                    recyclerView.post(EventListFragment.this::prefetchVisibleDetails);
+                }
+            }
+        });
+    }
+
+    /**
+     * Warms the detail screen for the visible rows and a few either side,
+     * visible ones first, so tapping one opens from memory. The rows' live
+     * events are handed over as they are; mirror rows are skipped, as they
+     * lack fields the detail screen needs.
+     */
+    private void prefetchVisibleDetails() {
+        if (!isResumed() || layoutManager == null || adapter == null || showingMirror) return;
+        int first = layoutManager.findFirstVisibleItemPosition();
+        int last = layoutManager.findLastVisibleItemPosition();
+        if (first == RecyclerView.NO_POSITION) return;
+        // Event rows follow the status tabs in the concat adapter
+        int offset = statusFilterAdapter.getItemCount();
+        List<Event> rows = new ArrayList<>();
+        for (int pos = first; pos <= last; pos++) {
+            addEvent(rows, pos - offset);
+        }
+        for (int i = 1; i <= DETAIL_PREFETCH_ROWS; i++) {
+            addEvent(rows, last + i - offset);
+            addEvent(rows, first - i - offset);
+        }
+        detailPrefetcher.prefetch(rows);
+    }
+
+    private void addEvent(List<Event> rows, int adapterPosition) {
+        Event e = adapter.getEventAt(adapterPosition);
+        if (e != null && e.getId() != null) rows.add(e);
     }
 
     /**
@@ -355,17 +515,8 @@ public class EventListFragment extends Fragment implements EventListAdapter.OnEv
 
             @Override
             public void onTextChanged(CharSequence s, int start, int before, int count) {
-                String query = s.toString().trim();
-                List<Event> eventsToSearch = statusFilteredEvents.isEmpty()
-                        ? filteredEvents
-                        : statusFilteredEvents;
-
-                if (query.isEmpty()) {
-                    adapter.setEvents(eventsToSearch);
-                } else {
-                    adapter.filter(query, eventsToSearch);
-                }
-                updateEmptyState();
+                // Debounced and run off the main thread; a newer keystroke cancels it
+                searcher.search(s.toString(), statusFilteredEvents, EventListFragment.this::showRows);
             }
 
             @Override
@@ -407,39 +558,202 @@ public class EventListFragment extends Fragment implements EventListAdapter.OnEv
     }
 
     /**
-     * Loads all events from Firebase.
+     * Drops the live window and starts listening to the first page for the
+     * current filters and tab, then refreshes the tab counts.
      */
-    private void loadEvents() {
-        eventRepository.getAllEvents(new EventRepository.OnEventListListener() {
-            @Override
-            public void onSuccess(List<Event> events) {
-                allEvents = events;
-                filteredEvents = new ArrayList<>(events); // Initialize filteredEvents with all events
-                updateStatusCounts(); // Update the status tab counts
-                loadWaitingListCounts(events); // Load waiting list counts for all events
-                applyStatusFilterAndRefresh(); // Apply status filter and refresh the display
-                updateEmptyState();
-            }
+    private void reloadEvents() {
+        generation++;
+        if (livePages != null) livePages.stop();
+        facetIndex = EventFacetIndex.build(new ArrayList<>(), new Date());
+        searcher.setEvents(new ArrayList<>());
+        showingMirror = false;
+        liveDelivered = false;
+        nearbyDistances = null;
+        applyStatusFilterAndRefresh();
+        if (nearRadiusKm != null) {
+            livePages = null;
+            loadNearbyEvents();
+            return;
+        }
+        updateStatusCounts();
+        showMirror();
 
-            @Override
-            public void onFailure(Exception e) {
-                Toast.makeText(requireContext(), 
-                        "Failed to load events: " + e.getMessage(), 
-                        Toast.LENGTH_SHORT).show();
-                updateEmptyState();
-            }
+        EventQuery query = queryForStatus(buildBaseQuery(), currentStatusFilter, new Date());
+        LiveEventPages pages = new LiveEventPages(eventRepository, query, PAGE_SIZE,
+                new LiveEventPages.Listener() {
+                    @Override
+                    public void onChanges(@NonNull List<Event> upserts, @NonNull List<String> removedIds) {
+                        onEventsChanged(upserts, removedIds);
+                    }
+
+                    @Override
+                    public void onFailure(@NonNull Exception e) {
+                        if (!isAdded()) return;
+                        Toast.makeText(requireContext(),
+                                "Failed to load events: " + e.getMessage(),
+                                Toast.LENGTH_SHORT).show();
+                        updateEmptyState();
+                    }
+                });
+        livePages = pages;
+        if (getLifecycle().getCurrentState().isAtLeast(Lifecycle.State.STARTED)) {
+            pages.start();
+        }
+    }
+
+    /**
+     * Applies live deltas: the facet index and search index are updated one
+     * event at a time (binary-search insertion into their sort orders), so
+     * an organizer editing one event costs one document read here and one
+     * changed row in the list. Price, type, status and the tab's date window
+     * are evaluated by Firestore; the location substring is applied
+     * client-side by the facet index.
+     */
+    private void onEventsChanged(List<Event> upserts, List<String> removedIds) {
+        if (!isAdded()) return;
+        Date now = new Date();
+        liveDelivered = true;
+        if (showingMirror) {
+            // Swap the disk copy for the live window; the diffing adapter keeps unchanged rows
+            showingMirror = false;
+            facetIndex = EventFacetIndex.build(new ArrayList<>(), now);
+            searcher.setEvents(new ArrayList<>());
+        } else if (facetIndex.isStale(now)) {
+            facetIndex = EventFacetIndex.build(facetIndex.events(), now);
+        }
+
+        List<Event> uncounted = new ArrayList<>();
+        for (String id : removedIds) {
+            facetIndex.remove(id);
+            searcher.remove(id);
+        }
+        for (Event e : upserts) {
+            facetIndex.put(e);
+            if (!waitingListCounts.containsKey(e.getId())) uncounted.add(e);
+        }
+        searcher.putAll(upserts);
+        loadWaitingListCounts(uncounted);
+        applyStatusFilterAndRefresh();
+
+        // Location-filtered pages can come up short; keep going until the list fills
+        if (livePages.hasMore() && layoutManager.findLastVisibleItemPosition()
+                >= concatAdapter.getItemCount() - PREFETCH_ROWS) {
+            livePages.loadMore();
+        }
+    }
+
+    /**
+     * "Near me" mode: one geohash radius query around the device replaces
+     * the live pages. The tab and filter dialog still apply through the
+     * facet index; rows are ordered by distance.
+     */
+    private void loadNearbyEvents() {
+        if (ActivityCompat.checkSelfPermission(requireContext(),
+                Manifest.permission.ACCESS_FINE_LOCATION) != PackageManager.PERMISSION_GRANTED &&
+                ActivityCompat.checkSelfPermission(requireContext(),
+                        Manifest.permission.ACCESS_COARSE_LOCATION) != PackageManager.PERMISSION_GRANTED) {
+            pendingNearbySearch = true;
+            requestPermissionLauncher.launch(Manifest.permission.ACCESS_FINE_LOCATION);
+            return;
+        }
+
+        int gen = generation;
+        double radiusMeters = nearRadiusKm * 1000.0;
+        LocationServices.getFusedLocationProviderClient(requireContext()).getLastLocation()
+                .continueWithTask(task -> {
+                    Location location = task.getResult();
+                    if (location == null) throw new IllegalStateException("Unable to fetch location");
+                    return eventRepository.getEventsNear(
+                            location.getLatitude(), location.getLongitude(), radiusMeters);
+                })
+                .addOnSuccessListener(nearby -> {
+                    if (gen != generation || !isAdded()) return;
+                    Map<String, Double> distances = new HashMap<>();
+                    List<Event> events = new ArrayList<>();
+                    for (EventRepository.NearbyEvent n : nearby) {
+                        distances.put(n.event.getId(), n.distanceMeters);
+                        events.add(n.event);
+                    }
+                    nearbyDistances = distances;
+                    facetIndex = EventFacetIndex.build(events, new Date());
+                    searcher.setEvents(events);
+                    loadWaitingListCounts(events);
+                    applyStatusFilterAndRefresh();
+                })
+                .addOnFailureListener(e -> {
+                    if (gen != generation || !isAdded()) return;
+                    Toast.makeText(requireContext(),
+                            "Failed to load nearby events: " + e.getMessage(),
+                            Toast.LENGTH_SHORT).show();
+                    updateEmptyState();
+                });
+    }
+
+    /**
+     * Renders the local catalog mirror while the first live snapshot is in
+     * flight, so a cold start shows events without waiting on the network.
+     * The facet index applies the filters and tab to the mirrored rows.
+     */
+    private void showMirror() {
+        if (nearRadiusKm != null) return;
+        int gen = generation;
+        catalogStore.load(EventQuery.BROWSABLE_STATUSES).addOnSuccessListener(events -> {
+            if (gen != generation || liveDelivered || !isAdded() || events.isEmpty()) return;
+            showingMirror = true;
+            facetIndex = EventFacetIndex.build(events, new Date());
+            searcher.setEvents(events);
+            applyStatusFilterAndRefresh();
         });
     }
 
     /**
-     * Loads waiting list counts for all events and updates the adapter.
+     * Brings the catalog mirror up to date: events updated since the stored
+     * watermark normally, or the whole catalog (a few shard reads) on first
+     * launch and once the last full read is a day old. Runs after the first
+     * render and never blocks it.
+     */
+    private void syncCatalog() {
+        catalogStore.getSyncState().addOnCompleteListener(stateTask -> {
+            EventCatalogStore.SyncState state = stateTask.isSuccessful() ? stateTask.getResult() : null;
+            long now = System.currentTimeMillis();
+            boolean full = state == null || now - state.lastFullSyncMillis > FULL_RESYNC_MS;
+            Task<EventRepository.EventDelta> fetch = full
+                    ? eventRepository.getCatalog()
+                    : eventRepository.getEventsUpdatedSince(new Timestamp(
+                            new Date(state.watermark.toDate().getTime() - SYNC_OVERLAP_MS)));
+
+            fetch
+                    .continueWithTask(deltaTask -> {
+                        EventRepository.EventDelta delta = deltaTask.getResult();
+                        Timestamp watermark = full ? new Timestamp(0, 0) : state.watermark;
+                        if (delta.newest != null && delta.newest.compareTo(watermark) > 0) {
+                            watermark = delta.newest;
+                        }
+                        EventCatalogStore.SyncState next = new EventCatalogStore.SyncState(
+                                watermark, full ? now : state.lastFullSyncMillis);
+                        Task<Void> write = full
+                                ? catalogStore.replaceAll(delta.events)
+                                : catalogStore.upsert(delta.events);
+                        return write.continueWithTask(t -> catalogStore.saveSyncState(next));
+                    })
+                    .addOnSuccessListener(v -> {
+                        // Still waiting on the live listener: show the fresher copy
+                        if (!liveDelivered) showMirror();
+                    })
+                    // Offline or transient failure: the mirror stays as it was
+                    .addOnFailureListener(e -> Log.w(TAG, "Event mirror sync failed", e));
+        });
+    }
+
+    /**
+     * Loads waiting list counts for newly listed events and merges them into the adapter.
      */
     private void loadWaitingListCounts(List<Event> events) {
         if (events == null || events.isEmpty()) {
             return;
         }
 
-        waitingListCounts.clear();
+        int gen = generation;
         final int[] completedCount = {0};
         final int totalCount = events.size();
 
@@ -453,33 +767,27 @@ public class EventListFragment extends Fragment implements EventListAdapter.OnEv
             waitingListRepository.getWaitingListCount(eventId, new WaitingListRepository.OnCountListener() {
                 @Override
                 public void onSuccess(int count) {
-                    waitingListCounts.put(eventId, count);
-                    completedCount[0]++;
-
-                    // Update adapter when all counts are loaded
-                    if (completedCount[0] == totalCount && adapter != null) {
-                        adapter.setWaitingListCounts(waitingListCounts);
-                    }
+                    onCount(eventId, count);
                 }
 
                 @Override
                 public void onFailure(Exception e) {
                     // Default to 0 if fetch fails
-                    waitingListCounts.put(eventId, 0);
+                    onCount(eventId, 0);
+                }
+
+                private void onCount(String id, int count) {
+                    if (gen != generation) return;
+                    waitingListCounts.put(id, count);
                     completedCount[0]++;
 
-                    // Update adapter when all counts are loaded
+                    // Update adapter once the whole batch is in
                     if (completedCount[0] == totalCount && adapter != null) {
                         adapter.setWaitingListCounts(waitingListCounts);
                     }
                 }
             });
         }
-
-        // If no events, update adapter immediately
-        if (totalCount == 0 && adapter != null) {
-            adapter.setWaitingListCounts(waitingListCounts);
-        }
     }
 
     /**
@@ -488,7 +796,7 @@ public class EventListFragment extends Fragment implements EventListAdapter.OnEv
     private void updateEmptyState() {
         // Always keep RecyclerView visible so status filter bar stays visible
         // Only show/hide the empty state text overlay
-        if (adapter.getItemCount() == 0) {
+        if (adapter.getEventCount() == 0) {
             emptyStateText.setVisibility(View.VISIBLE);
         } else {
             emptyStateText.setVisibility(View.GONE);
@@ -510,6 +818,9 @@ public class EventListFragment extends Fragment implements EventListAdapter.OnEv
         SeekBar seekBarPrice = dialogView.findViewById(R.id.seekBarPrice);
         TextView textPriceValue = dialogView.findViewById(R.id.textPriceValue);
         TextInputEditText editLocation = dialogView.findViewById(R.id.editLocation);
+        MaterialCheckBox checkNearMe = dialogView.findViewById(R.id.checkNearMe);
+        TextView textRadiusValue = dialogView.findViewById(R.id.textRadiusValue);
+        SeekBar seekBarRadius = dialogView.findViewById(R.id.seekBarRadius);
         com.google.android.material.textfield.TextInputEditText autoCompleteEventType = dialogView.findViewById(R.id.autoCompleteEventType);
         androidx.cardview.widget.CardView layoutEventTypes = dialogView.findViewById(R.id.layoutEventTypes);
         MaterialButton btnClearFilters = dialogView.findViewById(R.id.btnClearFilters);
@@ -557,6 +868,33 @@ public class EventListFragment extends Fragment implements EventListAdapter.OnEv
             editLocation.setText(locationFilter);
         }
 
+        // "Near me" radius
+        int radiusIndex = 1; // 10 km
+        for (int i = 0; i < NEAR_RADII_KM.length; i++) {
+            if (nearRadiusKm != null && nearRadiusKm == NEAR_RADII_KM[i]) radiusIndex = i;
+        }
+        seekBarRadius.setProgress(radiusIndex);
+        textRadiusValue.setText("Within " + NEAR_RADII_KM[radiusIndex] + " km");
+        checkNearMe.setChecked(nearRadiusKm != null);
+        seekBarRadius.setVisibility(nearRadiusKm != null ? View.VISIBLE : View.GONE);
+        textRadiusValue.setVisibility(nearRadiusKm != null ? View.VISIBLE : View.GONE);
+        checkNearMe.setOnCheckedChangeListener((button, checked) -> {
+            seekBarRadius.setVisibility(checked ? View.VISIBLE : View.GONE);
+            textRadiusValue.setVisibility(checked ? View.VISIBLE : View.GONE);
+        });
+        seekBarRadius.setOnSeekBarChangeListener(new SeekBar.OnSeekBarChangeListener() {
+            @Override
+            public void onProgressChanged(SeekBar seekBar, int progress, boolean fromUser) {
+                textRadiusValue.setText("Within " + NEAR_RADII_KM[progress] + " km");
+            }
+
+            @Override
+            public void onStartTrackingTouch(SeekBar seekBar) {}
+
+            @Override
+            public void onStopTrackingTouch(SeekBar seekBar) {}
+        });
+
 
         // SeekBar listener to update price text
         seekBarPrice.setOnSeekBarChangeListener(new SeekBar.OnSeekBarChangeListener() {
@@ -668,6 +1006,7 @@ public class EventListFragment extends Fragment implements EventListAdapter.OnEv
                 ? editLocation.getText().toString().trim()
                 : "";
             locationFilter = locationText.isEmpty() ? null : locationText;
+            nearRadiusKm = checkNearMe.isChecked() ? NEAR_RADII_KM[seekBarRadius.getProgress()] : null;
 
             // Get selected event types from checkboxes
             selectedEventTypes.clear();
@@ -697,6 +1036,7 @@ public class EventListFragment extends Fragment implements EventListAdapter.OnEv
             sortOrder = "newest";
             maxPrice = null;
             locationFilter = null;
+            nearRadiusKm = null;
             selectedEventTypes.clear();
 
             // Reset dialog UI
@@ -704,6 +1044,7 @@ public class EventListFragment extends Fragment implements EventListAdapter.OnEv
             seekBarPrice.setProgress(4);
             updatePriceText(textPriceValue, 4, priceRanges);
             editLocation.setText("");
+            checkNearMe.setChecked(false);
             autoCompleteEventType.setText("All types");
             layoutEventTypes.setVisibility(View.GONE);
             
@@ -746,53 +1087,12 @@ public class EventListFragment extends Fragment implements EventListAdapter.OnEv
     }
 
     /**
-     * Applies active filters to the event list.
+     * Applies the dialog's filters by re-listening from the first page.
      */
     private void applyFilters() {
-        filteredEvents = new ArrayList<>(allEvents);
-
-        // Filter by price
-        if (maxPrice != null) {
-            filteredEvents.removeIf(event -> event.getPrice() > maxPrice);
-        }
-
-        // Filter by location
-        if (locationFilter != null && !locationFilter.isEmpty()) {
-            String locationLower = locationFilter.toLowerCase();
-            filteredEvents.removeIf(event ->
-                event.getLocation() == null ||
-                !event.getLocation().toLowerCase().contains(locationLower)
-            );
-        }
-
-        // Filter by event types
-        if (selectedEventTypes != null && !selectedEventTypes.isEmpty()) {
-            filteredEvents.removeIf(event -> {
-                String eventType = event.getEventType();
-                if (eventType == null || eventType.isEmpty()) {
-                    return true; // Remove events with no type if filtering by type
-                }
-                return !selectedEventTypes.contains(eventType);
-            });
-        }
-
-        // Sort by date
-        filteredEvents.sort((e1, e2) -> {
-            Date date1 = e1.getRegistrationStartDate();
-            Date date2 = e2.getRegistrationStartDate();
-
-            if (date1 == null && date2 == null) return 0;
-            if (date1 == null) return 1;
-            if (date2 == null) return -1;
-
-            int comparison = date1.compareTo(date2);
-            return sortOrder.equals("newest") ? -comparison : comparison;
-        });
-
-        updateStatusCounts();
-        applyStatusFilterAndRefresh();
-
-        Log.d(TAG, "Applied filters - showing " + filteredEvents.size() + " of " + allEvents.size() + " events before status filter");
+        reloadEvents();
+        Log.d(TAG, "Applied filters - price<=" + maxPrice + ", types=" + selectedEventTypes
+                + ", location=" + locationFilter + ", nearKm=" + nearRadiusKm + ", sort=" + sortOrder);
     }
 
     @Override
@@ -1010,11 +1310,9 @@ public class EventListFragment extends Fragment implements EventListAdapter.OnEv
             notification.put("isRead", false);
             notification.put("sentAt", Timestamp.now());
             
-            db.collection("notifications")
-                    .add(notification)
+            NotificationDigestFs.addOrDigest(db, notification)
                     .addOnSuccessListener(docRef -> {
                         Log.d("EventListFragment", "✅ Sent waiting list notification to deviceId: " + deviceIdForNotification);
-                        docRef.update("notificationId", docRef.getId());
                     })
                     .addOnFailureListener(e -> Log.e("EventListFragment", "❌ Failed to send notification", e));
         };
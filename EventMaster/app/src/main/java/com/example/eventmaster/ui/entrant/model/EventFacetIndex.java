@@ -0,0 +1,440 @@
+package com.example.eventmaster.ui.entrant.model;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.eventmaster.model.Event;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In-memory facet index over an event list, shared by the entrant and admin
+ * browse screens.
+ *
+ * Built once per list (O(n log n)); afterwards every filter change is a few
+ * {@link BitSet} ANDs/ORs plus one pass over a presorted index array, and
+ * the four status tab counts are popcounts of the same bitsets. Single
+ * events can then be added, replaced or removed ({@link #put}/{@link #remove})
+ * without a rebuild: each event owns a slot whose bits are set or cleared,
+ * and the sort orders are kept with binary-search insertion.
+ *
+ * Facets:
+ *  - price: "price <= bound" for each {@link #PRICE_BOUNDS} value (the
+ *    filter dialog's steps); other bounds use the price-sorted order.
+ *  - event type: one set per exact type value.
+ *  - lifecycle: OPEN / CLOSED / DONE, resolved against the build time
+ *    (see {@link #resolve}); {@link #isStale} says when a date has passed.
+ *  - location: one set per lowercase location word. A location filter ORs
+ *    the sets of every word containing the query and then checks the
+ *    survivors' full text, so matching stays a substring match.
+ *
+ * Not thread-safe; build on any thread, query and update from one.
+ */
+public final class EventFacetIndex {
+
+    /** Price upper bounds offered by the filter dialog. */
+    static final double[] PRICE_BOUNDS = {0, 50, 100, 150, 200};
+
+    private enum Lifecycle { OPEN, CLOSED, DONE }
+
+    /** Lifecycles are resolved against this time. */
+    private final Date builtAt;
+
+    /** Event per slot; null for free slots. */
+    private final List<Event> slots = new ArrayList<>();
+    private final List<String> locationLower = new ArrayList<>();
+    /** Insertion sequence per slot; breaks sort ties so equal keys keep list order. */
+    private final List<Long> seqs = new ArrayList<>();
+    private final Map<String, Integer> slotById = new HashMap<>();
+    private final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+    private long nextSeq;
+    private final BitSet all = new BitSet();
+
+    private final BitSet[] priceAtMost = new BitSet[PRICE_BOUNDS.length];
+    private final Map<String, BitSet> byType = new HashMap<>();
+    private final BitSet[] byLifecycle = new BitSet[Lifecycle.values().length];
+    private final Map<String, BitSet> byLocationWord = new HashMap<>();
+
+    /** Slots sorted by ascending price. */
+    private final List<Integer> byPrice = new ArrayList<>();
+    /** Slots by registration start; nulls last in both orders. */
+    private final List<Integer> newestFirst = new ArrayList<>();
+    private final List<Integer> oldestFirst = new ArrayList<>();
+
+    private final Comparator<Integer> priceOrder;
+    private final Comparator<Integer> newestOrder;
+    private final Comparator<Integer> oldestOrder;
+
+    /** First date after the build time at which some event changes lifecycle. */
+    @Nullable private Date validUntil;
+
+    private EventFacetIndex(List<Event> events, Date now) {
+        this.builtAt = now;
+        for (int b = 0; b < PRICE_BOUNDS.length; b++) priceAtMost[b] = new BitSet();
+        for (int l = 0; l < byLifecycle.length; l++) byLifecycle[l] = new BitSet();
+
+        priceOrder = (a, b) -> {
+            int c = Double.compare(slots.get(a).getPrice(), slots.get(b).getPrice());
+            return c != 0 ? c : Long.compare(seqs.get(a), seqs.get(b));
+        };
+        newestOrder = (a, b) -> {
+            int c = compareStart(slots.get(a), slots.get(b), true);
+            return c != 0 ? c : Long.compare(seqs.get(a), seqs.get(b));
+        };
+        oldestOrder = (a, b) -> {
+            int c = compareStart(slots.get(a), slots.get(b), false);
+            return c != 0 ? c : Long.compare(seqs.get(a), seqs.get(b));
+        };
+
+        for (Event e : events) {
+            int slot = slots.size();
+            slots.add(e);
+            locationLower.add(null);
+            seqs.add(nextSeq++);
+            if (e.getId() != null) slotById.put(e.getId(), slot);
+            setBits(slot, e);
+        }
+        int n = slots.size();
+        for (int i = 0; i < n; i++) {
+            byPrice.add(i);
+            newestFirst.add(i);
+            oldestFirst.add(i);
+        }
+        byPrice.sort(priceOrder);
+        newestFirst.sort(newestOrder);
+        oldestFirst.sort(oldestOrder);
+    }
+
+    /**
+     * Indexes {@code events} with lifecycles resolved at {@code now}. Later
+     * changes to the list are not seen; use {@link #put}/{@link #remove}
+     * or build a new index.
+     */
+    @NonNull
+    public static EventFacetIndex build(@NonNull List<Event> events, @NonNull Date now) {
+        return new EventFacetIndex(events, now);
+    }
+
+    public int size() { return all.cardinality(); }
+
+    /** True once {@code now} has passed a date that moves an event to another tab. */
+    public boolean isStale(@NonNull Date now) {
+        return validUntil != null && !now.before(validUntil);
+    }
+
+    /** Every indexed event, oldest registration start first. */
+    @NonNull
+    public List<Event> events() {
+        List<Event> out = new ArrayList<>(oldestFirst.size());
+        for (int slot : oldestFirst) out.add(slots.get(slot));
+        return out;
+    }
+
+    /**
+     * Adds {@code event}, or replaces the indexed event with the same id.
+     * Events without an id are skipped.
+     */
+    public void put(@NonNull Event event) {
+        String id = event.getId();
+        if (id == null) return;
+        Integer existing = slotById.get(id);
+        if (existing != null) {
+            unlink(existing);
+        }
+
+        int slot;
+        if (existing != null) {
+            slot = existing;
+        } else if (!freeSlots.isEmpty()) {
+            slot = freeSlots.pop();
+        } else {
+            slot = slots.size();
+            slots.add(null);
+            locationLower.add(null);
+            seqs.add(0L);
+        }
+        slots.set(slot, event);
+        if (existing == null) seqs.set(slot, nextSeq++); // a replaced event keeps its place among ties
+        slotById.put(id, slot);
+        setBits(slot, event);
+        insertSorted(byPrice, slot, priceOrder);
+        insertSorted(newestFirst, slot, newestOrder);
+        insertSorted(oldestFirst, slot, oldestOrder);
+    }
+
+    /** Removes the event with this id, if indexed. */
+    public void remove(@NonNull String id) {
+        Integer slot = slotById.remove(id);
+        if (slot == null) return;
+        unlink(slot);
+        slots.set(slot, null);
+        locationLower.set(slot, null);
+        freeSlots.push(slot);
+    }
+
+    /** Events matching {@code filter}, in its sort order, plus all tab counts. */
+    @NonNull
+    public Selection select(@NonNull Filter filter) {
+        BitSet base = (BitSet) all.clone();
+        if (filter.maxPrice != null) base.and(priceSet(filter.maxPrice));
+        if (!filter.eventTypes.isEmpty()) base.and(typeSet(filter.eventTypes));
+        if (filter.location != null) base.and(locationSet(filter.location));
+
+        int open = countAnd(base, byLifecycle[Lifecycle.OPEN.ordinal()]);
+        int closed = countAnd(base, byLifecycle[Lifecycle.CLOSED.ordinal()]);
+        int done = countAnd(base, byLifecycle[Lifecycle.DONE.ordinal()]);
+
+        BitSet visible = base;
+        Lifecycle tab = lifecycleFor(filter.status);
+        if (tab != null) {
+            visible = (BitSet) base.clone();
+            visible.and(byLifecycle[tab.ordinal()]);
+        }
+
+        List<Integer> order = filter.newestFirst ? newestFirst : oldestFirst;
+        List<Event> out = new ArrayList<>(visible.cardinality());
+        for (int i : order) {
+            if (visible.get(i)) out.add(slots.get(i));
+        }
+        return new Selection(out, base.cardinality(), open, closed, done);
+    }
+
+    /** Sets every facet bit for {@code e} in {@code slot}. */
+    private void setBits(int slot, Event e) {
+        all.set(slot);
+
+        double price = e.getPrice();
+        for (int b = 0; b < PRICE_BOUNDS.length; b++) {
+            if (price <= PRICE_BOUNDS[b]) priceAtMost[b].set(slot);
+        }
+
+        String type = e.getEventType();
+        if (type != null && !type.isEmpty()) setBit(byType, type, slot);
+
+        byLifecycle[resolve(e, builtAt).ordinal()].set(slot);
+        validUntil = earliestAfter(validUntil, e.getRegistrationEndDate(), builtAt);
+        validUntil = earliestAfter(validUntil, e.getEventDate(), builtAt);
+
+        String loc = e.getLocation();
+        String lower = loc != null ? loc.toLowerCase(Locale.ROOT) : null;
+        locationLower.set(slot, lower);
+        if (lower != null) {
+            for (String word : words(lower)) setBit(byLocationWord, word, slot);
+        }
+    }
+
+    /**
+     * Clears {@code slot}'s bits and takes it out of the sort orders, while
+     * the slot still holds the old event (its keys locate it). validUntil
+     * is left as is; at worst the index reports stale a little early.
+     */
+    private void unlink(int slot) {
+        Event old = slots.get(slot);
+        removeSorted(byPrice, slot, priceOrder);
+        removeSorted(newestFirst, slot, newestOrder);
+        removeSorted(oldestFirst, slot, oldestOrder);
+
+        all.clear(slot);
+        for (BitSet bits : priceAtMost) bits.clear(slot);
+        for (BitSet bits : byLifecycle) bits.clear(slot);
+        clearBit(byType, old.getEventType(), slot);
+        String lower = locationLower.get(slot);
+        if (lower != null) {
+            for (String word : words(lower)) clearBit(byLocationWord, word, slot);
+        }
+    }
+
+    private static void insertSorted(List<Integer> order, int slot, Comparator<Integer> cmp) {
+        int i = Collections.binarySearch(order, slot, cmp);
+        order.add(i < 0 ? -i - 1 : i, slot);
+    }
+
+    private static void removeSorted(List<Integer> order, int slot, Comparator<Integer> cmp) {
+        // Ties are broken by sequence number, so the slot's position is exact
+        int i = Collections.binarySearch(order, slot, cmp);
+        if (i >= 0) order.remove(i);
+    }
+
+    /**
+     * Lifecycle state of an event: an explicit DONE/COMPLETED/CLOSED status
+     * wins; otherwise DONE once the event date has arrived, CLOSED once
+     * registration has ended, else OPEN.
+     */
+    private static Lifecycle resolve(@Nullable Event event, Date now) {
+        if (event == null) return Lifecycle.OPEN;
+
+        String status = event.getStatus();
+        if (status != null) {
+            String normalized = status.trim().toUpperCase(Locale.ROOT);
+            if ("DONE".equals(normalized) || "COMPLETED".equals(normalized)) return Lifecycle.DONE;
+            if ("CLOSED".equals(normalized)) return Lifecycle.CLOSED;
+        }
+
+        Date eventDate = event.getEventDate();
+        if (eventDate != null && !eventDate.after(now)) return Lifecycle.DONE;
+
+        Date regEnd = event.getRegistrationEndDate();
+        if (regEnd != null && regEnd.before(now)) return Lifecycle.CLOSED;
+
+        return Lifecycle.OPEN;
+    }
+
+    @Nullable
+    private static Lifecycle lifecycleFor(StatusFilter filter) {
+        switch (filter) {
+            case OPEN: return Lifecycle.OPEN;
+            case CLOSED: return Lifecycle.CLOSED;
+            case DONE: return Lifecycle.DONE;
+            case ALL:
+            default: return null;
+        }
+    }
+
+    private BitSet priceSet(double maxPrice) {
+        for (int b = 0; b < PRICE_BOUNDS.length; b++) {
+            if (PRICE_BOUNDS[b] == maxPrice) return priceAtMost[b];
+        }
+        // Off-step bound: the first k entries of the price order qualify
+        int lo = 0, hi = byPrice.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (slots.get(byPrice.get(mid)).getPrice() <= maxPrice) lo = mid + 1; else hi = mid;
+        }
+        BitSet set = new BitSet();
+        for (int k = 0; k < lo; k++) set.set(byPrice.get(k));
+        return set;
+    }
+
+    private BitSet typeSet(Collection<String> types) {
+        BitSet set = new BitSet();
+        for (String type : types) {
+            BitSet bits = byType.get(type);
+            if (bits != null) set.or(bits);
+        }
+        return set;
+    }
+
+    private BitSet locationSet(String query) {
+        String q = query.trim().toLowerCase(Locale.ROOT);
+        if (q.isEmpty()) return all;
+
+        // Narrow with the word index using the query's longest word...
+        String probe = null;
+        for (String word : q.split("[^\\p{L}\\p{N}]+")) {
+            if (probe == null || word.length() > probe.length()) probe = word;
+        }
+        BitSet set = new BitSet();
+        if (probe == null || probe.isEmpty()) {
+            set.or(all);
+        } else {
+            for (Map.Entry<String, BitSet> entry : byLocationWord.entrySet()) {
+                if (entry.getKey().contains(probe)) set.or(entry.getValue());
+            }
+        }
+        // ...then confirm the full substring on the survivors only
+        for (int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i + 1)) {
+            String loc = locationLower.get(i);
+            if (loc == null || !loc.contains(q)) set.clear(i);
+        }
+        return set;
+    }
+
+    private static int compareStart(Event a, Event b, boolean newestFirst) {
+        Date d1 = a.getRegistrationStartDate();
+        Date d2 = b.getRegistrationStartDate();
+        if (d1 == null && d2 == null) return 0;
+        if (d1 == null) return 1;
+        if (d2 == null) return -1;
+        int c = d1.compareTo(d2);
+        return newestFirst ? -c : c;
+    }
+
+    private static int countAnd(BitSet a, BitSet b) {
+        BitSet x = (BitSet) a.clone();
+        x.and(b);
+        return x.cardinality();
+    }
+
+    private static void setBit(Map<String, BitSet> map, String key, int i) {
+        BitSet bits = map.get(key);
+        if (bits == null) {
+            bits = new BitSet();
+            map.put(key, bits);
+        }
+        bits.set(i);
+    }
+
+    private static void clearBit(Map<String, BitSet> map, @Nullable String key, int i) {
+        if (key == null) return;
+        BitSet bits = map.get(key);
+        if (bits == null) return;
+        bits.clear(i);
+        if (bits.isEmpty()) map.remove(key);
+    }
+
+    private static List<String> words(String lower) {
+        List<String> out = new ArrayList<>();
+        for (String word : lower.split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) out.add(word);
+        }
+        return out;
+    }
+
+    @Nullable
+    private static Date earliestAfter(@Nullable Date current, @Nullable Date candidate, Date now) {
+        if (candidate == null || !candidate.after(now)) return current;
+        return current == null || candidate.before(current) ? candidate : current;
+    }
+
+    /** Filter dialog state plus the selected tab. Empty/null fields don't restrict. */
+    public static final class Filter {
+        @Nullable private Double maxPrice;
+        private List<String> eventTypes = Collections.emptyList();
+        @Nullable private String location;
+        private StatusFilter status = StatusFilter.ALL;
+        private boolean newestFirst = true;
+
+        public Filter setMaxPrice(@Nullable Double maxPrice) { this.maxPrice = maxPrice; return this; }
+
+        public Filter setEventTypes(@Nullable List<String> eventTypes) {
+            this.eventTypes = eventTypes != null ? new ArrayList<>(eventTypes) : Collections.<String>emptyList();
+            return this;
+        }
+
+        public Filter setLocation(@Nullable String location) {
+            this.location = location != null && !location.trim().isEmpty() ? location : null;
+            return this;
+        }
+
+        public Filter setStatus(@NonNull StatusFilter status) { this.status = status; return this; }
+
+        public Filter setNewestFirst(boolean newestFirst) { this.newestFirst = newestFirst; return this; }
+    }
+
+    /** Result of {@link #select}: visible rows and the counts for each tab. */
+    public static final class Selection {
+        public final List<Event> events;
+        public final int total;
+        public final int open;
+        public final int closed;
+        public final int done;
+
+        Selection(List<Event> events, int total, int open, int closed, int done) {
+            this.events = events;
+            this.total = total;
+            this.open = open;
+            this.closed = closed;
+            this.done = done;
+        }
+    }
+}
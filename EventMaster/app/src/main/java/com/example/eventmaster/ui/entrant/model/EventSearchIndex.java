@@ -0,0 +1,219 @@
+package com.example.eventmaster.ui.entrant.model;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.eventmaster.model.Event;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Inverted index for the event search box: name, description and
+ * location, matched as a case-insensitive substring of any one field.
+ *
+ * List events only carry a 160-char description preview; the rest of the
+ * description is covered by the event's "descriptionTokens" (its words),
+ * each indexed as a field of its own. Past the preview a query therefore
+ * matches within a single word ("camp" finds "campfire") but not across
+ * words; phrases are only matched inside the preview.
+ *
+ * Two levels:
+ *  - word -> ids of the events containing that word
+ *  - trigram -> words containing it, so a query piece of 3+ chars only
+ *    looks at vocabulary words sharing all of its trigrams (shorter pieces
+ *    scan the vocabulary, which is far smaller than the event text).
+ * Each letter/digit run of the query must occur inside some word of a
+ * matching event, so the intersection of those pieces' postings is a
+ * superset of the real matches; survivors are confirmed against the
+ * lowercased fields, which keeps results identical to a plain contains().
+ *
+ * Updated one event at a time ({@link #put}/{@link #remove}). Not
+ * thread-safe; {@link EventSearcher} confines it to one worker thread.
+ */
+public final class EventSearchIndex {
+
+    static final int GRAM = 3;
+
+    /** Lowercased name, description, location, then description tokens, per event id. */
+    private final Map<String, String[]> fields = new HashMap<>();
+    private final Map<String, Set<String>> postings = new HashMap<>();
+    private final Map<String, Set<String>> wordsByGram = new HashMap<>();
+
+    public int size() { return fields.size(); }
+
+    public void clear() {
+        fields.clear();
+        postings.clear();
+        wordsByGram.clear();
+    }
+
+    /** Adds or re-indexes {@code event}; events without an id are skipped. */
+    public void put(@NonNull Event event) {
+        String id = event.getId();
+        if (id == null) return;
+        remove(id);
+
+        String[] text = lower(event);
+        fields.put(id, text);
+        for (String word : words(text)) {
+            Set<String> ids = postings.get(word);
+            if (ids == null) {
+                ids = new HashSet<>();
+                postings.put(word, ids);
+                for (String gram : grams(word)) {
+                    Set<String> words = wordsByGram.get(gram);
+                    if (words == null) {
+                        words = new HashSet<>();
+                        wordsByGram.put(gram, words);
+                    }
+                    words.add(word);
+                }
+            }
+            ids.add(id);
+        }
+    }
+
+    public void remove(@NonNull String id) {
+        String[] text = fields.remove(id);
+        if (text == null) return;
+        for (String word : words(text)) {
+            Set<String> ids = postings.get(word);
+            if (ids == null) continue;
+            ids.remove(id);
+            if (!ids.isEmpty()) continue;
+            // Last event using this word: drop it from the vocabulary too
+            postings.remove(word);
+            for (String gram : grams(word)) {
+                Set<String> words = wordsByGram.get(gram);
+                if (words == null) continue;
+                words.remove(word);
+                if (words.isEmpty()) wordsByGram.remove(gram);
+            }
+        }
+    }
+
+    /**
+     * The rows of {@code rows} matching {@code query}, in their original
+     * order, or null if {@code cancelled} turned true part-way through.
+     */
+    @Nullable
+    public List<Event> filter(@NonNull String query, @NonNull List<Event> rows,
+                              @NonNull BooleanSupplier cancelled) {
+        String q = query.trim().toLowerCase(Locale.ROOT);
+        if (q.isEmpty()) return new ArrayList<>(rows);
+
+        Set<String> candidates = candidates(q, cancelled);
+        if (cancelled.getAsBoolean()) return null;
+
+        List<Event> out = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if ((i & 255) == 0 && cancelled.getAsBoolean()) return null;
+            Event e = rows.get(i);
+            if (e == null) continue;
+            String id = e.getId();
+            String[] text = id != null ? fields.get(id) : null;
+            if (text == null) {
+                // Not indexed (no id, or added after this search was queued)
+                if (contains(lower(e), q)) out.add(e);
+            } else if ((candidates == null || candidates.contains(id)) && contains(text, q)) {
+                out.add(e);
+            }
+        }
+        return out;
+    }
+
+    /** Ids whose words cover every piece of {@code q}; null means "all". */
+    @Nullable
+    private Set<String> candidates(String q, BooleanSupplier cancelled) {
+        Set<String> result = null;
+        for (String piece : split(q)) {
+            Set<String> ids = new HashSet<>();
+            for (String word : wordsContaining(piece)) {
+                ids.addAll(postings.get(word));
+            }
+            if (result == null) {
+                result = ids;
+            } else {
+                result.retainAll(ids);
+            }
+            if (result.isEmpty() || cancelled.getAsBoolean()) break;
+        }
+        return result;
+    }
+
+    private Collection<String> wordsContaining(String piece) {
+        Collection<String> pool = null;
+        if (piece.length() >= GRAM) {
+            // Start from the rarest trigram's words
+            for (String gram : grams(piece)) {
+                Set<String> words = wordsByGram.get(gram);
+                if (words == null) return new ArrayList<>();
+                if (pool == null || words.size() < pool.size()) pool = words;
+            }
+        }
+        if (pool == null) pool = postings.keySet();
+
+        List<String> out = new ArrayList<>();
+        for (String word : pool) {
+            if (word.contains(piece)) out.add(word);
+        }
+        return out;
+    }
+
+    private static boolean contains(String[] text, String q) {
+        for (String field : text) {
+            if (field != null && field.contains(q)) return true;
+        }
+        return false;
+    }
+
+    private static String[] lower(Event e) {
+        List<String> tokens = e.getDescriptionTokens();
+        int n = tokens != null ? tokens.size() : 0;
+        String[] text = new String[3 + n];
+        text[0] = lowerOrNull(e.getName());
+        text[1] = lowerOrNull(e.getDescription());
+        text[2] = lowerOrNull(e.getLocation());
+        for (int i = 0; i < n; i++) {
+            text[3 + i] = lowerOrNull(tokens.get(i));
+        }
+        return text;
+    }
+
+    @Nullable
+    private static String lowerOrNull(@Nullable String s) {
+        return s != null ? s.toLowerCase(Locale.ROOT) : null;
+    }
+
+    private static Set<String> words(String[] text) {
+        Set<String> out = new HashSet<>();
+        for (String field : text) {
+            if (field != null) out.addAll(split(field));
+        }
+        return out;
+    }
+
+    private static List<String> split(String s) {
+        List<String> out = new ArrayList<>();
+        for (String w : s.split("[^\\p{L}\\p{N}]+")) {
+            if (!w.isEmpty()) out.add(w);
+        }
+        return out;
+    }
+
+    private static Set<String> grams(String word) {
+        Set<String> out = new HashSet<>();
+        for (int i = 0; i + GRAM <= word.length(); i++) {
+            out.add(word.substring(i, i + GRAM));
+        }
+        return out;
+    }
+}
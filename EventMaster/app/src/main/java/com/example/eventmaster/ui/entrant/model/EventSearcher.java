@@ -0,0 +1,124 @@
+package com.example.eventmaster.ui.entrant.model;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+
+import com.example.eventmaster.model.Event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs search-as-you-type for an event list off the main thread.
+ *
+ * Owns an {@link EventSearchIndex} on a single worker thread: index
+ * updates and searches are queued there in call order, so a search always
+ * sees every update made before it. Keystrokes are debounced by
+ * {@link #DEBOUNCE_MS}; each new search (or {@link #cancel()}) supersedes
+ * the previous one, which stops at its next check and never calls back.
+ *
+ * Call from the main thread; callbacks arrive on the main thread.
+ */
+public final class EventSearcher {
+
+    /** Callback for {@link #search}. */
+    public interface OnResultsListener {
+        void onResults(@NonNull List<Event> results);
+    }
+
+    static final long DEBOUNCE_MS = 150;
+
+    private final EventSearchIndex index = new EventSearchIndex();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor();
+    private final Handler main = new Handler(Looper.getMainLooper());
+    private final AtomicInteger generation = new AtomicInteger();
+    private Runnable pending;
+
+    /** Replaces the indexed events. */
+    public void setEvents(@NonNull List<Event> events) {
+        List<Event> copy = new ArrayList<>(events);
+        submit(() -> {
+            index.clear();
+            for (Event e : copy) {
+                if (e != null) index.put(e);
+            }
+        });
+    }
+
+    /** Adds or re-indexes {@code events}, e.g. a newly loaded page. */
+    public void putAll(@NonNull List<Event> events) {
+        List<Event> copy = new ArrayList<>(events);
+        submit(() -> {
+            for (Event e : copy) {
+                if (e != null) index.put(e);
+            }
+        });
+    }
+
+    public void remove(@NonNull String eventId) {
+        submit(() -> index.remove(eventId));
+    }
+
+    /** Debounced search of {@code rows}; results keep their order. */
+    public void search(@NonNull String query, @NonNull List<Event> rows,
+                       @NonNull OnResultsListener listener) {
+        schedule(query, rows, listener, DEBOUNCE_MS);
+    }
+
+    /** Like {@link #search} but without the debounce, for list/filter changes. */
+    public void searchNow(@NonNull String query, @NonNull List<Event> rows,
+                          @NonNull OnResultsListener listener) {
+        schedule(query, rows, listener, 0);
+    }
+
+    /** Drops any pending or running search. */
+    public void cancel() {
+        generation.incrementAndGet();
+        if (pending != null) {
+            main.removeCallbacks(pending);
+            pending = null;
+        }
+    }
+
+    /** Cancels work and stops the worker; the searcher can't be used afterwards. */
+    public void shutdown() {
+        cancel();
+        worker.shutdownNow();
+    }
+
+    private void schedule(String query, List<Event> rows, OnResultsListener listener, long delayMs) {
+        cancel();
+        int gen = generation.get();
+        if (query.trim().isEmpty()) {
+            listener.onResults(rows); // nothing to search; no need for a round trip
+            return;
+        }
+
+        List<Event> snapshot = new ArrayList<>(rows);
+        pending = () -> {
+            pending = null;
+            submit(() -> {
+                List<Event> results = index.filter(query, snapshot, () -> gen != generation.get());
+                if (results == null) return;
+                main.post(() -> {
+                    if (gen == generation.get()) listener.onResults(results);
+                });
+            });
+        };
+        if (delayMs > 0) {
+            main.postDelayed(pending, delayMs);
+        } else {
+            pending.run();
+        }
+    }
+
+    /** Queues on the worker; late calls after {@link #shutdown()} are dropped. */
+    private void submit(Runnable task) {
+        if (!worker.isShutdown()) worker.execute(task);
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.eventmaster.ui.entrant.model;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.eventmaster.data.api.EventQuery;
+import com.example.eventmaster.data.api.EventRepository;
+import com.example.eventmaster.model.Event;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.ListenerRegistration;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A growing, live window over an event query: one snapshot listener per
+ * page (see {@link EventRepository#listenEvents}).
+ *
+ * The last page listens with a limit. When more rows are wanted it is
+ * re-attached as a closed range ending at its current last document, and a
+ * new last page starts after that document. Closed ranges tile the sort
+ * order without gaps or overlaps, so an insert, edit or delete anywhere in
+ * the window arrives as a delta from exactly one page. Sealing a page
+ * re-reads that one page once.
+ *
+ * {@link #stop()} detaches the listeners but keeps the window;
+ * {@link #start()} re-attaches them and reconciles each page against its
+ * first snapshot.
+ *
+ * Call from the main thread; Firestore delivers snapshots there too.
+ */
+public final class LiveEventPages {
+
+    /** Receives the merged changes of every page. */
+    public interface Listener {
+        /** Events that entered the window or changed, and ids that left it. */
+        void onChanges(@NonNull List<Event> upserts, @NonNull List<String> removedIds);
+        void onFailure(@NonNull Exception e);
+    }
+
+    private final EventRepository repository;
+    private final EventQuery query;
+    private final int pageSize;
+    private final Listener listener;
+
+    private final List<Page> pages = new ArrayList<>();
+    /** Pages holding each id; above 1 only while a re-attached page catches up. */
+    private final Map<String, Integer> refs = new HashMap<>();
+    private boolean started;
+
+    public LiveEventPages(@NonNull EventRepository repository, @NonNull EventQuery query,
+                          int pageSize, @NonNull Listener listener) {
+        this.repository = repository;
+        this.query = query;
+        this.pageSize = pageSize;
+        this.listener = listener;
+        pages.add(new Page(null, null));
+    }
+
+    public void start() {
+        if (started) return;
+        started = true;
+        for (Page page : pages) page.attach();
+    }
+
+    public void stop() {
+        started = false;
+        for (Page page : pages) page.detach();
+    }
+
+    /** True once the last page has loaded and is full, so more events may follow it. */
+    public boolean hasMore() {
+        Page tail = tail();
+        return tail.synced && tail.size >= pageSize && tail.last != null;
+    }
+
+    /** Extends the window by one page; ignored until {@link #hasMore()}. */
+    public void loadMore() {
+        if (!started || !hasMore()) return;
+        Page tail = tail();
+        DocumentSnapshot last = tail.last;
+
+        // The sealed page takes over the tail's ids; its first snapshot reconciles them
+        Page sealed = new Page(tail.after, last);
+        sealed.ids.addAll(tail.ids);
+        tail.detach();
+        pages.set(pages.size() - 1, sealed);
+        sealed.attach();
+
+        Page next = new Page(last, null);
+        pages.add(next);
+        next.attach();
+    }
+
+    private Page tail() {
+        return pages.get(pages.size() - 1);
+    }
+
+    private void apply(Page page, List<EventRepository.EventChange> changes,
+                       int size, @Nullable DocumentSnapshot last) {
+        List<Event> upserts = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        // The first snapshot after attaching lists the whole range
+        Set<String> present = page.synced ? null : new HashSet<>();
+
+        for (EventRepository.EventChange change : changes) {
+            String id = change.event.getId();
+            if (change.removed) {
+                if (page.ids.remove(id)) release(id, removed);
+            } else {
+                if (page.ids.add(id)) refs.merge(id, 1, Integer::sum);
+                if (present != null) present.add(id);
+                upserts.add(change.event);
+            }
+        }
+        if (present != null) {
+            // Held before but missing now: it left the range while we weren't listening
+            for (Iterator<String> it = page.ids.iterator(); it.hasNext(); ) {
+                String id = it.next();
+                if (!present.contains(id)) {
+                    it.remove();
+                    release(id, removed);
+                }
+            }
+            page.synced = true;
+        }
+        page.size = size;
+        page.last = last;
+
+        if (!upserts.isEmpty() || !removed.isEmpty()) {
+            listener.onChanges(upserts, removed);
+        }
+    }
+
+    private void release(String id, List<String> removed) {
+        Integer n = refs.get(id);
+        if (n == null) return;
+        if (n > 1) {
+            refs.put(id, n - 1);
+        } else {
+            refs.remove(id);
+            removed.add(id);
+        }
+    }
+
+    /** One cursor range of the query and its listener. */
+    private final class Page {
+        @Nullable final DocumentSnapshot after;
+        /** Inclusive end; null for the last page, which uses the page size as its limit. */
+        @Nullable final DocumentSnapshot through;
+        final Set<String> ids = new HashSet<>();
+
+        @Nullable ListenerRegistration registration;
+        boolean synced;
+        int size;
+        @Nullable DocumentSnapshot last;
+
+        Page(@Nullable DocumentSnapshot after, @Nullable DocumentSnapshot through) {
+            this.after = after;
+            this.through = through;
+        }
+
+        void attach() {
+            if (registration != null) return;
+            synced = false;
+            registration = repository.listenEvents(query, after, through, pageSize,
+                    new EventRepository.OnEventChangesListener() {
+                        @Override
+                        public void onChanges(List<EventRepository.EventChange> changes, int size,
+                                              @Nullable DocumentSnapshot last) {
+                            if (registration != null) apply(Page.this, changes, size, last);
+                        }
+
+                        @Override
+                        public void onFailure(Exception e) {
+                            listener.onFailure(e);
+                        }
+                    });
+        }
+
+        void detach() {
+            if (registration != null) {
+                registration.remove();
+                registration = null;
+            }
+        }
+    }
+}
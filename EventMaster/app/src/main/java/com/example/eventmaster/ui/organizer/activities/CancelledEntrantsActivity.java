@@ -13,9 +13,13 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.eventmaster.R;
 import com.example.eventmaster.data.api.NotificationService;
+import com.example.eventmaster.data.firestore.NotificationCounterFs;
 import com.example.eventmaster.data.firestore.NotificationServiceFs;
 import com.example.eventmaster.data.firestore.ProfileRepositoryFs;
+import com.example.eventmaster.data.firestore.ProfileResolver;
+import com.example.eventmaster.data.firestore.ProfileSummaryFs;
 import com.example.eventmaster.model.Event;
+import com.example.eventmaster.model.Notification;
 import com.example.eventmaster.model.Profile;
 import com.example.eventmaster.model.WaitingListEntry;
 import com.example.eventmaster.ui.organizer.adapters.CancelledEntrantsAdapter;
@@ -27,8 +31,10 @@ import com.google.firebase.firestore.SetOptions;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Screen showing all cancelled entrants for an event.
@@ -164,16 +170,19 @@ public class CancelledEntrantsActivity extends AppCompatActivity {
 
     /**
      * Perform notification send using NotificationServiceFs.
+     * Streams the cancelled registrations instead of the loaded profile list.
      */
     private void sendNotifications(String title, String message) {
         Log.d(TAG, "Sending notifications with title=" + title + " message=" + message);
 
-        notificationService.sendNotificationToCancelledEntrants(
+        notificationService.sendNotificationToAudience(
                 eventId,
-                cancelledProfiles,
+                NotificationService.Audience.CANCELLED_REGISTRATIONS,
+                Notification.NotificationType.CANCELLATION,
                 title,
                 message,
-                this::handleSendSuccess,
+                null,
+                (sent, skipped) -> handleSendSuccess(sent),
                 this::handleSendFailure
         );
     }
@@ -181,12 +190,12 @@ public class CancelledEntrantsActivity extends AppCompatActivity {
     /**
      * Called when notifications were successfully delivered.
      */
-    private void handleSendSuccess() {
+    private void handleSendSuccess(int count) {
         runOnUiThread(() -> {
             sendNotificationButton.setEnabled(true);
             Toast.makeText(
                     this,
-                    "Notifications sent to " + cancelledProfiles.size() + " cancelled entrants!",
+                    "Notifications sent to " + count + " cancelled entrants!",
                     Toast.LENGTH_LONG
             ).show();
             Log.i(TAG, "Notifications sent successfully");
@@ -227,6 +236,9 @@ public class CancelledEntrantsActivity extends AppCompatActivity {
                         return;
                     }
 
+                    // Candidate ids per registration, in priority order
+                    List<List<String>> candidates = new ArrayList<>();
+                    Set<String> allIds = new LinkedHashSet<>();
                     for (DocumentSnapshot doc : snap.getDocuments()) {
 
                         String userId;
@@ -234,12 +246,17 @@ public class CancelledEntrantsActivity extends AppCompatActivity {
                         else if (doc.contains("entrantId")) userId = doc.getString("entrantId");
                         else                                userId = doc.getId();
 
-                        String entrantId = doc.getString("entrantId");
-                        String userIdField = doc.getString("userId");
+                        List<String> ids = new ArrayList<>();
+                        for (String id : Arrays.asList(userId, doc.getString("entrantId"), doc.getString("userId"))) {
+                            if (id != null && !id.isEmpty() && !ids.contains(id)) ids.add(id);
+                        }
+                        candidates.add(ids);
+                        allIds.addAll(ids);
 
                         cancelledStatuses.add(doc.getString("status"));
-                        loadProfileWithFallback(userId, entrantId, userIdField);
                     }
+
+                    loadProfilesWithFallback(candidates, allIds);
                 })
                 .addOnFailureListener(e -> {
                     Log.e(TAG, "Error retrieving cancelled entrants", e);
@@ -248,85 +265,32 @@ public class CancelledEntrantsActivity extends AppCompatActivity {
     }
 
     /**
-     * Resolves profiles safely in this priority order:
+     * Resolves profiles for every registration in one bulk lookup
+     * (docId, then deviceId), picking per registration in this priority order:
      *   1. userId (trusted)
      *   2. entrantId
-     *   3. deviceId (legacy)
+     *   3. userId field
      */
-    private void loadProfileWithFallback(String userId, String entrantId, String userIdField) {
-
-        profileRepo.get(userId)
-                .addOnSuccessListener(profile -> {
-                    if (profile != null) {
-                        profile.setUserId(userId);
-                        addCancelledProfile(profile);
-                        return;
-                    }
-
-                    if (entrantId != null && !entrantId.isEmpty()) {
-                        profileRepo.get(entrantId)
-                                .addOnSuccessListener(p2 -> {
-                                    if (p2 != null) {
-                                        p2.setUserId(entrantId);
-                                        addCancelledProfile(p2);
-                                        return;
-                                    }
-
-                                    if (userIdField != null && !userIdField.isEmpty()) {
-                                        profileRepo.get(userIdField)
-                                                .addOnSuccessListener(p3 -> {
-                                                    if (p3 != null) {
-                                                        p3.setUserId(userIdField);
-                                                        addCancelledProfile(p3);
-                                                        return;
-                                                    }
-                                                    loadProfileByDeviceId(userId);
-                                                });
-                                    } else {
-                                        loadProfileByDeviceId(userId);
-                                    }
-                                });
-                    } else loadProfileByDeviceId(userId);
-
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Primary lookup failed for " + userId, e);
-                    loadProfileByDeviceId(userId);
-                });
-    }
-
-    /**
-     * Legacy fallback for very old registrations using deviceId.
-     */
-    private void loadProfileByDeviceId(String deviceId) {
-        FirebaseFirestore db = FirebaseFirestore.getInstance();
-
-        db.collection("profiles")
-                .whereEqualTo("deviceId", deviceId)
-                .limit(1)
-                .get()
-                .addOnSuccessListener(snap -> {
-                    if (!snap.isEmpty()) {
-                        DocumentSnapshot doc = snap.getDocuments().get(0);
-                        Profile p = doc.toObject(Profile.class);
-
-                        if (p != null) {
-                            String realUid = doc.getString("userId");
-                            if (realUid == null || realUid.isEmpty()) realUid = doc.getId();
-                            p.setUserId(realUid);
+    private void loadProfilesWithFallback(List<List<String>> candidates, Set<String> allIds) {
+        ProfileResolver.getInstance().resolve(allIds)
+                .addOnSuccessListener(resolved -> {
+                    for (List<String> ids : candidates) {
+                        Profile match = null;
+                        for (String id : ids) {
+                            match = resolved.get(id);
+                            if (match != null) break;
+                        }
 
-                            addCancelledProfile(p);
-                            return;
+                        if (match != null) {
+                            addCancelledProfile(match);
+                        } else {
+                            Log.w(TAG, "No profile found for cancelled entrant " + ids);
                         }
                     }
-
-                    Log.w(TAG, "No profile found using deviceId fallback: " + deviceId);
                     adapter.updateCancelledEntrants(new ArrayList<>(cancelledProfiles),
                             new ArrayList<>(cancelledStatuses));
                     updateCount();
-                })
-                .addOnFailureListener(e ->
-                        Log.e(TAG, "DeviceId fallback failed for " + deviceId, e));
+                });
     }
 
     /**
@@ -433,6 +397,7 @@ public class CancelledEntrantsActivity extends AppCompatActivity {
                                     if (entry == null) continue;
 
                                     entry.setStatus("selected");
+                                    ProfileSummaryFs.compact(entry);
 
                                     // ---- 2. Add to chosen_list ----
                                     Task<Void> addChosen = db.collection("events")
@@ -472,8 +437,7 @@ public class CancelledEntrantsActivity extends AppCompatActivity {
                                     notif.put("isRead", false);
                                     notif.put("sentAt", com.google.firebase.Timestamp.now());
 
-                                    Task<Void> notifTask = db.collection("notifications")
-                                            .add(notif)
+                                    Task<Void> notifTask = NotificationCounterFs.addNotification(db, notif)
                                             .continueWith(t -> null);
 
                                     tasks.add(notifTask);
@@ -15,11 +15,9 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.eventmaster.R;
 import com.example.eventmaster.data.api.NotificationService;
 import com.example.eventmaster.data.firestore.NotificationServiceFs;
-import com.example.eventmaster.data.firestore.ProfileRepositoryFs;
 import com.example.eventmaster.data.firestore.RegistrationServiceFs;
 import com.example.eventmaster.data.firestore.WaitingListRepositoryFs;
-import com.example.eventmaster.model.Event;
-import com.example.eventmaster.model.Profile;
+import com.example.eventmaster.model.Notification;
 import com.example.eventmaster.model.WaitingListEntry;
 import com.example.eventmaster.ui.organizer.adapters.ChosenListAdapter;
 import com.google.firebase.firestore.DocumentSnapshot;
@@ -27,7 +25,6 @@ import com.google.firebase.firestore.FirebaseFirestore;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Activity for displaying all chosen entrants (lottery winners).
@@ -36,7 +33,6 @@ import java.util.concurrent.atomic.AtomicInteger;
  *
  * This activity:
  * - Loads chosen entrants
- * - Resolves their profiles from profiles/
  * - Lets organizer send notifications to entrants
  * - Cancels pending invitations when necessary
  */
@@ -55,7 +51,6 @@ public class ChosenListActivity extends AppCompatActivity {
     private final WaitingListRepositoryFs repo = new WaitingListRepositoryFs();
     private final RegistrationServiceFs registrationService = new RegistrationServiceFs();
     private final NotificationService notificationService = new NotificationServiceFs();
-    private final ProfileRepositoryFs profileRepo = new ProfileRepositoryFs();
 
     private List<WaitingListEntry> currentChosenList = new ArrayList<>();
 
@@ -148,7 +143,7 @@ public class ChosenListActivity extends AppCompatActivity {
     }
 
     /**
-     * Sends notifications to chosen entrants using the embedded profile
+     * Sends notifications to chosen entrants by streaming chosen_list
      * AND includes event name in the message.
      */
     private void sendNotificationToChosenEntrants() {
@@ -176,45 +171,21 @@ public class ChosenListActivity extends AppCompatActivity {
                         }
                     }
 
-                    // 2️⃣ Extract profiles from chosen_list entries
-                    List<Profile> profiles = new ArrayList<>();
-
-                    for (WaitingListEntry entry : currentChosenList) {
-                        Profile p = entry.getProfile();
-
-                        if (p == null) {
-                            Log.e(TAG, "ChosenList entry missing embedded profile!");
-                            continue;
-                        }
-
-                        String uid = p.getUserId();
-                        if (uid == null || uid.isEmpty()) {
-                            uid = p.getId();
-                        }
-                        p.setUserId(uid);
-
-                        profiles.add(p);
-                    }
-
-                    if (profiles.isEmpty()) {
-                        Toast.makeText(this, "Failed to load profiles", Toast.LENGTH_SHORT).show();
-                        textSendNotification.setEnabled(true);
-                        return;
-                    }
-
-                    // 3️⃣ Build event-aware message
+                    // 2️⃣ Build event-aware message
                     String title = "🎉 " + eventName + " — You've Been Chosen!";
                     String message =
                             "Congratulations! You have been selected in the lottery for " + eventName +
                                     ". Please visit the event page to accept or decline your invitation.";
 
-                    // 4️⃣ Send notifications
-                    notificationService.sendNotificationToSelectedEntrants(
+                    // 3️⃣ Fan out over chosen_list; recipients come from the entries themselves
+                    notificationService.sendNotificationToAudience(
                             eventId,
-                            profiles,
+                            NotificationService.Audience.CHOSEN_LIST,
+                            Notification.NotificationType.LOTTERY_WON,
                             title,
                             message,
-                            () -> handleSendSuccess(profiles.size()),
+                            null,
+                            (sent, skipped) -> handleSendSuccess(sent),
                             err -> handleSendFailure(err)
                     );
 
@@ -226,139 +197,6 @@ public class ChosenListActivity extends AppCompatActivity {
                 });
     }
 
-
-
-    /**
-     * Loads profiles for all entries in chosen_list.
-     * chosen_list uses deviceId as the docId, so we must resolve:
-     * deviceId -> profiles.where(deviceId == entryId) -> real UID
-     */
-    private void loadProfilesAndSendNotifications(List<String> ids) {
-        List<Profile> profiles = new ArrayList<>();
-        AtomicInteger completed = new AtomicInteger(0);
-        int total = ids.size();
-
-        if (total == 0) {
-            textSendNotification.setEnabled(true);
-            Toast.makeText(this, "No users to notify", Toast.LENGTH_SHORT).show();
-            return;
-        }
-
-        for (String id : ids) {
-            resolveProfile(id, profile -> {
-                if (profile != null) profiles.add(profile);
-
-                if (completed.incrementAndGet() == total) {
-                    if (profiles.isEmpty()) {
-                        Toast.makeText(this, "Failed to load profiles", Toast.LENGTH_SHORT).show();
-                        textSendNotification.setEnabled(true);
-                    } else {
-                        sendNotificationsToProfiles(profiles);
-                    }
-                }
-            });
-        }
-    }
-
-    /**
-     * Resolves a profile from a chosen_list entry ID.
-     * chosen_list uses deviceId as doc ID, so the correct resolution order is:
-     * 1. Try as a real Firebase UID
-     * 2. Try profiles where deviceId == entryId
-     */
-    private void resolveProfile(String entryId, ProfileCallback callback) {
-        FirebaseFirestore db = FirebaseFirestore.getInstance();
-
-        profileRepo.get(entryId)
-                .addOnSuccessListener(profile -> {
-                    if (profile != null) {
-                        profile.setUserId(entryId);
-                        Log.d(TAG, "Resolved profile by UID: " + entryId);
-                        callback.onProfileResolved(profile);
-                    } else {
-                        db.collection("profiles")
-                                .whereEqualTo("deviceId", entryId)
-                                .limit(1)
-                                .get()
-                                .addOnSuccessListener(snap -> {
-                                    if (!snap.isEmpty()) {
-                                        DocumentSnapshot doc = snap.getDocuments().get(0);
-                                        Profile p = doc.toObject(Profile.class);
-
-                                        if (p != null) {
-                                            String realUid = doc.getString("userId");
-                                            if (realUid == null || realUid.isEmpty())
-                                                realUid = doc.getId();
-
-                                            p.setUserId(realUid);
-                                            Log.d(TAG, "Resolved profile by deviceId: " + entryId + " → " + realUid);
-                                            callback.onProfileResolved(p);
-                                            return;
-                                        }
-                                    }
-
-                                    Log.e(TAG, "No profile resolved for " + entryId);
-                                    callback.onProfileResolved(null);
-                                })
-                                .addOnFailureListener(e -> {
-                                    Log.e(TAG, "deviceId lookup failed for " + entryId, e);
-                                    callback.onProfileResolved(null);
-                                });
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "UID lookup failed for " + entryId, e);
-                    callback.onProfileResolved(null);
-                });
-    }
-
-    /**
-     * Sends notifications to chosen entrant profiles.
-     */
-    private void sendNotificationsToProfiles(List<Profile> profiles) {
-        FirebaseFirestore.getInstance()
-                .collection("events")
-                .document(eventId)
-                .get()
-                .addOnSuccessListener(doc -> {
-                    String eventName = "Event";
-                    if (doc.exists()) {
-                        Event e = doc.toObject(Event.class);
-                        if (e != null && e.getName() != null) {
-                            eventName = e.getName();
-                        }
-                    }
-
-                    String title = "🎉 You've been selected!";
-                    String message = eventName +
-                            ": You have been chosen in the lottery. Please visit the event page to accept or decline your invitation.";
-
-                    notificationService.sendNotificationToSelectedEntrants(
-                            eventId,
-                            profiles,
-                            title,
-                            message,
-                            () -> handleSendSuccess(profiles.size()),
-                            error -> handleSendFailure(error)
-                    );
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Failed to fetch event name", e);
-
-                    String title = "🎉 You've been selected!";
-                    String message = "Please visit the event page to accept or decline your invitation.";
-
-                    notificationService.sendNotificationToSelectedEntrants(
-                            eventId,
-                            profiles,
-                            title,
-                            message,
-                            () -> handleSendSuccess(profiles.size()),
-                            this::handleSendFailure
-                    );
-                });
-    }
-
     private void handleSendSuccess(int count) {
         runOnUiThread(() -> {
             textSendNotification.setEnabled(true);
@@ -373,10 +211,6 @@ public class ChosenListActivity extends AppCompatActivity {
         });
     }
 
-    private interface ProfileCallback {
-        void onProfileResolved(Profile profile);
-    }
-
     /**
      * Cancels all invitations that are still pending. This changes the registration
      * status to CANCELLED_BY_ORGANIZER, updates the invitation document, and then
@@ -26,10 +26,13 @@ import android.Manifest;
 import android.content.Intent;
 import android.graphics.Bitmap;
 import android.graphics.Color;
+import android.location.Address;
+import android.location.Geocoder;
 import android.net.Uri;
 import android.os.Build;
 import android.os.Bundle;
 import android.text.TextUtils;
+import android.util.Log;
 import android.view.View;
 import android.widget.ArrayAdapter;
 import android.widget.AutoCompleteTextView;
@@ -41,13 +44,18 @@ import android.widget.Toast;
 
 import androidx.activity.result.ActivityResultLauncher;
 import androidx.activity.result.contract.ActivityResultContracts;
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.eventmaster.MainActivity;
 import com.example.eventmaster.R;
+import com.example.eventmaster.data.firestore.EventRepositoryFs;
 import com.example.eventmaster.utils.AuthHelper;
 import com.example.eventmaster.utils.CredentialStorageHelper;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.checkbox.MaterialCheckBox;
 import com.google.android.material.textfield.TextInputEditText;
@@ -63,7 +71,11 @@ import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 public class OrganizerCreateEventActivity extends AppCompatActivity {
 
@@ -83,6 +95,12 @@ public class OrganizerCreateEventActivity extends AppCompatActivity {
 
     // Local state
     private Uri posterUri = null;
+
+    private final EventRepositoryFs eventRepository = new EventRepositoryFs();
+
+    private static final String TAG = "OrganizerCreateEvent";
+    /** Geocoder lookups block on the network; keep them off the main thread. */
+    private static final Executor GEOCODER = Executors.newSingleThreadExecutor();
     public String regStartIso = null;
     public String regEndIso = null;
     public String eventDateIso = null;
@@ -307,16 +325,19 @@ public class OrganizerCreateEventActivity extends AppCompatActivity {
         base.put("qrUrl", null);
         base.put("capacity", capacity);
         base.put("createdAt", Timestamp.now());
+        base.put("updatedAt", Timestamp.now()); // event mirrors sync on this
         base.put("geolocationRequired", cbRequireLocation.isChecked());
         base.put("price", price);
         base.put("waitingListLimit", waitingListLimit);
         base.put("eventType", selectedEventType);
         base.put("eventDate", eventDate);
+        base.put("status", "PUBLISHED"); // listed to entrants as soon as it is created
 
 
-        // Write base event document
-        doc.set(base)
+        // Write base event document (the repository splits detail fields and adds the catalog entry)
+        eventRepository.createWithId(eventId, base)
                 .addOnSuccessListener(unused -> {
+                    geocodeLocation(eventId, location);
                     // Poster upload → then QR (optional)
                     if (posterUri != null) {
                         uploadPoster(doc, eventId, posterUri, () -> maybeGenerateQr(doc, eventId));
@@ -330,6 +351,61 @@ public class OrganizerCreateEventActivity extends AppCompatActivity {
                 });
     }
 
+    /**
+     * Looks up coordinates for the typed location in the background and
+     * stores them on the event (the repository adds the geohash), so it
+     * shows up in "near me" searches. Best effort: without a match the
+     * event just isn't found by distance.
+     */
+    private void geocodeLocation(String eventId, String location) {
+        if (TextUtils.isEmpty(location) || !Geocoder.isPresent()) return;
+        Geocoder geocoder = new Geocoder(getApplicationContext(), Locale.getDefault());
+        firstMatch(geocoder, location)
+                .addOnSuccessListener(address -> {
+                    if (address == null) return;
+                    Map<String, Object> fields = new HashMap<>();
+                    fields.put("latitude", address.getLatitude());
+                    fields.put("longitude", address.getLongitude());
+                    eventRepository.update(eventId, fields);
+                })
+                .addOnFailureListener(e -> Log.w(TAG, "Geocoding failed for " + eventId, e));
+    }
+
+    /**
+     * Best match for {@code location}, or null. API 33+ geocodes
+     * asynchronously; older releases only have the blocking call, which
+     * runs on {@link #GEOCODER}.
+     */
+    private static Task<Address> firstMatch(Geocoder geocoder, String location) {
+        if (Build.VERSION.SDK_INT >= 33) {
+            TaskCompletionSource<Address> result = new TaskCompletionSource<>();
+            geocoder.getFromLocationName(location, 1, new Geocoder.GeocodeListener() {
+                @Override
+                public void onGeocode(@NonNull List<Address> matches) {
+                    result.trySetResult(matches.isEmpty() ? null : matches.get(0));
+                }
+
+                @Override
+                public void onError(@Nullable String errorMessage) {
+                    result.trySetException(new IOException(errorMessage));
+                }
+            });
+            return result.getTask();
+        }
+        return Tasks.call(GEOCODER, () -> {
+            @SuppressWarnings("deprecation")
+            List<Address> matches = geocoder.getFromLocationName(location, 1);
+            return matches == null || matches.isEmpty() ? null : matches.get(0);
+        });
+    }
+
+    /** Sets one field on the new event; the repository stamps updatedAt and refreshes the catalog. */
+    private Task<Void> updateEventField(String eventId, String field, Object value) {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put(field, value);
+        return eventRepository.update(eventId, fields);
+    }
+
     /**
      * Decides whether to generate QR based on checkbox.
      * If not checked, publish instantly.
@@ -361,7 +437,7 @@ public class OrganizerCreateEventActivity extends AppCompatActivity {
                         return ref.getDownloadUrl();
                     })
                     .addOnSuccessListener(posterUrl ->
-                            doc.update("posterUrl", posterUrl.toString())
+                            updateEventField(eventId, "posterUrl", posterUrl.toString())
                                     .addOnSuccessListener(unused -> onDone.run())
                                     .addOnFailureListener(e -> {
                                         setBusy(false);
@@ -407,7 +483,7 @@ public class OrganizerCreateEventActivity extends AppCompatActivity {
                     return ref.getDownloadUrl();
                 })
                 .addOnSuccessListener(qrUrl ->
-                        doc.update("qrUrl", qrUrl.toString())
+                        updateEventField(eventId, "qrUrl", qrUrl.toString())
                                 .addOnSuccessListener(unused -> {
                                     setBusy(false);
                                     toast("Event published!");
@@ -387,7 +387,7 @@ public class OrganizerManageEventsActivity extends AppCompatActivity {
         }
 
         if (adapter != null) {
-            adapter.notifyDataSetChanged();
+            adapter.setEvents(filteredEvents);
         }
     }
 
@@ -22,6 +22,7 @@ import androidx.fragment.app.FragmentTransaction;
 import com.bumptech.glide.Glide;
 import com.bumptech.glide.load.engine.GlideException;
 import com.example.eventmaster.R;
+import com.example.eventmaster.data.firestore.EventRepositoryFs;
 import com.example.eventmaster.data.firestore.LotteryServiceFs;
 import com.example.eventmaster.ui.organizer.fragments.OrganizerEntrantsHubFragment;
 import com.google.android.material.button.MaterialButton;
@@ -36,6 +37,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Activity used by organizers to view and manage a specific event.
@@ -61,6 +64,7 @@ public class OrganizerManageSpecificEventActivity extends AppCompatActivity {
 
     private String eventId;
     private String eventTitle;
+    private final EventRepositoryFs eventRepository = new EventRepositoryFs();
 
     // UI ELEMENTS
     private ImageButton backButton;
@@ -84,6 +88,7 @@ public class OrganizerManageSpecificEventActivity extends AppCompatActivity {
     private TextInputEditText editDescription;
     private LinearLayout descriptionEditButtons;
     private boolean isEditingDescription = false;
+    private String fullDescription; // null until the whole text is known; editing waits for it
 
     // Action buttons
     private MaterialButton btnViewEntrants;
@@ -161,6 +166,7 @@ public class OrganizerManageSpecificEventActivity extends AppCompatActivity {
 
         // Description editing
         btnEditDescription = findViewById(R.id.btnEditDescription);
+        btnEditDescription.setEnabled(false); // until the full description is known
         btnSaveDescription = findViewById(R.id.btnSaveDescription);
         btnCancelDescription = findViewById(R.id.btnCancelDescription);
         layoutDescription = findViewById(R.id.layoutDescription);
@@ -295,7 +301,16 @@ public class OrganizerManageSpecificEventActivity extends AppCompatActivity {
                     Long cap = doc.getLong("capacity");
                     if (cap != null) eventCapacity.setText(String.valueOf(cap));
 
-                    eventDescription.setText(doc.getString("description"));
+                    // Preview first (or the full text on events from before the split)
+                    String description = doc.getString("description");
+                    String preview = doc.getString("descriptionPreview");
+                    eventDescription.setText(description != null ? description : preview);
+                    if (description != null) {
+                        fullDescription = description;
+                        btnEditDescription.setEnabled(true);
+                    } else {
+                        loadFullDescription(preview);
+                    }
 
                     // --- EVENT TYPE ---
                     String type = doc.getString("eventType");
@@ -389,10 +404,9 @@ public class OrganizerManageSpecificEventActivity extends AppCompatActivity {
                         return ref.getDownloadUrl();
                     })
                     .addOnSuccessListener(url -> {
-                        FirebaseFirestore.getInstance()
-                                .collection("events")
-                                .document(eventId)
-                                .update("posterUrl", url.toString())
+                        Map<String, Object> fields = new HashMap<>();
+                        fields.put("posterUrl", url.toString());
+                        eventRepository.update(eventId, fields)
                                 .addOnSuccessListener(unused ->
                                         Toast.makeText(this, "Poster updated!", Toast.LENGTH_SHORT).show()
                                 )
@@ -598,11 +612,13 @@ public class OrganizerManageSpecificEventActivity extends AppCompatActivity {
      * Enters edit mode for description.
      */
     private void enterDescriptionEditMode() {
+        // Saving writes the whole description; starting from the preview would truncate it
+        if (fullDescription == null) {
+            Toast.makeText(this, "Description is still loading", Toast.LENGTH_SHORT).show();
+            return;
+        }
         isEditingDescription = true;
-        String currentDesc = eventDescription.getText() != null 
-            ? eventDescription.getText().toString() 
-            : "";
-        editDescription.setText(currentDesc);
+        editDescription.setText(fullDescription);
         eventDescription.setVisibility(View.GONE);
         layoutDescription.setVisibility(View.VISIBLE);
         descriptionEditButtons.setVisibility(View.VISIBLE);
@@ -620,6 +636,41 @@ public class OrganizerManageSpecificEventActivity extends AppCompatActivity {
         btnEditDescription.setVisibility(View.VISIBLE);
     }
 
+    /**
+     * Replaces the description preview with the full text from the event's
+     * detail doc. Editing stays disabled until it arrives, and for good if
+     * the read fails, since saving the preview would cut the description.
+     *
+     * @param preview the event doc's descriptionPreview; empty or null means
+     *                there is no description to load
+     */
+    private void loadFullDescription(String preview) {
+        btnEditDescription.setEnabled(false);
+        eventRepository.getEventDetails(eventId)
+            .addOnSuccessListener(details -> {
+                if (isFinishing() || isDestroyed()) return;
+                if (details.description != null) {
+                    fullDescription = details.description;
+                } else if (preview == null || preview.isEmpty()) {
+                    fullDescription = "";
+                } else {
+                    onFullDescriptionFailed();
+                    return;
+                }
+                eventDescription.setText(fullDescription);
+                btnEditDescription.setEnabled(true);
+            })
+            .addOnFailureListener(e -> {
+                if (!isFinishing() && !isDestroyed()) onFullDescriptionFailed();
+            });
+    }
+
+    private void onFullDescriptionFailed() {
+        btnEditDescription.setEnabled(false);
+        Toast.makeText(this, "Couldn't load the full description; editing is disabled",
+            Toast.LENGTH_LONG).show();
+    }
+
     /**
      * Saves the updated description to Firestore.
      */
@@ -628,11 +679,12 @@ public class OrganizerManageSpecificEventActivity extends AppCompatActivity {
             ? editDescription.getText().toString().trim() 
             : "";
         
-        FirebaseFirestore.getInstance()
-            .collection("events")
-            .document(eventId)
-            .update("description", newDescription)
+        // Through the repository: the full text goes to the detail doc, a preview to the event
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("description", newDescription);
+        eventRepository.update(eventId, fields)
             .addOnSuccessListener(v -> {
+                fullDescription = newDescription;
                 eventDescription.setText(newDescription);
                 exitDescriptionEditMode();
                 Toast.makeText(this, "Description updated!", Toast.LENGTH_SHORT).show();
@@ -661,11 +713,8 @@ public class OrganizerManageSpecificEventActivity extends AppCompatActivity {
     private void deleteEvent() {
         Toast.makeText(this, "Deleting event...", Toast.LENGTH_SHORT).show();
         
-        // Delete the event document
-        FirebaseFirestore.getInstance()
-            .collection("events")
-            .document(eventId)
-            .delete()
+        // Delete the event document (with its detail doc and catalog entry)
+        eventRepository.delete(eventId)
             .addOnSuccessListener(v -> {
                 Toast.makeText(this, "Event deleted", Toast.LENGTH_SHORT).show();
                 finish(); // Go back to Manage Events page
@@ -23,8 +23,9 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.eventmaster.R;
 import com.example.eventmaster.data.api.NotificationService;
 import com.example.eventmaster.data.firestore.NotificationServiceFs;
-import com.example.eventmaster.data.firestore.ProfileRepositoryFs;
+import com.example.eventmaster.data.firestore.ProfileResolver;
 import com.example.eventmaster.model.Profile;
+import com.example.eventmaster.model.ProfileSummary;
 import com.example.eventmaster.ui.organizer.adapters.*;
 import com.google.android.material.appbar.MaterialToolbar;
 import com.google.firebase.firestore.DocumentSnapshot;
@@ -33,7 +34,7 @@ import com.google.firebase.firestore.FirebaseFirestore;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -77,7 +78,6 @@ public class SelectedEntrantsActivity extends AppCompatActivity {
 
     // Services
     private NotificationService notificationService;
-    private ProfileRepositoryFs profileRepo;
 
     @Override
     protected void onCreate(@Nullable Bundle savedInstanceState) {
@@ -86,7 +86,6 @@ public class SelectedEntrantsActivity extends AppCompatActivity {
 
         // Initialize services
         notificationService = new NotificationServiceFs();
-        profileRepo = new ProfileRepositoryFs();
 
         // Initialize UI components
         initializeViews();
@@ -166,7 +165,9 @@ public class SelectedEntrantsActivity extends AppCompatActivity {
                     Log.d(TAG, "Found " + regSnap.size() + " selected entrants");
 
                     // Track userIds we've already processed to avoid duplicates
-                    Set<String> processedUserIds = new HashSet<>();
+                    Set<String> processedUserIds = new LinkedHashSet<>();
+                    // Entrants whose registration has no embedded profileSummary yet
+                    Set<String> needsLookup = new LinkedHashSet<>();
                     
                     for (DocumentSnapshot doc : regSnap.getDocuments()) {
                         // Registration document ID is the userId (Firebase Auth UID)
@@ -196,9 +197,18 @@ public class SelectedEntrantsActivity extends AppCompatActivity {
                         processedUserIds.add(userId);
                         Log.d(TAG, "Found selected registration - docId: " + doc.getId() + ", userId: " + userId);
 
-                        loadProfileForSelectedEntrant(userId);
+                        ProfileSummary summary = ProfileSummary.fromMap(doc.get("profileSummary"));
+                        if (summary != null) {
+                            selectedEntrants.add(summary.toProfile(userId));
+                        } else {
+                            needsLookup.add(userId);
+                        }
                     }
 
+                    adapter.updateEntrants(new ArrayList<>(selectedEntrants));
+                    updateUI();
+                    if (!needsLookup.isEmpty()) loadProfilesForSelectedEntrants(needsLookup);
+
                 })
                 .addOnFailureListener(e -> {
                     Toast.makeText(this, "Failed to load selected entrants", Toast.LENGTH_SHORT).show();
@@ -206,22 +216,21 @@ public class SelectedEntrantsActivity extends AppCompatActivity {
                 });
     }
 
-    private void loadProfileForSelectedEntrant(String userId) {
-
-        // 1️⃣ Try document ID = userId (correct method for new accounts)
-        profileRepo.get(userId)
-                .addOnSuccessListener(profile -> {
-                    if (profile != null) {
-                        finalizeSelectedProfile(userId, profile);
-                        return;
+    private void loadProfilesForSelectedEntrants(Set<String> userIds) {
+
+        // 1️⃣ Bulk lookup by docId, then by deviceId for the misses
+        ProfileResolver.getInstance().resolve(userIds)
+                .addOnSuccessListener(resolved -> {
+                    for (String userId : userIds) {
+                        Profile profile = resolved.get(userId);
+                        if (profile != null) {
+                            finalizeSelectedProfile(userId, profile);
+                        } else {
+                            // 2️⃣ Rare: profile only reachable through its userId field
+                            Log.w(TAG, "(1) No profile under docId/deviceId for: " + userId);
+                            loadProfileByUserIdField(userId);
+                        }
                     }
-
-                    Log.w(TAG, "(1) No profile under docId for UID: " + userId);
-                    loadProfileByUserIdField(userId);
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "(1) Error loading docId profile for " + userId, e);
-                    loadProfileByUserIdField(userId);
                 });
     }
 
@@ -239,39 +248,17 @@ public class SelectedEntrantsActivity extends AppCompatActivity {
                     }
 
                     Log.w(TAG, "(2) No profile with userId field = " + userId);
-                    loadProfileByDeviceId(userId);
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "(2) userId field lookup failed for " + userId, e);
-                    loadProfileByDeviceId(userId);
-                });
-    }
-
-
-    private void loadProfileByDeviceId(String deviceId) {
-        FirebaseFirestore.getInstance()
-                .collection("profiles")
-                .whereEqualTo("deviceId", deviceId)
-                .limit(1)
-                .get()
-                .addOnSuccessListener(snap -> {
-                    if (!snap.isEmpty()) {
-                        Profile profile = snap.getDocuments().get(0).toObject(Profile.class);
-                        finalizeSelectedProfile(deviceId, profile);
-                        return;
-                    }
-
-                    Log.w(TAG, "(3) No profile found by deviceId fallback: " + deviceId);
                     adapter.updateEntrants(new ArrayList<>(selectedEntrants));
                     updateUI();
                 })
                 .addOnFailureListener(e -> {
-                    Log.e(TAG, "(3) deviceId lookup failed for: " + deviceId, e);
+                    Log.e(TAG, "(2) userId field lookup failed for " + userId, e);
                     adapter.updateEntrants(new ArrayList<>(selectedEntrants));
                     updateUI();
                 });
     }
 
+
     private void finalizeSelectedProfile(String userId, Profile profile) {
         if (profile == null) return;
 
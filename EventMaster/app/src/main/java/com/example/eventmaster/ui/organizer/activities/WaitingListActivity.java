@@ -22,7 +22,7 @@ import com.example.eventmaster.data.firestore.NotificationServiceFs;
 import com.example.eventmaster.data.firestore.ProfileRepositoryFs;
 import com.example.eventmaster.data.firestore.WaitingListRepositoryFs;
 import com.example.eventmaster.data.firestore.LotteryServiceFs;
-import com.example.eventmaster.model.Profile;
+import com.example.eventmaster.model.Notification;
 import com.example.eventmaster.model.WaitingListEntry;
 import com.example.eventmaster.ui.organizer.adapters.WaitingListAdapter;
 import com.google.firebase.firestore.FirebaseFirestore;
@@ -173,33 +173,18 @@ public class WaitingListActivity extends AppCompatActivity {
     }
 
     private void notifyWaitingList(String eventName) {
-
-        List<Profile> profiles = new ArrayList<>();
-        for (WaitingListEntry entry : currentWaitingList) {
-            Profile p = entry.getProfile();
-            if (p != null) {
-                if (p.getUserId() == null || p.getUserId().isEmpty()) {
-                    p.setUserId(p.getId());
-                }
-                profiles.add(p);
-            }
-        }
-
-        if (profiles.isEmpty()) {
-            Toast.makeText(this, "No profiles found", Toast.LENGTH_SHORT).show();
-            textSendNotification.setEnabled(true);
-            return;
-        }
-
         String title = "📢 " + eventName + " – Waiting List Update";
         String message = eventName + ": You are currently on the waiting list.";
 
-        notificationService.sendNotificationToWaitingList(
+        // Streams events/{eventId}/waiting_list directly; no per-entrant profile needed
+        notificationService.sendNotificationToAudience(
                 eventId,
-                profiles,
+                NotificationService.Audience.WAITING_LIST,
+                Notification.NotificationType.GENERAL,
                 title,
                 message,
-                () -> handleSuccess(profiles.size()),
+                null,
+                (sent, skipped) -> handleSuccess(sent),
                 err -> handleFailure(err)
         );
     }
@@ -7,48 +7,87 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.eventmaster.R;
 import com.example.eventmaster.model.Profile;
+import com.example.eventmaster.ui.shared.adapters.RowListAdapter;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
-public class CancelledEntrantsAdapter extends RecyclerView.Adapter<CancelledEntrantsAdapter.ViewHolder> {
+public class CancelledEntrantsAdapter extends RowListAdapter<CancelledEntrantsAdapter.CancelledRow, CancelledEntrantsAdapter.ViewHolder> {
 
     /**
-     * Internal lightweight pair object to keep Profile + Status together.
-     * This solves async mismatch problems without modifying Profile class.
+     * Preformatted card for one cancelled entrant. Pairing Profile + Status
+     * in one row solves async mismatch problems without modifying Profile class.
      */
-    private static class CancelledRow {
-        Profile profile;
-        String status;
-        CancelledRow(Profile p, String s) {
-            profile = p;
-            status = s;
+    static final class CancelledRow extends RowListAdapter.Row {
+        final String name;
+        final String email;
+        @Nullable final String phone;       // null hides the line
+        @Nullable final String cancelledBy; // null hides the line
+
+        CancelledRow(Profile p, @Nullable String status) {
+            super(p.getUserId());
+            this.name = "Name: " + (p.getName() != null ? p.getName() : "Unknown");
+            this.email = "Email: " + (p.getEmail() != null ? p.getEmail() : "N/A");
+            this.phone = p.getPhoneNumber() != null && !p.getPhoneNumber().isEmpty()
+                    ? "Phone: " + p.getPhoneNumber()
+                    : null;
+
+            // Cancellation reason derived ONLY from registration status
+            if (status == null) {
+                cancelledBy = null;
+            } else {
+                switch (status) {
+                    case "CANCELLED_BY_ENTRANT":
+                        cancelledBy = "Cancelled by: Entrant";
+                        break;
+                    case "CANCELLED_BY_ORGANIZER":
+                        cancelledBy = "Cancelled by: Organizer";
+                        break;
+                    default:
+                        cancelledBy = "Cancelled by: Unknown";
+                }
+            }
         }
-    }
 
-    // Internal unified list
-    private final List<CancelledRow> rows = new ArrayList<>();
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CancelledRow)) return false;
+            CancelledRow r = (CancelledRow) o;
+            return name.equals(r.name)
+                    && email.equals(r.email)
+                    && Objects.equals(phone, r.phone)
+                    && Objects.equals(cancelledBy, r.cancelledBy);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, email, phone, cancelledBy);
+        }
+    }
 
     /**
      * Update the list with profile+status pairs.
      */
     public void updateCancelledEntrants(List<Profile> profiles, List<String> statuses) {
-        rows.clear();
-
         int size = Math.min(
                 profiles != null ? profiles.size() : 0,
                 statuses != null ? statuses.size() : 0
         );
 
-        for (int i = 0; i < size; i++) {
-            rows.add(new CancelledRow(profiles.get(i), statuses.get(i)));
-        }
+        // Indices into both lists; the rows are built off the main thread
+        List<Integer> indices = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) indices.add(i);
+        List<Profile> ps = size > 0 ? new ArrayList<>(profiles) : null;
+        List<String> ss = size > 0 ? new ArrayList<>(statuses) : null;
 
-        notifyDataSetChanged();
+        submitItems(indices, i -> ps.get(i) != null ? new CancelledRow(ps.get(i), ss.get(i)) : null);
     }
 
     @NonNull
@@ -61,13 +100,7 @@ public class CancelledEntrantsAdapter extends RecyclerView.Adapter<CancelledEntr
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        CancelledRow row = rows.get(position);
-        holder.bind(row.profile, row.status);
-    }
-
-    @Override
-    public int getItemCount() {
-        return rows.size();
+        holder.bind(getItem(position));
     }
 
     /**
@@ -91,36 +124,19 @@ public class CancelledEntrantsAdapter extends RecyclerView.Adapter<CancelledEntr
             cancelledByText = itemView.findViewById(R.id.entrant_cancelled_by);
         }
 
-        void bind(Profile p, String status) {
-
-            // Name
-            nameText.setText("Name: " +
-                    (p.getName() != null ? p.getName() : "Unknown"));
+        void bind(CancelledRow row) {
+            nameText.setText(row.name);
+            emailText.setText(row.email);
 
-            // Email
-            emailText.setText("Email: " +
-                    (p.getEmail() != null ? p.getEmail() : "N/A"));
-
-            // Phone
-            if (p.getPhoneNumber() != null && !p.getPhoneNumber().isEmpty()) {
+            if (row.phone != null) {
                 phoneText.setVisibility(View.VISIBLE);
-                phoneText.setText("Phone: " + p.getPhoneNumber());
+                phoneText.setText(row.phone);
             } else {
                 phoneText.setVisibility(View.GONE);
             }
 
-            // Cancellation reason derived ONLY from registration status
-            if (status != null) {
-                switch (status) {
-                    case "CANCELLED_BY_ENTRANT":
-                        cancelledByText.setText("Cancelled by: Entrant");
-                        break;
-                    case "CANCELLED_BY_ORGANIZER":
-                        cancelledByText.setText("Cancelled by: Organizer");
-                        break;
-                    default:
-                        cancelledByText.setText("Cancelled by: Unknown");
-                }
+            if (row.cancelledBy != null) {
+                cancelledByText.setText(row.cancelledBy);
                 cancelledByText.setVisibility(View.VISIBLE);
             } else {
                 cancelledByText.setVisibility(View.GONE);
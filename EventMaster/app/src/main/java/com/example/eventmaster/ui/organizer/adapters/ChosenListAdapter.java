@@ -9,8 +9,8 @@ import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.eventmaster.R;
-import com.example.eventmaster.model.Profile;
 import com.example.eventmaster.model.WaitingListEntry;
+import com.example.eventmaster.ui.shared.adapters.RowListAdapter;
 
 import java.util.List;
 
@@ -22,22 +22,19 @@ import java.util.List;
  *
  * The adapter supports dynamic updates when the chosen list changes.
  */
-public class ChosenListAdapter extends RecyclerView.Adapter<ChosenListAdapter.ViewHolder> {
-
-    private List<WaitingListEntry> chosenList;
+public class ChosenListAdapter extends RowListAdapter<ContactRow, ChosenListAdapter.ViewHolder> {
 
     public ChosenListAdapter(List<WaitingListEntry> chosenList) {
-        this.chosenList = chosenList;
+        updateList(chosenList);
     }
 
     /**
-     * Updates the adapter with a new list of chosen entrants and refreshes the view.
+     * Updates the adapter with a new list of chosen entrants; only changed rows are rebound.
      *
      * @param newList the updated list of WaitingListEntry objects.
      */
     public void updateList(List<WaitingListEntry> newList) {
-        this.chosenList = newList;
-        notifyDataSetChanged();
+        submitItems(newList, ContactRow::of);
     }
 
     @NonNull
@@ -50,45 +47,10 @@ public class ChosenListAdapter extends RecyclerView.Adapter<ChosenListAdapter.Vi
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        WaitingListEntry entry = chosenList.get(position);
-        Profile p = entry.getProfile();
-        //set name
-        String name;
-        if (p != null && p.getName() != null && !p.getName().isEmpty()) {
-            name = p.getName();
-        } else if (entry.getEntrantName() != null) {
-            name = entry.getEntrantName();
-        } else {
-            name = "Unknown";
-        }
-        holder.name.setText("Name: " + name);
-
-        //set email
-        String email;
-        if (p != null && p.getEmail() != null && !p.getEmail().isEmpty()) {
-            email = p.getEmail();
-        } else if (entry.getEmail() != null) {
-            email = entry.getEmail();
-        } else {
-            email = "N/A";
-        }
-        holder.email.setText("Email: " + email);
-
-        //set number if exists
-        String phone;
-        if (p != null && p.getPhoneNumber() != null && !p.getPhoneNumber().isEmpty()) {
-            phone = p.getPhoneNumber();
-        } else if (entry.getPhone() != null) {
-            phone = entry.getPhone();
-        } else {
-            phone = "N/A";
-        }
-        holder.phone.setText("Phone: " + phone);
-    }
-
-    @Override
-    public int getItemCount() {
-        return chosenList.size();
+        ContactRow row = getItem(position);
+        holder.name.setText(row.name);
+        holder.email.setText(row.email);
+        holder.phone.setText(row.phone);
     }
 
     static class ViewHolder extends RecyclerView.ViewHolder {
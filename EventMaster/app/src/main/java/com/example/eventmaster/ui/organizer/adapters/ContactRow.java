@@ -0,0 +1,80 @@
+package com.example.eventmaster.ui.organizer.adapters;
+
+import androidx.annotation.Nullable;
+
+import com.example.eventmaster.model.Profile;
+import com.example.eventmaster.model.WaitingListEntry;
+import com.example.eventmaster.ui.shared.adapters.RowListAdapter;
+
+import java.util.Objects;
+
+/**
+ * Preformatted "Name: / Email: / Phone:" lines for one entrant, shared by
+ * the organizer's entrant list adapters.
+ */
+final class ContactRow extends RowListAdapter.Row {
+    final String name;
+    final String email;
+    final String phone;
+
+    ContactRow(@Nullable String key, String name, String email, String phone) {
+        super(key);
+        this.name = "Name: " + name;
+        this.email = "Email: " + email;
+        this.phone = "Phone: " + phone;
+    }
+
+    /**
+     * Uses profile data when available, falling back to the waiting list
+     * entry's own fields.
+     */
+    static ContactRow of(WaitingListEntry entry) {
+        // Prefer the embedded summary; older entries carry a full profile copy
+        Profile p = entry.getProfileSummary() != null
+                ? entry.getProfileSummary().toProfile(entry.getUserId())
+                : entry.getProfile();
+
+        String name;
+        if (p != null && p.getName() != null && !p.getName().isEmpty()) {
+            name = p.getName();
+        } else if (entry.getEntrantName() != null) {
+            name = entry.getEntrantName();
+        } else {
+            name = "Unknown";
+        }
+
+        String email;
+        if (p != null && p.getEmail() != null && !p.getEmail().isEmpty()) {
+            email = p.getEmail();
+        } else if (entry.getEmail() != null) {
+            email = entry.getEmail();
+        } else {
+            email = "N/A";
+        }
+
+        String phone;
+        if (p != null && p.getPhoneNumber() != null && !p.getPhoneNumber().isEmpty()) {
+            phone = p.getPhoneNumber();
+        } else if (entry.getPhone() != null) {
+            phone = entry.getPhone();
+        } else {
+            phone = "N/A";
+        }
+
+        String key = entry.getUserId() != null ? entry.getUserId() : entry.getEntryId();
+        return new ContactRow(key, name, email, phone);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ContactRow)) return false;
+        ContactRow r = (ContactRow) o;
+        return name.equals(r.name) && email.equals(r.email) && phone.equals(r.phone);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, email, phone);
+    }
+}
@@ -9,8 +9,8 @@ import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.eventmaster.R;
+import com.example.eventmaster.ui.shared.adapters.RowListAdapter;
 
-import java.util.ArrayList;
 import java.util.List;
 
 
@@ -23,20 +23,17 @@ import java.util.List;
  *      The final enrolled entrants list (US 02.06.03)
  *      The cancelled entrants list (US 02.06.02)
  */
-public class EntrantRowAdapter extends RecyclerView.Adapter<EntrantRowAdapter.VH>  {
-    private final List<EntrantRow> data = new ArrayList<>();
+public class EntrantRowAdapter extends RowListAdapter<ContactRow, EntrantRowAdapter.VH>  {
 
     /**
      * Updates the adapter with a new list of entrant rows.
-     * Clears any existing data and refreshes the UI.
+     * Only rows whose name, email or phone changed are rebound.
      *
      * @param rows the new list of {@link EntrantRow} items to display;
      *             may be {@code null} or empty.
      */
     public void submit(List<EntrantRow> rows) {
-        data.clear();
-        if (rows != null) data.addAll(rows);
-        notifyDataSetChanged();
+        submitItems(rows, r -> new ContactRow(r.id, r.name, r.email, r.phone));
     }
 
     @NonNull
@@ -46,14 +43,12 @@ public class EntrantRowAdapter extends RecyclerView.Adapter<EntrantRowAdapter.VH
     }
 
     @Override public void onBindViewHolder(@NonNull VH h, int pos) {
-        EntrantRow r = data.get(pos);
-        h.name.setText("Name: " + r.name);
-        h.email.setText("Email: " + r.email);
-        h.phone.setText("Phone: " + r.phone);
+        ContactRow r = getItem(pos);
+        h.name.setText(r.name);
+        h.email.setText(r.email);
+        h.phone.setText(r.phone);
     }
 
-    @Override public int getItemCount() { return data.size(); }
-
 
     /**
      * ViewHolder for displaying a single entrant’s information in the list.
@@ -8,49 +8,65 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
 import com.example.eventmaster.R;
+import com.example.eventmaster.ui.shared.adapters.RowListAdapter;
 import com.google.firebase.Timestamp;
 
 import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 
 /**
- * EventAdapter - Simplified version showing only event name and waiting list count
+ * EventAdapter - Simplified version showing only event name and waiting list count.
+ * Cards are preformatted {@link EventCardRow}s; see {@link RowListAdapter}.
  */
-public class EventAdapter extends RecyclerView.Adapter<EventAdapter.ViewHolder> {
+public class EventAdapter extends RowListAdapter<EventAdapter.EventCardRow, EventAdapter.ViewHolder> {
 
     public interface OnEventClickListener {
         void onEventClick(@NonNull String eventId);
     }
 
-    private final List<Map<String, Object>> events;
+    private List<Map<String, Object>> events = new ArrayList<>();
     private OnEventClickListener clickListener;
-    private final Map<String, Integer> waitingListCounts = new HashMap<>();
+    private Map<String, Integer> waitingListCounts = new HashMap<>();
 
     public EventAdapter(List<Map<String, Object>> events) {
-        this.events = events;
+        setEvents(events);
     }
 
     public void setOnEventClickListener(OnEventClickListener l) {
         this.clickListener = l;
     }
 
+    /**
+     * Replaces the displayed events; only changed cards are rebound.
+     */
+    public void setEvents(List<Map<String, Object>> newEvents) {
+        this.events = newEvents != null ? new ArrayList<>(newEvents) : new ArrayList<>();
+        refresh();
+    }
+
     /**
      * Sets waiting list counts for events.
      */
     public void setWaitingListCounts(Map<String, Integer> counts) {
-        waitingListCounts.clear();
-        if (counts != null) {
-            waitingListCounts.putAll(counts);
-        }
-        notifyDataSetChanged();
+        this.waitingListCounts = counts != null ? new HashMap<>(counts) : new HashMap<>();
+        refresh();
+    }
+
+    private void refresh() {
+        Map<String, Integer> counts = waitingListCounts;
+        long now = System.currentTimeMillis();
+        SimpleDateFormat dateFormat = new SimpleDateFormat("MMM dd, yyyy", Locale.getDefault());
+        submitItems(events, e -> new EventCardRow(e, counts, now, dateFormat));
     }
 
     @NonNull
@@ -58,96 +74,113 @@ public class EventAdapter extends RecyclerView.Adapter<EventAdapter.ViewHolder>
     public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View v = LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.organizer_item_event_card_simple, parent, false);
-        return new ViewHolder(v);
+        ViewHolder h = new ViewHolder(v);
+        // Click handler
+        v.setOnClickListener(view -> {
+            EventCardRow row = rowFor(h);
+            if (row == null) return;
+            String eventId = row.eventId;
+            if (clickListener != null && eventId != null && !eventId.isEmpty()) {
+                clickListener.onEventClick(eventId);
+            }
+        });
+        return h;
     }
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder h, int position) {
-        Map<String, Object> e = events.get(position);
-        String eventId = extractEventId(e);
-        String title = String.valueOf(e.get("title") != null ? e.get("title") : "Unnamed Event");
-
-        // Set title
-        h.eventTitle.setText(title);
-
-        // Set date
-        Object eventDateObj = e.get("eventDate");
-        if (eventDateObj instanceof Timestamp) {
-            Timestamp eventDate = (Timestamp) eventDateObj;
-            SimpleDateFormat dateFormat = new SimpleDateFormat("MMM dd, yyyy", Locale.getDefault());
-            h.eventDate.setText(dateFormat.format(eventDate.toDate()));
+        EventCardRow row = getItem(position);
+
+        h.eventTitle.setText(row.title);
+
+        if (row.date != null) {
+            h.eventDate.setText(row.date);
             h.eventDate.setVisibility(View.VISIBLE);
         } else {
-            // Fallback to registration end date
-            Object regEndObj = e.get("regEnd");
-            if (regEndObj instanceof Timestamp) {
-                Timestamp regEnd = (Timestamp) regEndObj;
-                SimpleDateFormat dateFormat = new SimpleDateFormat("MMM dd, yyyy", Locale.getDefault());
-                h.eventDate.setText(dateFormat.format(regEnd.toDate()));
-                h.eventDate.setVisibility(View.VISIBLE);
-            } else {
-                h.eventDate.setVisibility(View.GONE);
-            }
+            h.eventDate.setVisibility(View.GONE);
         }
 
-        // Set status badge (Live if event hasn't ended)
-        long now = System.currentTimeMillis();
-        boolean isLive = false;
-        Object eventDateObj2 = e.get("eventDate");
-        if (eventDateObj2 instanceof Timestamp) {
-            Timestamp eventDate = (Timestamp) eventDateObj2;
-            isLive = eventDate.toDate().getTime() >= now;
-        } else {
-            Object regEndObj = e.get("regEnd");
-            if (regEndObj instanceof Timestamp) {
-                Timestamp regEnd = (Timestamp) regEndObj;
-                isLive = regEnd.toDate().getTime() >= now;
-            }
-        }
-        
-        if (isLive) {
+        if (row.live) {
             h.statusBadge.setVisibility(View.VISIBLE);
             h.statusBadge.setText("Live");
         } else {
             h.statusBadge.setVisibility(View.GONE);
         }
 
-        // Set waiting list count
-        int count = waitingListCounts.getOrDefault(eventId, 0);
-        h.waitingList.setText(count + " waitlisted");
+        h.waitingList.setText(row.waitingList);
 
         // Load poster
-        Object posterUrl = e.get("posterUrl");
-        if (posterUrl != null && !posterUrl.toString().isEmpty()) {
+        if (row.posterUrl != null) {
             Glide.with(h.itemView.getContext())
-                    .load(posterUrl.toString())
+                    .load(row.posterUrl)
                     .placeholder(new ColorDrawable(0xFFE0F2F1))
                     .centerCrop()
                     .into(h.poster);
         } else {
             h.poster.setImageDrawable(new ColorDrawable(0xFFE0F2F1));
         }
-
-        // Click handler
-        h.itemView.setOnClickListener(v -> {
-            if (clickListener != null && eventId != null && !eventId.isEmpty()) {
-                clickListener.onEventClick(eventId);
-            }
-        });
     }
 
-    @Override
-    public int getItemCount() {
-        return events.size();
-    }
-
-    private String extractEventId(Map<String, Object> e) {
+    private static String extractEventId(Map<String, Object> e) {
         Object id = e.get("id");
         if (id == null) id = e.get("eventId");
         if (id == null) id = e.get("docId");
         return id == null ? null : String.valueOf(id);
     }
 
+    /** Preformatted card content for one event map. */
+    static final class EventCardRow extends RowListAdapter.Row {
+        @Nullable final String eventId;
+        final String title;
+        @Nullable final String date;
+        final boolean live;
+        final String waitingList;
+        @Nullable final String posterUrl;
+
+        EventCardRow(Map<String, Object> e, Map<String, Integer> waitingListCounts,
+                     long now, SimpleDateFormat dateFormat) {
+            super(extractEventId(e));
+            this.eventId = key;
+            this.title = String.valueOf(e.get("title") != null ? e.get("title") : "Unnamed Event");
+
+            // Event date, falling back to registration end date; "Live" until it passes
+            Object dateObj = e.get("eventDate");
+            if (!(dateObj instanceof Timestamp)) dateObj = e.get("regEnd");
+            if (dateObj instanceof Timestamp) {
+                Timestamp ts = (Timestamp) dateObj;
+                this.date = dateFormat.format(ts.toDate());
+                this.live = ts.toDate().getTime() >= now;
+            } else {
+                this.date = null;
+                this.live = false;
+            }
+
+            int count = eventId != null ? waitingListCounts.getOrDefault(eventId, 0) : 0;
+            this.waitingList = count + " waitlisted";
+
+            Object poster = e.get("posterUrl");
+            this.posterUrl = poster != null && !poster.toString().isEmpty() ? poster.toString() : null;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof EventCardRow)) return false;
+            EventCardRow r = (EventCardRow) o;
+            return Objects.equals(eventId, r.eventId)
+                    && title.equals(r.title)
+                    && Objects.equals(date, r.date)
+                    && live == r.live
+                    && waitingList.equals(r.waitingList)
+                    && Objects.equals(posterUrl, r.posterUrl);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(eventId, title, date, live, waitingList, posterUrl);
+        }
+    }
+
     public static class ViewHolder extends RecyclerView.ViewHolder {
         TextView eventTitle;
         TextView eventDate;
@@ -164,4 +197,4 @@ public class EventAdapter extends RecyclerView.Adapter<EventAdapter.ViewHolder>
             poster = itemView.findViewById(R.id.event_poster);
         }
     }
-}
\ No newline at end of file
+}
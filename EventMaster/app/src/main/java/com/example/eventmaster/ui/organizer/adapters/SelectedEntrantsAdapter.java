@@ -7,13 +7,16 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.eventmaster.R;
 import com.example.eventmaster.model.Profile;
+import com.example.eventmaster.ui.shared.adapters.RowListAdapter;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * RecyclerView adapter for displaying selected entrants in a list.
@@ -21,9 +24,9 @@ import java.util.List;
  * 
  * Used in SelectedEntrantsActivity to display lottery winners.
  */
-public class SelectedEntrantsAdapter extends RecyclerView.Adapter<SelectedEntrantsAdapter.EntrantViewHolder> {
+public class SelectedEntrantsAdapter extends RowListAdapter<SelectedEntrantsAdapter.EntrantRow, SelectedEntrantsAdapter.EntrantViewHolder> {
 
-    private List<Profile> selectedEntrants;
+    private List<Profile> selectedEntrants = new ArrayList<>();
     private OnEntrantClickListener clickListener;
 
     /**
@@ -37,7 +40,6 @@ public class SelectedEntrantsAdapter extends RecyclerView.Adapter<SelectedEntran
      * Creates a new adapter with an empty list.
      */
     public SelectedEntrantsAdapter() {
-        this.selectedEntrants = new ArrayList<>();
     }
 
     /**
@@ -46,7 +48,7 @@ public class SelectedEntrantsAdapter extends RecyclerView.Adapter<SelectedEntran
      * @param selectedEntrants List of selected entrant profiles
      */
     public SelectedEntrantsAdapter(List<Profile> selectedEntrants) {
-        this.selectedEntrants = selectedEntrants != null ? selectedEntrants : new ArrayList<>();
+        updateEntrants(selectedEntrants);
     }
 
     /**
@@ -59,13 +61,13 @@ public class SelectedEntrantsAdapter extends RecyclerView.Adapter<SelectedEntran
     }
 
     /**
-     * Updates the list of selected entrants and refreshes the view.
+     * Updates the list of selected entrants; only changed rows are rebound.
      * 
      * @param newEntrants New list of selected entrants
      */
     public void updateEntrants(List<Profile> newEntrants) {
         this.selectedEntrants = newEntrants != null ? newEntrants : new ArrayList<>();
-        notifyDataSetChanged();
+        submitItems(selectedEntrants, EntrantRow::new);
     }
 
     /**
@@ -82,18 +84,52 @@ public class SelectedEntrantsAdapter extends RecyclerView.Adapter<SelectedEntran
     public EntrantViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.organizer_item_selected_entrant, parent, false);
-        return new EntrantViewHolder(view);
+        EntrantViewHolder holder = new EntrantViewHolder(view);
+        // Handle item clicks
+        view.setOnClickListener(v -> {
+            EntrantRow row = rowFor(holder);
+            if (clickListener != null && row != null) {
+                clickListener.onEntrantClick(row.profile);
+            }
+        });
+        return holder;
     }
 
     @Override
     public void onBindViewHolder(@NonNull EntrantViewHolder holder, int position) {
-        Profile profile = selectedEntrants.get(position);
-        holder.bind(profile, clickListener);
+        holder.bind(getItem(position));
     }
 
-    @Override
-    public int getItemCount() {
-        return selectedEntrants.size();
+    /** Preformatted name/email/phone labels for one profile. */
+    static final class EntrantRow extends RowListAdapter.Row {
+        final Profile profile;
+        final String name;
+        final String email;
+        @Nullable final String phone; // null hides the line
+
+        EntrantRow(Profile profile) {
+            super(profile.getUserId());
+            this.profile = profile;
+            this.name = "Name: " + (profile.getName() != null ? profile.getName() : "Unknown");
+            this.email = "Email: " + (profile.getEmail() != null ? profile.getEmail() : "No email");
+            // Phone is optional
+            this.phone = profile.getPhoneNumber() != null && !profile.getPhoneNumber().isEmpty()
+                    ? "Phone: " + profile.getPhoneNumber()
+                    : null;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof EntrantRow)) return false;
+            EntrantRow r = (EntrantRow) o;
+            return name.equals(r.name) && email.equals(r.email) && Objects.equals(phone, r.phone);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, email, phone);
+        }
     }
 
     /**
@@ -120,24 +156,16 @@ public class SelectedEntrantsAdapter extends RecyclerView.Adapter<SelectedEntran
         }
 
         /**
-         * Binds profile data to the view.
+         * Binds a preformatted row to the view.
          * 
-         * @param profile The profile to display
-         * @param clickListener Click listener for the item
+         * @param row The row to display
          */
-        public void bind(Profile profile, OnEntrantClickListener clickListener) {
-            // Set name
-            String nameLabel = "Name: " + (profile.getName() != null ? profile.getName() : "Unknown");
-            nameText.setText(nameLabel);
-
-            // Set email
-            String emailLabel = "Email: " + (profile.getEmail() != null ? profile.getEmail() : "No email");
-            emailText.setText(emailLabel);
-
-            // Set phone (optional field)
-            if (profile.getPhoneNumber() != null && !profile.getPhoneNumber().isEmpty()) {
-                String phoneLabel = "Phone: " + profile.getPhoneNumber();
-                phoneText.setText(phoneLabel);
+        void bind(EntrantRow row) {
+            nameText.setText(row.name);
+            emailText.setText(row.email);
+
+            if (row.phone != null) {
+                phoneText.setText(row.phone);
                 phoneText.setVisibility(View.VISIBLE);
             } else {
                 phoneText.setVisibility(View.GONE);
@@ -152,11 +180,6 @@ public class SelectedEntrantsAdapter extends RecyclerView.Adapter<SelectedEntran
             //         .placeholder(R.drawable.ic_launcher_foreground)
             //         .into(profileImage);
             // }
-
-            // Handle item clicks
-            if (clickListener != null) {
-                itemView.setOnClickListener(v -> clickListener.onEntrantClick(profile));
-            }
         }
     }
 }
@@ -9,8 +9,8 @@ import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.eventmaster.R;
-import com.example.eventmaster.model.Profile;
 import com.example.eventmaster.model.WaitingListEntry;
+import com.example.eventmaster.ui.shared.adapters.RowListAdapter;
 
 import java.util.List;
 
@@ -21,22 +21,19 @@ import java.util.List;
  *
  * It supports runtime updates when new entrants join or others are removed.
  */
-public class WaitingListAdapter extends RecyclerView.Adapter<WaitingListAdapter.ViewHolder> {
-
-    private List<WaitingListEntry> entrants;
+public class WaitingListAdapter extends RowListAdapter<ContactRow, WaitingListAdapter.ViewHolder> {
 
     public WaitingListAdapter(List<WaitingListEntry> entrants) {
-        this.entrants = entrants;
+        updateList(entrants);
     }
 
     /**
-     * Replaces the list of waiting list entrants and refreshes the UI.
+     * Replaces the list of waiting list entrants; only changed rows are rebound.
      *
      * @param newEntrants the updated list of WaitingListEntry objects.
      */
     public void updateList(List<WaitingListEntry> newEntrants) {
-        this.entrants = newEntrants;
-        notifyDataSetChanged();
+        submitItems(newEntrants, ContactRow::of);
     }
 
     @NonNull
@@ -49,46 +46,10 @@ public class WaitingListAdapter extends RecyclerView.Adapter<WaitingListAdapter.
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        WaitingListEntry entry = entrants.get(position);
-        Profile p = entry.getProfile();
-        //set name
-        String name;
-        if (p != null && p.getName() != null && !p.getName().isEmpty()) {
-            name = p.getName();
-        } else if (entry.getEntrantName() != null) {
-            name = entry.getEntrantName();
-        } else {
-            name = "Unknown";
-        }
-        holder.textName.setText("Name: " + name);
-
-        //set email
-        String email;
-        if (p != null && p.getEmail() != null && !p.getEmail().isEmpty()) {
-            email = p.getEmail();
-        } else if (entry.getEmail() != null) {
-            email = entry.getEmail();
-        } else {
-            email = "N/A";
-        }
-        holder.textEmail.setText("Email: " + email);
-
-        //set number if exists
-        String phone;
-        if (p != null && p.getPhoneNumber() != null && !p.getPhoneNumber().isEmpty()) {
-            phone = p.getPhoneNumber();
-        } else if (entry.getPhone() != null) {
-            phone = entry.getPhone();
-        } else {
-            phone = "N/A";
-        }
-        holder.textPhone.setText("Phone: " + phone);
-
-    }
-
-    @Override
-    public int getItemCount() {
-        return entrants.size();
+        ContactRow row = getItem(position);
+        holder.textName.setText(row.name);
+        holder.textEmail.setText(row.email);
+        holder.textPhone.setText(row.phone);
     }
 
     static class ViewHolder extends RecyclerView.ViewHolder {
@@ -27,6 +27,8 @@ import com.example.eventmaster.data.firestore.ProfileRepositoryFs;
 import com.example.eventmaster.model.Profile;
 import com.example.eventmaster.utils.AuthHelper;
 import com.example.eventmaster.utils.CredentialStorageHelper;
+import com.example.eventmaster.work.ProfileCascadeDeleteWorker;
+import com.example.eventmaster.work.ProfileSummaryFanOutWorker;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.android.material.textfield.TextInputLayout;
@@ -240,6 +242,8 @@ public class EditProfileActivity extends AppCompatActivity {
                                     // Update currentProfile object
                                     if (currentProfile != null) {
                                         currentProfile.setProfileImageUrl(imageUrl);
+                                        // Refresh the avatar embedded in roster entries
+                                        ProfileSummaryFanOutWorker.schedule(getApplicationContext(), profileId, currentProfile);
                                     }
                                     // Clear any tint before loading real image
                                     if (imgAvatar != null) {
@@ -342,7 +346,12 @@ public class EditProfileActivity extends AppCompatActivity {
             repo.upsert(p)
                     .addOnSuccessListener(x -> {
                         Toast.makeText(this, "Profile updated successfully!", Toast.LENGTH_SHORT).show();
+                    if (currentProfile != null && p.getDeviceId() == null) {
+                        p.setDeviceId(currentProfile.getDeviceId());
+                    }
                     currentProfile = p;
+                    // Push the new name/email/phone to this user's roster entries
+                    ProfileSummaryFanOutWorker.schedule(getApplicationContext(), profileId, p);
                     if (tvHeroName != null) tvHeroName.setText(name);
                     if (tvHeroEmail != null) tvHeroEmail.setText(email);
                     exitEditMode(false);
@@ -362,12 +371,14 @@ public class EditProfileActivity extends AppCompatActivity {
                 .setNegativeButton("Cancel", null)
                 .setPositiveButton("Delete", (d, which) -> {
                     if (profileId != null) {
-                        repo.delete(profileId,
-                                x -> {
+                        String userId = currentProfile != null ? currentProfile.getUserId() : null;
+                        String deviceId = currentProfile != null ? currentProfile.getDeviceId() : null;
+                        ProfileCascadeDeleteWorker.schedule(getApplicationContext(), profileId, userId, deviceId)
+                                .addOnSuccessListener(x -> {
                                     Toast.makeText(this, "Profile deleted", Toast.LENGTH_SHORT).show();
                                     handleLogoutAndNavigateHome();
-                                },
-                                err -> {
+                                })
+                                .addOnFailureListener(err -> {
                                     Toast.makeText(this, 
                                             "Failed to delete: " + err.getMessage(), 
                                             Toast.LENGTH_LONG).show();
@@ -1,6 +1,5 @@
 package com.example.eventmaster.ui.shared.adapters;
 
-import android.content.Context;
 import android.graphics.drawable.ColorDrawable;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -9,6 +8,7 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.cardview.widget.CardView;
 import androidx.recyclerview.widget.RecyclerView;
 
@@ -16,16 +16,16 @@ import com.bumptech.glide.Glide;
 import com.example.eventmaster.R;
 
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 
 /**
  * Card-style adapter for entrant event history.
  * Displays event title, event date, status chip, and join date with optional poster.
  */
-public class HistoryAdapter extends RecyclerView.Adapter<HistoryAdapter.VH> {
+public class HistoryAdapter extends RowListAdapter<HistoryAdapter.HistoryRow, HistoryAdapter.VH> {
 
     public static class HistoryItem {
         public String eventId;
@@ -38,9 +38,6 @@ public class HistoryAdapter extends RecyclerView.Adapter<HistoryAdapter.VH> {
         public boolean ended;
     }
 
-    private final List<HistoryItem> data = new ArrayList<>();
-    private final SimpleDateFormat dateFmt = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
-    private final SimpleDateFormat joinedFmt = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
     private final OnHistoryClickListener listener;
 
     public interface OnHistoryClickListener {
@@ -52,9 +49,8 @@ public class HistoryAdapter extends RecyclerView.Adapter<HistoryAdapter.VH> {
     }
 
     public void replace(List<HistoryItem> items) {
-        data.clear();
-        if (items != null) data.addAll(items);
-        notifyDataSetChanged();
+        SimpleDateFormat dateFmt = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
+        submitItems(items, item -> new HistoryRow(item, dateFmt));
     }
 
     @NonNull
@@ -62,53 +58,44 @@ public class HistoryAdapter extends RecyclerView.Adapter<HistoryAdapter.VH> {
     public VH onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View v = LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.shared_item_history_card, parent, false);
-        return new VH(v);
+        VH h = new VH(v);
+        // Click to open details
+        v.setOnClickListener(view -> {
+            HistoryRow row = rowFor(h);
+            if (listener != null && row != null) {
+                listener.onHistoryClick(row.item);
+            }
+        });
+        return h;
     }
 
     @Override
     public void onBindViewHolder(@NonNull VH h, int position) {
-        HistoryItem item = data.get(position);
-        Context ctx = h.itemView.getContext();
+        HistoryRow row = getItem(position);
 
-        h.title.setText(item.title != null && !item.title.isEmpty() ? item.title : "Unnamed Event");
+        h.title.setText(row.title);
 
-        if (item.eventDateMs > 0) {
-            h.eventDate.setText(dateFmt.format(new Date(item.eventDateMs)));
+        if (row.eventDate != null) {
+            h.eventDate.setText(row.eventDate);
             h.eventDate.setVisibility(View.VISIBLE);
         } else {
             h.eventDate.setVisibility(View.GONE);
         }
 
-        // Status chip
-        h.statusChip.setText(item.statusLabel != null ? item.statusLabel : item.status);
-        int bgRes = R.drawable.history_chip_waiting;
-        switch (item.status) {
-            case "SELECTED":
-                bgRes = R.drawable.history_chip_selected;
-                break;
-            case "NOT_SELECTED":
-            case "CANCELLED":
-                bgRes = R.drawable.history_chip_cancelled;
-                break;
-            case "ENDED":
-                bgRes = R.drawable.history_chip_ended;
-                break;
-            default:
-                bgRes = R.drawable.history_chip_waiting;
-        }
-        h.statusChip.setBackgroundResource(bgRes);
+        h.statusChip.setText(row.statusLabel);
+        h.statusChip.setBackgroundResource(row.chipBackground);
 
-        if (item.joinedDateMs > 0) {
-            h.joinedDate.setText("Joined " + joinedFmt.format(new Date(item.joinedDateMs)));
+        if (row.joinedDate != null) {
+            h.joinedDate.setText(row.joinedDate);
             h.joinedDate.setVisibility(View.VISIBLE);
         } else {
             h.joinedDate.setVisibility(View.GONE);
         }
 
         // Poster
-        if (item.posterUrl != null && !item.posterUrl.isEmpty()) {
-            Glide.with(ctx)
-                    .load(item.posterUrl)
+        if (row.posterUrl != null) {
+            Glide.with(h.itemView.getContext())
+                    .load(row.posterUrl)
                     .placeholder(new ColorDrawable(0xFFE0F2F1))
                     .centerCrop()
                     .into(h.poster);
@@ -117,19 +104,68 @@ public class HistoryAdapter extends RecyclerView.Adapter<HistoryAdapter.VH> {
         }
 
         // Subtle opacity if ended
-        h.card.setAlpha(item.ended ? 0.82f : 1f);
+        h.card.setAlpha(row.ended ? 0.82f : 1f);
+    }
 
-        // Click to open details
-        h.itemView.setOnClickListener(v -> {
-            if (listener != null) {
-                listener.onHistoryClick(item);
+    /** Preformatted card content for one history entry. */
+    static final class HistoryRow extends RowListAdapter.Row {
+        final HistoryItem item;
+        final String title;
+        @Nullable final String eventDate;
+        @Nullable final String joinedDate;
+        final String statusLabel;
+        final int chipBackground;
+        @Nullable final String posterUrl;
+        final boolean ended;
+
+        HistoryRow(HistoryItem item, SimpleDateFormat dateFmt) {
+            super(item.eventId);
+            this.item = item;
+            this.title = item.title != null && !item.title.isEmpty() ? item.title : "Unnamed Event";
+            this.eventDate = item.eventDateMs > 0 ? dateFmt.format(new Date(item.eventDateMs)) : null;
+            this.joinedDate = item.joinedDateMs > 0
+                    ? "Joined " + dateFmt.format(new Date(item.joinedDateMs))
+                    : null;
+
+            // Status chip
+            this.statusLabel = item.statusLabel != null ? item.statusLabel : item.status;
+            switch (item.status != null ? item.status : "") {
+                case "SELECTED":
+                    chipBackground = R.drawable.history_chip_selected;
+                    break;
+                case "NOT_SELECTED":
+                case "CANCELLED":
+                    chipBackground = R.drawable.history_chip_cancelled;
+                    break;
+                case "ENDED":
+                    chipBackground = R.drawable.history_chip_ended;
+                    break;
+                default:
+                    chipBackground = R.drawable.history_chip_waiting;
             }
-        });
-    }
 
-    @Override
-    public int getItemCount() {
-        return data.size();
+            this.posterUrl = item.posterUrl != null && !item.posterUrl.isEmpty() ? item.posterUrl : null;
+            this.ended = item.ended;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof HistoryRow)) return false;
+            HistoryRow r = (HistoryRow) o;
+            return title.equals(r.title)
+                    && Objects.equals(eventDate, r.eventDate)
+                    && Objects.equals(joinedDate, r.joinedDate)
+                    && Objects.equals(statusLabel, r.statusLabel)
+                    && chipBackground == r.chipBackground
+                    && Objects.equals(posterUrl, r.posterUrl)
+                    && ended == r.ended;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(title, eventDate, joinedDate, statusLabel, chipBackground, posterUrl, ended);
+        }
     }
 
     static class VH extends RecyclerView.ViewHolder {
@@ -0,0 +1,146 @@
+package com.example.eventmaster.ui.shared.adapters;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Base for list adapters that show immutable, preformatted rows.
+ *
+ * {@link #submitItems} turns the source objects into {@link Row}s on a
+ * shared background thread (all date formatting and string building
+ * happens there), then hands them to {@link ListAdapter}, which diffs
+ * against the current rows off the main thread and rebinds only the rows
+ * whose content changed. Binding just copies the row's fields into views.
+ *
+ * Rows are matched by {@link Row#key}, which also provides stable IDs.
+ * Calls are applied in order; a newer submit supersedes an older one that
+ * hasn't reached the list yet.
+ *
+ * Content equality only covers what a row displays, so a view can stay
+ * bound to an older row whose source object has since changed. Click
+ * handlers therefore resolve the row with {@link #rowFor}, which looks it
+ * up by key in the current list, rather than keeping the bound row.
+ *
+ * @param <R>  row model
+ * @param <VH> view holder
+ */
+public abstract class RowListAdapter<R extends RowListAdapter.Row, VH extends RecyclerView.ViewHolder>
+        extends ListAdapter<R, VH> {
+
+    /** Maps one source item to its row; runs on the row thread. */
+    public interface RowMapper<T, R> {
+        @Nullable R toRow(@NonNull T item);
+    }
+
+    /**
+     * Display state for one row. Subclasses hold only final, preformatted
+     * fields and implement equals/hashCode over everything they display.
+     */
+    public abstract static class Row {
+        /** Identity of the underlying item (e.g. doc ID); null if it has none. */
+        @Nullable protected final String key;
+        // Set once by submitItems before the row is published
+        String diffKey;
+        long stableId;
+
+        protected Row(@Nullable String key) {
+            this.key = key;
+        }
+    }
+
+    /** Shared by all lists; one thread keeps each adapter's submits in order. */
+    private static final Executor ROW_EXECUTOR = Executors.newSingleThreadExecutor();
+    private static final Handler MAIN = new Handler(Looper.getMainLooper());
+
+    private int generation;
+
+    protected RowListAdapter() {
+        super(new DiffUtil.ItemCallback<R>() {
+            @Override
+            public boolean areItemsTheSame(@NonNull R a, @NonNull R b) {
+                return a.diffKey.equals(b.diffKey);
+            }
+
+            @Override
+            public boolean areContentsTheSame(@NonNull R a, @NonNull R b) {
+                return a.equals(b);
+            }
+        });
+        setHasStableIds(true);
+    }
+
+    /**
+     * Builds rows for {@code items} off the main thread and diffs them in.
+     * The list is copied first, so callers may keep mutating theirs.
+     */
+    protected final <T> void submitItems(@Nullable List<T> items, @NonNull RowMapper<T, R> mapper) {
+        int gen = ++generation;
+        List<T> snapshot = items != null ? new ArrayList<>(items) : new ArrayList<>();
+        ROW_EXECUTOR.execute(() -> {
+            List<R> rows = new ArrayList<>(snapshot.size());
+            Set<String> seen = new HashSet<>();
+            for (T item : snapshot) {
+                if (item == null) continue;
+                R row = mapper.toRow(item);
+                if (row == null) continue;
+                // Keyless or duplicate items still need a unique identity
+                String k = row.key != null ? row.key : "#";
+                if (!seen.add(k)) {
+                    k = k + "#" + rows.size();
+                    seen.add(k);
+                }
+                row.diffKey = k;
+                row.stableId = hash64(k);
+                rows.add(row);
+            }
+            MAIN.post(() -> {
+                if (gen == generation) submitList(rows);
+            });
+        });
+    }
+
+    /**
+     * Current row for {@code holder}, matched by its stable ID, so listeners
+     * get the latest source object even when a content-equal diff skipped
+     * rebinding. Null if the row has left the list.
+     */
+    @Nullable
+    protected final R rowFor(@NonNull RecyclerView.ViewHolder holder) {
+        long id = holder.getItemId();
+        List<R> rows = getCurrentList();
+        int pos = holder.getBindingAdapterPosition();
+        if (pos >= 0 && pos < rows.size() && rows.get(pos).stableId == id) return rows.get(pos);
+        for (R row : rows) {
+            if (row.stableId == id) return row;
+        }
+        return null;
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return getItem(position).stableId;
+    }
+
+    /** 64-bit FNV-1a; collisions among one list's keys are vanishingly unlikely. */
+    private static long hash64(String s) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+}
@@ -75,7 +75,7 @@ public class AuthHelper {
                                             String uid = user.getUid();
                                             
                                             // Check if profile exists by userId (shouldn't, but double-check)
-                                            profileRepo.get(uid)
+                                            profileRepo.getFresh(uid)
                                                     .addOnCompleteListener(profileTask -> {
                                                         try {
                                                             if (profileTask.isSuccessful() && profileTask.getResult() != null) {
@@ -135,7 +135,7 @@ public class AuthHelper {
                                     if (user != null) {
                                         String uid = user.getUid();
                                         
-                                        profileRepo.get(uid)
+                                        profileRepo.getFresh(uid)
                                                 .addOnCompleteListener(profileTask -> {
                                                     try {
                                                         if (profileTask.isSuccessful() && profileTask.getResult() != null) {
@@ -294,7 +294,7 @@ public class AuthHelper {
                         if (user != null) {
                             String uid = user.getUid();
 
-                            profileRepo.get(uid)
+                            profileRepo.getFresh(uid)
                                     .addOnCompleteListener(profileTask -> {
                                         try {
                                             if (profileTask.isSuccessful() && profileTask.getResult() != null) {
@@ -348,7 +348,7 @@ public class AuthHelper {
                         if (user != null) {
                             String uid = user.getUid();
 
-                            profileRepo.get(uid)
+                            profileRepo.getFresh(uid)
                                     .addOnCompleteListener(profileTask -> {
                                         try {
                                             if (profileTask.isSuccessful() && profileTask.getResult() != null) {
@@ -385,7 +385,7 @@ public class AuthHelper {
     public static void getCurrentUserProfile(@NonNull OnAuthCompleteListener listener) {
         FirebaseUser user = auth.getCurrentUser();
         if (user != null) {
-            profileRepo.get(user.getUid()).addOnCompleteListener(task -> {
+            profileRepo.getFresh(user.getUid()).addOnCompleteListener(task -> {
                 if (task.isSuccessful() && task.getResult() != null) {
                     listener.onSuccess(user, task.getResult());
                 } else {
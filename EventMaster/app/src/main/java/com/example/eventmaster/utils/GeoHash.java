@@ -0,0 +1,153 @@
+package com.example.eventmaster.utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Geohash encoding and radius-query helpers for "events near me".
+ *
+ * Purpose:
+ * - Encodes coordinates as base32 geohashes; nearby points share prefixes,
+ *   so one stored string supports a range query per cell
+ * - Picks the few cells that cover a circle ({@link #queryBounds})
+ * - Exact great-circle distance ({@link #distanceMeters}) to drop the
+ *   corners of those cells that fall outside the circle
+ *
+ * Usage:
+ * String hash = GeoHash.encode(lat, lng, GeoHash.STORED_PRECISION);
+ * for (String[] b : GeoHash.queryBounds(lat, lng, 10_000)) {
+ *     query.orderBy("geohash").startAt(b[0]).endAt(b[1]);
+ * }
+ */
+public final class GeoHash {
+
+    /** Characters stored per event (cells about 1 m across). */
+    public static final int STORED_PRECISION = 10;
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+    /** Sorts after every base32 character; closes a prefix range. */
+    private static final String RANGE_END = "~";
+    private static final double EARTH_RADIUS_M = 6_371_008.8;
+    private static final double METERS_PER_DEGREE_LAT = 111_320.0;
+
+    // Private constructor to prevent instantiation
+    private GeoHash() {
+        throw new AssertionError("Cannot instantiate GeoHash class");
+    }
+
+    /**
+     * Encodes a point; bits alternate longitude, latitude, five per character.
+     *
+     * @param precision number of characters, 1 to 12
+     */
+    public static String encode(double latitude, double longitude, int precision) {
+        if (precision < 1 || precision > 12) {
+            throw new IllegalArgumentException("precision must be 1..12: " + precision);
+        }
+        double latMin = -90, latMax = 90, lngMin = -180, lngMax = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int ch = 0;
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (lngMin + lngMax) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    lngMin = mid;
+                } else {
+                    ch <<= 1;
+                    lngMax = mid;
+                }
+            } else {
+                double mid = (latMin + latMax) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    latMin = mid;
+                } else {
+                    ch <<= 1;
+                    latMax = mid;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash.append(BASE32.charAt(ch));
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Prefix ranges {start, end} (inclusive) whose union covers every point
+     * within {@code radiusMeters} of the center. Uses the finest cell size
+     * at least as wide and tall as the radius, so the circle's bounding box
+     * touches at most a 3x3 block of cells; usually fewer after de-duping.
+     * Results still need a {@link #distanceMeters} check.
+     */
+    public static List<String[]> queryBounds(double latitude, double longitude, double radiusMeters) {
+        int precision = precisionFor(latitude, radiusMeters);
+        List<String[]> bounds = new ArrayList<>();
+        if (precision == 0) {
+            // Wider than the coarsest cells: every geohash
+            bounds.add(new String[]{"", RANGE_END});
+            return bounds;
+        }
+
+        double dLat = radiusMeters / METERS_PER_DEGREE_LAT;
+        double dLng = radiusMeters / metersPerDegreeLng(latitude);
+        Set<String> cells = new LinkedHashSet<>();
+        for (int i = -1; i <= 1; i++) {
+            for (int j = -1; j <= 1; j++) {
+                double lat = clamp(latitude + i * dLat, -90, 90);
+                double lng = wrapLongitude(longitude + j * dLng);
+                cells.add(encode(lat, lng, precision));
+            }
+        }
+        for (String cell : cells) {
+            bounds.add(new String[]{cell, cell + RANGE_END});
+        }
+        return bounds;
+    }
+
+    /** Great-circle (Haversine) distance between two points, in meters. */
+    public static double distanceMeters(double lat1, double lng1, double lat2, double lng2) {
+        double phi1 = Math.toRadians(lat1);
+        double phi2 = Math.toRadians(lat2);
+        double dPhi = Math.toRadians(lat2 - lat1);
+        double dLambda = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dPhi / 2) * Math.sin(dPhi / 2)
+                + Math.cos(phi1) * Math.cos(phi2) * Math.sin(dLambda / 2) * Math.sin(dLambda / 2);
+        return 2 * EARTH_RADIUS_M * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    /** Longest prefix whose cells are at least {@code radiusMeters} on each side; 0 if none. */
+    static int precisionFor(double latitude, double radiusMeters) {
+        for (int precision = STORED_PRECISION; precision >= 1; precision--) {
+            int lngBits = (5 * precision + 1) / 2;
+            int latBits = 5 * precision / 2;
+            double height = 180.0 / (1L << latBits) * METERS_PER_DEGREE_LAT;
+            double width = 360.0 / (1L << lngBits) * metersPerDegreeLng(latitude);
+            if (height >= radiusMeters && width >= radiusMeters) return precision;
+        }
+        return 0;
+    }
+
+    private static double metersPerDegreeLng(double latitude) {
+        // Floor keeps cells from collapsing to zero width near the poles
+        return Math.max(METERS_PER_DEGREE_LAT * Math.cos(Math.toRadians(latitude)), 1.0);
+    }
+
+    private static double clamp(double v, double min, double max) {
+        return Math.max(min, Math.min(max, v));
+    }
+
+    private static double wrapLongitude(double lng) {
+        if (lng >= 180) return lng - 360;
+        if (lng < -180) return lng + 360;
+        return lng;
+    }
+}
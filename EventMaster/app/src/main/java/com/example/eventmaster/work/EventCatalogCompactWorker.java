@@ -0,0 +1,68 @@
+package com.example.eventmaster.work;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.eventmaster.data.firestore.EventCatalogShardsFs;
+import com.google.android.gms.tasks.Tasks;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Daily background job that prunes finished events from the event catalog
+ * shards and re-sizes the shard count ({@link EventCatalogShardsFs#compact()}).
+ *
+ * Every client schedules it, but a run within a day of any other client's
+ * costs one read of the marker doc. Runs only on a connected network with
+ * battery not low.
+ */
+public class EventCatalogCompactWorker extends Worker {
+
+    private static final String TAG = "EventCatalogCompact";
+    private static final String UNIQUE_NAME = "event_catalog_compact";
+
+    public EventCatalogCompactWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /** Enqueues the periodic job; safe to call on every launch. */
+    public static void schedule(@NonNull Context context) {
+        Constraints constraints = new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.CONNECTED)
+                .setRequiresBatteryNotLow(true)
+                .build();
+
+        PeriodicWorkRequest request = new PeriodicWorkRequest.Builder(
+                EventCatalogCompactWorker.class, 1, TimeUnit.DAYS)
+                .setConstraints(constraints)
+                .build();
+
+        WorkManager.getInstance(context)
+                .enqueueUniquePeriodicWork(UNIQUE_NAME, ExistingPeriodicWorkPolicy.KEEP, request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        try {
+            int dropped = Tasks.await(new EventCatalogShardsFs().compact());
+            Log.d(TAG, "Catalog compaction dropped " + dropped + " entries");
+            return Result.success();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.retry();
+        } catch (Exception e) {
+            Log.e(TAG, "Catalog compaction failed", e);
+            return Result.retry();
+        }
+    }
+}
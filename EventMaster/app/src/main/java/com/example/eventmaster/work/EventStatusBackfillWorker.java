@@ -0,0 +1,73 @@
+package com.example.eventmaster.work;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.eventmaster.data.firestore.EventCatalogShardsFs;
+import com.example.eventmaster.data.firestore.EventRepositoryFs;
+import com.google.android.gms.tasks.Tasks;
+
+/**
+ * One-off job that marks events saved without a status as PUBLISHED, so
+ * status-filtered event queries include them, moves large fields of older
+ * events into their detail docs, then builds the event catalog shards from
+ * the (now backfilled) events.
+ *
+ * {@link EventRepositoryFs#backfillStatus()},
+ * {@link EventRepositoryFs#splitDetails()} and
+ * {@link EventCatalogShardsFs#rebuild()} each check a marker doc first, so
+ * after the first completed run this costs three reads. Interrupted runs
+ * are retried; the updates are idempotent.
+ */
+public class EventStatusBackfillWorker extends Worker {
+
+    private static final String TAG = "EventStatusBackfill";
+    private static final String UNIQUE_NAME = "event_status_backfill";
+
+    public EventStatusBackfillWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /** Enqueues the backfill unless one is already pending; safe to call on every launch. */
+    public static void schedule(@NonNull Context context) {
+        Constraints constraints = new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.CONNECTED)
+                .build();
+
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(EventStatusBackfillWorker.class)
+                .setConstraints(constraints)
+                .build();
+
+        WorkManager.getInstance(context)
+                .enqueueUniqueWork(UNIQUE_NAME, ExistingWorkPolicy.KEEP, request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        try {
+            int updated = Tasks.await(new EventRepositoryFs().backfillStatus());
+            Log.d(TAG, "Status backfill updated " + updated + " events");
+            int split = Tasks.await(new EventRepositoryFs().splitDetails());
+            Log.d(TAG, "Detail split moved " + split + " events");
+            int catalogued = Tasks.await(new EventCatalogShardsFs().rebuild());
+            Log.d(TAG, "Catalog rebuild wrote " + catalogued + " events");
+            return Result.success();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.retry();
+        } catch (Exception e) {
+            Log.e(TAG, "Status backfill failed", e);
+            return Result.retry();
+        }
+    }
+}
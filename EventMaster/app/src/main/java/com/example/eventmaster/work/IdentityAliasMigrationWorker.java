@@ -0,0 +1,65 @@
+package com.example.eventmaster.work;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.eventmaster.data.firestore.IdentityAliasFs;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+/**
+ * One-off job that backfills identityAliases for profiles written before
+ * aliases existed.
+ *
+ * {@link IdentityAliasFs#migrate()} checks a marker doc first, so once any
+ * device has finished the migration every later run costs a single read.
+ * A run interrupted part-way is retried; alias writes are idempotent.
+ */
+public class IdentityAliasMigrationWorker extends Worker {
+
+    private static final String TAG = "IdentityAliasMigration";
+    private static final String UNIQUE_NAME = "identity_alias_migration";
+
+    public IdentityAliasMigrationWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /** Enqueues the migration unless one is already pending; safe to call on every launch. */
+    public static void schedule(@NonNull Context context) {
+        Constraints constraints = new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.CONNECTED)
+                .build();
+
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(IdentityAliasMigrationWorker.class)
+                .setConstraints(constraints)
+                .build();
+
+        WorkManager.getInstance(context)
+                .enqueueUniqueWork(UNIQUE_NAME, ExistingWorkPolicy.KEEP, request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        try {
+            int migrated = Tasks.await(new IdentityAliasFs(FirebaseFirestore.getInstance()).migrate());
+            Log.d(TAG, "Alias migration processed " + migrated + " profiles");
+            return Result.success();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.retry();
+        } catch (Exception e) {
+            Log.e(TAG, "Alias migration failed", e);
+            return Result.retry();
+        }
+    }
+}
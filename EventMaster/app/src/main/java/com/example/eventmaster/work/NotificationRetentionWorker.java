@@ -0,0 +1,90 @@
+package com.example.eventmaster.work;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.eventmaster.data.firestore.NotificationArchiveFs;
+import com.example.eventmaster.data.firestore.ProfileRepositoryFs;
+import com.example.eventmaster.model.Profile;
+import com.example.eventmaster.utils.DeviceUtils;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.auth.FirebaseAuth;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Daily background job that compacts this device's notifications.
+ *
+ * Covers every id the inbox reads (Firebase UID, device ID and the entrant
+ * profile's userId) and hands them to {@link NotificationArchiveFs}. Runs only
+ * on a connected network with battery not low; a run that hits the batch cap
+ * simply continues on the next day.
+ */
+public class NotificationRetentionWorker extends Worker {
+
+    private static final String TAG = "NotificationRetention";
+    private static final String UNIQUE_NAME = "notification_retention";
+
+    public NotificationRetentionWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /** Enqueues the periodic job; safe to call on every launch. */
+    public static void schedule(@NonNull Context context) {
+        Constraints constraints = new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.CONNECTED)
+                .setRequiresBatteryNotLow(true)
+                .build();
+
+        PeriodicWorkRequest request = new PeriodicWorkRequest.Builder(
+                NotificationRetentionWorker.class, 1, TimeUnit.DAYS)
+                .setConstraints(constraints)
+                .build();
+
+        WorkManager.getInstance(context)
+                .enqueueUniquePeriodicWork(UNIQUE_NAME, ExistingPeriodicWorkPolicy.KEEP, request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        Set<String> ids = new LinkedHashSet<>();
+        if (FirebaseAuth.getInstance().getCurrentUser() != null) {
+            ids.add(FirebaseAuth.getInstance().getCurrentUser().getUid());
+        }
+        String deviceId = DeviceUtils.getDeviceId(getApplicationContext());
+        ids.add(deviceId);
+
+        try {
+            Profile profile = Tasks.await(new ProfileRepositoryFs().getByDeviceId(deviceId));
+            if (profile != null && profile.getUserId() != null) {
+                ids.add(profile.getUserId());
+            }
+        } catch (Exception e) {
+            Log.w(TAG, "Profile lookup failed, continuing with known ids", e);
+        }
+
+        try {
+            NotificationArchiveFs.RunStats stats = new NotificationArchiveFs().runRetention(ids);
+            Log.d(TAG, "Retention run for " + ids + ": " + stats);
+            return Result.success();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.retry();
+        } catch (Exception e) {
+            Log.e(TAG, "Retention run failed", e);
+            return Result.retry();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.eventmaster.work;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.work.Constraints;
+import androidx.work.Data;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.eventmaster.data.firestore.ProfileCascadeDeleteFs;
+import com.google.android.gms.tasks.CancellationTokenSource;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Background job that deletes a profile and all of its dependent docs
+ * (see {@link ProfileCascadeDeleteFs}).
+ *
+ * Work is unique per profile and survives process death; a failed or
+ * stopped run is retried and picks up whatever is still left. Progress is
+ * published as {@link #PROGRESS_DELETED} / {@link #PROGRESS_FOUND}.
+ */
+public class ProfileCascadeDeleteWorker extends Worker {
+
+    private static final String TAG = "ProfileCascadeDelete";
+    private static final String UNIQUE_PREFIX = "profile_cascade_delete_";
+
+    private static final String KEY_PROFILE_ID = "profileId";
+    private static final String KEY_IDS = "ids";
+
+    public static final String PROGRESS_DELETED = "deleted";
+    public static final String PROGRESS_FOUND = "found";
+
+    private final CancellationTokenSource cancel = new CancellationTokenSource();
+
+    public ProfileCascadeDeleteWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /** Unique work name for {@code profileId}, for observing progress. */
+    public static String uniqueName(@NonNull String profileId) {
+        return UNIQUE_PREFIX + profileId;
+    }
+
+    /**
+     * Hides the profile, then queues the cascade. Nothing is queued if the
+     * hide write fails, so a reported failure never leaves a cascade running.
+     *
+     * @param otherIds the user's other ids (userId, deviceId), kept in case the doc is gone by run time
+     * @return Task that succeeds once the profile is hidden and the cascade queued
+     */
+    public static Task<Void> schedule(@NonNull Context context, @NonNull String profileId,
+                                      @Nullable String... otherIds) {
+        Set<String> ids = new LinkedHashSet<>();
+        if (otherIds != null) {
+            for (String id : otherIds) {
+                if (id != null && !id.isEmpty()) ids.add(id);
+            }
+        }
+
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(ProfileCascadeDeleteWorker.class)
+                .setConstraints(new Constraints.Builder()
+                        .setRequiredNetworkType(NetworkType.CONNECTED)
+                        .build())
+                .setInputData(new Data.Builder()
+                        .putString(KEY_PROFILE_ID, profileId)
+                        .putStringArray(KEY_IDS, ids.toArray(new String[0]))
+                        .build())
+                .build();
+
+        Context app = context.getApplicationContext();
+        return new ProfileCascadeDeleteFs(FirebaseFirestore.getInstance()).markPending(profileId)
+                .continueWith(task -> {
+                    if (!task.isSuccessful()) throw task.getException();
+                    WorkManager.getInstance(app)
+                            .enqueueUniqueWork(uniqueName(profileId), ExistingWorkPolicy.KEEP, request);
+                    return null;
+                });
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        String profileId = getInputData().getString(KEY_PROFILE_ID);
+        if (profileId == null || profileId.isEmpty()) return Result.success();
+        String[] ids = getInputData().getStringArray(KEY_IDS);
+
+        try {
+            int deleted = Tasks.await(new ProfileCascadeDeleteFs(FirebaseFirestore.getInstance())
+                    .run(profileId, Arrays.asList(ids != null ? ids : new String[0]),
+                            (done, found) -> setProgressAsync(new Data.Builder()
+                                    .putInt(PROGRESS_DELETED, done)
+                                    .putInt(PROGRESS_FOUND, found)
+                                    .build()),
+                            cancel.getToken()));
+            if (isStopped()) return Result.retry();
+            Log.d(TAG, "Cascade for " + profileId + " deleted " + deleted + " docs");
+            return Result.success();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.retry();
+        } catch (Exception e) {
+            Log.e(TAG, "Cascade for " + profileId + " failed", e);
+            return Result.retry();
+        }
+    }
+
+    @Override
+    public void onStopped() {
+        super.onStopped();
+        cancel.cancel();
+    }
+}
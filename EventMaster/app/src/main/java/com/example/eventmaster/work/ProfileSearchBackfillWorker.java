@@ -0,0 +1,65 @@
+package com.example.eventmaster.work;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.eventmaster.data.firestore.ProfileDirectoryFs;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+/**
+ * One-off job that writes the admin directory's search fields onto
+ * profiles saved before those fields existed.
+ *
+ * {@link ProfileDirectoryFs#backfill()} checks a marker doc first, so after
+ * the first completed run this costs a single read. Interrupted runs are
+ * retried; the updates are idempotent.
+ */
+public class ProfileSearchBackfillWorker extends Worker {
+
+    private static final String TAG = "ProfileSearchBackfill";
+    private static final String UNIQUE_NAME = "profile_search_backfill";
+
+    public ProfileSearchBackfillWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /** Enqueues the backfill unless one is already pending; safe to call on every launch. */
+    public static void schedule(@NonNull Context context) {
+        Constraints constraints = new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.CONNECTED)
+                .build();
+
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(ProfileSearchBackfillWorker.class)
+                .setConstraints(constraints)
+                .build();
+
+        WorkManager.getInstance(context)
+                .enqueueUniqueWork(UNIQUE_NAME, ExistingWorkPolicy.KEEP, request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        try {
+            int updated = Tasks.await(new ProfileDirectoryFs(FirebaseFirestore.getInstance()).backfill());
+            Log.d(TAG, "Search backfill updated " + updated + " profiles");
+            return Result.success();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.retry();
+        } catch (Exception e) {
+            Log.e(TAG, "Search backfill failed", e);
+            return Result.retry();
+        }
+    }
+}
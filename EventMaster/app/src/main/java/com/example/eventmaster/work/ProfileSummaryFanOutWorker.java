@@ -0,0 +1,109 @@
+package com.example.eventmaster.work;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.Data;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.eventmaster.data.firestore.ProfileSummaryFs;
+import com.example.eventmaster.model.Profile;
+import com.example.eventmaster.model.ProfileSummary;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Background job that pushes an edited profile's summary onto that user's
+ * waiting_list, chosen_list and registrations entries.
+ *
+ * Work is unique per profile and a newer edit replaces a pending one, so
+ * only the latest summary is fanned out. Requires a network connection and
+ * retries with WorkManager's backoff; the updates are idempotent.
+ */
+public class ProfileSummaryFanOutWorker extends Worker {
+
+    private static final String TAG = "ProfileSummaryFanOut";
+    private static final String UNIQUE_PREFIX = "profile_summary_fanout_";
+
+    private static final String KEY_IDS = "ids";
+    private static final String KEY_NAME = "name";
+    private static final String KEY_EMAIL = "email";
+    private static final String KEY_PHONE = "phoneNumber";
+    private static final String KEY_IMAGE = "profileImageUrl";
+    private static final String KEY_NOTIFICATIONS = "notificationsEnabled";
+
+    public ProfileSummaryFanOutWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Enqueues a fan-out of {@code profile}'s summary.
+     *
+     * @param profileId the profile doc ID; its userId and deviceId are covered too
+     */
+    public static void schedule(@NonNull Context context, @NonNull String profileId, @NonNull Profile profile) {
+        Set<String> ids = new LinkedHashSet<>();
+        ids.add(profileId);
+        if (profile.getUserId() != null && !profile.getUserId().isEmpty()) ids.add(profile.getUserId());
+        if (profile.getDeviceId() != null && !profile.getDeviceId().isEmpty()) ids.add(profile.getDeviceId());
+
+        ProfileSummary summary = ProfileSummary.from(profile);
+        Data input = new Data.Builder()
+                .putStringArray(KEY_IDS, ids.toArray(new String[0]))
+                .putString(KEY_NAME, summary.getName())
+                .putString(KEY_EMAIL, summary.getEmail())
+                .putString(KEY_PHONE, summary.getPhoneNumber())
+                .putString(KEY_IMAGE, summary.getProfileImageUrl())
+                .putBoolean(KEY_NOTIFICATIONS, summary.isNotificationsEnabled())
+                .build();
+
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(ProfileSummaryFanOutWorker.class)
+                .setConstraints(new Constraints.Builder()
+                        .setRequiredNetworkType(NetworkType.CONNECTED)
+                        .build())
+                .setInputData(input)
+                .build();
+
+        WorkManager.getInstance(context)
+                .enqueueUniqueWork(UNIQUE_PREFIX + profileId, ExistingWorkPolicy.REPLACE, request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        Data input = getInputData();
+        String[] ids = input.getStringArray(KEY_IDS);
+        if (ids == null || ids.length == 0) return Result.success();
+
+        ProfileSummary summary = new ProfileSummary();
+        summary.setName(input.getString(KEY_NAME));
+        summary.setEmail(input.getString(KEY_EMAIL));
+        summary.setPhoneNumber(input.getString(KEY_PHONE));
+        summary.setProfileImageUrl(input.getString(KEY_IMAGE));
+        summary.setNotificationsEnabled(input.getBoolean(KEY_NOTIFICATIONS, true));
+
+        try {
+            int updated = Tasks.await(new ProfileSummaryFs(FirebaseFirestore.getInstance())
+                    .fanOut(Arrays.asList(ids), summary));
+            Log.d(TAG, "Fan-out updated " + updated + " entries");
+            return Result.success();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.retry();
+        } catch (Exception e) {
+            Log.e(TAG, "Fan-out failed", e);
+            return Result.retry();
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.eventmaster;
+
+import com.example.eventmaster.data.firestore.NotificationDispatchScheduler;
+import com.example.eventmaster.data.firestore.NotificationDispatchScheduler.Config;
+import com.example.eventmaster.data.firestore.NotificationDispatchScheduler.Priority;
+import com.example.eventmaster.model.Notification;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for NotificationDispatchScheduler.
+ * A fake clock drives the token buckets, so timing is exact.
+ * These tests validate:
+ *  - Priority order across classes
+ *  - FIFO order within a class
+ *  - Per-class rate budgets and refill
+ *  - Wake-up delays
+ *  - Configurable ranks
+ */
+public class NotificationDispatchSchedulerTest {
+
+    private static final class FakeClock implements NotificationDispatchScheduler.Clock {
+        long now = 1_000;
+
+        @Override
+        public long nowMillis() {
+            return now;
+        }
+    }
+
+    private FakeClock clock;
+    private List<String> log;
+
+    @Before
+    public void setUp() {
+        clock = new FakeClock();
+        log = new ArrayList<>();
+    }
+
+    private Runnable job(String name) {
+        return () -> log.add(name);
+    }
+
+    private void runAll(List<Runnable> jobs) {
+        for (Runnable r : jobs) {
+            r.run();
+        }
+    }
+
+    private Config unlimited() {
+        Config config = new Config();
+        for (Priority p : Priority.values()) {
+            config.setRate(p, 1000, 100);
+        }
+        return config;
+    }
+
+    // Ordering Tests
+    @Test
+    public void testDrain_urgentClassesFirst() {
+        NotificationDispatchScheduler s = new NotificationDispatchScheduler(clock, unlimited());
+
+        s.submit(Priority.GENERAL, job("general"));
+        s.submit(Priority.LOSER, job("loser"));
+        s.submit(Priority.CANCELLATION, job("cancel"));
+        s.submit(Priority.INVITATION, job("win"));
+
+        runAll(s.drain());
+        assertEquals(Arrays.asList("win", "cancel", "loser", "general"), log);
+        assertEquals(0, s.pending());
+    }
+
+    @Test
+    public void testDrain_fifoWithinClass() {
+        NotificationDispatchScheduler s = new NotificationDispatchScheduler(clock, unlimited());
+
+        s.submit(Priority.LOSER, job("l1"));
+        s.submit(Priority.LOSER, job("l2"));
+        s.submit(Priority.LOSER, job("l3"));
+
+        runAll(s.drain());
+        assertEquals(Arrays.asList("l1", "l2", "l3"), log);
+    }
+
+    @Test
+    public void testDrain_customRanks() {
+        Config config = unlimited()
+                .setRank(Priority.GENERAL, -1)
+                .setRank(Priority.INVITATION, 10);
+        NotificationDispatchScheduler s = new NotificationDispatchScheduler(clock, config);
+
+        s.submit(Priority.INVITATION, job("win"));
+        s.submit(Priority.GENERAL, job("general"));
+        s.submit(Priority.LOSER, job("loser"));
+
+        runAll(s.drain());
+        assertEquals(Arrays.asList("general", "loser", "win"), log);
+    }
+
+    // Budget Tests
+    @Test
+    public void testDrain_burstLimitsEachClass() {
+        Config config = unlimited()
+                .setRate(Priority.INVITATION, 2, 2)
+                .setRate(Priority.LOSER, 1, 1);
+        NotificationDispatchScheduler s = new NotificationDispatchScheduler(clock, config);
+
+        for (int i = 0; i < 5; i++) {
+            s.submit(Priority.INVITATION, job("w" + i));
+            s.submit(Priority.LOSER, job("l" + i));
+        }
+
+        runAll(s.drain());
+        assertEquals(Arrays.asList("w0", "w1", "l0"), log);
+        assertEquals(3, s.pending(Priority.INVITATION));
+        assertEquals(4, s.pending(Priority.LOSER));
+    }
+
+    @Test
+    public void testDrain_nothingMoreUntilRefill() {
+        Config config = unlimited().setRate(Priority.LOSER, 2, 1);
+        NotificationDispatchScheduler s = new NotificationDispatchScheduler(clock, config);
+
+        s.submit(Priority.LOSER, job("l0"));
+        s.submit(Priority.LOSER, job("l1"));
+        runAll(s.drain());
+        assertEquals(1, log.size());
+
+        clock.now += 499;
+        assertTrue(s.drain().isEmpty());
+
+        clock.now += 1;
+        runAll(s.drain());
+        assertEquals(Arrays.asList("l0", "l1"), log);
+    }
+
+    @Test
+    public void testDrain_refillCappedAtBurst() {
+        Config config = unlimited().setRate(Priority.GENERAL, 1, 3);
+        NotificationDispatchScheduler s = new NotificationDispatchScheduler(clock, config);
+
+        clock.now += 60_000;
+        for (int i = 0; i < 10; i++) {
+            s.submit(Priority.GENERAL, job("g" + i));
+        }
+
+        assertEquals(3, s.drain().size());
+        assertEquals(7, s.pending());
+    }
+
+    @Test
+    public void testDrain_blockedUrgentClassDoesNotBlockOthers() {
+        Config config = unlimited().setRate(Priority.INVITATION, 1, 1);
+        NotificationDispatchScheduler s = new NotificationDispatchScheduler(clock, config);
+
+        s.submit(Priority.INVITATION, job("w0"));
+        s.submit(Priority.INVITATION, job("w1"));
+        s.submit(Priority.GENERAL, job("g0"));
+
+        runAll(s.drain());
+        assertEquals(Arrays.asList("w0", "g0"), log);
+    }
+
+    // Wake-up Tests
+    @Test
+    public void testNextDelay_idleIsNegative() {
+        NotificationDispatchScheduler s = new NotificationDispatchScheduler(clock, Config.defaults());
+        assertEquals(-1, s.nextDelayMillis());
+    }
+
+    @Test
+    public void testNextDelay_readyIsZero() {
+        NotificationDispatchScheduler s = new NotificationDispatchScheduler(clock, Config.defaults());
+        s.submit(Priority.GENERAL, job("g"));
+        assertEquals(0, s.nextDelayMillis());
+    }
+
+    @Test
+    public void testNextDelay_earliestRefillWins() {
+        Config config = unlimited()
+                .setRate(Priority.INVITATION, 4, 1)
+                .setRate(Priority.LOSER, 1, 1);
+        NotificationDispatchScheduler s = new NotificationDispatchScheduler(clock, config);
+
+        s.submit(Priority.INVITATION, job("w0"));
+        s.submit(Priority.INVITATION, job("w1"));
+        s.submit(Priority.LOSER, job("l0"));
+        s.submit(Priority.LOSER, job("l1"));
+        runAll(s.drain());
+
+        assertEquals(250, s.nextDelayMillis());
+        clock.now += 250;
+        runAll(s.drain());
+        assertEquals(Arrays.asList("w0", "l0", "w1"), log);
+        assertEquals(750, s.nextDelayMillis());
+    }
+
+    // Config Tests
+    @Test(expected = IllegalArgumentException.class)
+    public void testConfig_rejectsZeroRate() {
+        new Config().setRate(Priority.GENERAL, 0, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConfig_rejectsZeroBurst() {
+        new Config().setRate(Priority.GENERAL, 1, 0);
+    }
+
+    @Test
+    public void testPriority_forType() {
+        assertEquals(Priority.INVITATION, Priority.forType(Notification.NotificationType.LOTTERY_WON));
+        assertEquals(Priority.INVITATION, Priority.forType(Notification.NotificationType.INVITATION));
+        assertEquals(Priority.CANCELLATION, Priority.forType(Notification.NotificationType.CANCELLATION));
+        assertEquals(Priority.LOSER, Priority.forType(Notification.NotificationType.LOTTERY_LOST));
+        assertEquals(Priority.GENERAL, Priority.forType(Notification.NotificationType.REMINDER));
+        assertEquals(Priority.GENERAL, Priority.forType(null));
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.eventmaster.data.firestore;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for AudienceFanOutFs.recipientOf: which id on an audience doc
+ * (waiting_list, chosen_list, registrations) a broadcast is addressed to.
+ */
+public class AudienceFanOutFsTest {
+
+    @Test
+    public void prefersUserId() {
+        assertEquals("user1", AudienceFanOutFs.recipientOf("user1", "entrant1", "doc1"));
+    }
+
+    @Test
+    public void fallsBackToEntrantId() {
+        assertEquals("entrant1", AudienceFanOutFs.recipientOf(null, "entrant1", "doc1"));
+        assertEquals("entrant1", AudienceFanOutFs.recipientOf("", "entrant1", "doc1"));
+    }
+
+    @Test
+    public void fallsBackToDocId() {
+        assertEquals("doc1", AudienceFanOutFs.recipientOf(null, null, "doc1"));
+        assertEquals("doc1", AudienceFanOutFs.recipientOf("", "", "doc1"));
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.eventmaster.data.firestore;
+
+import com.example.eventmaster.common.FirestoreFields;
+import com.example.eventmaster.model.Event;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for how EventRepositoryFs splits a description: the preview
+ * left on the event doc, the search tokens beside it, the detail fields
+ * moved out, and the preview standing in for the description on reads.
+ */
+public class EventRepositoryFsDescriptionTest {
+
+    @Test
+    public void shortDescriptionIsItsOwnPreview() {
+        assertEquals("Bring a towel.", EventRepositoryFs.preview("  Bring a towel.  "));
+    }
+
+    @Test
+    public void longDescriptionIsCutToPreviewLength() {
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() < EventRepositoryFs.PREVIEW_LENGTH * 2) sb.append("word ");
+        String preview = EventRepositoryFs.preview(sb.toString());
+
+        assertTrue(preview.endsWith("…"));
+        // Trailing space at the cut is trimmed before the ellipsis
+        assertTrue(preview.length() <= EventRepositoryFs.PREVIEW_LENGTH + 1);
+        assertFalse(preview.contains(" …"));
+        assertTrue(sb.toString().startsWith(preview.substring(0, preview.length() - 1)));
+    }
+
+    @Test
+    public void tokensAreDistinctLowercaseWordsInOrder() {
+        assertEquals(Arrays.asList("swim", "at", "the", "café", "pool", "2025"),
+                EventRepositoryFs.descriptionTokens("Swim at the Café-pool, 2025! Swim AT the pool."));
+    }
+
+    @Test
+    public void tokensOfNothingAreEmpty() {
+        assertTrue(EventRepositoryFs.descriptionTokens(null).isEmpty());
+        assertTrue(EventRepositoryFs.descriptionTokens("  -- !! ").isEmpty());
+    }
+
+    @Test
+    public void tokensAreCapped() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < EventRepositoryFs.MAX_DESCRIPTION_TOKENS + 50; i++) sb.append("w").append(i).append(' ');
+        List<String> tokens = EventRepositoryFs.descriptionTokens(sb.toString());
+
+        assertEquals(EventRepositoryFs.MAX_DESCRIPTION_TOKENS, tokens.size());
+        assertEquals("w0", tokens.get(0));
+    }
+
+    @Test
+    public void splitEventShowsItsPreview() {
+        Event e = new Event();
+        EventRepositoryFs.fillDescription(e, "Learn to…");
+
+        assertEquals("Learn to…", e.getDescription());
+    }
+
+    @Test
+    public void unsplitEventKeepsItsFullDescription() {
+        Event e = new Event();
+        e.setDescription("Learn to swim in a week");
+        EventRepositoryFs.fillDescription(e, "Learn to…");
+
+        assertEquals("Learn to swim in a week", e.getDescription());
+    }
+
+    @Test
+    public void splitMovesDescriptionAndLeavesPreviewAndTokens() {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put(FirestoreFields.NAME, "Swim");
+        fields.put(FirestoreFields.DESCRIPTION, "Learn to swim");
+
+        Map<String, Object> details = EventRepositoryFs.splitDetailFields(fields);
+
+        assertEquals("Learn to swim", details.get(FirestoreFields.DESCRIPTION));
+        assertFalse(fields.containsKey(FirestoreFields.DESCRIPTION));
+        assertEquals("Swim", fields.get(FirestoreFields.NAME));
+        assertEquals("Learn to swim", fields.get(EventRepositoryFs.DESCRIPTION_PREVIEW));
+        assertEquals(Arrays.asList("learn", "to", "swim"), fields.get(FirestoreFields.DESCRIPTION_TOKENS));
+    }
+
+    @Test
+    public void splitOfClearedDescriptionClearsPreviewAndTokens() {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put(FirestoreFields.DESCRIPTION, null);
+
+        Map<String, Object> details = EventRepositoryFs.splitDetailFields(fields);
+
+        assertTrue(details.containsKey(FirestoreFields.DESCRIPTION));
+        assertNull(fields.get(EventRepositoryFs.DESCRIPTION_PREVIEW));
+        assertEquals(new ArrayList<String>(), fields.get(FirestoreFields.DESCRIPTION_TOKENS));
+    }
+
+    @Test
+    public void splitWithoutDescriptionLeavesFieldsAlone() {
+        Map<String, Object> fields = new HashMap<>(Collections.singletonMap(FirestoreFields.NAME, "Swim"));
+
+        assertTrue(EventRepositoryFs.splitDetailFields(fields).isEmpty());
+        assertEquals(Collections.singletonMap(FirestoreFields.NAME, "Swim"), fields);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.eventmaster.data.firestore;
+
+import com.example.eventmaster.common.FirestoreFields;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for ProfileSearchIndex.
+ * Checks the normalized sort fields, the stored prefix tokens, the token a
+ * search queries for, and the client-side check of the remaining words.
+ */
+public class ProfileSearchIndexTest {
+
+    @Test
+    public void normalizeFoldsCaseAccentsAndSpaces() {
+        assertEquals("jose o'neil", ProfileSearchIndex.normalize("  José   O'Neil "));
+        assertEquals("", ProfileSearchIndex.normalize(null));
+    }
+
+    @Test
+    public void fieldsAlwaysWriteSortKeys() {
+        Map<String, Object> m = ProfileSearchIndex.fields(null, null);
+
+        assertEquals("", m.get(FirestoreFields.NAME_LOWER));
+        assertEquals("", m.get(FirestoreFields.EMAIL_LOWER));
+        assertTrue(((List<?>) m.get(FirestoreFields.SEARCH_TOKENS)).isEmpty());
+    }
+
+    @Test
+    public void tokensArePrefixesOfNameWordsAndEmail() {
+        List<String> tokens = ProfileSearchIndex.tokens("Ann Lee", "Ann.Lee@x.com");
+
+        assertTrue(tokens.contains("a"));
+        assertTrue(tokens.contains("ann"));
+        assertTrue(tokens.contains("le"));
+        assertTrue(tokens.contains("ann.lee@x.com"));
+        assertFalse(tokens.contains("x"));
+        assertFalse(tokens.contains("nn"));
+    }
+
+    @Test
+    public void tokensStopAtMaxPrefix() {
+        String word = "abcdefghijklmnopqrst";
+        List<String> tokens = ProfileSearchIndex.tokens(word, null);
+
+        assertEquals(ProfileSearchIndex.MAX_PREFIX, tokens.size());
+        assertTrue(tokens.contains(word.substring(0, ProfileSearchIndex.MAX_PREFIX)));
+        assertFalse(tokens.contains(word.substring(0, ProfileSearchIndex.MAX_PREFIX + 1)));
+    }
+
+    @Test
+    public void tokensAreCapped() {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 20; i++) name.append("word").append((char) ('a' + i)).append("xyzabcdefghij ");
+
+        assertEquals(ProfileSearchIndex.MAX_TOKENS, ProfileSearchIndex.tokens(name.toString(), null).size());
+    }
+
+    @Test
+    public void queryTokenIsTheLongestWord() {
+        assertEquals("smith", ProfileSearchIndex.queryToken("  Jo SMITH "));
+        assertEquals("oneil", ProfileSearchIndex.queryToken("O'Neil"));
+        assertNull(ProfileSearchIndex.queryToken("   "));
+    }
+
+    @Test
+    public void queryTokenTreatsAtAsEmail() {
+        assertEquals("ann.lee@x", ProfileSearchIndex.queryToken("Ann.Lee@X"));
+    }
+
+    @Test
+    public void queryTokenIsClipped() {
+        assertEquals("abcdefghijklmno", ProfileSearchIndex.queryToken("abcdefghijklmnopqrst"));
+    }
+
+    @Test
+    public void matchesNeedsEveryWordToPrefixAWord() {
+        assertTrue(ProfileSearchIndex.matches("jo sm", "John Smith", null));
+        assertTrue(ProfileSearchIndex.matches("", "John Smith", null));
+        assertFalse(ProfileSearchIndex.matches("jo x", "John Smith", null));
+        // Prefixes only, not substrings
+        assertFalse(ProfileSearchIndex.matches("mith", "John Smith", null));
+    }
+
+    @Test
+    public void matchesEmailQueryAsWholeEmailPrefix() {
+        assertTrue(ProfileSearchIndex.matches("ann.lee@", "Ann Lee", "Ann.Lee@x.com"));
+        assertFalse(ProfileSearchIndex.matches("lee@", "Ann Lee", "Ann.Lee@x.com"));
+    }
+}
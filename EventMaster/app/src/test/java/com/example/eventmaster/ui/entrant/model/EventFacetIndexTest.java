@@ -0,0 +1,215 @@
+package com.example.eventmaster.ui.entrant.model;
+
+import com.example.eventmaster.model.Event;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for EventFacetIndex.
+ * Checks facet filtering, tab counts and sort order against the rules the
+ * browse screens used before (price cap, type list, location substring,
+ * lifecycle from status and dates).
+ */
+public class EventFacetIndexTest {
+
+    private static final long DAY = 24L * 60 * 60 * 1000;
+
+    private Date now;
+    private List<Event> events;
+
+    @Before
+    public void setUp() {
+        now = new Date(1_800_000_000_000L);
+        events = new ArrayList<>();
+        // id, price, type, location, regStart offset, regEnd offset, eventDate offset (days from now)
+        events.add(event("open_cheap", 0, "Sports", "Community Pool", -3, 5, 10));
+        events.add(event("open_pricey", 120, "Music", "Downtown Hall", -1, 3, 8));
+        events.add(event("closed", 40, "Sports", "North Pool", -10, -2, 4));
+        events.add(event("done", 60, "Food", "Market Square", -20, -15, -5));
+        events.add(event("untyped", 10, null, null, -2, 2, 6));
+    }
+
+    @Test
+    public void noFilterReturnsEverythingWithTabCounts() {
+        EventFacetIndex.Selection s = EventFacetIndex.build(events, now).select(new EventFacetIndex.Filter());
+
+        assertEquals(5, s.events.size());
+        assertEquals(5, s.total);
+        assertEquals(3, s.open);
+        assertEquals(1, s.closed);
+        assertEquals(1, s.done);
+    }
+
+    @Test
+    public void sortsByRegistrationStart() {
+        EventFacetIndex index = EventFacetIndex.build(events, now);
+
+        assertEquals(Arrays.asList("open_pricey", "untyped", "open_cheap", "closed", "done"),
+                ids(index.select(new EventFacetIndex.Filter().setNewestFirst(true)).events));
+        assertEquals(Arrays.asList("done", "closed", "open_cheap", "untyped", "open_pricey"),
+                ids(index.select(new EventFacetIndex.Filter().setNewestFirst(false)).events));
+    }
+
+    @Test
+    public void priceCapUsesDialogStepsAndArbitraryBounds() {
+        EventFacetIndex index = EventFacetIndex.build(events, now);
+
+        assertEquals(Collections.singletonList("open_cheap"),
+                ids(index.select(new EventFacetIndex.Filter().setMaxPrice(0.0)).events));
+        assertEquals(3, index.select(new EventFacetIndex.Filter().setMaxPrice(50.0)).total);
+        // Not one of the dialog's steps
+        assertEquals(4, index.select(new EventFacetIndex.Filter().setMaxPrice(60.0)).total);
+    }
+
+    @Test
+    public void typeFilterExcludesUntypedEvents() {
+        EventFacetIndex.Selection s = EventFacetIndex.build(events, now)
+                .select(new EventFacetIndex.Filter().setEventTypes(Arrays.asList("Sports", "Food")));
+
+        assertEquals(3, s.total);
+        assertFalse(ids(s.events).contains("untyped"));
+    }
+
+    @Test
+    public void locationIsCaseInsensitiveSubstring() {
+        EventFacetIndex index = EventFacetIndex.build(events, now);
+
+        assertEquals(2, index.select(new EventFacetIndex.Filter().setLocation("POOL")).total);
+        assertEquals(1, index.select(new EventFacetIndex.Filter().setLocation("ity poo")).total);
+        assertEquals(0, index.select(new EventFacetIndex.Filter().setLocation("stadium")).total);
+        assertEquals(5, index.select(new EventFacetIndex.Filter().setLocation("  ")).total);
+    }
+
+    @Test
+    public void tabNarrowsRowsButNotCounts() {
+        EventFacetIndex.Selection s = EventFacetIndex.build(events, now).select(new EventFacetIndex.Filter()
+                .setLocation("pool")
+                .setStatus(StatusFilter.CLOSED));
+
+        assertEquals(Collections.singletonList("closed"), ids(s.events));
+        assertEquals(2, s.total);
+        assertEquals(1, s.open);
+        assertEquals(1, s.closed);
+        assertEquals(0, s.done);
+    }
+
+    @Test
+    public void storedStatusOverridesDates() {
+        events.get(0).setStatus("COMPLETED");
+        events.get(1).setStatus("closed");
+
+        EventFacetIndex.Selection s = EventFacetIndex.build(events, now).select(new EventFacetIndex.Filter());
+
+        assertEquals(1, s.open);
+        assertEquals(2, s.closed);
+        assertEquals(2, s.done);
+    }
+
+    @Test
+    public void staleOnceTheNextDateHasPassed() {
+        EventFacetIndex index = EventFacetIndex.build(events, now);
+
+        // Earliest future date is untyped's registration end, two days out
+        assertFalse(index.isStale(new Date(now.getTime() + DAY)));
+        assertTrue(index.isStale(new Date(now.getTime() + 2 * DAY)));
+    }
+
+    @Test
+    public void emptyList() {
+        EventFacetIndex index = EventFacetIndex.build(new ArrayList<>(), now);
+        EventFacetIndex.Selection s = index.select(new EventFacetIndex.Filter().setMaxPrice(60.0));
+
+        assertTrue(s.events.isEmpty());
+        assertEquals(0, s.total);
+        assertFalse(index.isStale(new Date(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void putAndRemoveUpdateInPlace() {
+        EventFacetIndex index = EventFacetIndex.build(events, now);
+
+        index.remove("open_pricey");
+        index.put(event("late", 30, "Music", "Pool Deck", 1, 9, 12));
+        // Replaces the existing entry: now closed and the oldest
+        index.put(event("open_cheap", 0, "Sports", "Community Pool", -30, -1, 3));
+
+        EventFacetIndex.Selection s = index.select(new EventFacetIndex.Filter().setNewestFirst(true));
+        assertEquals(Arrays.asList("late", "untyped", "closed", "done", "open_cheap"), ids(s.events));
+        assertEquals(5, index.size());
+        assertEquals(2, s.open);
+        assertEquals(2, s.closed);
+        assertEquals(1, s.done);
+        assertEquals(Arrays.asList("late", "closed", "open_cheap"),
+                ids(index.select(new EventFacetIndex.Filter()
+                        .setLocation("pool").setMaxPrice(45.0)).events));
+        assertTrue(index.select(new EventFacetIndex.Filter()
+                .setEventTypes(Collections.singletonList("Music"))).events.get(0).getId().equals("late"));
+    }
+
+    @Test
+    public void updatesMatchAFreshBuild() {
+        java.util.Random rnd = new java.util.Random(7);
+        String[] types = {"Sports", "Music", "Food", null};
+        String[] places = {"North Pool", "Downtown Hall", "Market", null};
+        EventFacetIndex index = EventFacetIndex.build(new ArrayList<>(), now);
+        java.util.Map<String, Event> live = new java.util.LinkedHashMap<>();
+
+        for (int step = 0; step < 2000; step++) {
+            String id = "e" + rnd.nextInt(60);
+            if (rnd.nextInt(4) == 0) {
+                index.remove(id);
+                live.remove(id);
+            } else {
+                Event e = event(id, rnd.nextInt(250), types[rnd.nextInt(4)], places[rnd.nextInt(4)],
+                        -rnd.nextInt(30), rnd.nextInt(20) - 10, rnd.nextInt(20) - 5);
+                index.put(e);
+                live.put(id, e);
+            }
+        }
+
+        EventFacetIndex fresh = EventFacetIndex.build(new ArrayList<>(live.values()), now);
+        for (Double price : Arrays.asList(null, 50.0, 75.0)) {
+            for (StatusFilter tab : StatusFilter.values()) {
+                EventFacetIndex.Filter f = new EventFacetIndex.Filter()
+                        .setMaxPrice(price).setLocation("pool").setStatus(tab);
+                EventFacetIndex.Selection a = index.select(f);
+                EventFacetIndex.Selection b = fresh.select(f);
+                assertEquals(new java.util.HashSet<>(ids(b.events)), new java.util.HashSet<>(ids(a.events)));
+                assertEquals(b.total, a.total);
+                assertEquals(b.open, a.open);
+                assertEquals(b.closed, a.closed);
+                assertEquals(b.done, a.done);
+            }
+        }
+        assertEquals(live.size(), index.size());
+    }
+
+    private Event event(String id, double price, String type, String location,
+                        int regStartDays, int regEndDays, int eventDays) {
+        Event e = new Event();
+        e.setId(id);
+        e.setName(id);
+        e.setPrice(price);
+        e.setEventType(type);
+        e.setLocation(location);
+        e.setRegistrationStartDate(new Date(now.getTime() + regStartDays * DAY));
+        e.setRegistrationEndDate(new Date(now.getTime() + regEndDays * DAY));
+        e.setEventDate(new Date(now.getTime() + eventDays * DAY));
+        return e;
+    }
+
+    private static List<String> ids(List<Event> list) {
+        List<String> out = new ArrayList<>();
+        for (Event e : list) out.add(e.getId());
+        return out;
+    }
+}
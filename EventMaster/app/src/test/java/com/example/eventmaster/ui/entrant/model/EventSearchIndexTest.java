@@ -0,0 +1,119 @@
+package com.example.eventmaster.ui.entrant.model;
+
+import com.example.eventmaster.model.Event;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for EventSearchIndex.
+ * Results must match a plain case-insensitive contains() on name,
+ * description or location, plus single-word matches on the description
+ * tokens of events whose description is only a preview.
+ */
+public class EventSearchIndexTest {
+
+    private EventSearchIndex index;
+    private List<Event> rows;
+
+    @Before
+    public void setUp() {
+        index = new EventSearchIndex();
+        rows = new ArrayList<>();
+        rows.add(event("swim", "Kids Swim Lessons", "Learn to float", "Community Pool"));
+        rows.add(event("jazz", "Jazz Night", "Live quartet downtown", "Downtown Hall"));
+        rows.add(event("run", "Charity 5k Run", null, null));
+        rows.add(event("camp", "Summer Campfire", "Songs and s'mores", "Lakeside"));
+        for (Event e : rows) index.put(e);
+    }
+
+    @Test
+    public void emptyQueryReturnsEveryRow() {
+        assertEquals(ids(rows), ids(index.filter("   ", rows, () -> false)));
+    }
+
+    @Test
+    public void matchesSubstringOfAnyFieldIgnoringCase() {
+        assertEquals(Collections.singletonList("camp"), ids(index.filter("CAMP", rows, () -> false)));
+        assertEquals(Collections.singletonList("swim"), ids(index.filter("pool", rows, () -> false)));
+        assertEquals(Collections.singletonList("jazz"), ids(index.filter("quartet", rows, () -> false)));
+    }
+
+    @Test
+    public void keepsRowOrder() {
+        // Every event has an "n" somewhere
+        assertEquals(Arrays.asList("swim", "jazz", "run", "camp"),
+                ids(index.filter("n", rows, () -> false)));
+    }
+
+    @Test
+    public void shortPiecesAndPunctuationStillMatch() {
+        assertEquals(Collections.singletonList("run"), ids(index.filter("5k", rows, () -> false)));
+        assertEquals(Collections.singletonList("camp"), ids(index.filter("s'mores", rows, () -> false)));
+    }
+
+    @Test
+    public void phraseMustOccurInOneField() {
+        assertEquals(Collections.singletonList("jazz"), ids(index.filter("jazz night", rows, () -> false)));
+        // Both words are on the event, but never next to each other
+        assertTrue(index.filter("jazz hall", rows, () -> false).isEmpty());
+    }
+
+    @Test
+    public void descriptionTokensMatchPastThePreview() {
+        Event split = event("split", "Paddle Day", "Join us on the water for a…", "Marina");
+        split.setDescriptionTokens(Arrays.asList("join", "us", "on", "the", "water", "kayaking", "lessons"));
+        rows.add(split);
+        index.put(split);
+
+        assertEquals(Collections.singletonList("split"), ids(index.filter("kayak", rows, () -> false)));
+        // Past the preview, matching is within one word only
+        assertTrue(index.filter("kayaking lessons", rows, () -> false).isEmpty());
+    }
+
+    @Test
+    public void reindexingDropsTheOldText() {
+        Event renamed = event("jazz", "Blues Evening", "Live quartet downtown", "Downtown Hall");
+        rows.set(1, renamed);
+        index.put(renamed);
+
+        assertTrue(index.filter("jazz", rows, () -> false).isEmpty());
+        assertEquals(Collections.singletonList("jazz"), ids(index.filter("blues", rows, () -> false)));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    public void rowsMissingFromTheIndexAreMatchedDirectly() {
+        Event late = event("late", "Late Swim", null, null);
+        rows.add(late);
+
+        assertEquals(Arrays.asList("swim", "late"), ids(index.filter("swim", rows, () -> false)));
+    }
+
+    @Test
+    public void cancelledSearchReturnsNull() {
+        assertNull(index.filter("swim", rows, () -> true));
+    }
+
+    private static Event event(String id, String name, String description, String location) {
+        Event e = new Event();
+        e.setId(id);
+        e.setName(name);
+        e.setDescription(description);
+        e.setLocation(location);
+        return e;
+    }
+
+    private static List<String> ids(List<Event> events) {
+        List<String> out = new ArrayList<>();
+        for (Event e : events) out.add(e.getId());
+        return out;
+    }
+}
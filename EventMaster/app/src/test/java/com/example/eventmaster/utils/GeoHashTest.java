@@ -0,0 +1,92 @@
+package com.example.eventmaster.utils;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for GeoHash.
+ * Checks encoding against published geohashes, Haversine distances against
+ * known city pairs, and that the query bounds never miss a point inside
+ * the radius.
+ */
+public class GeoHashTest {
+
+    @Test
+    public void encodesKnownPoints() {
+        assertEquals("ezs42", GeoHash.encode(42.605, -5.603, 5));
+        assertEquals("u4pruydqqv", GeoHash.encode(57.64911, 10.40744, 10));
+    }
+
+    @Test
+    public void nearbyPointsSharePrefixes() {
+        String a = GeoHash.encode(53.5461, -113.4938, GeoHash.STORED_PRECISION);
+        String b = GeoHash.encode(53.5465, -113.4932, GeoHash.STORED_PRECISION);
+        assertEquals(a.substring(0, 6), b.substring(0, 6));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsBadPrecision() {
+        GeoHash.encode(0, 0, 0);
+    }
+
+    @Test
+    public void haversineMatchesKnownDistances() {
+        // London -> Paris, about 343.5 km
+        assertEquals(343_500, GeoHash.distanceMeters(51.5074, -0.1278, 48.8566, 2.3522), 1_000);
+        // Edmonton -> Calgary, about 281 km
+        assertEquals(281_000, GeoHash.distanceMeters(53.5461, -113.4938, 51.0447, -114.0719), 2_000);
+        assertEquals(0, GeoHash.distanceMeters(10, 20, 10, 20), 1e-6);
+    }
+
+    @Test
+    public void finerCellsForSmallerRadii() {
+        int city = GeoHash.precisionFor(53.5, 10_000);
+        int block = GeoHash.precisionFor(53.5, 500);
+        assertTrue(block > city);
+        assertEquals(0, GeoHash.precisionFor(0, 10_000_000));
+    }
+
+    @Test
+    public void boundsCoverEveryPointInsideTheRadius() {
+        Random random = new Random(42);
+        double[][] centers = {{53.5461, -113.4938}, {0.0, 0.0}, {-33.86, 151.21}, {64.1, 179.99}, {78.2, 15.6}};
+        double[] radii = {200, 2_000, 25_000, 300_000};
+
+        for (double[] c : centers) {
+            for (double radius : radii) {
+                List<String[]> bounds = GeoHash.queryBounds(c[0], c[1], radius);
+                assertTrue(bounds.size() <= 9);
+                for (int i = 0; i < 500; i++) {
+                    double lat = c[0] + (random.nextDouble() * 2 - 1) * radius / 111_320.0;
+                    double lng = c[1] + (random.nextDouble() * 2 - 1) * radius
+                            / (111_320.0 * Math.cos(Math.toRadians(c[0])));
+                    if (lat > 90 || lat < -90) continue;
+                    if (lng >= 180) lng -= 360;
+                    if (lng < -180) lng += 360;
+                    if (GeoHash.distanceMeters(c[0], c[1], lat, lng) > radius) continue;
+
+                    String hash = GeoHash.encode(lat, lng, GeoHash.STORED_PRECISION);
+                    assertTrue("missed " + lat + "," + lng + " for r=" + radius, inAny(hash, bounds));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void hugeRadiusCoversEverything() {
+        List<String[]> bounds = GeoHash.queryBounds(0, 0, 20_000_000);
+        assertEquals(1, bounds.size());
+        assertTrue(inAny(GeoHash.encode(-45, 170, GeoHash.STORED_PRECISION), bounds));
+    }
+
+    private static boolean inAny(String hash, List<String[]> bounds) {
+        for (String[] b : bounds) {
+            if (hash.compareTo(b[0]) >= 0 && hash.compareTo(b[1]) <= 0) return true;
+        }
+        return false;
+    }
+}